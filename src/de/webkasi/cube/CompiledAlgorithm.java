@@ -0,0 +1,222 @@
+package de.webkasi.cube;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Represents a sequence of rotations that has been combined into a single
+ * facelet permutation.
+ *
+ * The permutations of all records are taken from the MoveTable of the
+ * dimension and composed once. apply() then moves each changed field
+ * exactly once, no matter how many rotations the sequence has. The
+ * permutation is stored as its cycles, so fields that are not changed by
+ * the sequence are not touched, and only one temporary color is needed
+ * per cycle.
+ *
+ * The faces of the records refer to the current orientation of the cube
+ * like the faces of CubeFaceRotator. The cycles are created for each
+ * orientation when it is used the first time.
+ */
+public final class CompiledAlgorithm {
+    private final CubeFaceRotationRecords _records;
+    private final MoveTable _table;
+    /**
+     * The cycles of the permutation for each orientation, see createCycles().
+     */
+    private final AtomicReferenceArray<int[]> _cycles = new AtomicReferenceArray<>(CubeRotations.Count);
+
+    /**
+     * Initializes a new instance of the CompiledAlgorithm class.
+     *
+     * @param records The CubeFaceRotationRecords object with the rotations of the
+     *                algorithm. The records must not be changed afterwards.
+     * @param dimension The count of rows and columns of the cubes the algorithm is
+     *                  applied to.
+     */
+    public CompiledAlgorithm(final CubeFaceRotationRecords records, final int dimension) {
+        _records = records;
+        _table = MoveTable.forDimension(dimension);
+        _cycles.set(CubeRotations.Identity, createCycles(CubeRotations.Identity));
+    }
+
+    /**
+     * Gets the records of the algorithm.
+     *
+     * @return The CubeFaceRotationRecords object passed to the constructor.
+     */
+    public CubeFaceRotationRecords getRecords() {
+        return _records;
+    }
+
+    /**
+     * Gets the count of rows and columns of the cubes the algorithm is applied to.
+     *
+     * @return The dimension passed to the constructor.
+     */
+    public int getDimension() {
+        return _table.getDimension();
+    }
+
+    /**
+     * Gets the facelet permutation of the complete algorithm for the initial
+     * orientation of the cube.
+     *
+     * After the algorithm the field with index i has the color that the field
+     * with index permutation[i] had before, see MoveTable.
+     *
+     * @return A new array with one source facelet index for each facelet index.
+     */
+    public int[] getPermutation() {
+        return createPermutation(CubeRotations.Identity);
+    }
+
+    /**
+     * Applies the algorithm to the specified cube.
+     *
+     * This has the same result as playing the records with a CubeFaceRotator.
+     *
+     * @param cube The Cube to change. Its dimension must be the dimension of the algorithm.
+     */
+    public void apply(final Cube cube) {
+        int dimension = _table.getDimension();
+        if (cube.getDimension() != dimension)
+            throw new IllegalArgumentException("The cube has another dimension than the algorithm.");
+
+        cube.applyFaceRotations();
+        byte[] facelets = cube.getFacelets();
+        int fieldsPerFace = dimension * dimension;
+        int[] cycles = getCycles(cube.getOrientation());
+        int i = 0;
+        while (i < cycles.length) {
+            int length = cycles[i++];
+            int end = i + length - 1;
+            byte first = facelets[cycles[i]];
+            for (; i <= end; i++) {
+                int index = cycles[i];
+                byte color = i < end ? facelets[cycles[i + 1]] : first;
+                int face = index / fieldsPerFace;
+                cube.updateFaceHash(face, Cube.getFaceletChangeKey(dimension, index, facelets[index], color));
+                int[] counts = cube.getColorCounts(face);
+                counts[facelets[index]]--;
+                counts[color]++;
+                facelets[index] = color;
+            }
+        }
+    }
+
+    /**
+     * Applies the algorithm to the facelets of several cubes with the same
+     * orientation without calculating the change of the state hash.
+     *
+     * This is used by CubeBatch, which has no state hashes. The cubes are
+     * stored facelet by facelet: the field with facelet index f of the cube
+     * j is at offset + f * stride + j. So the fields with the same facelet
+     * index of all cubes are adjacent, and each step of a cycle moves them
+     * with a single copy, which the JVM executes with vector instructions.
+     *
+     * @param facelets The array with the CubeColor ordinals of the fields.
+     * @param offset The index of the field with facelet index 0 of the first cube.
+     * @param stride The distance between the fields of two facelet indexes of a cube.
+     * @param count The count of cubes. It must not be greater than stride.
+     * @param orientation The index of the orientation of the cubes, see CubeRotations.
+     * @param buffer An array with at least count elements that receives the
+     *               colors of the first field of each cycle.
+     */
+    void permute(
+            final byte[] facelets,
+            final int offset,
+            final int stride,
+            final int count,
+            final int orientation,
+            final byte[] buffer) {
+        int[] cycles = getCycles(orientation);
+        int i = 0;
+        while (i < cycles.length) {
+            int end = i + cycles[i];
+            System.arraycopy(facelets, offset + cycles[++i] * stride, buffer, 0, count);
+            for (; i < end; i++)
+                System.arraycopy(facelets, offset + cycles[i + 1] * stride, facelets, offset + cycles[i] * stride, count);
+            System.arraycopy(buffer, 0, facelets, offset + cycles[i] * stride, count);
+            i++;
+        }
+    }
+
+    /**
+     * Gets the cycles of the permutation for the specified orientation.
+     *
+     * @param orientation The index of the orientation of the cube, see CubeRotations.
+     * @return The cycles, see createCycles().
+     */
+    private int[] getCycles(final int orientation) {
+        int[] cycles = _cycles.get(orientation);
+        if (cycles == null) {
+            cycles = createCycles(orientation);
+            _cycles.set(orientation, cycles);
+        }
+        return cycles;
+    }
+
+    /**
+     * Composes the permutations of all records for the specified orientation.
+     *
+     * @param orientation The index of the orientation of the cube, see CubeRotations.
+     * @return The permutation of the complete algorithm.
+     */
+    private int[] createPermutation(final int orientation) {
+        CubeColor[] faces = CubeColor.values();
+        int[] permutation = new int[_table.getFaceletCount()];
+        for (int i = 0; i < permutation.length; i++)
+            permutation[i] = i;
+
+        int[] composed = new int[permutation.length];
+        for (CubeFaceRotationRecord record : _records) {
+            CubeColor face = faces[CubeRotations.getFace(orientation, record.getFace().ordinal())];
+            int[] move = record.isHalfTurn()
+                    ? _table.getHalfTurnPermutation(face, record.getStartRow(), record.getCountOfLayers())
+                    : _table.getPermutation(record.getDirection(), face, record.getStartRow(), record.getCountOfLayers());
+            for (int i = 0; i < permutation.length; i++)
+                composed[i] = permutation[move[i]];
+
+            int[] previous = permutation;
+            permutation = composed;
+            composed = previous;
+        }
+        return permutation;
+    }
+
+    /**
+     * Creates the cycles of the permutation of the algorithm for the specified orientation.
+     *
+     * The cycles are stored one after the other, each as its length followed
+     * by its facelet indexes. Each facelet of a cycle gets the color of the next
+     * one; the last one gets the color of the first one. Facelets that keep
+     * their color are not part of any cycle.
+     *
+     * @param orientation The index of the orientation of the cube, see CubeRotations.
+     * @return The array with the cycles.
+     */
+    private int[] createCycles(final int orientation) {
+        int[] permutation = createPermutation(orientation);
+        boolean[] visited = new boolean[permutation.length];
+        int[] cycles = new int[permutation.length + permutation.length / 2];
+        int count = 0;
+
+        for (int start = 0; start < permutation.length; start++) {
+            if (visited[start] || permutation[start] == start)
+                continue;
+
+            int lengthIndex = count++;
+            int index = start;
+            do {
+                visited[index] = true;
+                cycles[count++] = index;
+                index = permutation[index];
+            } while (index != start);
+            cycles[lengthIndex] = count - lengthIndex - 1;
+        }
+
+        int[] result = new int[count];
+        System.arraycopy(cycles, 0, result, 0, count);
+        return result;
+    }
+}
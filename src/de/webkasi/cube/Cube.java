@@ -1,5 +1,8 @@
 package de.webkasi.cube;
 
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 /**
  * Represents a magic cube.
  *
@@ -7,10 +10,103 @@ package de.webkasi.cube;
  * You can specify any other number of dimensions as an constructor
  * argument. The six faces are initialized with the original colors
  * defined in the CubeColor enumeration.
+ *
+ * The colors of all fields are stored as ordinals of CubeColor in a
+ * single byte array, face by face and row by row. A 3x3 cube needs
+ * 54 bytes for its state. The CubeFace objects returned by getFace()
+ * are views into this array.
+ *
+ * The cube maintains a 64-bit Zobrist hash of its state: the XOR of one
+ * pseudo random key for each field and its color. Each change of a field
+ * updates the hash, so stateHash() is available without scanning the
+ * fields.
+ *
+ * Rotations of the whole cube with rotateCube() do not move any field.
+ * They change the orientation of the cube, one of 24 index values, and
+ * getFace() and the rotators resolve the faces through this orientation.
+ * The facelet index always refers to the unrotated cube.
+ *
+ * The fields of a face are not moved when the face itself is turned
+ * either. Each face has a rotation offset, the count of clockwise quarter
+ * turns that have not been applied to its stored fields, and the views
+ * translate the row and column through this offset. A turn of an outer
+ * layer therefore only moves the fields of the side faces. The position of
+ * a field in the array is its stored index; it is the facelet index when
+ * the rotation offset of its face is 0. applyFaceRotations() moves the
+ * fields to their facelet indexes for code that works with the facelet
+ * indexes directly.
+ *
+ * The cube also counts the fields of each color on each face, so
+ * isSolved() and isFaceSolved() do not scan the fields either.
  */
 public class Cube {
     private final int _dimension;
-    private final CubeFace[] _faces = new CubeFace[6];
+    /**
+     * The CubeColor ordinals of all fields, indexed by the facelet index.
+     *
+     * See getFacelet() for the definition of the facelet index.
+     */
+    private final byte[] _facelets;
+    /**
+     * The CubeFace views of the six faces. They are created when they are
+     * requested the first time.
+     */
+    private CubeFace[] _faces;
+    /**
+     * The count of clockwise quarter turns (0 to 3) of each face that have
+     * not been applied to its stored fields.
+     */
+    private final int[] _faceRotations = new int[6];
+    /**
+     * The Zobrist hash of the stored fields of each face.
+     *
+     * The keys of the four fields that a quarter turn moves into each other
+     * are rotations of the same value by 16 bits, see getFaceletKey(). So
+     * the hash of a face that is turned by its rotation offset is the stored
+     * hash rotated by 16 bits per quarter turn, and stateHash() needs no
+     * update of the fields when a face is turned.
+     */
+    private final long[] _faceHashes = new long[6];
+    /**
+     * The count of fields of each color on each face, by the index of the
+     * face of the unrotated cube and the CubeColor ordinal.
+     */
+    private final int[][] _colorCounts = new int[6][6];
+    /**
+     * The index of the orientation of the cube, see CubeRotations.
+     */
+    private int _orientation;
+    /**
+     * The facelet index of row 0 and column 0 of each face position in the
+     * current orientation.
+     */
+    private final int[] _viewStarts = new int[6];
+    /**
+     * The difference of the facelet index for one row down on each face position.
+     */
+    private final int[] _viewRowSteps = new int[6];
+    /**
+     * The difference of the facelet index for one column right on each face position.
+     */
+    private final int[] _viewColumnSteps = new int[6];
+
+    /**
+     * All CubeColor values, indexed by their ordinals.
+     */
+    private static final CubeColor[] _colors = CubeColor.values();
+
+    /**
+     * The highest dimension whose Zobrist keys are stored in a table.
+     */
+    private static final int MaxKeyTableDimension = 32;
+    /**
+     * The Zobrist keys of all fields and colors by dimension, see getFaceletKey().
+     *
+     * Each table is created when it is used the first time. The key of the
+     * field with the facelet index i and the color c is at i * 6 + c.
+     */
+    private static final AtomicReferenceArray<long[]> _keyTables =
+            new AtomicReferenceArray<>(MaxKeyTableDimension + 1);
 
     /**
      * Initializes a 3x3 magic cube.
@@ -22,18 +118,22 @@ public class Cube {
     /**
      * Initializes a magic cube with the specified count of rows and columns.
      *
-     * Creates all six faces and sets all fields of each face to its initial color.
+     * Sets all fields of each face to its initial color.
      *
      * @param dimension Count of rows and columns of each face of the
      *                  cube.
      */
     public Cube(int dimension) {
         _dimension = dimension;
-        CubeColor[] colors = CubeColor.values();
-        for (int faceIndex = 0; faceIndex < _faces.length; faceIndex++) {
-            _faces[faceIndex] = new CubeFace(_dimension);
-            _faces[faceIndex].setFaceColor(colors[faceIndex]);
+        int fieldsPerFace = dimension * dimension;
+        _facelets = new byte[6 * fieldsPerFace];
+        for (int faceIndex = 0; faceIndex < 6; faceIndex++) {
+            for (int i = 0; i < fieldsPerFace; i++)
+                _facelets[faceIndex * fieldsPerFace + i] = (byte)faceIndex;
         }
+        updateFaceHashes();
+        updateColorCounts();
+        updateView();
     }
 
     /**
@@ -47,9 +147,14 @@ public class Cube {
      */
     public Cube(Cube copy) {
         _dimension = copy._dimension;
-        for (int faceIndex = 0; faceIndex < _faces.length; faceIndex++) {
-            _faces[faceIndex] = new CubeFace(copy._faces[faceIndex]);
-        }
+        _facelets = new byte[copy._facelets.length];
+        System.arraycopy(copy._facelets, 0, _facelets, 0, _facelets.length);
+        System.arraycopy(copy._faceRotations, 0, _faceRotations, 0, 6);
+        System.arraycopy(copy._faceHashes, 0, _faceHashes, 0, 6);
+        for (int face = 0; face < 6; face++)
+            System.arraycopy(copy._colorCounts[face], 0, _colorCounts[face], 0, 6);
+        _orientation = copy._orientation;
+        updateView();
     }
 
     /**
@@ -78,6 +183,12 @@ public class Cube {
      * faces.
      */
     CubeFace[] getFaces() {
+        if (_faces == null) {
+            CubeFace[] faces = new CubeFace[6];
+            for (int faceIndex = 0; faceIndex < faces.length; faceIndex++)
+                faces[faceIndex] = new CubeFace(this, faceIndex);
+            _faces = faces;
+        }
         return _faces;
     }
 
@@ -86,7 +197,8 @@ public class Cube {
      *
      * For the initial orientation of the cube the index values mean:
      * 0 is white, 1 is orange, 2 is green, 3 is red, 4 is blue,
-     * and 5 is yellow.
+     * and 5 is yellow. After rotateCube() the index is the position of
+     * the face: 0 is always up, 2 is always front.
      *
      * @param faceIndex The index (0 to 5) of the face to get. The color
      *                  of the face corresponds to CubeColor values.
@@ -94,18 +206,504 @@ public class Cube {
      * color fields of the face.
      */
     public CubeFace getFaceByIndex(int faceIndex) {
-        return _faces[faceIndex];
+        return getFaces()[faceIndex];
     }
 
     /**
      * Gets the specified CubeFace by its color.
      *
-     * The color specifies the initial color of the face when the
-     * cube has been created.
+     * The color specifies the initial color of the face at this position
+     * when the cube has been created. After rotateCube() the returned
+     * face shows the face that has been rotated to this position.
      *
      * @param face The CubeColor that represents the cube's face.
      * @return A CubeFace object representing the current matrix of
      * color fields of the face.
      */
-    public CubeFace getFace(CubeColor face) { return _faces[face.ordinal()]; }
+    public CubeFace getFace(CubeColor face) { return getFaces()[face.ordinal()]; }
+
+    /**
+     * Rotates the whole cube around the specified axis.
+     *
+     * No field is moved, only the orientation is changed, so the time
+     * does not depend on the dimension of the cube. The axes and
+     * directions are the same as for the x, y, and z rotations of the
+     * SpeedCube notation interpreter.
+     *
+     * @param axis Axis character: 'x', 'y', or 'z'.
+     * @param direction The RotationDirection of the rotation.
+     * @param count The count of 90 degree rotations.
+     */
+    public void rotateCube(final char axis, final RotationDirection direction, final int count) {
+        int quarterTurns = direction == RotationDirection.Clockwise ? count % 4 : (4 - count % 4) % 4;
+        setOrientation(CubeRotations.rotate(_orientation, axis, quarterTurns));
+    }
+
+    /**
+     * Gets the index of the current orientation of the cube.
+     *
+     * @return A value from 0 to 23. 0 is the initial orientation.
+     */
+    public int getOrientation() {
+        return _orientation;
+    }
+
+    /**
+     * Sets the orientation of the cube.
+     *
+     * @param orientation A value from 0 to 23 as returned by getOrientation().
+     */
+    public void setOrientation(final int orientation) {
+        if (orientation < 0 || orientation >= CubeRotations.Count)
+            throw new IllegalArgumentException("The orientation must be between 0 and 23.");
+        _orientation = orientation;
+        updateView();
+    }
+
+    /**
+     * Gets the face of the unrotated cube that is at the specified position.
+     *
+     * @param face The CubeColor of the position, as for the initial orientation.
+     * @return The CubeColor of the face that has been rotated to this position.
+     */
+    public CubeColor getFaceAt(final CubeColor face) {
+        return _colors[CubeRotations.getFace(_orientation, face.ordinal())];
+    }
+
+    /**
+     * Gets the stored index of a field as seen in the current orientation.
+     *
+     * @param faceIndex The index of the face position.
+     * @param row The row of the field as seen at this position.
+     * @param column The column of the field as seen at this position.
+     * @return The index of the field in the array returned by getFacelets().
+     */
+    int getStoredIndex(final int faceIndex, final int row, final int column) {
+        return _viewStarts[faceIndex] + row * _viewRowSteps[faceIndex] + column * _viewColumnSteps[faceIndex];
+    }
+
+    /**
+     * Gets the stored index of the field with the specified facelet index.
+     *
+     * @param dimension The count of rows and columns of the cube.
+     * @param faceletIndex The facelet index of the field, see getFacelet().
+     * @param faceRotation The rotation offset (0 to 3) of the face of the field.
+     * @return The index of the field in the array returned by getFacelets().
+     */
+    static int toStoredIndex(final int dimension, final int faceletIndex, final int faceRotation) {
+        int fieldsPerFace = dimension * dimension;
+        int offset = faceletIndex - faceletIndex % fieldsPerFace;
+        int row = (faceletIndex - offset) / dimension;
+        int column = faceletIndex % dimension;
+        int maxIndex = dimension - 1;
+        switch (faceRotation) {
+            case 1:
+                return offset + (maxIndex - column) * dimension + row;
+            case 2:
+                return offset + (maxIndex - row) * dimension + maxIndex - column;
+            case 3:
+                return offset + column * dimension + maxIndex - row;
+        }
+        return faceletIndex;
+    }
+
+    /**
+     * Gets the rotation offset of the specified face.
+     *
+     * @param faceIndex The index of the face of the unrotated cube.
+     * @return The count of clockwise quarter turns (0 to 3) that have not been
+     * applied to the stored fields of the face.
+     */
+    int getFaceRotation(final int faceIndex) {
+        return _faceRotations[faceIndex];
+    }
+
+    /**
+     * Turns the specified face without moving its fields.
+     *
+     * Only the rotation offset of the face is changed. The fields of the
+     * side faces are not shifted.
+     *
+     * @param faceIndex The index of the face of the unrotated cube.
+     * @param quarterTurns The count of clockwise quarter turns.
+     */
+    void rotateFace(final int faceIndex, final int quarterTurns) {
+        _faceRotations[faceIndex] = (_faceRotations[faceIndex] + quarterTurns) & 3;
+        for (int face = 0; face < 6; face++) {
+            if (CubeRotations.getFace(_orientation, face) == faceIndex) {
+                updateView(face);
+                break;
+            }
+        }
+    }
+
+    /**
+     * Moves the fields of all faces to their facelet indexes.
+     *
+     * After this call the stored index of each field is its facelet index,
+     * and the rotation offsets of all faces are 0. The state of the cube is
+     * not changed.
+     */
+    void applyFaceRotations() {
+        boolean changed = false;
+        int fieldsPerFace = _dimension * _dimension;
+        byte[] fields = null;
+        for (int face = 0; face < 6; face++) {
+            int rotation = _faceRotations[face];
+            if (rotation == 0)
+                continue;
+
+            if (fields == null)
+                fields = new byte[fieldsPerFace];
+            int offset = face * fieldsPerFace;
+            System.arraycopy(_facelets, offset, fields, 0, fieldsPerFace);
+            for (int i = 0; i < fieldsPerFace; i++)
+                _facelets[offset + i] = fields[toStoredIndex(_dimension, i, rotation)];
+            _faceHashes[face] = Long.rotateLeft(_faceHashes[face], 16 * rotation);
+            _faceRotations[face] = 0;
+            changed = true;
+        }
+        if (changed)
+            updateView();
+    }
+
+    /**
+     * Calculates the start and step values of the face positions for the
+     * current orientation and the rotation offsets of the faces.
+     */
+    private void updateView() {
+        for (int face = 0; face < 6; face++)
+            updateView(face);
+    }
+
+    /**
+     * Calculates the start and step values of the specified face position.
+     *
+     * @param face The index of the face position.
+     */
+    private void updateView(final int face) {
+        int maxIndex = _dimension - 1;
+        int[] view = CubeRotations.getView(_orientation, face);
+        int shownFace = CubeRotations.getFace(_orientation, face);
+        int row = view[0] * maxIndex;
+        int column = view[1] * maxIndex;
+        int rowStepRow = view[2];
+        int rowStepColumn = view[3];
+        int columnStepRow = view[4];
+        int columnStepColumn = view[5];
+        for (int i = 0; i < _faceRotations[shownFace]; i++) {
+            int previousRow = row;
+            row = maxIndex - column;
+            column = previousRow;
+            int previousStep = rowStepRow;
+            rowStepRow = -rowStepColumn;
+            rowStepColumn = previousStep;
+            previousStep = columnStepRow;
+            columnStepRow = -columnStepColumn;
+            columnStepColumn = previousStep;
+        }
+        _viewStarts[face] = (shownFace * _dimension + row) * _dimension + column;
+        _viewRowSteps[face] = rowStepRow * _dimension + rowStepColumn;
+        _viewColumnSteps[face] = columnStepRow * _dimension + columnStepColumn;
+    }
+
+    /**
+     * Gets the color of the field with the specified facelet index.
+     *
+     * The facelet index enumerates all fields of the cube face by face,
+     * and within a face row by row:
+     * faceIndex * dimension * dimension + row * dimension + column.
+     * It does not depend on the orientation of the cube.
+     *
+     * @param index The facelet index of the field.
+     * @return The CubeColor of the field.
+     */
+    CubeColor getFacelet(final int index) {
+        int face = index / (_dimension * _dimension);
+        return _colors[_facelets[toStoredIndex(_dimension, index, _faceRotations[face])]];
+    }
+
+    /**
+     * Sets the color of the field with the specified facelet index.
+     *
+     * See getFacelet() for the definition of the facelet index.
+     *
+     * @param index The facelet index of the field.
+     * @param color The new CubeColor of the field.
+     */
+    void setFacelet(final int index, final CubeColor color) {
+        int face = index / (_dimension * _dimension);
+        setStoredFacelet(toStoredIndex(_dimension, index, _faceRotations[face]), color);
+    }
+
+    /**
+     * Sets the color of the field with the specified stored index.
+     *
+     * @param index The index of the field in the array returned by getFacelets().
+     * @param color The new CubeColor of the field.
+     */
+    void setStoredFacelet(final int index, final CubeColor color) {
+        byte newColor = (byte)color.ordinal();
+        int face = index / (_dimension * _dimension);
+        updateFaceHash(face, getFaceletChangeKey(_dimension, index, _facelets[index], newColor));
+        _colorCounts[face][_facelets[index]]--;
+        _colorCounts[face][newColor]++;
+        _facelets[index] = newColor;
+    }
+
+    /**
+     * Gets the array with the CubeColor ordinals of all fields.
+     *
+     * The rotators work directly on this array. Each change of the array
+     * must be reported to updateFaceHash() and getColorCounts(). The index of a field in this
+     * array is its stored index; it is only the facelet index if the
+     * rotation offset of its face is 0, see applyFaceRotations().
+     *
+     * @return The internal array of the cube, not a copy.
+     */
+    byte[] getFacelets() {
+        return _facelets;
+    }
+
+    /**
+     * Replaces the colors of all fields.
+     *
+     * The rotation offsets of all faces are reset to 0, and the state hash
+     * and the color counts are calculated from the new colors.
+     *
+     * @param facelets The array with the CubeColor ordinals of the fields
+     *                 in the order of their facelet indexes.
+     * @param offset The index of the first field in the array.
+     */
+    void setFacelets(final byte[] facelets, final int offset) {
+        System.arraycopy(facelets, offset, _facelets, 0, _facelets.length);
+        Arrays.fill(_faceRotations, 0);
+        updateFaceHashes();
+        updateColorCounts();
+        updateView();
+    }
+
+    /**
+     * Gets the 64-bit Zobrist hash of the current state of the cube.
+     *
+     * Two cubes with the same dimension and the same colors at all fields
+     * have the same hash. The orientation is not part of the hash. The hash
+     * is updated with each rotation, so this method does not scan the fields.
+     *
+     * @return The hash of the current state.
+     */
+    public long stateHash() {
+        long hash = 0;
+        for (int face = 0; face < 6; face++)
+            hash ^= Long.rotateLeft(_faceHashes[face], 16 * _faceRotations[face]);
+        return hash;
+    }
+
+    /**
+     * Changes the hash of the stored fields of a face by the specified value.
+     *
+     * The rotators call this method after they changed the facelets array
+     * directly. The value is the XOR of the results of getFaceletChangeKey()
+     * for all changed fields of the face, calculated with their stored indexes.
+     *
+     * @param faceIndex The index of the face of the unrotated cube.
+     * @param change The value that is combined with the hash of the face by XOR.
+     */
+    void updateFaceHash(final int faceIndex, final long change) {
+        _faceHashes[faceIndex] ^= change;
+    }
+
+    /**
+     * Gets a value indicating whether the fields of each face have the same color.
+     *
+     * The colors of the fields are counted with each change, so this method
+     * does not scan the fields.
+     *
+     * @return true if the cube is solved in any orientation.
+     */
+    public boolean isSolved() {
+        int fieldsPerFace = _dimension * _dimension;
+        for (int face = 0; face < 6; face++)
+            if (_colorCounts[face][_facelets[face * fieldsPerFace]] != fieldsPerFace)
+                return false;
+        return true;
+    }
+
+    /**
+     * Gets a value indicating whether all fields of the specified face have the same color.
+     *
+     * @param face The CubeColor of the face position, see getFace().
+     * @return true if all fields of the face have the same color.
+     */
+    public boolean isFaceSolved(final CubeColor face) {
+        int faceIndex = CubeRotations.getFace(_orientation, face.ordinal());
+        int fieldsPerFace = _dimension * _dimension;
+        return _colorCounts[faceIndex][_facelets[faceIndex * fieldsPerFace]] == fieldsPerFace;
+    }
+
+    /**
+     * Gets the count of fields of each color on the specified face.
+     *
+     * The rotators update the counts directly for each field whose color
+     * they changed in the facelets array: the count of the old color is
+     * decremented and the count of the new color is incremented.
+     *
+     * @param faceIndex The index of the face of the unrotated cube.
+     * @return The internal array with one count for each CubeColor ordinal, not a copy.
+     */
+    int[] getColorCounts(final int faceIndex) {
+        return _colorCounts[faceIndex];
+    }
+
+    /**
+     * Counts the colors of the fields of all faces.
+     */
+    private void updateColorCounts() {
+        int fieldsPerFace = _dimension * _dimension;
+        for (int face = 0; face < 6; face++) {
+            int[] counts = _colorCounts[face];
+            Arrays.fill(counts, 0);
+            for (int i = face * fieldsPerFace; i < (face + 1) * fieldsPerFace; i++)
+                counts[_facelets[i]]++;
+        }
+    }
+
+    /**
+     * Calculates the hashes of the stored fields of all faces.
+     */
+    private void updateFaceHashes() {
+        Arrays.fill(_faceHashes, 0);
+        int fieldsPerFace = _dimension * _dimension;
+        for (int i = 0; i < _facelets.length; i++)
+            _faceHashes[i / fieldsPerFace] ^= getFaceletKey(_dimension, i, _facelets[i]);
+    }
+
+    /**
+     * Gets the Zobrist key of the specified field with the specified color.
+     *
+     * The keys are calculated by the finalizer of SplitMix64. They are stored
+     * in a table for small dimensions only, so they need no memory for cubes
+     * with a large dimension.
+     *
+     * A quarter turn of a face moves its fields in cycles of four. The
+     * fields of a cycle share one key that is rotated by 16 bits for each
+     * clockwise quarter turn from the first field of the cycle, so turning
+     * a face rotates the XOR of the keys of its fields by 16 bits. The key
+     * of the middle field of a face with an odd dimension does not change
+     * by this rotation: it repeats 16 bits four times.
+     *
+     * @param dimension The count of rows and columns of the cube.
+     * @param index The facelet index of the field.
+     * @param color The CubeColor ordinal of the field.
+     * @return The key of the field with the color.
+     */
+    static long getFaceletKey(final int dimension, final int index, final int color) {
+        if (dimension > MaxKeyTableDimension)
+            return calculateFaceletKey(dimension, index, color);
+
+        long[] keys = _keyTables.get(dimension);
+        if (keys == null) {
+            keys = new long[6 * 6 * dimension * dimension];
+            for (int i = 0; i < keys.length; i++)
+                keys[i] = calculateFaceletKey(dimension, i / 6, i % 6);
+            _keyTables.set(dimension, keys);
+        }
+        return keys[index * 6 + color];
+    }
+
+    /**
+     * Calculates the Zobrist key of the specified field with the specified color.
+     *
+     * See getFaceletKey() for the meaning of the arguments.
+     *
+     * @param dimension The count of rows and columns of the cube.
+     * @param index The facelet index of the field.
+     * @param color The CubeColor ordinal of the field.
+     * @return The key of the field with the color.
+     */
+    private static long calculateFaceletKey(final int dimension, final int index, final int color) {
+        int fieldsPerFace = dimension * dimension;
+        int offset = index - index % fieldsPerFace;
+        int row = (index - offset) / dimension;
+        int column = index - offset - row * dimension;
+        int maxIndex = dimension - 1;
+
+        // Turn the field back counterclockwise to the first field of its cycle.
+        int quarterTurns = 0;
+        while (quarterTurns < 4 && (column < row || column >= maxIndex - row)) {
+            int previousRow = row;
+            row = maxIndex - column;
+            column = previousRow;
+            quarterTurns++;
+        }
+
+        long key = ((offset + row * dimension + column) * 6L + color + 1) * 0x9e3779b97f4a7c15L;
+        key = (key ^ (key >>> 30)) * 0xbf58476d1ce4e5b9L;
+        key = (key ^ (key >>> 27)) * 0x94d049bb133111ebL;
+        key ^= key >>> 31;
+        if (quarterTurns == 4)
+            return (key & 0xffff) * 0x0001000100010001L;
+        return Long.rotateLeft(key, 16 * quarterTurns);
+    }
+
+    /**
+     * Gets the value that changes the state hash when a field changes its color.
+     *
+     * @param dimension The count of rows and columns of the cube.
+     * @param index The facelet index of the field.
+     * @param oldColor The CubeColor ordinal of the field before the change.
+     * @param newColor The CubeColor ordinal of the field after the change.
+     * @return The value that must be combined with the state hash by XOR.
+     */
+    static long getFaceletChangeKey(final int dimension, final int index, final int oldColor, final int newColor) {
+        if (oldColor == newColor)
+            return 0;
+        return getFaceletKey(dimension, index, oldColor) ^ getFaceletKey(dimension, index, newColor);
+    }
+
+    /**
+     * Gets a value indicating whether the specified object is a Cube with
+     * the same dimension, the same orientation, and the same colors at all fields.
+     *
+     * The fields are compared by their facelet indexes, so the rotation
+     * offsets of the faces do not matter.
+     *
+     * @param other The object to compare.
+     * @return true if the other object is a Cube with the same state.
+     */
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other)
+            return true;
+        if (!(other instanceof Cube))
+            return false;
+
+        Cube cube = (Cube)other;
+        if (_dimension != cube._dimension
+                || _orientation != cube._orientation
+                || stateHash() != cube.stateHash())
+            return false;
+        if (Arrays.equals(_faceRotations, cube._faceRotations))
+            return Arrays.equals(_facelets, cube._facelets);
+
+        int fieldsPerFace = _dimension * _dimension;
+        for (int i = 0; i < _facelets.length; i++) {
+            int face = i / fieldsPerFace;
+            if (_facelets[toStoredIndex(_dimension, i, _faceRotations[face])]
+                    != cube._facelets[toStoredIndex(_dimension, i, cube._faceRotations[face])])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets a hash code of the current state of the cube.
+     *
+     * @return The hash code derived from stateHash().
+     */
+    @Override
+    public int hashCode() {
+        long hash = stateHash();
+        return (int)(hash ^ (hash >>> 32));
+    }
 }
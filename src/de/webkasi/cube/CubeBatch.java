@@ -0,0 +1,536 @@
+package de.webkasi.cube;
+
+import java.util.Arrays;
+
+/**
+ * Represents a large number of cube states with the same dimension.
+ *
+ * The states are not stored as Cube objects. The colors of all fields of
+ * all states are stored in one byte array, so there is no object per state.
+ * A 3x3 state needs 54 bytes for its fields and one byte for its orientation;
+ * ten million states need about 550 MB.
+ *
+ * The array is divided into stripes of StripeWidth states. Within a stripe
+ * the fields are stored facelet by facelet: first the field with facelet
+ * index 0 of all states of the stripe, then the field with facelet index 1,
+ * and so on. So a move copies the same field of all states of a stripe at
+ * once.
+ *
+ * Each state is identified by its index. The moves, copies, and comparisons
+ * work directly on the array. The faces of the moves refer to the current
+ * orientation of the state like the faces of CubeFaceRotator.
+ *
+ * The same moves can be applied to a range of states at once. These bulk
+ * methods compile the moves into a CompiledAlgorithm once and then move
+ * only the fields that are changed, without any lookup per move and state.
+ * The adjacent states of a stripe that have the same orientation are moved
+ * together: each step of a cycle of the permutation is one copy of up to
+ * StripeWidth bytes, which the JVM executes with vector instructions. A
+ * state with another orientation than its neighbours is moved on its own
+ * with the same code. The bulk methods do not share any buffer, so
+ * disjoint ranges of states can be moved by different threads. Other
+ * than that, a CubeBatch is not thread-safe.
+ */
+public final class CubeBatch {
+    /**
+     * The count of states of a stripe.
+     */
+    static final int StripeWidth = 64;
+
+    private final int _size;
+    private final MoveTable _table;
+    private final int _faceletCount;
+    /**
+     * The CubeColor ordinals of all fields of all states in stripes.
+     *
+     * The field with facelet index f of the state with index i is at
+     * getOffset(i) + f * StripeWidth. See Cube.getFacelet() for the
+     * definition of the facelet index.
+     */
+    private final byte[] _facelets;
+    /**
+     * The index of the orientation of each state, see CubeRotations.
+     */
+    private final byte[] _orientations;
+    /**
+     * The fields of the solved state.
+     */
+    private final byte[] _solved;
+    /**
+     * The fields of a single state, see applyPermutation() and get().
+     */
+    private final byte[] _buffer;
+
+    /**
+     * All CubeColor values, indexed by their ordinals.
+     */
+    private static final CubeColor[] _colors = CubeColor.values();
+
+    /**
+     * Initializes a new instance of the CubeBatch class.
+     *
+     * All states are initialized with the solved cube in the initial orientation.
+     *
+     * @param dimension The count of rows and columns of the cubes.
+     * @param size The count of states.
+     */
+    public CubeBatch(final int dimension, final int size) {
+        if (dimension < 1)
+            throw new IllegalArgumentException("The dimension must be at least 1.");
+        if (size < 0)
+            throw new IllegalArgumentException("The size must not be negative.");
+
+        _table = MoveTable.forDimension(dimension);
+        _faceletCount = _table.getFaceletCount();
+        long stripeCount = ((long)size + StripeWidth - 1) / StripeWidth;
+        if (stripeCount * StripeWidth * _faceletCount > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("The states do not fit into a single array.");
+
+        _size = size;
+        _facelets = new byte[(int)stripeCount * StripeWidth * _faceletCount];
+        _orientations = new byte[size];
+        _buffer = new byte[_faceletCount];
+        _solved = new Cube(dimension).getFacelets().clone();
+        for (int i = 0; i < _faceletCount; i++) {
+            for (int stripe = 0; stripe < stripeCount; stripe++) {
+                int start = (stripe * _faceletCount + i) * StripeWidth;
+                Arrays.fill(_facelets, start, start + StripeWidth, _solved[i]);
+            }
+        }
+    }
+
+    /**
+     * Gets the count of rows and columns of the cubes.
+     *
+     * @return The dimension passed to the constructor.
+     */
+    public int getDimension() {
+        return _table.getDimension();
+    }
+
+    /**
+     * Gets the count of states.
+     *
+     * @return The size passed to the constructor.
+     */
+    public int size() {
+        return _size;
+    }
+
+    /**
+     * Gets the index of the orientation of the specified state.
+     *
+     * @param index The index of the state.
+     * @return A value from 0 to 23, see Cube.getOrientation().
+     */
+    public int getOrientation(final int index) {
+        return _orientations[index];
+    }
+
+    /**
+     * Gets the color of the specified field of a state.
+     *
+     * @param index The index of the state.
+     * @param faceletIndex The facelet index of the field, see Cube.getFacelet().
+     * @return The CubeColor of the field.
+     */
+    public CubeColor getFacelet(final int index, final int faceletIndex) {
+        return _colors[_facelets[getOffset(index) + faceletIndex * StripeWidth]];
+    }
+
+    /**
+     * Stores the state of the specified cube.
+     *
+     * @param index The index of the state to overwrite.
+     * @param cube The Cube to store. It must have the dimension of the batch.
+     */
+    public void set(final int index, final Cube cube) {
+        checkDimension(cube);
+        cube.applyFaceRotations();
+        store(index, cube.getFacelets());
+        _orientations[index] = (byte)cube.getOrientation();
+    }
+
+    /**
+     * Loads the specified state into a cube.
+     *
+     * @param index The index of the state.
+     * @param cube The Cube whose fields and orientation are overwritten. It must
+     *             have the dimension of the batch.
+     */
+    public void get(final int index, final Cube cube) {
+        checkDimension(cube);
+        load(index, _buffer);
+        cube.setFacelets(_buffer, 0);
+        cube.setOrientation(_orientations[index]);
+    }
+
+    /**
+     * Creates a new Cube with the specified state.
+     *
+     * @param index The index of the state.
+     * @return A new Cube object.
+     */
+    public Cube toCube(final int index) {
+        Cube cube = new Cube(getDimension());
+        get(index, cube);
+        return cube;
+    }
+
+    /**
+     * Sets the specified state to the solved cube in the initial orientation.
+     *
+     * @param index The index of the state.
+     */
+    public void reset(final int index) {
+        store(index, _solved);
+        _orientations[index] = CubeRotations.Identity;
+    }
+
+    /**
+     * Copies a state to another index.
+     *
+     * @param source The index of the state to copy.
+     * @param target The index of the state to overwrite.
+     */
+    public void copy(final int source, final int target) {
+        load(source, _buffer);
+        store(target, _buffer);
+        _orientations[target] = _orientations[source];
+    }
+
+    /**
+     * Copies a state into another CubeBatch.
+     *
+     * @param source The index of the state to copy.
+     * @param target The CubeBatch to change. It must have the dimension of this batch.
+     * @param targetIndex The index of the state to overwrite in the target.
+     */
+    public void copyTo(final int source, final CubeBatch target, final int targetIndex) {
+        if (target.getDimension() != getDimension())
+            throw new IllegalArgumentException("The target has another dimension than the batch.");
+
+        load(source, _buffer);
+        target.store(targetIndex, _buffer);
+        target._orientations[targetIndex] = _orientations[source];
+    }
+
+    /**
+     * Gets a value indicating whether two states have the same orientation
+     * and the same colors at all fields.
+     *
+     * @param first The index of the first state.
+     * @param second The index of the second state.
+     * @return true if both states are equal.
+     */
+    public boolean isEqual(final int first, final int second) {
+        return compare(first, second) == 0;
+    }
+
+    /**
+     * Compares two states.
+     *
+     * The states are compared field by field by the CubeColor ordinals,
+     * then by the orientation.
+     *
+     * @param first The index of the first state.
+     * @param second The index of the second state.
+     * @return A negative value if the first state is less than the second one,
+     * 0 if both states are equal, or a positive value otherwise.
+     */
+    public int compare(final int first, final int second) {
+        int firstOffset = getOffset(first);
+        int secondOffset = getOffset(second);
+        for (int i = 0; i < _faceletCount * StripeWidth; i += StripeWidth) {
+            int result = Byte.compare(_facelets[firstOffset + i], _facelets[secondOffset + i]);
+            if (result != 0)
+                return result;
+        }
+        return Integer.compare(_orientations[first], _orientations[second]);
+    }
+
+    /**
+     * Gets a value indicating whether each face of the specified state has
+     * only one color.
+     *
+     * @param index The index of the state.
+     * @return true if the state is solved in any orientation.
+     */
+    public boolean isSolved(final int index) {
+        int offset = getOffset(index);
+        int fieldsPerFace = _faceletCount / 6;
+        for (int face = 0; face < 6; face++) {
+            int start = offset + face * fieldsPerFace * StripeWidth;
+            int end = start + fieldsPerFace * StripeWidth;
+            for (int i = start + StripeWidth; i < end; i += StripeWidth)
+                if (_facelets[i] != _facelets[start])
+                    return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the 64-bit Zobrist hash of the specified state.
+     *
+     * The value is the same as Cube.stateHash() of a cube with this state.
+     * It is calculated from all fields.
+     *
+     * @param index The index of the state.
+     * @return The hash of the state.
+     */
+    public long stateHash(final int index) {
+        int offset = getOffset(index);
+        int dimension = getDimension();
+        long hash = 0;
+        for (int i = 0; i < _faceletCount; i++)
+            hash ^= Cube.getFaceletKey(dimension, i, _facelets[offset + i * StripeWidth]);
+        return hash;
+    }
+
+    /**
+     * Rotates the whole cube of the specified state around an axis.
+     *
+     * See Cube.rotateCube() for the meaning of the arguments.
+     *
+     * @param index The index of the state.
+     * @param axis Axis character: 'x', 'y', or 'z'.
+     * @param direction The RotationDirection of the rotation.
+     * @param count The count of 90 degree rotations.
+     */
+    public void rotateCube(final int index, final char axis, final RotationDirection direction, final int count) {
+        int quarterTurns = direction == RotationDirection.Clockwise ? count % 4 : (4 - count % 4) % 4;
+        _orientations[index] = (byte)CubeRotations.rotate(_orientations[index], axis, quarterTurns);
+    }
+
+    /**
+     * Rotates the specified layers of a state by 90 degrees.
+     *
+     * See CubeFaceRotator.rotateLayers() for the meaning of the arguments.
+     *
+     * @param index The index of the state.
+     * @param direction The RotationDirection of the rotation.
+     * @param face The CubeColor of the face position whose layers are rotated.
+     * @param startRow The index of the first layer that is rotated.
+     * @param countOfLayers The count of layers to rotate.
+     */
+    public void rotateLayers(
+            final int index,
+            final RotationDirection direction,
+            final CubeColor face,
+            final int startRow,
+            final int countOfLayers) {
+        applyPermutation(index, _table.getPermutation(direction, getFaceAt(index, face), startRow, countOfLayers));
+    }
+
+    /**
+     * Rotates the specified layers of a state by 180 degrees.
+     *
+     * See CubeFaceRotator.rotateHalfTurn() for the meaning of the arguments.
+     *
+     * @param index The index of the state.
+     * @param face The CubeColor of the face position whose layers are rotated.
+     * @param startRow The index of the first layer that is rotated.
+     * @param countOfLayers The count of layers to rotate.
+     */
+    public void rotateHalfTurn(final int index, final CubeColor face, final int startRow, final int countOfLayers) {
+        applyPermutation(index, _table.getHalfTurnPermutation(getFaceAt(index, face), startRow, countOfLayers));
+    }
+
+    /**
+     * Executes the rotation of the specified record on a state.
+     *
+     * @param index The index of the state.
+     * @param record The CubeFaceRotationRecord to play.
+     */
+    public void play(final int index, final CubeFaceRotationRecord record) {
+        if (record.isHalfTurn())
+            rotateHalfTurn(index, record.getFace(), record.getStartRow(), record.getCountOfLayers());
+        else
+            rotateLayers(index, record.getDirection(), record.getFace(), record.getStartRow(), record.getCountOfLayers());
+    }
+
+    /**
+     * Applies a compiled algorithm to a state.
+     *
+     * @param index The index of the state.
+     * @param algorithm The CompiledAlgorithm to apply. It must have the dimension of the batch.
+     */
+    public void apply(final int index, final CompiledAlgorithm algorithm) {
+        if (algorithm.getDimension() != getDimension())
+            throw new IllegalArgumentException("The algorithm has another dimension than the batch.");
+
+        algorithm.permute(_facelets, getOffset(index), StripeWidth, 1, _orientations[index], _buffer);
+    }
+
+    /**
+     * Applies a compiled algorithm to a range of states.
+     *
+     * The adjacent states of a stripe with the same orientation are moved
+     * together, see CompiledAlgorithm.permute().
+     *
+     * @param fromIndex The index of the first state.
+     * @param toIndex The index after the last state.
+     * @param algorithm The CompiledAlgorithm to apply. It must have the dimension of the batch.
+     */
+    public void apply(final int fromIndex, final int toIndex, final CompiledAlgorithm algorithm) {
+        if (algorithm.getDimension() != getDimension())
+            throw new IllegalArgumentException("The algorithm has another dimension than the batch.");
+        checkRange(fromIndex, toIndex);
+
+        byte[] buffer = new byte[StripeWidth];
+        int index = fromIndex;
+        while (index < toIndex) {
+            int stripeEnd = Math.min(toIndex, (index / StripeWidth + 1) * StripeWidth);
+            int end = index + 1;
+            while (end < stripeEnd && _orientations[end] == _orientations[index])
+                end++;
+            algorithm.permute(_facelets, getOffset(index), StripeWidth, end - index, _orientations[index], buffer);
+            index = end;
+        }
+    }
+
+    /**
+     * Executes the specified rotation records on a range of states.
+     *
+     * The records are compiled into one CompiledAlgorithm, so each field of
+     * a state is moved at most once.
+     *
+     * @param fromIndex The index of the first state.
+     * @param toIndex The index after the last state.
+     * @param records The CubeFaceRotationRecords object containing the rotations.
+     */
+    public void play(final int fromIndex, final int toIndex, final CubeFaceRotationRecords records) {
+        apply(fromIndex, toIndex, new CompiledAlgorithm(records, getDimension()));
+    }
+
+    /**
+     * Rotates the specified layers of a range of states by 90 degrees.
+     *
+     * See CubeFaceRotator.rotateLayers() for the meaning of the arguments.
+     *
+     * @param fromIndex The index of the first state.
+     * @param toIndex The index after the last state.
+     * @param direction The RotationDirection of the rotation.
+     * @param face The CubeColor of the face position whose layers are rotated.
+     * @param startRow The index of the first layer that is rotated.
+     * @param countOfLayers The count of layers to rotate.
+     */
+    public void rotateLayers(
+            final int fromIndex,
+            final int toIndex,
+            final RotationDirection direction,
+            final CubeColor face,
+            final int startRow,
+            final int countOfLayers) {
+        CubeFaceRotationRecords records = new CubeFaceRotationRecords();
+        records.add(CubeFaceRotationRecord.valueOf(face, direction, startRow, countOfLayers));
+        play(fromIndex, toIndex, records);
+    }
+
+    /**
+     * Rotates the specified layers of a range of states by 180 degrees.
+     *
+     * See CubeFaceRotator.rotateHalfTurn() for the meaning of the arguments.
+     *
+     * @param fromIndex The index of the first state.
+     * @param toIndex The index after the last state.
+     * @param face The CubeColor of the face position whose layers are rotated.
+     * @param startRow The index of the first layer that is rotated.
+     * @param countOfLayers The count of layers to rotate.
+     */
+    public void rotateHalfTurn(
+            final int fromIndex,
+            final int toIndex,
+            final CubeColor face,
+            final int startRow,
+            final int countOfLayers) {
+        CubeFaceRotationRecords records = new CubeFaceRotationRecords();
+        records.add(CubeFaceRotationRecord.valueOf(face, RotationDirection.Clockwise, startRow, countOfLayers, 2));
+        play(fromIndex, toIndex, records);
+    }
+
+    /**
+     * Gets the index of the field with facelet index 0 of the specified state in _facelets.
+     *
+     * The other fields of the state follow at a distance of StripeWidth.
+     *
+     * @param index The index of the state.
+     * @return The offset of the state.
+     */
+    private int getOffset(final int index) {
+        if (index < 0 || index >= _size)
+            throw new IndexOutOfBoundsException("The index of the state is out of range.");
+        return index / StripeWidth * _faceletCount * StripeWidth + index % StripeWidth;
+    }
+
+    /**
+     * Copies the fields of a state into an array in the order of their facelet indexes.
+     *
+     * @param index The index of the state.
+     * @param facelets The array receiving the CubeColor ordinals of the fields.
+     */
+    private void load(final int index, final byte[] facelets) {
+        int offset = getOffset(index);
+        for (int i = 0; i < _faceletCount; i++)
+            facelets[i] = _facelets[offset + i * StripeWidth];
+    }
+
+    /**
+     * Overwrites the fields of a state with the fields of an array in the order
+     * of their facelet indexes.
+     *
+     * @param index The index of the state.
+     * @param facelets The array with the CubeColor ordinals of the fields.
+     */
+    private void store(final int index, final byte[] facelets) {
+        int offset = getOffset(index);
+        for (int i = 0; i < _faceletCount; i++)
+            _facelets[offset + i * StripeWidth] = facelets[i];
+    }
+
+    /**
+     * Throws an exception if the specified range is not a range of states.
+     *
+     * @param fromIndex The index of the first state.
+     * @param toIndex The index after the last state.
+     */
+    private void checkRange(final int fromIndex, final int toIndex) {
+        if (fromIndex < 0 || toIndex > _size || fromIndex > toIndex)
+            throw new IndexOutOfBoundsException("The range of states is out of range.");
+    }
+
+    /**
+     * Gets the face of the unrotated cube that is at the specified position
+     * in the orientation of a state.
+     *
+     * @param index The index of the state.
+     * @param face The CubeColor of the position, as for the initial orientation.
+     * @return The CubeColor of the face that has been rotated to this position.
+     */
+    private CubeColor getFaceAt(final int index, final CubeColor face) {
+        return _colors[CubeRotations.getFace(_orientations[index], face.ordinal())];
+    }
+
+    /**
+     * Moves the fields of a state by the specified permutation.
+     *
+     * @param index The index of the state.
+     * @param permutation The permutation from the MoveTable.
+     */
+    private void applyPermutation(final int index, final int[] permutation) {
+        int offset = getOffset(index);
+        load(index, _buffer);
+        for (int i = 0; i < _faceletCount; i++)
+            _facelets[offset + i * StripeWidth] = _buffer[permutation[i]];
+    }
+
+    /**
+     * Throws an exception if the specified cube has another dimension than the batch.
+     *
+     * @param cube The Cube to check.
+     */
+    private void checkDimension(final Cube cube) {
+        if (cube.getDimension() != getDimension())
+            throw new IllegalArgumentException("The cube has another dimension than the batch.");
+    }
+}
@@ -1,11 +1,33 @@
 package de.webkasi.cube;
 
+import java.util.Arrays;
+
 /**
  * Represents one face of a magic cube with a matrix of CubeColor fields.
+ *
+ * The fields are stored as CubeColor ordinals in a byte array, row by row.
+ * The CubeFace objects of a Cube are views into the array of the cube, so
+ * setting a field of such a face changes the cube. The changes are passed
+ * to the cube to keep its state hash up to date. A view shows the face
+ * at its position in the current orientation of the cube.
  */
 public class CubeFace {
     private final int _dimension;
-    private final CubeColor[][] _fields;
+    private final byte[] _fields;
+    /**
+     * The Cube this face belongs to, or null if the face is not part of a cube.
+     */
+    private final Cube _cube;
+    /**
+     * The index of the face position within the cube; 0 if the face is not
+     * part of a cube.
+     */
+    private final int _faceIndex;
+
+    /**
+     * All CubeColor values, indexed by their ordinals.
+     */
+    private static final CubeColor[] _colors = CubeColor.values();
 
     /**
      * Initializes a new instance of the CubeFace class.
@@ -14,15 +36,29 @@ public class CubeFace {
      */
     public CubeFace(int dimension) {
         _dimension = dimension;
-        _fields = new CubeColor[dimension][dimension];
+        _fields = new byte[dimension * dimension];
+        _faceIndex = 0;
+        _cube = null;
+    }
+
+    /**
+     * Initializes a new instance of the CubeFace class as a view into
+     * the fields of the specified Cube.
+     *
+     * @param cube The Cube this face belongs to.
+     * @param faceIndex The index of the face position within the cube.
+     */
+    CubeFace(Cube cube, int faceIndex) {
+        _dimension = cube.getDimension();
+        _fields = cube.getFacelets();
+        _faceIndex = faceIndex;
+        _cube = cube;
     }
 
     /**
      * Initializes a new instance of the CubeFace class with a copy
      * of the specified instance.
      *
-     * The copy constructor is used for several rotation operations.
-     *
      * @param copy The source of the copy of the new instance of CubeFace.
      */
     @SuppressWarnings("CopyConstructorMissesField")
@@ -37,8 +73,14 @@ public class CubeFace {
      * @param copy The source of the copy.
      */
     public void setFace(CubeFace copy) {
-        for (int row = 0; row < _dimension; row++)
-            System.arraycopy(copy._fields[row], 0, _fields[row], 0, _dimension);
+        if (_cube == null && copy._cube == null) {
+            System.arraycopy(copy._fields, 0, _fields, 0, _dimension * _dimension);
+        }
+        else {
+            for (int row = 0; row < _dimension; row++)
+                for (int column = 0; column < _dimension; column++)
+                    setField(row, column, copy.getField(row, column));
+        }
     }
 
     /**
@@ -47,9 +89,14 @@ public class CubeFace {
      * @param color The CubeColor each field of the cube face will get
      */
     public void setFaceColor(CubeColor color) {
-        for (int row = 0; row < _dimension; row++)
-            for (int column = 0; column < _dimension; column++)
-                _fields[row][column] = color;
+        if (_cube == null) {
+            Arrays.fill(_fields, (byte)color.ordinal());
+        }
+        else {
+            for (int row = 0; row < _dimension; row++)
+                for (int column = 0; column < _dimension; column++)
+                    setField(row, column, color);
+        }
     }
 
     /**
@@ -60,7 +107,10 @@ public class CubeFace {
      * @param color New CubeColor of the specified field
      */
     public void setField(final int row, final int column, CubeColor color) {
-        _fields[row][column] = color;
+        if (_cube == null)
+            _fields[row * _dimension + column] = (byte)color.ordinal();
+        else
+            _cube.setStoredFacelet(_cube.getStoredIndex(_faceIndex, row, column), color);
     }
 
     /**
@@ -71,7 +121,9 @@ public class CubeFace {
      * @return Current CubeColor of the specified field
      */
     public CubeColor getField(final int row, final int column) {
-        return _fields[row][column];
+        if (_cube == null)
+            return _colors[_fields[row * _dimension + column]];
+        return _colors[_fields[_cube.getStoredIndex(_faceIndex, row, column)]];
     }
 
     /**
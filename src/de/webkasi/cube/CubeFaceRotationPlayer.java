@@ -23,13 +23,79 @@ public class CubeFaceRotationPlayer {
      *                rotations to replay.
      */
     public void play(CubeFaceRotationRecords records) {
-        records.forEach(
-                (v) -> {
-                    if (v.getStartRow() == 0)
-                        _rotator.rotateFace(v.getDirection(), v.getFace(), v.getCountOfLayers());
-                    else
-                        _rotator.rotateLayers(v.getDirection(), v.getFace(), v.getStartRow(), v.getCountOfLayers());
-                }
-        );
+        play(records, 0);
+    }
+
+    /**
+     * Executes the rotation records beginning at the specified index on the
+     * attached Cube.
+     *
+     * This is used to play only the records that have been appended since
+     * the last call.
+     *
+     * @param records A CubeFaceRotationRecords object containing the
+     *                rotations to replay.
+     * @param startIndex The index of the first record to play.
+     */
+    public void play(CubeFaceRotationRecords records, int startIndex) {
+        for (int i = startIndex; i < records.size(); i++) {
+            CubeFaceRotationRecord record = records.get(i);
+            play(record.getFace(), record.getDirection(), record.getStartRow(), record.getCountOfLayers(),
+                    record.isHalfTurn());
+        }
+    }
+
+    /**
+     * Executes the specified packed rotations on the attached Cube.
+     *
+     * @param rotations A PackedRotationRecords object containing the
+     *                  rotations to replay.
+     */
+    public void play(PackedRotationRecords rotations) {
+        play(rotations, 0);
+    }
+
+    /**
+     * Executes the packed rotations beginning at the specified index on the
+     * attached Cube.
+     *
+     * The rotations are unpacked into their parts, no objects are created.
+     *
+     * @param rotations A PackedRotationRecords object containing the
+     *                  rotations to replay.
+     * @param startIndex The index of the first rotation to play.
+     */
+    public void play(PackedRotationRecords rotations, int startIndex) {
+        for (int i = startIndex; i < rotations.size(); i++) {
+            int rotation = rotations.get(i);
+            play(PackedRotationRecords.getFace(rotation),
+                    PackedRotationRecords.getDirection(rotation),
+                    PackedRotationRecords.getStartRow(rotation),
+                    PackedRotationRecords.getCountOfLayers(rotation),
+                    PackedRotationRecords.isHalfTurn(rotation));
+        }
+    }
+
+    /**
+     * Executes a single rotation on the attached Cube.
+     *
+     * @param face The CubeColor of the face to rotate.
+     * @param direction The RotationDirection value specifying the rotation direction.
+     * @param startRow The first layer index which is rotated.
+     * @param countOfLayers The count of layers to rotate.
+     * @param halfTurn true if the layers are rotated by 180 degrees.
+     */
+    private void play(
+            final CubeColor face,
+            final RotationDirection direction,
+            final int startRow,
+            final int countOfLayers,
+            final boolean halfTurn) {
+        if (halfTurn)
+            _rotator.rotateHalfTurn(face, startRow, countOfLayers);
+        else if (startRow == 0)
+            _rotator.rotateFace(direction, face, countOfLayers);
+        else
+            _rotator.rotateLayers(direction, face, startRow, countOfLayers);
     }
 }
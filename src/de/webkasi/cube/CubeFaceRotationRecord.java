@@ -1,13 +1,40 @@
 package de.webkasi.cube;
 
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 /**
- * Represents a cube face rotation for playing rotations.s
+ * Represents a cube face rotation for playing rotations.
+ *
+ * A record is either a quarter turn in its direction or a half turn.
+ * A half turn has the same effect in both directions; the direction
+ * is kept only to write the record in the same notation again, and it is
+ * ignored by equals() and inverse().
+ *
+ * Records are immutable, so the same instance can be added to a list
+ * several times and shared by lists that are used by several threads.
+ * valueOf() returns a shared instance for each rotation whose start row
+ * and count of layers are less than MaxInternedLayers, so parsing and
+ * scrambling cubes up to this dimension does not create new records.
  */
-public class CubeFaceRotationRecord {
+public final class CubeFaceRotationRecord {
     private final CubeColor _face;
-    private RotationDirection _direction;
-    private int _startRow;
-    private int _countOfLayers;
+    private final RotationDirection _direction;
+    private final int _startRow;
+    private final int _countOfLayers;
+    private final int _countOfTurns;
+
+    /**
+     * The limit of the start row and the count of layers of the shared records.
+     */
+    public static final int MaxInternedLayers = 32;
+
+    /**
+     * The shared records, created when they are requested the first time.
+     *
+     * See getInternIndex() for the index of a record.
+     */
+    private static final AtomicReferenceArray<CubeFaceRotationRecord> _interned =
+            new AtomicReferenceArray<>(MaxInternedLayers * MaxInternedLayers * 6 * 4);
 
     /**
      * Initializes a new instance of the CubeFaceRotationRecord class
@@ -60,29 +87,91 @@ public class CubeFaceRotationRecord {
             final RotationDirection direction,
             final int startRow,
             final int countOfLayers) {
+        this(face, direction, startRow, countOfLayers, 1);
+    }
+
+    /**
+     * Initializes a new instance of the CubeFaceRotationRecord class
+     * with the specified values.
+     *
+     * @param face The CubeColor of the face to rotate.
+     * @param direction The CubeRotationDirection value specifying the rotation direction.
+     * @param startRow The first layer index which is rotated
+     * @param countOfLayers The count of layers to rotate.
+     * @param countOfTurns 1 for a quarter turn, 2 for a half turn.
+     */
+    public CubeFaceRotationRecord(
+            final CubeColor face,
+            final RotationDirection direction,
+            final int startRow,
+            final int countOfLayers,
+            final int countOfTurns) {
         _face = face;
         _direction = direction;
         _startRow = startRow;
         _countOfLayers = countOfLayers;
+        _countOfTurns = countOfTurns;
     }
 
     /**
-     * Gets the index of the face to rotate.
+     * Gets a record with the specified values.
      *
-     * @return The index of the face to rotate.
+     * If the start row and the count of layers are less than MaxInternedLayers
+     * then the same instance is returned for the same values each time.
+     *
+     * @param face The CubeColor of the face to rotate.
+     * @param direction The CubeRotationDirection value specifying the rotation direction.
+     * @param startRow The first layer index which is rotated
+     * @param countOfLayers The count of layers to rotate.
+     * @param countOfTurns 1 for a quarter turn, 2 for a half turn.
+     * @return A CubeFaceRotationRecord object with the specified values.
      */
-    public CubeColor getFace() {
-        return _face;
+    public static CubeFaceRotationRecord valueOf(
+            final CubeColor face,
+            final RotationDirection direction,
+            final int startRow,
+            final int countOfLayers,
+            final int countOfTurns) {
+        if (startRow < 0 || startRow >= MaxInternedLayers
+                || countOfLayers < 0 || countOfLayers >= MaxInternedLayers
+                || direction == RotationDirection.None
+                || (countOfTurns != 1 && countOfTurns != 2))
+            return new CubeFaceRotationRecord(face, direction, startRow, countOfLayers, countOfTurns);
+
+        int index = getInternIndex(face, direction, startRow, countOfLayers, countOfTurns);
+        CubeFaceRotationRecord record = _interned.get(index);
+        if (record == null) {
+            record = new CubeFaceRotationRecord(face, direction, startRow, countOfLayers, countOfTurns);
+            if (!_interned.compareAndSet(index, null, record))
+                record = _interned.get(index);
+        }
+        return record;
     }
 
     /**
-     * Sets the CubeRotationDirection value specifying the rotation direction.
+     * Gets a quarter turn record with the specified values.
      *
-     * @param direction The CubeRotationDirection value specifying the
-     *                  rotation direction.
+     * @param face The CubeColor of the face to rotate.
+     * @param direction The CubeRotationDirection value specifying the rotation direction.
+     * @param startRow The first layer index which is rotated
+     * @param countOfLayers The count of layers to rotate.
+     * @return A CubeFaceRotationRecord object with the specified values, see valueOf().
      */
-    public void setDirection(RotationDirection direction) {
-        _direction = direction;
+    public static CubeFaceRotationRecord valueOf(
+            final CubeColor face,
+            final RotationDirection direction,
+            final int startRow,
+            final int countOfLayers) {
+        return valueOf(face, direction, startRow, countOfLayers, 1);
+    }
+
+    /**
+     * Gets the index of the face to rotate.
+     *
+     * @return The index of the face to rotate.
+     */
+    public CubeColor getFace() {
+        return _face;
     }
 
     /**
@@ -103,27 +192,102 @@ public class CubeFaceRotationRecord {
     public int getStartRow() { return _startRow; }
 
     /**
-     * Sets the index of the first row to rotate.
+     * Gets the count of layers to rotate.
      *
-     * @param startRow Index of the first row to rotate.
+     * @return The count of layers to rotate.
      */
-    public void setStartRow(int startRow) { this._startRow = startRow; }
+    public int getCountOfLayers() {
+        return _countOfLayers;
+    }
 
     /**
-     * Sets the count of layers to rotate.
+     * Gets the count of quarter turns of the rotation.
      *
-     * @param countOfLayers The count of layers to rotate.
+     * @return 1 for a quarter turn, 2 for a half turn.
      */
-    public void setCountOfLayers(int countOfLayers) {
-        _countOfLayers = countOfLayers;
+    public int getCountOfTurns() {
+        return _countOfTurns;
     }
 
     /**
-     * Gets the count of layers to rotate.
+     * Gets a value indicating whether the record is a half turn.
      *
-     * @return The count of layers to rotate.
+     * @return true if the layers are rotated by 180 degrees.
      */
-    public int getCountOfLayers() {
-        return _countOfLayers;
+    public boolean isHalfTurn() {
+        return _countOfTurns == 2;
+    }
+
+    /**
+     * Gets the record with the rotation that reverts this rotation.
+     *
+     * The record rotates the same layers in the opposite direction. A half
+     * turn is its own inverse.
+     *
+     * @return A CubeFaceRotationRecord object with the inverse rotation, see valueOf().
+     */
+    public CubeFaceRotationRecord inverse() {
+        if (isHalfTurn())
+            return this;
+
+        RotationDirection direction = _direction == RotationDirection.Clockwise
+                ? RotationDirection.Counterclockwise
+                : RotationDirection.Clockwise;
+        return valueOf(_face, direction, _startRow, _countOfLayers, _countOfTurns);
+    }
+
+    /**
+     * Gets a value indicating whether the specified object is a record with the same values.
+     *
+     * @param o The object to compare.
+     * @return true if the object rotates the same layers in the same way.
+     * The direction of half turns is not compared.
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof CubeFaceRotationRecord))
+            return false;
+
+        CubeFaceRotationRecord record = (CubeFaceRotationRecord)o;
+        return _face == record._face
+                && (_direction == record._direction || isHalfTurn())
+                && _startRow == record._startRow
+                && _countOfLayers == record._countOfLayers
+                && _countOfTurns == record._countOfTurns;
+    }
+
+    /**
+     * Gets the hash code of the values of the record.
+     *
+     * @return The hash code.
+     */
+    @Override
+    public int hashCode() {
+        int hash = _face.ordinal() * 3 + (isHalfTurn() ? 0 : _direction.ordinal());
+        hash = hash * 31 + _startRow;
+        hash = hash * 31 + _countOfLayers;
+        return hash * 3 + _countOfTurns;
+    }
+
+    /**
+     * Calculates the index of a shared record in _interned.
+     *
+     * @param face The CubeColor of the face to rotate.
+     * @param direction The CubeRotationDirection value specifying the rotation direction.
+     * @param startRow The first layer index which is rotated
+     * @param countOfLayers The count of layers to rotate.
+     * @param countOfTurns 1 for a quarter turn, 2 for a half turn.
+     * @return The index in _interned.
+     */
+    private static int getInternIndex(
+            final CubeColor face,
+            final RotationDirection direction,
+            final int startRow,
+            final int countOfLayers,
+            final int countOfTurns) {
+        int kind = (direction == RotationDirection.Clockwise ? 0 : 1) + (countOfTurns - 1) * 2;
+        return ((startRow * MaxInternedLayers + countOfLayers) * 6 + face.ordinal()) * 4 + kind;
     }
 }
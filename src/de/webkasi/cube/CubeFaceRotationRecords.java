@@ -11,4 +11,19 @@ import java.util.ArrayList;
  * specific color configuration of a part of the cube.
  */
 public class CubeFaceRotationRecords extends ArrayList<CubeFaceRotationRecord> {
+    /**
+     * Creates the sequence of rotations that reverts this sequence.
+     *
+     * The records of the new list are in reversed order and each
+     * of them rotates in the opposite direction. Playing the inverse
+     * after this sequence restores the initial state of the cube.
+     *
+     * @return A new CubeFaceRotationRecords object with the inverse rotations.
+     */
+    public CubeFaceRotationRecords inverse() {
+        CubeFaceRotationRecords inverse = new CubeFaceRotationRecords();
+        for (int i = size() - 1; i >= 0; i--)
+            inverse.add(get(i).inverse());
+        return inverse;
+    }
 }
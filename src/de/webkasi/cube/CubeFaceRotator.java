@@ -6,22 +6,63 @@ package de.webkasi.cube;
  *
  * CubeFaceRotator supports cubes with multiple dimensions and rotates
  * multiple layers in one step.
+ *
+ * The fields of the rotated face itself are not moved; only its rotation
+ * offset in the Cube is changed. A turn therefore moves the 4 * dimension
+ * fields of each layer of the side faces only.
  */
 public class CubeFaceRotator {
     /**
      * The Cube object where the faces and layers should be moved.
      */
     private final Cube _cube;
+    private final int _dimension;
+    /**
+     * The CubeColor ordinals of all fields of the cube.
+     *
+     * This is the internal array of the cube, see Cube.getFacelets().
+     */
+    private final byte[] _facelets;
+    /**
+     * Table of the stored index of the normalized position row 0 and column 0
+     * of each side face.
+     *
+     * For each face are four side faces as listed in _sideFaceIndexes, and
+     * for each side face one stored index for each rotation offset of the
+     * side face, see Cube.getFaceRotation(). Together with _sideRowSteps
+     * and _sideColumnSteps the stored index of each normalized position of
+     * a side face is calculated without translating the coordinates.
+     */
+    private final int[][][] _sideStarts;
+    /**
+     * Table of the difference of the facelet indexes of two neighbor fields
+     * when the normalized row index is incremented.
+     *
+     * See _sideStarts for further documentation.
+     */
+    private final int[][][] _sideRowSteps;
     /**
-     * Table of the side indexes of each face.
+     * Table of the difference of the facelet indexes of two neighbor fields
+     * when the normalized column index is incremented.
      *
-     * For each face are four CubeFace references in this array,
-     * one four each side face. This data is necessary to determine
-     * which faces must be shifted when their upper face is rotated.
-     * The CubeFace references are referencing the actual faces
-     * of the associated cube.
+     * See _sideStarts for further documentation.
      */
-    private final CubeFace[][] _faceToSides;
+    private final int[][][] _sideColumnSteps;
+    /**
+     * The ring buffer of the undo stack with the packed rotations.
+     *
+     * See PackedRotationRecords.pack() for the format of the values. If the buffer is full then
+     * the oldest rotation is overwritten.
+     */
+    private final int[] _undoRotations;
+    /**
+     * The index of the oldest rotation in _undoRotations.
+     */
+    private int _undoStart;
+    /**
+     * The count of rotations in _undoRotations.
+     */
+    private int _undoCount;
 
     private final static int White     = CubeColor.White.ordinal();
     private final static int Orange    = CubeColor.Orange.ordinal();
@@ -30,23 +71,83 @@ public class CubeFaceRotator {
     private final static int Blue      = CubeColor.Blue.ordinal();
     private final static int Yellow    = CubeColor.Yellow.ordinal();
 
+    /**
+     * Table of the side face indexes of each face.
+     *
+     * For each face are the indexes of its four side faces in this array.
+     * The order of the side faces is the shift order of the layers when
+     * the face is rotated.
+     */
+    private static final int[][] _sideFaceIndexes = new int[][] {
+            { Orange, Green, Red, Blue },   // White
+            { Blue, Yellow, Green, White }, // Orange
+            { Orange, Yellow, Red, White }, // Green
+            { Green, Yellow, Blue, White }, // Red
+            { Red, Yellow, Orange, White }, // Blue
+            { Orange, Blue, Red, Green }    // Yellow
+    };
+
     /**
      * Initializes a new CubeFaceRotator instance.
      *
+     * The rotations are not recorded for undo().
+     *
      * @param cube Cube where a face should be rotated
      */
     public CubeFaceRotator(Cube cube) {
+        this(cube, 0);
+    }
+
+    /**
+     * Initializes a new CubeFaceRotator instance with an undo stack.
+     *
+     * @param cube Cube where a face should be rotated
+     * @param undoCapacity The maximum count of rotations that can be reverted
+     *                     by undo(). If more rotations are done, then the oldest
+     *                     ones are dropped.
+     */
+    public CubeFaceRotator(Cube cube, int undoCapacity) {
         _cube = cube;
-        CubeFace[] sides = _cube.getFaces();
-
-        _faceToSides = new CubeFace[][] {
-                { sides[Orange], sides[Green], sides[Red], sides[Blue] },   // White
-                { sides[Blue], sides[Yellow], sides[Green], sides[White] }, // Orange
-                { sides[Orange], sides[Yellow], sides[Red], sides[White] }, // Green
-                { sides[Green], sides[Yellow], sides[Blue], sides[White] }, // Red
-                { sides[Red], sides[Yellow], sides[Orange], sides[White] }, // Blue
-                { sides[Orange], sides[Blue], sides[Red], sides[Green] }    // Yellow
-        };
+        _undoRotations = new int[undoCapacity];
+        _facelets = cube.getFacelets();
+        _dimension = cube.getDimension();
+
+        _sideStarts = new int[_sideFaceIndexes.length][4][4];
+        _sideRowSteps = new int[_sideFaceIndexes.length][4][4];
+        _sideColumnSteps = new int[_sideFaceIndexes.length][4][4];
+        for (int face = 0; face < _sideFaceIndexes.length; face++) {
+            for (int side = 0; side < 4; side++) {
+                for (int rotation = 0; rotation < 4; rotation++) {
+                    int start = getSideStoredIndex(face, side, rotation, 0, 0);
+                    _sideStarts[face][side][rotation] = start;
+                    _sideRowSteps[face][side][rotation] = getSideStoredIndex(face, side, rotation, 1, 0) - start;
+                    _sideColumnSteps[face][side][rotation] = getSideStoredIndex(face, side, rotation, 0, 1) - start;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the stored index of a field of a side face addressed by its normalized
+     * coordinates for the specified rotation offset of the side face.
+     *
+     * The coordinates may be one row or column beyond the face of a 1x1 cube;
+     * the result is only used to calculate the step values then.
+     *
+     * @param face The index of the rotating face.
+     * @param side The index (0 to 3) of the side face in the shift order of the rotating face.
+     * @param rotation The rotation offset of the side face, see Cube.getFaceRotation().
+     * @param row The normalized row index.
+     * @param column The normalized column index.
+     * @return The stored index of the field.
+     */
+    private int getSideStoredIndex(
+            final int face,
+            final int side,
+            final int rotation,
+            final int row,
+            final int column) {
+        return Cube.toStoredIndex(_dimension, getSideFaceletIndex(_dimension, face, side, row, column), rotation);
     }
 
     /**
@@ -74,15 +175,115 @@ public class CubeFaceRotator {
      * If startRow is greater zero then the top face layer is not rotated. This is used
      * to rotate middle layers only.
      *
+     * The face is the position of the face in the current orientation of the cube,
+     * see Cube.rotateCube().
+     *
      * @param direction The RotationDirection that specifies the direction of the rotation
      * @param face The index of the face that is rotated.
      * @param countOfLayers The count of layers of the side faces to rotate with the face
+     * @throws IllegalArgumentException The rotation is recorded for undo() and the start
+     * row or the count of layers cannot be packed, see PackedRotationRecords.pack().
      */
     public void rotateLayers(
             final RotationDirection direction,
             final CubeColor face,
             final int startRow,
             final int countOfLayers) {
+        CubeColor shownFace = _cube.getFaceAt(face);
+        if (_undoRotations.length > 0)
+            pushUndo(PackedRotationRecords.pack(shownFace, direction, startRow, countOfLayers, 1));
+        applyRotation(direction, shownFace, startRow, countOfLayers);
+    }
+
+    /**
+     * Rotates the specified layers of the face of the cube by 180 degrees.
+     *
+     * The half turn is done in a single pass: each field is swapped with the
+     * field that is a half turn away from it.
+     *
+     * @param face The CubeColor of the face that is rotated.
+     * @param startRow The index of the first layer that is rotated. If greater 0 then
+     *                 the face itself is not rotated.
+     * @param countOfLayers The count of layers of the side faces to rotate with the face
+     * @throws IllegalArgumentException The rotation is recorded for undo() and the start
+     * row or the count of layers cannot be packed, see PackedRotationRecords.pack().
+     */
+    public void rotateHalfTurn(
+            final CubeColor face,
+            final int startRow,
+            final int countOfLayers) {
+        CubeColor shownFace = _cube.getFaceAt(face);
+        if (_undoRotations.length > 0)
+            pushUndo(PackedRotationRecords.pack(
+                    shownFace, RotationDirection.Counterclockwise, startRow, countOfLayers, 2));
+        applyHalfTurn(shownFace, startRow, countOfLayers);
+    }
+
+    /**
+     * Reverts the last rotation that has been done by this instance.
+     *
+     * The rotation is reverted by rotating the same layers in the opposite
+     * direction. The cube must not have been changed by other means since
+     * the rotation.
+     *
+     * @return true if a rotation has been reverted; false if the undo stack
+     * is empty.
+     */
+    public boolean undo() {
+        if (_undoCount == 0)
+            return false;
+
+        _undoCount--;
+        int rotation = _undoRotations[(_undoStart + _undoCount) % _undoRotations.length];
+        CubeColor face = PackedRotationRecords.getFace(rotation);
+        int startRow = PackedRotationRecords.getStartRow(rotation);
+        int countOfLayers = PackedRotationRecords.getCountOfLayers(rotation);
+        if (PackedRotationRecords.getCountOfTurns(rotation) == 2)
+            applyHalfTurn(face, startRow, countOfLayers);
+        else
+            applyRotation(
+                    PackedRotationRecords.getDirection(rotation) == RotationDirection.Clockwise
+                            ? RotationDirection.Counterclockwise : RotationDirection.Clockwise,
+                    face,
+                    startRow,
+                    countOfLayers);
+        return true;
+    }
+
+    /**
+     * Gets the count of rotations that can be reverted by undo().
+     *
+     * @return The count of rotations on the undo stack.
+     */
+    public int getUndoCount() {
+        return _undoCount;
+    }
+
+    /**
+     * Removes all rotations from the undo stack.
+     */
+    public void clearUndo() {
+        _undoCount = 0;
+        _undoStart = 0;
+    }
+
+    /**
+     * Rotates the specified layers of the face of the cube in the specified direction
+     * without recording the rotation for undo().
+     *
+     * Inherited classes override this method to provide another implementation
+     * of the rotation. See rotateLayers() for the meaning of the arguments.
+     *
+     * @param direction The RotationDirection that specifies the direction of the rotation
+     * @param face The face of the unrotated cube that is rotated, see Cube.getFaceAt().
+     * @param startRow The index of the first layer that is rotated.
+     * @param countOfLayers The count of layers of the side faces to rotate with the face
+     */
+    protected void applyRotation(
+            final RotationDirection direction,
+            final CubeColor face,
+            final int startRow,
+            final int countOfLayers) {
         if (direction == RotationDirection.Clockwise)
             rotateClockwise(face, startRow, countOfLayers);
         else
@@ -90,163 +291,280 @@ public class CubeFaceRotator {
     }
 
     /**
-     * Rotates the specified face clockwise with the specified count of layers
-     * of the connected side faces.
+     * Rotates the specified layers of the face of the cube by 180 degrees
+     * without recording the rotation for undo().
      *
-     * @param face The CubeColor of the middle field of the face that is rotated.
-     * @param startRow The index of the first layer that is rotated. If greater 0 then
-     *                   the face itself is not rotated.
-     * @param rows The count of layers of the side faces to rotate with the face
+     * Inherited classes override this method to provide another implementation
+     * of the half turn. See rotateHalfTurn() for the meaning of the arguments.
+     *
+     * @param face The face of the unrotated cube that is rotated, see Cube.getFaceAt().
+     * @param startRow The index of the first layer that is rotated.
+     * @param countOfLayers The count of layers of the side faces to rotate with the face
      */
-    private void rotateClockwise(final CubeColor face, final int startRow, final int rows) {
+    protected void applyHalfTurn(
+            final CubeColor face,
+            final int startRow,
+            final int countOfLayers) {
         if (startRow == 0)
-            rotateTopClockwise(_cube.getFace(face));
+            _cube.rotateFace(face.ordinal(), 2);
 
-        for (int row = startRow; row < startRow + rows; row++) {
-            shiftSideLayerClockwise(face, row);
-        }
+        shiftSideLayersHalfTurn(face, startRow, countOfLayers);
     }
 
     /**
-     * Rotates the specified face of the cube clockwise without shifting the
-     * connected side faces.
-     * rotateTopClockwise() is also used for the normalization of the index
-     * positions of the side faces before shifting them with the rotating face.
+     * Pushes the specified packed rotation on the undo stack.
      *
-     * @param face The CubeFace object that represents the face to rotate
+     * @param rotation The packed rotation, see PackedRotationRecords.pack().
      */
-    private void rotateTopClockwise(CubeFace face) {
-        final CubeFace sourceFace = new CubeFace(face);
-        int maxIndex = _cube.getDimension() - 1;
-
-        int targetColumnIndex = maxIndex;
-        for (int sourceRowIndex = 0; sourceRowIndex <= maxIndex; sourceRowIndex++) {
-            int targetRowIndex = 0;
-            for (int sourceColumnIndex = 0; sourceColumnIndex <= maxIndex; sourceColumnIndex++) {
-                face.setField(targetRowIndex, targetColumnIndex,
-                        sourceFace.getField(sourceRowIndex, sourceColumnIndex));
-                targetRowIndex++;
-            }
-            targetColumnIndex--;
-        }
+    private void pushUndo(final int rotation) {
+        _undoRotations[(_undoStart + _undoCount) % _undoRotations.length] = rotation;
+        if (_undoCount < _undoRotations.length)
+            _undoCount++;
+        else
+            _undoStart = (_undoStart + 1) % _undoRotations.length;
     }
 
     /**
-     * Rotates the specified face counterclockwise with the specified count of layers
+     * Rotates the specified face clockwise with the specified count of layers
      * of the connected side faces.
      *
      * @param face The CubeColor of the face that is rotated.
      * @param startRow The index of the first layer that is rotated. If greater 0 then
      *                   the face itself is not rotated.
-     * @param rows The count of layers of the side faces to rotate with the face.
+     * @param rows The count of layers of the side faces to rotate with the face
      */
-    private void rotateCounterclockwise(final CubeColor face, final int startRow, final int rows) {
+    private void rotateClockwise(final CubeColor face, final int startRow, final int rows) {
         if (startRow == 0)
-            rotateTopCounterclockwise(_cube.getFace(face));
+            _cube.rotateFace(face.ordinal(), 1);
 
-        for (int row = startRow; row < startRow + rows; row++) {
-            shiftSideLayerCounterclockwise(face, row);
-        }
+        shiftSideLayersClockwise(face, startRow, rows);
     }
 
     /**
-     * Rotates the specified face of the cube counterclockwise without shifting the
-     * connected side faces.
-     * rotateTopCounterclockwise() is also used for the normalization of the index
-     * positions of the side faces before shifting them with the rotating face.
+     * Rotates the specified face counterclockwise with the specified count of layers
+     * of the connected side faces.
      *
-     * @param face The CubeFace object that represents the face to rotate
+     * @param face The CubeColor of the face that is rotated.
+     * @param startRow The index of the first layer that is rotated. If greater 0 then
+     *                   the face itself is not rotated.
+     * @param rows The count of layers of the side faces to rotate with the face.
      */
-    private void rotateTopCounterclockwise(CubeFace face) {
-        final CubeFace sourceFace = new CubeFace(face);
-        int maxIndex = _cube.getDimension() - 1;
+    private void rotateCounterclockwise(final CubeColor face, final int startRow, final int rows) {
+        if (startRow == 0)
+            _cube.rotateFace(face.ordinal(), 3);
 
-        int targetColumnIndex = 0;
-        for (int sourceRowIndex = 0; sourceRowIndex <= maxIndex; sourceRowIndex++) {
-            int targetRowIndex = maxIndex;
-            for (int sourceColumnIndex = 0; sourceColumnIndex <= maxIndex; sourceColumnIndex++) {
-                face.setField(targetRowIndex, targetColumnIndex,
-                        sourceFace.getField(sourceRowIndex, sourceColumnIndex));
-                targetRowIndex--;
-            }
-            targetColumnIndex++;
-        }
+        shiftSideLayersCounterclockwise(face, startRow, rows);
     }
 
     /**
-     * Shifts the specified layer of the four sides of the specified face clockwise.
+     * Shifts the specified layers of the four sides of the specified face clockwise.
      *
      * A rotation of a face will result in shifting fields of the four side
      * faces. The shifting is done in a circular way from
      * one face to its neighbor in the direction of the rotation.
      *
      * For more than a three layer cube it is needed to be able to shift more
-     * than one layer. The row argument determines which layer is shifted.
+     * than one layer. The startRow and countOfLayers arguments determine which
+     * layers are shifted.
+     *
+     * The four fields at the same normalized position of the side faces are
+     * exchanged in place. The side faces themselves are not rotated, instead
+     * the stored indexes of the normalized positions are calculated with
+     * the start and step values of each side face for its rotation offset.
+     * All strips of a wide or slice move are shifted in one pass, and the
+     * hashes of the side faces are updated once at the end.
      *
      * @param sideFace The CubeColor of the side face where the
-     *                 row is shifted
-     * @param row The row number to be shifted. 0 is the upper one.
-     */
-    private void shiftSideLayerClockwise(final CubeColor sideFace, final int row) {
-        int sideFaceIndex = sideFace.ordinal();
-        CubeFace[] sidesToShift = _faceToSides[sideFaceIndex];
-        CubeFace[] sources = new CubeFace[] {
-                new CubeFace(sidesToShift[0]),
-                new CubeFace(sidesToShift[1]),
-                new CubeFace(sidesToShift[2]),
-                new CubeFace(sidesToShift[3])
-        };
-        normalizeSides(sideFaceIndex, sidesToShift);
-        normalizeSides(sideFaceIndex, sources);
-        int maxIndex = _cube.getDimension() - 1;
-
-        for (int targetSideIndex = 3; targetSideIndex >= 0; targetSideIndex--) {
-            int sourceSideIndex = (targetSideIndex + 1) % 4;
-            CubeFace targetSide = sidesToShift[targetSideIndex];
-            final CubeFace sourceSide = sources[sourceSideIndex];
-
-            for (int column = 0; column <= maxIndex; column++)
-                targetSide.setField(row, column, sourceSide.getField(row, column));
+     *                 layers are shifted
+     * @param startRow The first row to be shifted. 0 is the upper one.
+     * @param countOfLayers The count of rows to be shifted.
+     */
+    private void shiftSideLayersClockwise(final CubeColor sideFace, final int startRow, final int countOfLayers) {
+        int faceIndex = sideFace.ordinal();
+        int[] sideFaces = _sideFaceIndexes[faceIndex];
+        int rotation0 = _cube.getFaceRotation(sideFaces[0]);
+        int rotation1 = _cube.getFaceRotation(sideFaces[1]);
+        int rotation2 = _cube.getFaceRotation(sideFaces[2]);
+        int rotation3 = _cube.getFaceRotation(sideFaces[3]);
+        int[][] starts = _sideStarts[faceIndex];
+        int[][] rowSteps = _sideRowSteps[faceIndex];
+        int[][] columnSteps = _sideColumnSteps[faceIndex];
+        int columnStep0 = columnSteps[0][rotation0];
+        int columnStep1 = columnSteps[1][rotation1];
+        int columnStep2 = columnSteps[2][rotation2];
+        int columnStep3 = columnSteps[3][rotation3];
+        int[] counts0 = _cube.getColorCounts(sideFaces[0]);
+        int[] counts1 = _cube.getColorCounts(sideFaces[1]);
+        int[] counts2 = _cube.getColorCounts(sideFaces[2]);
+        int[] counts3 = _cube.getColorCounts(sideFaces[3]);
+        long change0 = 0;
+        long change1 = 0;
+        long change2 = 0;
+        long change3 = 0;
+
+        for (int row = startRow; row < startRow + countOfLayers; row++) {
+            int i0 = starts[0][rotation0] + row * rowSteps[0][rotation0];
+            int i1 = starts[1][rotation1] + row * rowSteps[1][rotation1];
+            int i2 = starts[2][rotation2] + row * rowSteps[2][rotation2];
+            int i3 = starts[3][rotation3] + row * rowSteps[3][rotation3];
+
+            for (int column = 0; column < _dimension; column++) {
+                byte color0 = _facelets[i0];
+                byte color1 = _facelets[i1];
+                byte color2 = _facelets[i2];
+                byte color3 = _facelets[i3];
+                change0 ^= move(counts0, i0, color0, color1);
+                change1 ^= move(counts1, i1, color1, color2);
+                change2 ^= move(counts2, i2, color2, color3);
+                change3 ^= move(counts3, i3, color3, color0);
+                i0 += columnStep0;
+                i1 += columnStep1;
+                i2 += columnStep2;
+                i3 += columnStep3;
+            }
         }
-        denormalizeSides(sideFaceIndex, sidesToShift);
+        _cube.updateFaceHash(sideFaces[0], change0);
+        _cube.updateFaceHash(sideFaces[1], change1);
+        _cube.updateFaceHash(sideFaces[2], change2);
+        _cube.updateFaceHash(sideFaces[3], change3);
     }
 
     /**
-     * Shifts the specified layer of the four sides of the specified face counterclockwise.
+     * Shifts the specified layers of the four sides of the specified face counterclockwise.
      *
-     * A rotation of a face will result in shifting fields of the four side
-     * faces. The shifting is done in a circular way from
-     * one face to its neighbor in the direction of the rotation.
+     * See shiftSideLayersClockwise().
      *
-     * For more than a three layer cube it is needed to be able to shift more
-     * than one layer. The row argument determines which layer is shifted.
+     * @param sideFace The CubeColor of the side face where the
+     *                 layers are shifted
+     * @param startRow The first row to be shifted. 0 is the upper one.
+     * @param countOfLayers The count of rows to be shifted.
+     */
+    private void shiftSideLayersCounterclockwise(final CubeColor sideFace, final int startRow, final int countOfLayers) {
+        int faceIndex = sideFace.ordinal();
+        int[] sideFaces = _sideFaceIndexes[faceIndex];
+        int rotation0 = _cube.getFaceRotation(sideFaces[0]);
+        int rotation1 = _cube.getFaceRotation(sideFaces[1]);
+        int rotation2 = _cube.getFaceRotation(sideFaces[2]);
+        int rotation3 = _cube.getFaceRotation(sideFaces[3]);
+        int[][] starts = _sideStarts[faceIndex];
+        int[][] rowSteps = _sideRowSteps[faceIndex];
+        int[][] columnSteps = _sideColumnSteps[faceIndex];
+        int columnStep0 = columnSteps[0][rotation0];
+        int columnStep1 = columnSteps[1][rotation1];
+        int columnStep2 = columnSteps[2][rotation2];
+        int columnStep3 = columnSteps[3][rotation3];
+        int[] counts0 = _cube.getColorCounts(sideFaces[0]);
+        int[] counts1 = _cube.getColorCounts(sideFaces[1]);
+        int[] counts2 = _cube.getColorCounts(sideFaces[2]);
+        int[] counts3 = _cube.getColorCounts(sideFaces[3]);
+        long change0 = 0;
+        long change1 = 0;
+        long change2 = 0;
+        long change3 = 0;
+
+        for (int row = startRow; row < startRow + countOfLayers; row++) {
+            int i0 = starts[0][rotation0] + row * rowSteps[0][rotation0];
+            int i1 = starts[1][rotation1] + row * rowSteps[1][rotation1];
+            int i2 = starts[2][rotation2] + row * rowSteps[2][rotation2];
+            int i3 = starts[3][rotation3] + row * rowSteps[3][rotation3];
+
+            for (int column = 0; column < _dimension; column++) {
+                byte color0 = _facelets[i0];
+                byte color1 = _facelets[i1];
+                byte color2 = _facelets[i2];
+                byte color3 = _facelets[i3];
+                change0 ^= move(counts0, i0, color0, color3);
+                change1 ^= move(counts1, i1, color1, color0);
+                change2 ^= move(counts2, i2, color2, color1);
+                change3 ^= move(counts3, i3, color3, color2);
+                i0 += columnStep0;
+                i1 += columnStep1;
+                i2 += columnStep2;
+                i3 += columnStep3;
+            }
+        }
+        _cube.updateFaceHash(sideFaces[0], change0);
+        _cube.updateFaceHash(sideFaces[1], change1);
+        _cube.updateFaceHash(sideFaces[2], change2);
+        _cube.updateFaceHash(sideFaces[3], change3);
+    }
+
+    /**
+     * Shifts the specified layers of the four sides of the specified face by two
+     * sides.
+     *
+     * Each field is swapped with the field at the same normalized position
+     * of the opposite side face. See shiftSideLayersClockwise().
      *
      * @param sideFace The CubeColor of the side face where the
-     *                 row is shifted
-     * @param row The row number to be shifted. 0 is the upper one.
-     */
-    private void shiftSideLayerCounterclockwise(final CubeColor sideFace, final int row) {
-        int sideFaceIndex = sideFace.ordinal();
-        CubeFace[] sidesToShift = _faceToSides[sideFaceIndex];
-        CubeFace[] sources = new CubeFace[] {
-                new CubeFace(sidesToShift[0]),
-                new CubeFace(sidesToShift[1]),
-                new CubeFace(sidesToShift[2]),
-                new CubeFace(sidesToShift[3])
-        };
-        normalizeSides(sideFaceIndex, sidesToShift);
-        normalizeSides(sideFaceIndex, sources);
-        int maxIndex = _cube.getDimension() - 1;
-
-        for (int sourceSideIndex = 0; sourceSideIndex <= 3; sourceSideIndex++) {
-            int targetSideIndex = (sourceSideIndex + 1) % 4;
-            CubeFace targetSide = sidesToShift[targetSideIndex];
-            final CubeFace sourceSide = sources[sourceSideIndex];
-
-            for (int column = 0; column <= maxIndex; column++)
-                targetSide.setField(row, column, sourceSide.getField(row, column));
+     *                 layers are shifted
+     * @param startRow The first row to be shifted. 0 is the upper one.
+     * @param countOfLayers The count of rows to be shifted.
+     */
+    private void shiftSideLayersHalfTurn(final CubeColor sideFace, final int startRow, final int countOfLayers) {
+        int faceIndex = sideFace.ordinal();
+        int[] sideFaces = _sideFaceIndexes[faceIndex];
+        int rotation0 = _cube.getFaceRotation(sideFaces[0]);
+        int rotation1 = _cube.getFaceRotation(sideFaces[1]);
+        int rotation2 = _cube.getFaceRotation(sideFaces[2]);
+        int rotation3 = _cube.getFaceRotation(sideFaces[3]);
+        int[][] starts = _sideStarts[faceIndex];
+        int[][] rowSteps = _sideRowSteps[faceIndex];
+        int[][] columnSteps = _sideColumnSteps[faceIndex];
+        int columnStep0 = columnSteps[0][rotation0];
+        int columnStep1 = columnSteps[1][rotation1];
+        int columnStep2 = columnSteps[2][rotation2];
+        int columnStep3 = columnSteps[3][rotation3];
+        int[] counts0 = _cube.getColorCounts(sideFaces[0]);
+        int[] counts1 = _cube.getColorCounts(sideFaces[1]);
+        int[] counts2 = _cube.getColorCounts(sideFaces[2]);
+        int[] counts3 = _cube.getColorCounts(sideFaces[3]);
+        long change0 = 0;
+        long change1 = 0;
+        long change2 = 0;
+        long change3 = 0;
+
+        for (int row = startRow; row < startRow + countOfLayers; row++) {
+            int i0 = starts[0][rotation0] + row * rowSteps[0][rotation0];
+            int i1 = starts[1][rotation1] + row * rowSteps[1][rotation1];
+            int i2 = starts[2][rotation2] + row * rowSteps[2][rotation2];
+            int i3 = starts[3][rotation3] + row * rowSteps[3][rotation3];
+
+            for (int column = 0; column < _dimension; column++) {
+                byte color0 = _facelets[i0];
+                byte color1 = _facelets[i1];
+                byte color2 = _facelets[i2];
+                byte color3 = _facelets[i3];
+                change0 ^= move(counts0, i0, color0, color2);
+                change1 ^= move(counts1, i1, color1, color3);
+                change2 ^= move(counts2, i2, color2, color0);
+                change3 ^= move(counts3, i3, color3, color1);
+                i0 += columnStep0;
+                i1 += columnStep1;
+                i2 += columnStep2;
+                i3 += columnStep3;
+            }
         }
-        denormalizeSides(sideFaceIndex, sidesToShift);
+        _cube.updateFaceHash(sideFaces[0], change0);
+        _cube.updateFaceHash(sideFaces[1], change1);
+        _cube.updateFaceHash(sideFaces[2], change2);
+        _cube.updateFaceHash(sideFaces[3], change3);
+    }
+
+    /**
+     * Sets the color of a field and counts the change, see Cube.getColorCounts().
+     *
+     * @param counts The color counts of the face of the field.
+     * @param index The stored index of the field.
+     * @param oldColor The CubeColor ordinal of the field before the change.
+     * @param newColor The new CubeColor ordinal of the field.
+     * @return The change of the hash of the face of the field, see Cube.getFaceletChangeKey().
+     */
+    private long move(final int[] counts, final int index, final byte oldColor, final byte newColor) {
+        _facelets[index] = newColor;
+        counts[oldColor]--;
+        counts[newColor]++;
+        return Cube.getFaceletChangeKey(_dimension, index, oldColor, newColor);
     }
 
     /**
@@ -260,8 +578,9 @@ public class CubeFaceRotator {
      *
      * The directions that have to be used for this transformations are
      * contained in the _sideRotationDirections array. Both arrays have
-     * corresponding index values when used in normalizeSides() and
-     * denormalizeSides().
+     * corresponding index values. The side faces are never rotated physically,
+     * the transformation is only applied to the coordinates of the shifted
+     * fields (see getSideFaceletIndex()).
      */
     private static final int[][] _sideRotations = new int[][]{
             {0, 0, 0, 0},
@@ -324,58 +643,104 @@ public class CubeFaceRotator {
     };
 
     /**
-     * Normalizes the four side faces of the rotating cube face to use
-     * a standard indexing for the color fields for shift operations.
-     *
-     * The normalization rotates all four side faces so that the row 0 and column 0
-     * is always to the upper left corner toward the rotating face. The shift algorithms
-     * can always use the same field indexes for the operations when the faces are normalized.
-     * After the operations, the faces are de-normalized (rotated back to their original
-     * position).
+     * Table of the count of clockwise quarter turns that normalize the
+     * coordinate system of each side face toward the rotating face.
      *
-     * @param side The face's index that is rotated.
-     * @param sides The CubeFace objects that are rotated to normalize
-     *              the indexes for the shift operations.
+     * The values are derived from _sideRotations and _sideRotationDirections
+     * once. A counterclockwise rotation is expressed as three clockwise ones.
      */
-    private void normalizeSides(int side, CubeFace[] sides) {
-        int[] countOfRotations = _sideRotations[side];
-        RotationDirection[] directions = _sideRotationDirections[side];
+    private static final int[][] _sideQuarterTurns = createSideQuarterTurns();
 
-        for (int shiftSideIndex = 0; shiftSideIndex < 4; shiftSideIndex++) {
-            for (int count = 0; count < countOfRotations[shiftSideIndex]; count++) {
-                if (directions[shiftSideIndex] == RotationDirection.Clockwise)
-                    rotateTopClockwise(sides[shiftSideIndex]);
-                else
-                    rotateTopCounterclockwise(sides[shiftSideIndex]);
+    /**
+     * Creates the _sideQuarterTurns table.
+     *
+     * @return A table with one count of clockwise quarter turns for each
+     * side face of each rotating face.
+     */
+    private static int[][] createSideQuarterTurns() {
+        int[][] quarterTurns = new int[_sideRotations.length][4];
+        for (int face = 0; face < _sideRotations.length; face++) {
+            for (int side = 0; side < 4; side++) {
+                int count = _sideRotations[face][side];
+                if (_sideRotationDirections[face][side] == RotationDirection.Counterclockwise)
+                    count *= 3;
+                quarterTurns[face][side] = count % 4;
             }
         }
+        return quarterTurns;
     }
 
     /**
-     * De-Normalizes the four side faces of the rotating cube face after
-     * a shift operation.
+     * Gets the facelet index of a field of a side face addressed by its normalized
+     * coordinates.
      *
-     * The normalization rotates alle four side faces so that the row 0 and column 0
-     * is always to the upper left corner toward the rotating face. The shift algorithms
-     * can always use the same field indexes for the operations when the faces are normalized.
-     * After the operations, the faces are de-normalized (rotated back to their original
-     * position).
+     * The facelet index enumerates all fields of a cube face by face, and within
+     * a face row by row: faceIndex * dimension * dimension + row * dimension + column.
+     * MoveTable uses this method to create its permutations with the same geometry
+     * that is used by the rotator.
      *
-     * @param side The face's index that is rotated
-     * @param sides The CubeFace objects that are rotated back to thier original index
-     *              positions
+     * @param dimension The count of rows and columns of the cube.
+     * @param face The index of the rotating face.
+     * @param side The index (0 to 3) of the side face in the shift order of the rotating face.
+     * @param row The normalized row index. Row 0 is toward the rotating face.
+     * @param column The normalized column index.
+     * @return The facelet index of the field.
      */
-    private void denormalizeSides(int side, CubeFace[] sides) {
-        int[] countOfRotations = _sideRotations[side];
-        RotationDirection[] directions = _sideRotationDirections[side];
+    static int getSideFaceletIndex(
+            final int dimension,
+            final int face,
+            final int side,
+            final int row,
+            final int column) {
+        int quarterTurns = _sideQuarterTurns[face][side];
+        int maxIndex = dimension - 1;
+        return (_sideFaceIndexes[face][side] * dimension
+                + translateRow(quarterTurns, row, column, maxIndex)) * dimension
+                + translateColumn(quarterTurns, row, column, maxIndex);
+    }
 
-        for (int shiftSideIndex = 0; shiftSideIndex < 4; shiftSideIndex++) {
-            for (int count = 0; count < countOfRotations[shiftSideIndex]; count++) {
-                if (directions[shiftSideIndex] == RotationDirection.Clockwise)
-                    rotateTopCounterclockwise(sides[shiftSideIndex]);
-                else
-                    rotateTopClockwise(sides[shiftSideIndex]);
-            }
+    /**
+     * Translates a normalized position of a side face into the actual row index.
+     *
+     * The normalized coordinate system has its row 0 toward the rotating face.
+     * See _sideRotations for further documentation.
+     *
+     * @param quarterTurns The count of clockwise quarter turns that normalize the side face.
+     * @param row The normalized row index.
+     * @param column The normalized column index.
+     * @param maxIndex The highest row or column index of the cube.
+     * @return The actual row index of the side face.
+     */
+    private static int translateRow(final int quarterTurns, final int row, final int column, final int maxIndex) {
+        switch (quarterTurns) {
+            case 1:
+                return maxIndex - column;
+            case 2:
+                return maxIndex - row;
+            case 3:
+                return column;
+        }
+        return row;
+    }
+
+    /**
+     * Translates a normalized position of a side face into the actual column index.
+     *
+     * @param quarterTurns The count of clockwise quarter turns that normalize the side face.
+     * @param row The normalized row index.
+     * @param column The normalized column index.
+     * @param maxIndex The highest row or column index of the cube.
+     * @return The actual column index of the side face.
+     */
+    private static int translateColumn(final int quarterTurns, final int row, final int column, final int maxIndex) {
+        switch (quarterTurns) {
+            case 1:
+                return row;
+            case 2:
+                return maxIndex - column;
+            case 3:
+                return maxIndex - row;
         }
+        return column;
     }
 }
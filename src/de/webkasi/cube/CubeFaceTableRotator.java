@@ -0,0 +1,116 @@
+package de.webkasi.cube;
+
+/**
+ * Provides the same rotations as CubeFaceRotator by applying the
+ * precomputed facelet permutations of a MoveTable.
+ *
+ * Each move is a single loop over all fields of the cube. This is
+ * the preferred rotator when many moves are played on small cubes.
+ */
+public class CubeFaceTableRotator extends CubeFaceRotator {
+    /**
+     * The Cube object where the faces and layers should be moved.
+     */
+    private final Cube _cube;
+    /**
+     * The CubeColor ordinals of all fields of the cube.
+     *
+     * This is the internal array of the cube, see Cube.getFacelets().
+     */
+    private final byte[] _facelets;
+    /**
+     * The MoveTable for the dimension of the cube.
+     */
+    private final MoveTable _table;
+    /**
+     * Buffer for the colors of the fields while a permutation is applied.
+     */
+    private final byte[] _buffer;
+
+    /**
+     * Initializes a new CubeFaceTableRotator instance.
+     *
+     * @param cube Cube where a face should be rotated
+     */
+    public CubeFaceTableRotator(Cube cube) {
+        this(cube, 0);
+    }
+
+    /**
+     * Initializes a new CubeFaceTableRotator instance with an undo stack.
+     *
+     * @param cube Cube where a face should be rotated
+     * @param undoCapacity The maximum count of rotations that can be reverted
+     *                     by undo().
+     */
+    public CubeFaceTableRotator(Cube cube, int undoCapacity) {
+        super(cube, undoCapacity);
+        _cube = cube;
+        _facelets = cube.getFacelets();
+        _table = MoveTable.forDimension(cube.getDimension());
+        _buffer = new byte[_table.getFaceletCount()];
+    }
+
+    /**
+     * Rotates the specified layers of the face of the cube in the specified direction
+     * by applying the permutation of the MoveTable.
+     *
+     * See CubeFaceRotator.rotateLayers() for the meaning of the arguments.
+     *
+     * @param direction The RotationDirection that specifies the direction of the rotation
+     * @param face The index of the face that is rotated.
+     * @param startRow The index of the first layer that is rotated.
+     * @param countOfLayers The count of layers of the side faces to rotate with the face
+     */
+    @Override
+    protected void applyRotation(
+            final RotationDirection direction,
+            final CubeColor face,
+            final int startRow,
+            final int countOfLayers) {
+        permute(_table.getPermutation(direction, face, startRow, countOfLayers));
+    }
+
+    /**
+     * Rotates the specified layers by 180 degrees with the precomputed permutation
+     * of the MoveTable.
+     *
+     * @param face The CubeColor of the face that is rotated.
+     * @param startRow The index of the first layer that is rotated.
+     * @param countOfLayers The count of layers of the side faces to rotate with the face
+     */
+    @Override
+    protected void applyHalfTurn(
+            final CubeColor face,
+            final int startRow,
+            final int countOfLayers) {
+        permute(_table.getHalfTurnPermutation(face, startRow, countOfLayers));
+    }
+
+    /**
+     * Applies the specified facelet permutation to the cube.
+     *
+     * The fields of the cube are moved to their facelet indexes first,
+     * see Cube.applyFaceRotations().
+     *
+     * @param permutation A permutation as provided by MoveTable.getPermutation().
+     */
+    public void permute(final int[] permutation) {
+        _cube.applyFaceRotations();
+        int dimension = _cube.getDimension();
+        int fieldsPerFace = dimension * dimension;
+        for (int face = 0, i = 0; face < 6; face++) {
+            int[] counts = _cube.getColorCounts(face);
+            long change = 0;
+            for (int end = i + fieldsPerFace; i < end; i++) {
+                byte color = _facelets[permutation[i]];
+                _buffer[i] = color;
+                change ^= Cube.getFaceletChangeKey(dimension, i, _facelets[i], color);
+                counts[_facelets[i]]--;
+                counts[color]++;
+            }
+            _cube.updateFaceHash(face, change);
+        }
+        System.arraycopy(_buffer, 0, _facelets, 0, _buffer.length);
+    }
+}
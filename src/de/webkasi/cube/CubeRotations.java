@@ -0,0 +1,276 @@
+package de.webkasi.cube;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Provides the tables of the 24 orientations of a cube.
+ *
+ * An orientation is the result of whole cube rotations around the x, y,
+ * and z axis. It is identified by an index from 0 to 23; 0 is the initial
+ * orientation with the white face up and the orange face left. The axes
+ * and directions are the same as in the SpeedCube notation interpreter:
+ * a clockwise x rotation brings the back face up, a clockwise y rotation
+ * brings the left face to the front, and a clockwise z rotation brings the
+ * left face up.
+ *
+ * For each orientation and each face position the tables contain the face
+ * that is shown at this position, and the corner and the directions of its
+ * rows and columns as seen from the position. Cube uses these values to
+ * resolve the fields of a rotated cube without moving any field.
+ *
+ * The orientations form a group: compose() combines two orientations and
+ * inverse() gets the orientation that reverts one. All operations are
+ * single lookups in precomputed tables.
+ */
+public final class CubeRotations {
+    /**
+     * The count of orientations of a cube.
+     */
+    public static final int Count = 24;
+    /**
+     * The index of the initial orientation.
+     */
+    public static final int Identity = 0;
+
+    /**
+     * The index of the face that is shown at each face position, by orientation.
+     */
+    private static final int[][] _faces = new int[Count][6];
+    /**
+     * The view of each face position, by orientation.
+     *
+     * Each view contains six values: 1 if the row 0 of the position is the
+     * last row of the shown face, 1 if the column 0 of the position is the
+     * last column of the shown face, and the row and column difference on
+     * the shown face for one row down and for one column right of the position.
+     */
+    private static final int[][][] _views = new int[Count][6][];
+    /**
+     * The orientation after 0 to 3 clockwise rotations around the x, y, or z axis,
+     * by orientation, axis, and count of rotations.
+     */
+    private static final int[][][] _rotations = new int[Count][3][4];
+    /**
+     * The orientation that results from one orientation followed by another one.
+     */
+    private static final int[][] _compositions = new int[Count][Count];
+    /**
+     * The orientation that reverts each orientation.
+     */
+    private static final int[] _inverses = new int[Count];
+
+    static {
+        // The facelet indexes of a 3x3 cube are enough to determine all views.
+        MoveTable table = MoveTable.forDimension(3);
+        int[][] axes = {
+                getWholeCubePermutation(table, CubeColor.Orange, CubeColor.Red),
+                getWholeCubePermutation(table, CubeColor.Yellow, CubeColor.White),
+                getWholeCubePermutation(table, CubeColor.Green, CubeColor.Blue) };
+
+        List<int[]> orientations = new ArrayList<>();
+        int[] identity = new int[table.getFaceletCount()];
+        for (int i = 0; i < identity.length; i++)
+            identity[i] = i;
+        orientations.add(identity);
+
+        for (int orientation = 0; orientation < orientations.size(); orientation++) {
+            int[] mapping = orientations.get(orientation);
+            for (int axis = 0; axis < axes.length; axis++) {
+                int[] rotated = new int[mapping.length];
+                for (int i = 0; i < rotated.length; i++)
+                    rotated[i] = mapping[axes[axis][i]];
+                int index = indexOf(orientations, rotated);
+                if (index < 0) {
+                    index = orientations.size();
+                    orientations.add(rotated);
+                }
+                _rotations[orientation][axis][1] = index;
+            }
+            for (int face = 0; face < 6; face++)
+                setView(orientation, face, mapping);
+        }
+
+        for (int orientation = 0; orientation < Count; orientation++) {
+            for (int axis = 0; axis < 3; axis++) {
+                _rotations[orientation][axis][0] = orientation;
+                _rotations[orientation][axis][2] = _rotations[_rotations[orientation][axis][1]][axis][1];
+                _rotations[orientation][axis][3] = _rotations[_rotations[orientation][axis][2]][axis][1];
+            }
+        }
+
+        for (int first = 0; first < Count; first++) {
+            int[] firstMapping = orientations.get(first);
+            for (int second = 0; second < Count; second++) {
+                int[] secondMapping = orientations.get(second);
+                int[] mapping = new int[firstMapping.length];
+                for (int i = 0; i < mapping.length; i++)
+                    mapping[i] = firstMapping[secondMapping[i]];
+                int composition = indexOf(orientations, mapping);
+                _compositions[first][second] = composition;
+                if (composition == Identity)
+                    _inverses[first] = second;
+            }
+        }
+    }
+
+    /**
+     * Prevents the creation of instances.
+     */
+    private CubeRotations() {
+    }
+
+    /**
+     * Gets the orientation after a rotation of the whole cube.
+     *
+     * @param orientation The index of the current orientation.
+     * @param axis Axis character: 'x', 'y', or 'z'.
+     * @param quarterTurns The count of clockwise quarter turns (0 to 3).
+     * @return The index of the new orientation.
+     */
+    public static int rotate(final int orientation, final char axis, final int quarterTurns) {
+        int axisIndex = axis - 'x';
+        if (axisIndex < 0 || axisIndex > 2)
+            throw new IllegalArgumentException("The axis must be 'x', 'y', or 'z'.");
+
+        return _rotations[orientation][axisIndex][quarterTurns & 3];
+    }
+
+    /**
+     * Gets the orientation that results from the first orientation followed
+     * by the rotations of the second orientation.
+     *
+     * @param first The index of the first orientation.
+     * @param second The index of the orientation that is applied after the first one.
+     * @return The index of the combined orientation.
+     */
+    public static int compose(final int first, final int second) {
+        return _compositions[first][second];
+    }
+
+    /**
+     * Gets the orientation that reverts the specified orientation.
+     *
+     * compose(orientation, inverse(orientation)) is always Identity.
+     *
+     * @param orientation The index of the orientation.
+     * @return The index of the inverse orientation.
+     */
+    public static int inverse(final int orientation) {
+        return _inverses[orientation];
+    }
+
+    /**
+     * Gets the index of the face that is shown at the specified face position.
+     *
+     * @param orientation The index of the orientation.
+     * @param face The index of the face position, as for the initial orientation.
+     * @return The index of the face of the unrotated cube.
+     */
+    public static int getFace(final int orientation, final int face) {
+        return _faces[orientation][face];
+    }
+
+    /**
+     * Gets the facelet index of the unrotated cube that is shown at the
+     * specified field of a face position.
+     *
+     * See Cube.getFacelet() for the definition of the facelet index.
+     *
+     * @param orientation The index of the orientation.
+     * @param dimension The count of rows and columns of the cube.
+     * @param face The index of the face position.
+     * @param row The row of the field as seen at the face position.
+     * @param column The column of the field as seen at the face position.
+     * @return The facelet index of the field of the unrotated cube.
+     */
+    public static int getFaceletIndex(
+            final int orientation,
+            final int dimension,
+            final int face,
+            final int row,
+            final int column) {
+        int[] view = _views[orientation][face];
+        int maxIndex = dimension - 1;
+        int viewRow = view[0] * maxIndex + row * view[2] + column * view[4];
+        int viewColumn = view[1] * maxIndex + row * view[3] + column * view[5];
+        return (_faces[orientation][face] * dimension + viewRow) * dimension + viewColumn;
+    }
+
+    /**
+     * Gets the view of the specified face position, see _views.
+     *
+     * The returned array is shared and must not be modified.
+     *
+     * @param orientation The index of the orientation.
+     * @param face The index of the face position, as for the initial orientation.
+     * @return An array with the six values of the view.
+     */
+    static int[] getView(final int orientation, final int face) {
+        return _views[orientation][face];
+    }
+
+    /**
+     * Gets the facelet permutation of a whole cube rotation of a 3x3 cube.
+     *
+     * All layers are rotated with the face; the opposite face is rotated
+     * in the opposite direction as seen from itself. Both moves change
+     * different facelets.
+     *
+     * @param table The MoveTable of the 3x3 cube.
+     * @param face The CubeColor of the face that is rotated clockwise.
+     * @param opposite The CubeColor of the opposite face.
+     * @return The permutation of the rotation.
+     */
+    private static int[] getWholeCubePermutation(
+            final MoveTable table,
+            final CubeColor face,
+            final CubeColor opposite) {
+        int[] layers = table.getPermutation(RotationDirection.Clockwise, face, 0, 2);
+        int[] oppositeLayer = table.getPermutation(RotationDirection.Counterclockwise, opposite, 0, 1);
+        int[] permutation = new int[layers.length];
+        for (int i = 0; i < permutation.length; i++)
+            permutation[i] = layers[i] != i ? layers[i] : oppositeLayer[i];
+        return permutation;
+    }
+
+    /**
+     * Stores the shown face and the view of a face position.
+     *
+     * @param orientation The index of the orientation.
+     * @param face The index of the face position.
+     * @param mapping The facelet index of the 3x3 cube that is shown at each
+     *                facelet index in this orientation.
+     */
+    private static void setView(final int orientation, final int face, final int[] mapping) {
+        int offset = face * 9;
+        int shownFace = mapping[offset + 4] / 9;
+        int origin = mapping[offset] % 9;
+        int down = mapping[offset + 3] % 9;
+        int right = mapping[offset + 1] % 9;
+
+        _faces[orientation][face] = shownFace;
+        _views[orientation][face] = new int[] {
+                origin / 3 / 2,
+                origin % 3 / 2,
+                down / 3 - origin / 3,
+                down % 3 - origin % 3,
+                right / 3 - origin / 3,
+                right % 3 - origin % 3 };
+    }
+
+    /**
+     * Searches the specified facelet mapping in a list.
+     *
+     * @param orientations The list of facelet mappings.
+     * @param mapping The facelet mapping to search.
+     * @return The index of the mapping, or -1 if it is not in the list.
+     */
+    private static int indexOf(final List<int[]> orientations, final int[] mapping) {
+        for (int i = 0; i < orientations.size(); i++)
+            if (Arrays.equals(orientations.get(i), mapping))
+                return i;
+        return -1;
+    }
+}
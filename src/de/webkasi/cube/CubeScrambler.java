@@ -16,6 +16,7 @@ public class CubeScrambler {
      * Scrambles the specified Cube by a specified number of random rotations
      * of random faces.
      *
+     * Each rotation is a quarter turn in either direction or a half turn.
      * If the cube has more than 3 rows and columns then a random number
      * of layers are rotated with each rotation. The higher the depth the
      * more complex will the solution be.
@@ -42,13 +43,15 @@ public class CubeScrambler {
         CubeFaceRotationRecords records = new CubeFaceRotationRecords();
 
         for (int i = 0; i < depth; i++) {
-            RotationDirection direction = generator.nextInt(2) == 0 ?
+            int turn = generator.nextInt(3);
+            RotationDirection direction = turn == 0 ?
                     RotationDirection.Clockwise : RotationDirection.Counterclockwise;
             int face = generator.nextInt(CubeColor.values().length);
             int countOfLayers = dimension <= 3 ? 1 : generator.nextInt(dimension / 2) + 1;
 
             CubeFaceRotationRecord record =
-                    new CubeFaceRotationRecord(CubeColor.values()[face], direction, countOfLayers);
+                    CubeFaceRotationRecord.valueOf(CubeColor.values()[face], direction, 0, countOfLayers,
+                            turn == 2 ? 2 : 1);
             records.add(record);
         }
         return records;
@@ -0,0 +1,277 @@
+package de.webkasi.cube;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Provides precomputed facelet permutations for all moves of a cube
+ * with a specific dimension.
+ *
+ * A move is specified the same way as for CubeFaceRotator.rotateLayers():
+ * by the face, the direction, the first layer, and the count of layers.
+ * Half turns have their own permutations, see getHalfTurnPermutation().
+ * The permutation of a move maps each facelet index to the facelet index
+ * whose color is moved to it: after the move, the field with index i has
+ * the color that the field with index permutation[i] had before. See
+ * Cube.getFacelet() for the definition of the facelet index.
+ *
+ * There is only one MoveTable per dimension. It is created by forDimension()
+ * and each permutation is created once when it is requested the first time.
+ */
+public final class MoveTable {
+    /**
+     * The MoveTable instances that have already been created, by dimension.
+     */
+    private static final Map<Integer, MoveTable> _tables = new ConcurrentHashMap<>();
+
+    private final int _dimension;
+    private final int _faceletCount;
+    /**
+     * The permutations that have been created so far.
+     *
+     * The index of a move is calculated by getMoveIndex().
+     */
+    private final AtomicReferenceArray<int[]> _permutations;
+
+    /**
+     * The count of turn kinds per face and layers: clockwise, counterclockwise,
+     * and the half turn.
+     */
+    private static final int TurnCount = 3;
+    private static final int HalfTurnIndex = 2;
+
+    /**
+     * Initializes a new instance of the MoveTable class.
+     *
+     * @param dimension The count of rows and columns of the cube.
+     */
+    private MoveTable(final int dimension) {
+        _dimension = dimension;
+        _faceletCount = 6 * dimension * dimension;
+        _permutations = new AtomicReferenceArray<>(6 * TurnCount * dimension * dimension);
+    }
+
+    /**
+     * Gets the MoveTable for cubes with the specified dimension.
+     *
+     * @param dimension The count of rows and columns of the cube.
+     * @return The MoveTable that is shared by all cubes with this dimension.
+     */
+    public static MoveTable forDimension(final int dimension) {
+        return _tables.computeIfAbsent(dimension, MoveTable::new);
+    }
+
+    /**
+     * Gets the count of rows and columns of the cubes of this table.
+     *
+     * @return The count of rows and columns of the cubes of this table.
+     */
+    public int getDimension() {
+        return _dimension;
+    }
+
+    /**
+     * Gets the count of fields of the cubes of this table.
+     *
+     * @return The count of fields of all six faces.
+     */
+    public int getFaceletCount() {
+        return _faceletCount;
+    }
+
+    /**
+     * Gets the facelet permutation for the specified move.
+     *
+     * The returned array is shared and must not be modified.
+     *
+     * @param direction The RotationDirection that specifies the direction of the rotation.
+     * @param face The CubeColor of the face that is rotated.
+     * @param startRow The index of the first layer that is rotated. If greater 0 then
+     *                 the face itself is not rotated.
+     * @param countOfLayers The count of layers to rotate.
+     * @return An array with one source facelet index for each facelet index.
+     * @throws IllegalArgumentException startRow is negative, countOfLayers is less than 1,
+     * or startRow + countOfLayers is greater than the dimension.
+     */
+    public int[] getPermutation(
+            final RotationDirection direction,
+            final CubeColor face,
+            final int startRow,
+            final int countOfLayers) {
+        int moveIndex = getMoveIndex(direction, face, startRow, countOfLayers);
+        int[] permutation = _permutations.get(moveIndex);
+        if (permutation == null) {
+            permutation = createPermutation(direction == RotationDirection.Clockwise,
+                    face.ordinal(), startRow, countOfLayers);
+            _permutations.set(moveIndex, permutation);
+        }
+        return permutation;
+    }
+
+    /**
+     * Gets the facelet permutation for the half turn of the specified layers.
+     *
+     * The returned array is shared and must not be modified.
+     *
+     * @param face The CubeColor of the face that is rotated.
+     * @param startRow The index of the first layer that is rotated. If greater 0 then
+     *                 the face itself is not rotated.
+     * @param countOfLayers The count of layers to rotate.
+     * @return An array with one source facelet index for each facelet index.
+     * @throws IllegalArgumentException startRow is negative, countOfLayers is less than 1,
+     * or startRow + countOfLayers is greater than the dimension.
+     */
+    public int[] getHalfTurnPermutation(
+            final CubeColor face,
+            final int startRow,
+            final int countOfLayers) {
+        int moveIndex = getMoveIndex(HalfTurnIndex, face, startRow, countOfLayers);
+        int[] permutation = _permutations.get(moveIndex);
+        if (permutation == null) {
+            int[] quarterTurn = getPermutation(RotationDirection.Clockwise, face, startRow, countOfLayers);
+            permutation = new int[_faceletCount];
+            for (int i = 0; i < _faceletCount; i++)
+                permutation[i] = quarterTurn[quarterTurn[i]];
+            _permutations.set(moveIndex, permutation);
+        }
+        return permutation;
+    }
+
+    /**
+     * Calculates the index of the specified move in the _permutations array.
+     *
+     * Like CubeFaceRotator, any direction that is not clockwise is handled as
+     * counterclockwise.
+     *
+     * @param direction The RotationDirection of the move.
+     * @param face The CubeColor of the face that is rotated.
+     * @param startRow The index of the first layer that is rotated.
+     * @param countOfLayers The count of layers to rotate.
+     * @return The index of the move in the _permutations array.
+     */
+    private int getMoveIndex(
+            final RotationDirection direction,
+            final CubeColor face,
+            final int startRow,
+            final int countOfLayers) {
+        return getMoveIndex(direction == RotationDirection.Clockwise ? 0 : 1, face, startRow, countOfLayers);
+    }
+
+    /**
+     * Calculates the index of the specified move in the _permutations array.
+     *
+     * @param turnIndex 0 for clockwise, 1 for counterclockwise, and 2 for the half turn.
+     * @param face The CubeColor of the face that is rotated.
+     * @param startRow The index of the first layer that is rotated.
+     * @param countOfLayers The count of layers to rotate.
+     * @return The index of the move in the _permutations array.
+     * @throws IllegalArgumentException The layers are not within the cube.
+     */
+    private int getMoveIndex(
+            final int turnIndex,
+            final CubeColor face,
+            final int startRow,
+            final int countOfLayers) {
+        if (startRow < 0 || countOfLayers < 1 || startRow + countOfLayers > _dimension)
+            throw new IllegalArgumentException("The layers must be within the cube.");
+
+        return ((face.ordinal() * TurnCount + turnIndex) * _dimension + startRow) * _dimension
+                + countOfLayers - 1;
+    }
+
+    /**
+     * Creates the permutation of the specified move.
+     *
+     * The identity permutation is rotated with the same cycles of facelets
+     * that CubeFaceRotator uses to rotate the fields of a cube.
+     *
+     * @param clockwise true to rotate clockwise; false to rotate counterclockwise.
+     * @param face The index of the face that is rotated.
+     * @param startRow The index of the first layer that is rotated.
+     * @param countOfLayers The count of layers to rotate.
+     * @return The new permutation.
+     */
+    private int[] createPermutation(
+            final boolean clockwise,
+            final int face,
+            final int startRow,
+            final int countOfLayers) {
+        int[] permutation = new int[_faceletCount];
+        for (int i = 0; i < _faceletCount; i++)
+            permutation[i] = i;
+
+        if (startRow == 0)
+            rotateTop(permutation, clockwise, face);
+
+        for (int row = startRow; row < startRow + countOfLayers; row++) {
+            for (int column = 0; column < _dimension; column++) {
+                cycle(permutation, clockwise,
+                        CubeFaceRotator.getSideFaceletIndex(_dimension, face, 0, row, column),
+                        CubeFaceRotator.getSideFaceletIndex(_dimension, face, 1, row, column),
+                        CubeFaceRotator.getSideFaceletIndex(_dimension, face, 2, row, column),
+                        CubeFaceRotator.getSideFaceletIndex(_dimension, face, 3, row, column));
+            }
+        }
+        return permutation;
+    }
+
+    /**
+     * Rotates the facelets of the specified face itself.
+     *
+     * @param permutation The permutation to change.
+     * @param clockwise true to rotate clockwise; false to rotate counterclockwise.
+     * @param face The index of the face that is rotated.
+     */
+    private void rotateTop(final int[] permutation, final boolean clockwise, final int face) {
+        int maxIndex = _dimension - 1;
+        int offset = face * _dimension * _dimension;
+
+        for (int row = 0; row < _dimension / 2; row++) {
+            for (int column = row; column < maxIndex - row; column++) {
+                cycle(permutation, clockwise,
+                        offset + row * _dimension + column,
+                        offset + (maxIndex - column) * _dimension + row,
+                        offset + (maxIndex - row) * _dimension + maxIndex - column,
+                        offset + column * _dimension + maxIndex - row);
+            }
+        }
+    }
+
+    /**
+     * Moves the entries of four facelets one step in a cycle.
+     *
+     * Clockwise, each entry gets the value of its successor; counterclockwise,
+     * each entry gets the value of its predecessor.
+     *
+     * @param permutation The permutation to change.
+     * @param clockwise true to rotate clockwise; false to rotate counterclockwise.
+     * @param i0 The first facelet index of the cycle.
+     * @param i1 The second facelet index of the cycle.
+     * @param i2 The third facelet index of the cycle.
+     * @param i3 The fourth facelet index of the cycle.
+     */
+    private static void cycle(
+            final int[] permutation,
+            final boolean clockwise,
+            final int i0,
+            final int i1,
+            final int i2,
+            final int i3) {
+        int value;
+        if (clockwise) {
+            value = permutation[i0];
+            permutation[i0] = permutation[i1];
+            permutation[i1] = permutation[i2];
+            permutation[i2] = permutation[i3];
+            permutation[i3] = value;
+        }
+        else {
+            value = permutation[i3];
+            permutation[i3] = permutation[i2];
+            permutation[i2] = permutation[i1];
+            permutation[i1] = permutation[i0];
+            permutation[i0] = value;
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package de.webkasi.cube;
+
+/**
+ * Represents a magic cube with a very large dimension in a compact form.
+ *
+ * The colors of the fields are stored with three bits each, 21 fields in
+ * one long value, in the order of the facelet index of Cube. A 1001x1001
+ * cube needs about 2.3 MB instead of 6 MB.
+ *
+ * The faces are never rotated physically. Each face has a rotation offset,
+ * the count of clockwise quarter turns that have been applied to it, and
+ * getField() translates the row and column through this offset. A turn of
+ * an outer layer changes the offset of the face and moves the 4 * dimension
+ * fields of the side faces only, so each layer of a move costs O(dimension)
+ * regardless of the count of fields of a face.
+ *
+ * The moves have the same meaning as the moves of CubeFaceRotator for a
+ * cube in its initial orientation. PackedCube has no state hash and no
+ * orientation.
+ */
+public final class PackedCube {
+    private final int _dimension;
+    private final int _fieldsPerFace;
+    /**
+     * The colors of all fields as packed CubeColor ordinals.
+     *
+     * The field with the stored index i is in the bits 3 * (i % 21) to
+     * 3 * (i % 21) + 2 of _words[i / 21]. The stored index is the facelet
+     * index of the field before the rotation offset of its face is applied.
+     */
+    private final long[] _words;
+    /**
+     * The count of clockwise quarter turns (0 to 3) of each face that have
+     * not been applied to its stored fields.
+     */
+    private final int[] _faceRotations = new int[6];
+    /**
+     * The stored index of the first field of the current layer of each
+     * side face, see shiftSideLayers().
+     */
+    private final int[] _sideStarts = new int[4];
+    /**
+     * The difference of the stored indexes of two adjacent fields of the
+     * current layer of each side face, see shiftSideLayers().
+     */
+    private final int[] _sideSteps = new int[4];
+
+    /**
+     * The count of fields in one long value.
+     */
+    private static final int FieldsPerWord = 21;
+    private static final int BitsPerField = 3;
+    private static final long FieldMask = 7;
+
+    /**
+     * All CubeColor values, indexed by their ordinals.
+     */
+    private static final CubeColor[] _colors = CubeColor.values();
+
+    /**
+     * Initializes a new instance of the PackedCube class.
+     *
+     * Sets all fields of each face to its initial color.
+     *
+     * @param dimension Count of rows and columns of each face of the cube.
+     */
+    public PackedCube(final int dimension) {
+        if (dimension < 1)
+            throw new IllegalArgumentException("The dimension must be at least 1.");
+
+        _dimension = dimension;
+        _fieldsPerFace = dimension * dimension;
+        long fieldCount = 6L * _fieldsPerFace;
+        if (fieldCount > (long)Integer.MAX_VALUE)
+            throw new IllegalArgumentException("The dimension is too large.");
+
+        _words = new long[(int)((fieldCount + FieldsPerWord - 1) / FieldsPerWord)];
+        for (int i = 0; i < fieldCount; i++)
+            set(i, i / _fieldsPerFace);
+    }
+
+    /**
+     * Gets the count of rows and columns of the magic cube.
+     *
+     * @return The count of rows and columns of the magic cube.
+     */
+    public int getDimension() {
+        return _dimension;
+    }
+
+    /**
+     * Gets the color of the specified field.
+     *
+     * @param face The CubeColor of the face.
+     * @param row The row of the field.
+     * @param column The column of the field.
+     * @return The CubeColor of the field.
+     */
+    public CubeColor getField(final CubeColor face, final int row, final int column) {
+        checkPosition(row, column);
+        return _colors[get(getStoredIndex(face.ordinal(), row, column))];
+    }
+
+    /**
+     * Sets the color of the specified field.
+     *
+     * @param face The CubeColor of the face.
+     * @param row The row of the field.
+     * @param column The column of the field.
+     * @param color The new CubeColor of the field.
+     */
+    public void setField(final CubeColor face, final int row, final int column, final CubeColor color) {
+        checkPosition(row, column);
+        set(getStoredIndex(face.ordinal(), row, column), color.ordinal());
+    }
+
+    /**
+     * Gets a value indicating whether each face has only one color.
+     *
+     * @return true if the cube is solved.
+     */
+    public boolean isSolved() {
+        for (int face = 0; face < 6; face++) {
+            int start = face * _fieldsPerFace;
+            int color = get(start);
+            for (int i = start + 1; i < start + _fieldsPerFace; i++)
+                if (get(i) != color)
+                    return false;
+        }
+        return true;
+    }
+
+    /**
+     * Creates a Cube with the same colors at all fields.
+     *
+     * @return A new Cube object in its initial orientation.
+     */
+    public Cube toCube() {
+        Cube cube = new Cube(_dimension);
+        for (CubeColor face : _colors) {
+            CubeFace cubeFace = cube.getFace(face);
+            for (int row = 0; row < _dimension; row++)
+                for (int column = 0; column < _dimension; column++)
+                    cubeFace.setField(row, column, getField(face, row, column));
+        }
+        return cube;
+    }
+
+    /**
+     * Rotates the specified layers of the face of the cube in the specified direction.
+     *
+     * See CubeFaceRotator.rotateLayers() for the meaning of the arguments.
+     *
+     * @param direction The RotationDirection that specifies the direction of the rotation.
+     * @param face The CubeColor of the face that is rotated.
+     * @param startRow The index of the first layer that is rotated. If greater 0 then
+     *                 the face itself is not rotated.
+     * @param countOfLayers The count of layers of the side faces to rotate.
+     */
+    public void rotateLayers(
+            final RotationDirection direction,
+            final CubeColor face,
+            final int startRow,
+            final int countOfLayers) {
+        boolean clockwise = direction == RotationDirection.Clockwise;
+        shiftSideLayers(face.ordinal(), startRow, countOfLayers, clockwise ? 1 : 3);
+        if (startRow == 0)
+            rotateFace(face.ordinal(), clockwise ? 1 : 3);
+    }
+
+    /**
+     * Rotates the specified layers of the face of the cube by 180 degrees.
+     *
+     * See CubeFaceRotator.rotateHalfTurn() for the meaning of the arguments.
+     *
+     * @param face The CubeColor of the face that is rotated.
+     * @param startRow The index of the first layer that is rotated. If greater 0 then
+     *                 the face itself is not rotated.
+     * @param countOfLayers The count of layers of the side faces to rotate.
+     */
+    public void rotateHalfTurn(final CubeColor face, final int startRow, final int countOfLayers) {
+        shiftSideLayers(face.ordinal(), startRow, countOfLayers, 2);
+        if (startRow == 0)
+            rotateFace(face.ordinal(), 2);
+    }
+
+    /**
+     * Rotates a face by changing its rotation offset.
+     *
+     * @param faceIndex The index of the face.
+     * @param quarterTurns The count of clockwise quarter turns.
+     */
+    private void rotateFace(final int faceIndex, final int quarterTurns) {
+        _faceRotations[faceIndex] = (_faceRotations[faceIndex] + quarterTurns) & 3;
+    }
+
+    /**
+     * Shifts the specified layers of the four sides of a face.
+     *
+     * The positions of the side faces are the same as for CubeFaceRotator.
+     * The stored index of each strip is calculated once per layer with the
+     * rotation offset of the side face, and then advanced by a constant step.
+     *
+     * @param faceIndex The index of the rotating face.
+     * @param startRow The first layer to be shifted.
+     * @param countOfLayers The count of layers to be shifted.
+     * @param quarterTurns The count of clockwise quarter turns: 1, 2, or 3.
+     */
+    private void shiftSideLayers(
+            final int faceIndex,
+            final int startRow,
+            final int countOfLayers,
+            final int quarterTurns) {
+        int[] starts = _sideStarts;
+        int[] steps = _sideSteps;
+        for (int row = startRow; row < startRow + countOfLayers; row++) {
+            for (int side = 0; side < 4; side++) {
+                starts[side] = getStoredIndex(
+                        CubeFaceRotator.getSideFaceletIndex(_dimension, faceIndex, side, row, 0));
+                if (_dimension > 1)
+                    steps[side] = getStoredIndex(
+                            CubeFaceRotator.getSideFaceletIndex(_dimension, faceIndex, side, row, 1)) - starts[side];
+            }
+
+            int i0 = starts[0];
+            int i1 = starts[1];
+            int i2 = starts[2];
+            int i3 = starts[3];
+            for (int column = 0; column < _dimension; column++) {
+                int color0 = get(i0);
+                int color1 = get(i1);
+                int color2 = get(i2);
+                int color3 = get(i3);
+                if (quarterTurns == 1) {
+                    set(i0, color1);
+                    set(i1, color2);
+                    set(i2, color3);
+                    set(i3, color0);
+                }
+                else if (quarterTurns == 3) {
+                    set(i0, color3);
+                    set(i1, color0);
+                    set(i2, color1);
+                    set(i3, color2);
+                }
+                else {
+                    set(i0, color2);
+                    set(i1, color3);
+                    set(i2, color0);
+                    set(i3, color1);
+                }
+                i0 += steps[0];
+                i1 += steps[1];
+                i2 += steps[2];
+                i3 += steps[3];
+            }
+        }
+    }
+
+    /**
+     * Gets the stored index of the field with the specified facelet index.
+     *
+     * @param faceletIndex The facelet index of the field as seen on the cube,
+     *                     see Cube.getFacelet().
+     * @return The stored index of the field.
+     */
+    private int getStoredIndex(final int faceletIndex) {
+        int faceIndex = faceletIndex / _fieldsPerFace;
+        int index = faceletIndex % _fieldsPerFace;
+        return getStoredIndex(faceIndex, index / _dimension, index % _dimension);
+    }
+
+    /**
+     * Gets the stored index of the specified field.
+     *
+     * A clockwise quarter turn moves the field at (maxIndex - column, row)
+     * to (row, column), so the rotation offset is applied to the row and
+     * column as often in this direction.
+     *
+     * @param faceIndex The index of the face.
+     * @param row The row of the field as seen on the cube.
+     * @param column The column of the field as seen on the cube.
+     * @return The stored index of the field.
+     */
+    private int getStoredIndex(final int faceIndex, final int row, final int column) {
+        int maxIndex = _dimension - 1;
+        int offset = faceIndex * _fieldsPerFace;
+        switch (_faceRotations[faceIndex]) {
+            case 1:
+                return offset + (maxIndex - column) * _dimension + row;
+            case 2:
+                return offset + (maxIndex - row) * _dimension + maxIndex - column;
+            case 3:
+                return offset + column * _dimension + maxIndex - row;
+        }
+        return offset + row * _dimension + column;
+    }
+
+    /**
+     * Gets the color of a field.
+     *
+     * @param index The stored index of the field.
+     * @return The CubeColor ordinal of the field.
+     */
+    private int get(final int index) {
+        return (int)(_words[index / FieldsPerWord] >>> (index % FieldsPerWord * BitsPerField)) & (int)FieldMask;
+    }
+
+    /**
+     * Sets the color of a field.
+     *
+     * @param index The stored index of the field.
+     * @param color The CubeColor ordinal of the field.
+     */
+    private void set(final int index, final int color) {
+        int word = index / FieldsPerWord;
+        int shift = index % FieldsPerWord * BitsPerField;
+        _words[word] = (_words[word] & ~(FieldMask << shift)) | ((long)color << shift);
+    }
+
+    /**
+     * Throws an exception if the specified row or column is not on a face.
+     *
+     * @param row The row of the field.
+     * @param column The column of the field.
+     */
+    private void checkPosition(final int row, final int column) {
+        if (row < 0 || row >= _dimension || column < 0 || column >= _dimension)
+            throw new IndexOutOfBoundsException("The row or column is out of range.");
+    }
+}
@@ -0,0 +1,335 @@
+package de.webkasi.cube;
+
+import java.util.Arrays;
+
+/**
+ * Represents a list of rotations where each rotation is packed into an int value.
+ *
+ * A CubeFaceRotationRecords list needs one CubeFaceRotationRecord object and
+ * one reference for each rotation. This list stores each rotation in four
+ * bytes of a growable int array instead. get() returns the packed value, and
+ * the static methods getFace(), getDirection(), getStartRow(), getCountOfLayers()
+ * and getCountOfTurns() read its parts, so iterating the rotations does not
+ * allocate any objects.
+ *
+ * The list can be converted from and to CubeFaceRotationRecords, and it can
+ * be played by CubeFaceRotationPlayer.
+ */
+public final class PackedRotationRecords {
+    /**
+     * The packed rotations, see pack(). Only the first _size values are used.
+     */
+    private int[] _rotations;
+    private int _size;
+
+    /**
+     * The largest start row that can be packed.
+     */
+    public static final int MaxStartRow = 0x1fff;
+    /**
+     * The largest count of layers that can be packed.
+     */
+    public static final int MaxCountOfLayers = 0x3fff;
+
+    private static final int DirectionBit = 1 << 3;
+    private static final int HalfTurnBit = 1 << 4;
+    private static final int StartRowShift = 5;
+    private static final int CountOfLayersShift = 18;
+
+    /**
+     * All CubeColor values, indexed by their ordinals.
+     */
+    private static final CubeColor[] _faces = CubeColor.values();
+
+    /**
+     * Initializes a new empty instance of the PackedRotationRecords class.
+     */
+    public PackedRotationRecords() {
+        this(16);
+    }
+
+    /**
+     * Initializes a new empty instance of the PackedRotationRecords class
+     * with the specified capacity.
+     *
+     * @param capacity The count of rotations that can be added before the
+     *                 array is enlarged.
+     */
+    public PackedRotationRecords(final int capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException("The capacity must not be negative.");
+
+        _rotations = new int[capacity];
+    }
+
+    /**
+     * Initializes a new instance of the PackedRotationRecords class with the
+     * rotations of the specified records.
+     *
+     * @param records The CubeFaceRotationRecords object with the rotations to pack.
+     */
+    public PackedRotationRecords(final CubeFaceRotationRecords records) {
+        this(records.size());
+        addAll(records);
+    }
+
+    /**
+     * Gets the count of rotations in the list.
+     *
+     * @return The count of rotations.
+     */
+    public int size() {
+        return _size;
+    }
+
+    /**
+     * Gets a value indicating whether the list contains no rotations.
+     *
+     * @return true if the list is empty.
+     */
+    public boolean isEmpty() {
+        return _size == 0;
+    }
+
+    /**
+     * Gets the packed rotation at the specified index.
+     *
+     * @param index The index of the rotation.
+     * @return The packed rotation, see pack().
+     */
+    public int get(final int index) {
+        checkIndex(index);
+        return _rotations[index];
+    }
+
+    /**
+     * Appends a packed rotation.
+     *
+     * @param rotation The packed rotation, see pack().
+     */
+    public void add(final int rotation) {
+        if (_size == _rotations.length)
+            _rotations = Arrays.copyOf(_rotations, Math.max(16, _size * 2));
+        _rotations[_size++] = rotation;
+    }
+
+    /**
+     * Appends a rotation.
+     *
+     * @param face The CubeColor of the face to rotate.
+     * @param direction The RotationDirection value specifying the rotation direction.
+     * @param startRow The first layer index which is rotated.
+     * @param countOfLayers The count of layers to rotate.
+     * @param countOfTurns 1 for a quarter turn, 2 for a half turn.
+     */
+    public void add(
+            final CubeColor face,
+            final RotationDirection direction,
+            final int startRow,
+            final int countOfLayers,
+            final int countOfTurns) {
+        add(pack(face, direction, startRow, countOfLayers, countOfTurns));
+    }
+
+    /**
+     * Appends the rotation of the specified record.
+     *
+     * @param record The CubeFaceRotationRecord to pack.
+     */
+    public void add(final CubeFaceRotationRecord record) {
+        add(pack(record));
+    }
+
+    /**
+     * Appends the rotations of the specified records.
+     *
+     * @param records The CubeFaceRotationRecords object with the rotations to pack.
+     */
+    public void addAll(final CubeFaceRotationRecords records) {
+        for (CubeFaceRotationRecord record : records)
+            add(pack(record));
+    }
+
+    /**
+     * Removes the rotations beginning at the specified index.
+     *
+     * The array is not shrunk, so a search can append and remove rotations
+     * without allocations.
+     *
+     * @param size The new count of rotations. It must not be greater than size().
+     */
+    public void truncate(final int size) {
+        if (size < 0 || size > _size)
+            throw new IndexOutOfBoundsException("The size is out of range.");
+        _size = size;
+    }
+
+    /**
+     * Removes all rotations.
+     */
+    public void clear() {
+        _size = 0;
+    }
+
+    /**
+     * Creates a list of CubeFaceRotationRecord objects with the same rotations.
+     *
+     * @return A new CubeFaceRotationRecords object.
+     */
+    public CubeFaceRotationRecords toRecords() {
+        CubeFaceRotationRecords records = new CubeFaceRotationRecords();
+        records.ensureCapacity(_size);
+        for (int i = 0; i < _size; i++)
+            records.add(toRecord(_rotations[i]));
+        return records;
+    }
+
+    /**
+     * Creates the sequence of rotations that reverts this sequence.
+     *
+     * See CubeFaceRotationRecords.inverse().
+     *
+     * @return A new PackedRotationRecords object with the inverse rotations.
+     */
+    public PackedRotationRecords inverse() {
+        PackedRotationRecords inverse = new PackedRotationRecords(_size);
+        for (int i = _size - 1; i >= 0; i--)
+            inverse.add(_rotations[i] ^ DirectionBit);
+        return inverse;
+    }
+
+    /**
+     * Packs a rotation into a single int value.
+     *
+     * Bits 0 to 2 contain the face, bit 3 is set for a clockwise rotation,
+     * bit 4 is set for a half turn, bits 5 to 17 contain the start row, and
+     * bits 18 to 31 contain the count of layers. A quarter turn has the same
+     * value as on the undo stack of CubeFaceRotator.
+     *
+     * @param face The CubeColor of the face to rotate.
+     * @param direction The RotationDirection value specifying the rotation direction.
+     * @param startRow The first layer index which is rotated.
+     * @param countOfLayers The count of layers to rotate.
+     * @param countOfTurns 1 for a quarter turn, 2 for a half turn.
+     * @return The packed rotation.
+     */
+    public static int pack(
+            final CubeColor face,
+            final RotationDirection direction,
+            final int startRow,
+            final int countOfLayers,
+            final int countOfTurns) {
+        if (startRow < 0 || startRow > MaxStartRow)
+            throw new IllegalArgumentException("The start row cannot be packed.");
+        if (countOfLayers < 0 || countOfLayers > MaxCountOfLayers)
+            throw new IllegalArgumentException("The count of layers cannot be packed.");
+        if (countOfTurns != 1 && countOfTurns != 2)
+            throw new IllegalArgumentException("The count of turns must be 1 or 2.");
+
+        return face.ordinal()
+                | (direction == RotationDirection.Clockwise ? DirectionBit : 0)
+                | (countOfTurns == 2 ? HalfTurnBit : 0)
+                | (startRow << StartRowShift)
+                | (countOfLayers << CountOfLayersShift);
+    }
+
+    /**
+     * Packs the rotation of the specified record into a single int value.
+     *
+     * @param record The CubeFaceRotationRecord to pack.
+     * @return The packed rotation, see pack().
+     */
+    public static int pack(final CubeFaceRotationRecord record) {
+        return pack(
+                record.getFace(),
+                record.getDirection(),
+                record.getStartRow(),
+                record.getCountOfLayers(),
+                record.getCountOfTurns());
+    }
+
+    /**
+     * Gets the face of a packed rotation.
+     *
+     * @param rotation The packed rotation, see pack().
+     * @return The CubeColor of the face to rotate.
+     */
+    public static CubeColor getFace(final int rotation) {
+        return _faces[rotation & 7];
+    }
+
+    /**
+     * Gets the direction of a packed rotation.
+     *
+     * @param rotation The packed rotation, see pack().
+     * @return The RotationDirection value specifying the rotation direction.
+     */
+    public static RotationDirection getDirection(final int rotation) {
+        return (rotation & DirectionBit) != 0 ? RotationDirection.Clockwise : RotationDirection.Counterclockwise;
+    }
+
+    /**
+     * Gets the start row of a packed rotation.
+     *
+     * @param rotation The packed rotation, see pack().
+     * @return The first layer index which is rotated.
+     */
+    public static int getStartRow(final int rotation) {
+        return (rotation >>> StartRowShift) & MaxStartRow;
+    }
+
+    /**
+     * Gets the count of layers of a packed rotation.
+     *
+     * @param rotation The packed rotation, see pack().
+     * @return The count of layers to rotate.
+     */
+    public static int getCountOfLayers(final int rotation) {
+        return rotation >>> CountOfLayersShift;
+    }
+
+    /**
+     * Gets the count of quarter turns of a packed rotation.
+     *
+     * @param rotation The packed rotation, see pack().
+     * @return 1 for a quarter turn, 2 for a half turn.
+     */
+    public static int getCountOfTurns(final int rotation) {
+        return (rotation & HalfTurnBit) != 0 ? 2 : 1;
+    }
+
+    /**
+     * Gets a value indicating whether a packed rotation is a half turn.
+     *
+     * @param rotation The packed rotation, see pack().
+     * @return true if the layers are rotated by 180 degrees.
+     */
+    public static boolean isHalfTurn(final int rotation) {
+        return (rotation & HalfTurnBit) != 0;
+    }
+
+    /**
+     * Gets the CubeFaceRotationRecord object of a packed rotation.
+     *
+     * @param rotation The packed rotation, see pack().
+     * @return The CubeFaceRotationRecord object, see CubeFaceRotationRecord.valueOf().
+     */
+    public static CubeFaceRotationRecord toRecord(final int rotation) {
+        return CubeFaceRotationRecord.valueOf(
+                getFace(rotation),
+                getDirection(rotation),
+                getStartRow(rotation),
+                getCountOfLayers(rotation),
+                getCountOfTurns(rotation));
+    }
+
+    /**
+     * Throws an exception if the specified index is not in the list.
+     *
+     * @param index The index of a rotation.
+     */
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= _size)
+            throw new IndexOutOfBoundsException("The index is out of range.");
+    }
+}
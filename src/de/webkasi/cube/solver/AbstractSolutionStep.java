@@ -9,8 +9,7 @@ import de.webkasi.cube.*;
  * the cube solution step classes.
  */
 abstract class AbstractSolutionStep {
-    private final Cube _cube;
-    private final CubeFaceRotationRecords _records;
+    private final CubeCursor _cursor;
     private final CubeOrientation _orientation;
     private final Solution[] _solutions;
 
@@ -41,22 +40,17 @@ abstract class AbstractSolutionStep {
 
     /**
      * Initializes a new instance of the AbstractSolutionStep class with the
-     * specified Cube and CubeFaceRotationsRecords objects. Call this by the
+     * specified CubeCursor object. Call this by the
      * inherited constructor with the super keyword.
      *
-     * @param cube The Cube to solve. The cube may be completely scrambled.
-     *             There is is no need of any previous step to pass a Cube
-     *             to this method.
-     * @param records The CubeFaceRotationRecords object receiving the solution steps.
-     *                This must contain the previous steps of the WhiteCrossStep.solve()
-     *                method.
+     * @param cursor The CubeCursor providing the Cube to solve with all previous
+     *               solution steps. Its CubeFaceRotationRecords object receives the
+     *               solution steps.
      */
     AbstractSolutionStep(
-            final Cube cube,
-            final CubeFaceRotationRecords records,
+            final CubeCursor cursor,
             final Solution[] solutions) {
-        _cube = cube;
-        _records = records;
+        _cursor = cursor;
         _orientation = new CubeOrientation();
         _solutions = solutions;
     }
@@ -73,24 +67,19 @@ abstract class AbstractSolutionStep {
      * before it advances to the next face. The actual solutions are provided by
      * the inherited classes.
      *
-     * The last move is the return to the default orientation of the cube: Green
-     * front and white up.
+     * The solution moves of each face are interpreted in the orientation
+     * with this face at the front, so the records always refer to the default
+     * orientation of the cube: Green front and white up.
      */
     void solve() {
-        SpeedCubeNotationInterpreter interpreter = new SpeedCubeNotationInterpreter(_records);
-        StringBuilder cubeRotations = new StringBuilder();
-
         for (int i = 0; i < 4; i++) {
-            Cube steppedCube = CubeFactory.create(_cube, _records);
+            Cube steppedCube = _cursor.getCube();
 
             PartPosition position = findPosition(steppedCube, faceSteps[i]);
-            String solutionMoves = cubeRotations + findSolutionFor(position);
-            interpreter.addMoves(solutionMoves);
+            _cursor.addMoves(findSolutionFor(position), _orientation);
 
-            // Go to the next front face: The y-rotations are only interpreted by each
-            // addMoves call, so we have to append one "y" per rotation.
+            // Go to the next front face.
             _orientation.rotate('y', RotationDirection.Clockwise, 1);
-            cubeRotations.append("y ");
         }
     }
 
@@ -6,7 +6,6 @@ import de.webkasi.cube.*;
  * Base class for the yellow cross edges steps.
  */
 abstract class AbstractYellowCrossEdgesStep extends AbstractYellowCrossStep {
-    private final SpeedCubeNotationInterpreter _interpreter;
 
     /**
      * Initializes a new instance of the AbstractYellowCrossEdgesStep class.
@@ -14,13 +13,12 @@ abstract class AbstractYellowCrossEdgesStep extends AbstractYellowCrossStep {
      * @param cube The Cube to solve. The cube may be completely scrambled.
      *             There is is no need of any previous step to pass a Cube
      *             to this method.
-     * @param records The CubeFaceRotationRecords object receiving the solution steps.
-     *                This must contain all previous steps until and including the
-     *                yellow cross step.
+     * @param cursor The CubeCursor whose records receive the solution steps.
+     *               The records must contain all previous steps until and including the
+     *               yellow cross step.
      */
-    AbstractYellowCrossEdgesStep(Cube cube, CubeFaceRotationRecords records) {
-        super(cube, records);
-        _interpreter = new SpeedCubeNotationInterpreter(_records);
+    AbstractYellowCrossEdgesStep(Cube cube, CubeCursor cursor) {
+        super(cube, cursor);
     }
 
     /**
@@ -77,7 +75,7 @@ abstract class AbstractYellowCrossEdgesStep extends AbstractYellowCrossStep {
 
         while (Integer.bitCount(getSideColorState(_cube)) < 2) {
             // record the rotation
-            _interpreter.addMoves("x2 U");
+            _cursor.addMoves("x2 U");
             // rotate the temporary _cube to get correct results in getEdgeBits()
             rotator.rotateFace(RotationDirection.Clockwise, CubeColor.Yellow, 1);
         }
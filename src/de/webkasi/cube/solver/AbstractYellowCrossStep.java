@@ -1,14 +1,13 @@
 package de.webkasi.cube.solver;
 
 import de.webkasi.cube.Cube;
-import de.webkasi.cube.CubeFaceRotationRecords;
 
 /**
  * Base class for yellow cross solution steps of the Magic Cube.
  */
 abstract class AbstractYellowCrossStep {
     final Cube _cube;
-    final CubeFaceRotationRecords _records;
+    final CubeCursor _cursor;
 
     /**
      * No move necessary.
@@ -71,11 +70,11 @@ abstract class AbstractYellowCrossStep {
      * @param cube The Cube to solve. The cube may be completely scrambled.
      *             There is is no need of any previous step to pass a Cube
      *             to this method.
-     * @param records The CubeFaceRotationRecords object receiving the solution steps.
-     *                This must contain all previous steps before the yellow cross step.
+     * @param cursor The CubeCursor whose records receive the solution steps.
+     *               The records must contain all previous steps before the yellow cross step.
      */
-    AbstractYellowCrossStep(Cube cube, CubeFaceRotationRecords records) {
+    AbstractYellowCrossStep(Cube cube, CubeCursor cursor) {
         _cube = cube;
-        _records = records;
+        _cursor = cursor;
     }
 }
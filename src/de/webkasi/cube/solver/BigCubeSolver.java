@@ -0,0 +1,951 @@
+package de.webkasi.cube.solver;
+
+import de.webkasi.cube.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntPredicate;
+
+/**
+ * Provides a solution for a given Cube with four or more rows and columns.
+ *
+ * The cube is reduced to a 3x3 cube in the following steps:
+ *
+ * 1. The parity of each orbit of the edge wings is made even. The wings at
+ * the same distance from the middle of their edges form an orbit of 24
+ * parts. A quarter turn of an inner layer swaps an odd count of them,
+ * while all later steps swap an even count, so an inner layer is turned
+ * once for each orbit with an odd parity. This replaces the OLL parity
+ * algorithm: the paired edges cannot contain a single flipped edge.
+ * 2. The centers are solved face by face with commutators of an inner
+ * layer and a conjugated parallel inner layer, see CommutatorTable. Each
+ * commutator cycles three center parts and nothing else.
+ * 3. The wings are paired into edges, orbit by orbit, with the middle edges
+ * or, for even dimensions, with the innermost orbit. An inner layer X is
+ * turned, a ring face is turned out and back around a turn of a face parallel
+ * to X, and X is turned back, so the centers return to their places. The
+ * sequence that pairs the most wings per move is chosen until no sequence
+ * pairs more wings, and the remaining wings are paired with commutators.
+ * 4. The corners and the paired edges form a 3x3 cube that is solved by the
+ * ThistlethwaiteSolver with turns of the outer layers. If the permutations of
+ * the edges and the corners of an even dimension have different parities,
+ * the PLL parity algorithm swaps two edges before.
+ *
+ * A commutator for each part is found with an index of all commutators by
+ * the destination of their parts, together with one or two setup moves that
+ * are reverted afterwards. Of these, a commutator that also solves the other
+ * moved centers is preferred, and the setup moves of the previous commutator
+ * are tried first, so that the reverted and the repeated setup moves cancel.
+ * The solutions turn single layers only, and the inner layers are addressed
+ * by the start row of the records.
+ *
+ * The FaceletModel and the commutator tables depend on the dimension only.
+ * They are created when the first cube of a dimension is solved and shared
+ * by all later solutions, and they need memory in proportion to the count
+ * of fields.
+ */
+public class BigCubeSolver {
+    /**
+     * The faces in the order in which their centers are solved. The centers
+     * of the back face are solved with the centers of the other faces.
+     */
+    private static final int[] CenterFaces = new int[] {
+            CubeColor.White.ordinal(),
+            CubeColor.Yellow.ordinal(),
+            CubeColor.Orange.ordinal(),
+            CubeColor.Green.ordinal(),
+            CubeColor.Red.ordinal()
+    };
+    /**
+     * The CommutatorTable of the centers of each dimension that has been solved.
+     */
+    private static final Map<Integer, CommutatorTable> _centerTables = new ConcurrentHashMap<>();
+    /**
+     * The CommutatorTable of the wings of each dimension that has been solved.
+     */
+    private static final Map<Integer, CommutatorTable> _wingTables = new ConcurrentHashMap<>();
+
+    private final FaceletModel _model;
+    private final int _dimension;
+    /**
+     * The face on which each field belongs, indexed by the facelet index.
+     */
+    private final byte[] _colors;
+    /**
+     * The fields whose parts are solved and must not be moved by a commutator.
+     */
+    private final boolean[] _fixed;
+    /**
+     * The other field of each wing that is addressed by its first field, see isFirstWingFacelet().
+     */
+    private final int[] _partners;
+    /**
+     * The edge fields, see getEdgeIndex().
+     */
+    private final int[] _edgeFacelets;
+    /**
+     * The moves of the solution, see FaceletModel.getMove().
+     */
+    private int[] _moves = new int[256];
+    private int _moveCount;
+    /**
+     * The setup moves of the last commutator.
+     */
+    private int[] _setup = new int[0];
+    /**
+     * The count of moves after the last commutator.
+     */
+    private int _setupEnd = -1;
+
+    /**
+     * Initializes a new instance of the BigCubeSolver class.
+     *
+     * @param cube The cube that should be solved.
+     */
+    private BigCubeSolver(final Cube cube) {
+        _dimension = cube.getDimension();
+        _model = FaceletModel.forDimension(_dimension);
+        _colors = readColors(cube);
+        _fixed = new boolean[_model.getFaceletCount()];
+        _partners = new int[_model.getFaceletCount()];
+        for (int facelet = 0; facelet < _partners.length; facelet++)
+            _partners[facelet] = isFirstWingFacelet(facelet) ? getPartner(facelet) : -1;
+        _edgeFacelets = new int[36 * (2 * _dimension - 1)];
+        Arrays.fill(_edgeFacelets, -1);
+        for (int facelet = 0; facelet < _partners.length; facelet++) {
+            if (_model.getFaceCount(facelet) == 2) {
+                int otherFace = _model.getFace(getPartner(facelet));
+                _edgeFacelets[getEdgeIndex(_model.getFace(facelet), otherFace, getEdgeCoordinate(facelet))] = facelet;
+            }
+        }
+    }
+
+    /**
+     * Solves the specified cube.
+     *
+     * @param cube The cube with four or more rows and columns that should be solved.
+     * @return A CubeFaceRotationRecords object containing the
+     * moves for the solution.
+     * @throws IllegalArgumentException The cube has less than four rows and
+     * columns or cannot be solved.
+     */
+    public static CubeFaceRotationRecords solve(final Cube cube) {
+        if (cube.getDimension() < 4)
+            throw new IllegalArgumentException("Only cubes with four or more rows and columns can be solved.");
+
+        BigCubeSolver solver = new BigCubeSolver(cube);
+        solver.fixWingParity();
+        solver.solveCenters();
+        solver.pairEdges();
+        solver.solveReducedCube();
+        if (!solver.isSolved())
+            throw new IllegalArgumentException("The cube cannot be solved.");
+
+        CubeFaceRotationRecords records = new CubeFaceRotationRecords();
+        for (int i = 0; i < solver._moveCount; i++)
+            records.add(solver._model.getRecord(solver._moves[i]));
+        return records;
+    }
+
+    /**
+     * Turns an inner layer for each orbit of wings with an odd permutation.
+     */
+    private void fixWingParity() {
+        boolean[] visited = new boolean[_model.getFaceletCount()];
+        for (int distance = _dimension % 2 + 1; distance < _dimension - 1; distance += 2) {
+            int[] slots = getWingSlots(distance);
+            int parity = 0;
+            for (int slot : slots) {
+                for (int i = slot; !visited[i]; i = getHomeSlot(i)) {
+                    if (getHomeSlot(i) < 0)
+                        throw new IllegalArgumentException("The cube cannot be solved.");
+                    visited[i] = true;
+                    if (i != slot)
+                        parity ^= 1;
+                }
+            }
+            if (parity != 0)
+                applyMove(_model.getMove(CubeColor.Red.ordinal(), (_dimension - 1 - distance) / 2, 1));
+        }
+    }
+
+    /**
+     * Solves the centers of all faces.
+     */
+    private void solveCenters() {
+        if (_dimension % 2 == 1) {
+            int middle = _dimension / 2;
+            for (int face = 0; face < 6; face++)
+                _fixed[_model.getFacelet(face, middle, middle)] = true;
+        }
+        CommutatorTable table = _centerTables.computeIfAbsent(_dimension, dimension -> createCenterTable(_model));
+
+        for (int face : CenterFaces) {
+            for (int row = 1; row < _dimension - 1; row++) {
+                for (int column = 1; column < _dimension - 1; column++) {
+                    int target = _model.getFacelet(face, row, column);
+                    if (_fixed[target])
+                        continue;
+
+                    if (_colors[target] != face && !cycle(table, target, source -> _colors[source] == face))
+                        throw new IllegalArgumentException("The cube cannot be solved.");
+                    _fixed[target] = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Pairs the wings of all orbits into edges.
+     */
+    private void pairEdges() {
+        CommutatorTable table = null;
+        for (int distance = _dimension % 2 + 1; distance < _dimension - 1; distance += 2) {
+            int[] slots = getWingSlots(distance);
+            int[] anchors = new int[slots.length];
+            for (int i = 0; i < slots.length; i++)
+                anchors[i] = getEdgeFacelet(slots[i], _dimension % 2 == 1 ? 0 : 1);
+
+            pairEdgesWithSlices(distance, slots, anchors);
+            for (int i = 0; i < slots.length; i++) {
+                int slot = slots[i];
+                int anchor = anchors[i];
+                int otherAnchor = getPartner(anchor);
+                if (isPaired(slot, anchor)) {
+                    _fixed[slot] = true;
+                    continue;
+                }
+
+                // For even dimensions the anchor of the innermost orbit is
+                // the other wing of the edge, which must stay in place.
+                if (distance == 1)
+                    _fixed[otherAnchor] = true;
+                if (table == null)
+                    table = _wingTables.computeIfAbsent(_dimension, dimension -> createWingTable());
+                IntPredicate isSource = source -> _colors[source] == _colors[anchor]
+                        && _colors[_partners[source]] == _colors[otherAnchor];
+                // The wings that are already paired are kept if possible,
+                // otherwise only the wings of the previous slots are kept.
+                boolean[] kept = new boolean[slots.length];
+                for (int j = i + 1; j < slots.length; j++) {
+                    kept[j] = !_fixed[slots[j]] && isPaired(slots[j], anchors[j]);
+                    _fixed[slots[j]] |= kept[j];
+                }
+                boolean found = cycle(table, slot, isSource);
+                for (int j = i + 1; j < slots.length; j++)
+                    _fixed[slots[j]] &= !kept[j];
+                if (!found && !cycle(table, slot, isSource))
+                    throw new IllegalArgumentException("The cube cannot be solved.");
+                _fixed[slot] = true;
+            }
+            for (int slot : slots)
+                _fixed[slot] = false;
+        }
+    }
+
+    /**
+     * Pairs the wings of an orbit with sequences X A B A' X' of an inner
+     * layer X, a ring face A of X, and a face B parallel to X, each after an
+     * optional turn of a face.
+     *
+     * The sequence that pairs the most wings per move is applied until no
+     * sequence pairs more wings than it separates.
+     *
+     * @param distance The doubled distance of the wings from the middle of their edges.
+     * @param slots The first fields of the 24 wings of the orbit.
+     * @param anchors The field of each slot that the wing must match, see isPaired().
+     */
+    private void pairEdgesWithSlices(final int distance, final int[] slots, final int[] anchors) {
+        boolean allPaired = true;
+        for (int i = 0; i < slots.length; i++)
+            allPaired &= isPaired(slots[i], anchors[i]);
+        if (allPaired)
+            return;
+
+        int[] indexes = new int[_model.getFaceletCount()];
+        Arrays.fill(indexes, -1);
+        int[] tracked = new int[4 * slots.length];
+        int count = 0;
+        for (int i = 0; i < slots.length; i++) {
+            for (int facelet : new int[] { slots[i], _partners[slots[i]], anchors[i], getPartner(anchors[i]) }) {
+                if (indexes[facelet] < 0) {
+                    indexes[facelet] = count;
+                    tracked[count++] = facelet;
+                }
+            }
+        }
+        int[][] pairs = new int[slots.length][];
+        for (int i = 0; i < slots.length; i++) {
+            pairs[i] = new int[] { indexes[slots[i]], indexes[_partners[slots[i]]],
+                    indexes[anchors[i]], indexes[getPartner(anchors[i])] };
+        }
+
+        List<int[]> setups = new ArrayList<>();
+        setups.add(new int[0]);
+        for (int face = 0; face < 6; face++) {
+            for (int quarterTurns = 1; quarterTurns <= 3; quarterTurns++)
+                setups.add(new int[] { _model.getMove(face, 0, quarterTurns) });
+        }
+        List<int[]> sequences = new ArrayList<>();
+        int depth = (_dimension - 1 - distance) / 2;
+        for (int face = 0; face < 6; face++) {
+            int opposite = CubieCube.getOppositeFace(face);
+            for (int quarterTurns = 1; quarterTurns <= 3; quarterTurns++) {
+                int x = _model.getMove(face, depth, quarterTurns);
+                for (int ringFace = 0; ringFace < 6; ringFace++) {
+                    if (ringFace == face || ringFace == opposite)
+                        continue;
+                    for (int ringTurns = 1; ringTurns <= 3; ringTurns++) {
+                        int a = _model.getMove(ringFace, 0, ringTurns);
+                        for (int parallelFace : new int[] { face, opposite }) {
+                            for (int parallelTurns = 1; parallelTurns <= 3; parallelTurns++) {
+                                sequences.add(new int[] { x, a, _model.getMove(parallelFace, 0, parallelTurns),
+                                        _model.getInverseMove(a), _model.getInverseMove(x) });
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        int[][] setupTargets = new int[setups.size()][];
+        for (int i = 0; i < setupTargets.length; i++)
+            setupTargets[i] = getTargets(setups.get(i), tracked, count, indexes);
+        int[][] sequenceTargets = new int[sequences.size()][];
+        for (int i = 0; i < sequenceTargets.length; i++)
+            sequenceTargets[i] = getTargets(sequences.get(i), tracked, count, indexes);
+
+        byte[] colors = new byte[count];
+        byte[] moved = new byte[count];
+        while (true) {
+            for (int i = 0; i < count; i++)
+                colors[i] = _colors[tracked[i]];
+            int paired = countPairs(colors, pairs);
+            if (paired == slots.length)
+                return;
+
+            int bestGain = 0;
+            int bestLength = 1;
+            int bestSetup = -1;
+            int bestSequence = -1;
+            for (int setup = 0; setup < setupTargets.length; setup++) {
+                int length = setups.get(setup).length + 5;
+                for (int sequence = 0; sequence < sequenceTargets.length; sequence++) {
+                    int[] setupTarget = setupTargets[setup];
+                    int[] sequenceTarget = sequenceTargets[sequence];
+                    for (int i = 0; i < count; i++)
+                        moved[sequenceTarget[setupTarget[i]]] = colors[i];
+                    int gain = countPairs(moved, pairs) - paired;
+                    if (gain * bestLength > bestGain * length) {
+                        bestGain = gain;
+                        bestLength = length;
+                        bestSetup = setup;
+                        bestSequence = sequence;
+                    }
+                }
+            }
+            if (bestGain <= 0)
+                return;
+
+            for (int move : setups.get(bestSetup))
+                applyMove(move);
+            for (int move : sequences.get(bestSequence))
+                applyMove(move);
+        }
+    }
+
+    /**
+     * Gets the targets of the specified fields after a sequence of moves.
+     *
+     * @param moves The indexes of the moves.
+     * @param tracked The facelet indexes of the fields.
+     * @param count The count of fields.
+     * @param indexes The index of each field in tracked, indexed by the facelet index.
+     * @return A new array with the index of the target of each field in tracked.
+     */
+    private int[] getTargets(final int[] moves, final int[] tracked, final int count, final int[] indexes) {
+        int[] targets = new int[count];
+        for (int i = 0; i < count; i++) {
+            int facelet = tracked[i];
+            for (int move : moves)
+                facelet = _model.getTarget(move, facelet);
+            targets[i] = indexes[facelet];
+        }
+        return targets;
+    }
+
+    /**
+     * Counts the wings that are paired with their anchors.
+     *
+     * @param colors The colors of the tracked fields.
+     * @param pairs The indexes of the first field, the second field, the anchor,
+     *              and the other field of the anchor of each wing in colors.
+     * @return The count of paired wings.
+     */
+    private static int countPairs(final byte[] colors, final int[][] pairs) {
+        int count = 0;
+        for (int[] pair : pairs) {
+            if (colors[pair[0]] == colors[pair[2]] && colors[pair[1]] == colors[pair[3]])
+                count++;
+        }
+        return count;
+    }
+
+    /**
+     * Gets a value indicating whether a wing has the colors of its anchor.
+     *
+     * The anchor of a wing is the field of the middle edge on the same face,
+     * or for even dimensions the field of the innermost orbit on the other
+     * side of the middle of the edge. The wings of the innermost orbit of an
+     * even dimension are anchors of each other.
+     *
+     * @param slot The first field of the wing.
+     * @param anchor The field of the anchor on the face of the first field.
+     * @return true if both fields of the wing have the colors of the anchor.
+     */
+    private boolean isPaired(final int slot, final int anchor) {
+        return _colors[slot] == _colors[anchor] && _colors[_partners[slot]] == _colors[getPartner(anchor)];
+    }
+
+    /**
+     * Solves the corners and the paired edges as a 3x3 cube.
+     *
+     * For even dimensions two edges are swapped first if the permutations of
+     * the edges and the corners have different parities.
+     */
+    private void solveReducedCube() {
+        Cube cube = createReducedCube();
+        if (_dimension % 2 == 0 && !new CubieCube(cube).isSolvable()) {
+            fixEdgeParity();
+            cube = createReducedCube();
+        }
+
+        CubeFaceRotationRecords records = ThistlethwaiteSolver.solve(cube);
+        for (int i = 0; i < records.size(); i++)
+            applyMove(_model.getMove(records.get(i)));
+    }
+
+    /**
+     * Creates a 3x3 cube with the colors of the corners, of the edges, and of the faces.
+     *
+     * @return A new Cube object.
+     */
+    private Cube createReducedCube() {
+        Cube cube = new Cube(3);
+        CubeColor[] colors = CubeColor.values();
+        int max = _dimension - 1;
+        int middle = _dimension / 2;
+        for (int face = 0; face < 6; face++) {
+            CubeFace cubeFace = cube.getFaceByIndex(face);
+            for (int row = 0; row < 3; row++) {
+                for (int column = 0; column < 3; column++) {
+                    if (row != 1 || column != 1) {
+                        int facelet = _model.getFacelet(face, row == 2 ? max : row * middle, column == 2 ? max : column * middle);
+                        cubeFace.setField(row, column, colors[_colors[facelet]]);
+                    }
+                    else
+                        cubeFace.setField(row, column, colors[face]);
+                }
+            }
+        }
+        return cube;
+    }
+
+    /**
+     * Swaps the front and the back edges of the up face with r2 U2 r2 (U2 u2) r2 u2,
+     * where r and u turn all inner layers of the right and the up half of the cube.
+     *
+     * The sequence is the PLL parity algorithm of the 4x4 cube. It keeps the
+     * centers and the pairs of the wings.
+     */
+    private void fixEdgeParity() {
+        int up = CubeColor.White.ordinal();
+        int right = CubeColor.Red.ordinal();
+        turnInnerLayers(right);
+        applyMove(_model.getMove(up, 0, 2));
+        turnInnerLayers(right);
+        applyMove(_model.getMove(up, 0, 2));
+        turnInnerLayers(up);
+        turnInnerLayers(right);
+        turnInnerLayers(up);
+    }
+
+    /**
+     * Turns the inner layers of the half of the cube below the specified face by a half turn.
+     *
+     * @param face The index of the face.
+     */
+    private void turnInnerLayers(final int face) {
+        for (int depth = 1; depth < _dimension / 2; depth++)
+            applyMove(_model.getMove(face, depth, 2));
+    }
+
+    /**
+     * Brings a part to the specified field with a commutator.
+     *
+     * The commutator is conjugated with one or two setup moves if no
+     * commutator brings a matching part to the field directly. The setup
+     * moves of the previous commutator are tried first if its reverted setup
+     * moves are the last moves of the solution, because they cancel, and then
+     * the setup moves that are merged with the last move.
+     *
+     * @param table The CommutatorTable of the parts.
+     * @param target The facelet index of the destination.
+     * @param isSource The predicate that decides whether the part at a field
+     *                 should be moved to the destination.
+     * @return true if a commutator has been found.
+     */
+    private boolean cycle(final CommutatorTable table, final int target, final IntPredicate isSource) {
+        if (cycle(table, target, isSource, new int[0]))
+            return true;
+        if (_setupEnd == _moveCount && _setup.length > 0 && cycle(table, target, isSource, _setup))
+            return true;
+        int layer = _moveCount > 0 ? _moves[_moveCount - 1] / 3 : -1;
+        for (int setup = 0; setup < _model.getMoveCount(); setup++) {
+            if (setup / 3 == layer && cycle(table, target, isSource, new int[] { setup }))
+                return true;
+        }
+        for (int setup = 0; setup < _model.getMoveCount(); setup++) {
+            if (setup / 3 != layer && cycle(table, target, isSource, new int[] { setup }))
+                return true;
+        }
+        for (int first = 0; first < _model.getMoveCount(); first++) {
+            for (int second = 0; second < _model.getMoveCount(); second++) {
+                if (first / 3 != second / 3 && cycle(table, target, isSource, new int[] { first, second }))
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Brings a part to the specified field with a commutator and the specified setup moves.
+     *
+     * @param table The CommutatorTable of the parts.
+     * @param target The facelet index of the destination.
+     * @param isSource The predicate that decides whether the part at a field
+     *                 should be moved to the destination.
+     * @param setup The indexes of the setup moves, which are reverted in reverse order.
+     * @return true if a commutator has been found.
+     */
+    private boolean cycle(final CommutatorTable table, final int target, final IntPredicate isSource, final int[] setup) {
+        int destination = target;
+        for (int move : setup)
+            destination = _model.getTarget(move, destination);
+        int found = -1;
+        int bestGain = -1;
+        for (int i = 0; i < table.getEntryCount(destination); i++) {
+            int entry = table.getEntry(destination, i);
+            int source = revertSetup(setup, table.getSource(entry));
+            int third = revertSetup(setup, table.getThird(entry));
+            if (_fixed[source] || _fixed[third] || !isSource.test(source))
+                continue;
+
+            // A commutator that also brings the right centers to the other fields is preferred.
+            int gain = 0;
+            if (_model.getFaceCount(source) == 1) {
+                gain += isSolvedBy(source, _colors[third]) ? 1 : 0;
+                gain += isSolvedBy(third, _colors[target]) ? 1 : 0;
+            }
+            if (gain > bestGain) {
+                found = entry;
+                bestGain = gain;
+                if (gain == 2)
+                    break;
+            }
+        }
+        if (found >= 0) {
+            int source = revertSetup(setup, table.getSource(found));
+            int third = revertSetup(setup, table.getThird(found));
+            for (int move : setup)
+                addMove(move);
+            for (int move : table.getMoves(found))
+                addMove(move);
+            for (int i = setup.length - 1; i >= 0; i--)
+                addMove(_model.getInverseMove(setup[i]));
+            _setup = setup;
+            _setupEnd = _moveCount;
+
+            cycleColors(source, target, third);
+            if (_partners[target] >= 0)
+                cycleColors(_partners[source], _partners[target], _partners[third]);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets a value indicating whether a field that is not solved is solved by the specified color.
+     *
+     * @param facelet The facelet index of the field.
+     * @param color The face of the color that would move to the field.
+     * @return true if the color belongs to the face of the field and the field has another color.
+     */
+    private boolean isSolvedBy(final int facelet, final byte color) {
+        int face = _model.getFace(facelet);
+        return _colors[facelet] != face && color == face;
+    }
+
+    /**
+     * Gets the field before the specified setup moves.
+     *
+     * @param setup The indexes of the setup moves.
+     * @param facelet The facelet index after the setup moves.
+     * @return The facelet index before the setup moves.
+     */
+    private int revertSetup(final int[] setup, final int facelet) {
+        int result = facelet;
+        for (int i = setup.length - 1; i >= 0; i--)
+            result = _model.getTarget(_model.getInverseMove(setup[i]), result);
+        return result;
+    }
+
+    /**
+     * Creates the commutators that cycle three centers.
+     *
+     * X and M are parallel inner layers, and G turns a face that is not
+     * parallel to them. The middle centers of odd dimensions are not moved.
+     *
+     * @param model The FaceletModel of the cube.
+     * @return A new CommutatorTable object.
+     */
+    private static CommutatorTable createCenterTable(final FaceletModel model) {
+        int dimension = model.getDimension();
+        int middle = dimension % 2 == 1 ? dimension / 2 : -1;
+        boolean[] addressed = new boolean[model.getFaceletCount()];
+        for (int facelet = 0; facelet < addressed.length; facelet++) {
+            addressed[facelet] = model.getFaceCount(facelet) == 1
+                    && (facelet / dimension % dimension != middle || facelet % dimension != middle);
+        }
+
+        CommutatorTable table = new CommutatorTable(model);
+        for (int face = 0; face < 3; face++) {
+            for (int depth = 1; depth < dimension - 1; depth++) {
+                for (int quarterTurns = 1; quarterTurns <= 3; quarterTurns++) {
+                    int x = model.getMove(face, depth, quarterTurns);
+                    for (int setupFace = 0; setupFace < 6; setupFace++) {
+                        if (setupFace == face || setupFace == CubieCube.getOppositeFace(face))
+                            continue;
+                        for (int setupTurns = 1; setupTurns <= 3; setupTurns++) {
+                            int g = model.getMove(setupFace, 0, setupTurns);
+                            int[][] moved = getMovedFacelets(model, x, g);
+                            for (int otherDepth = 1; otherDepth < dimension - 1; otherDepth++) {
+                                if (otherDepth == depth)
+                                    continue;
+                                for (int otherTurns = 1; otherTurns <= 3; otherTurns++)
+                                    table.add(x, moved[otherDepth], g, model.getMove(face, otherDepth, otherTurns), addressed);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Creates the commutators that cycle three wings.
+     *
+     * X is an inner layer, and M turns a face that is conjugated by another
+     * face turn G. X and Y only have one common part if M is parallel to X.
+     *
+     * @return A new CommutatorTable object.
+     */
+    private CommutatorTable createWingTable() {
+        boolean[] addressed = new boolean[_model.getFaceletCount()];
+        for (int facelet = 0; facelet < addressed.length; facelet++)
+            addressed[facelet] = _partners[facelet] >= 0;
+
+        CommutatorTable table = new CommutatorTable(_model);
+        for (int face = 0; face < 3; face++) {
+            int opposite = CubieCube.getOppositeFace(face);
+            for (int depth = 1; depth < _dimension - 1; depth++) {
+                for (int quarterTurns = 1; quarterTurns <= 3; quarterTurns++) {
+                    int x = _model.getMove(face, depth, quarterTurns);
+                    for (int setupFace = 0; setupFace < 6; setupFace++) {
+                        if (setupFace == face || setupFace == opposite)
+                            continue;
+                        for (int setupTurns = 1; setupTurns <= 3; setupTurns++) {
+                            int g = _model.getMove(setupFace, 0, setupTurns);
+                            int[][] moved = getMovedFacelets(_model, x, g);
+                            for (int otherFace : new int[] { face, opposite }) {
+                                int[] otherMoved = moved[otherFace == face ? 0 : _dimension - 1];
+                                for (int otherTurns = 1; otherTurns <= 3; otherTurns++)
+                                    table.add(x, otherMoved, g, _model.getMove(otherFace, 0, otherTurns), addressed);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Gets the fields that are moved by an inner layer X and by a face turn G
+     * that is not parallel to X, by the layer parallel to X to which G moves them.
+     *
+     * A conjugate G M G' of a layer M parallel to X moves a field of X only
+     * if G moves the field into M, so X and the conjugate can only have the
+     * fields of one of these groups in common.
+     *
+     * @param model The FaceletModel of the cube.
+     * @param x The index of the move X.
+     * @param g The index of the move G.
+     * @return A new array with the facelet indexes of the fields, indexed by
+     * the depth of their target below the face of X.
+     */
+    private static int[][] getMovedFacelets(final FaceletModel model, final int x, final int g) {
+        int dimension = model.getDimension();
+        int face = x / 3 / (dimension - 1);
+        int[] depths = new int[model.getLayerFacelets(x).length];
+        int[] counts = new int[dimension];
+        int count = 0;
+        for (int facelet : model.getLayerFacelets(x)) {
+            int target = model.getTarget(g, facelet);
+            if (target != facelet) {
+                depths[count] = model.getDepth(face, target);
+                counts[depths[count++]]++;
+            }
+        }
+
+        int[][] moved = new int[dimension][];
+        for (int depth = 0; depth < dimension; depth++)
+            moved[depth] = new int[counts[depth]];
+        Arrays.fill(counts, 0);
+        count = 0;
+        for (int facelet : model.getLayerFacelets(x)) {
+            if (model.getTarget(g, facelet) != facelet) {
+                int depth = depths[count++];
+                moved[depth][counts[depth]++] = facelet;
+            }
+        }
+        return moved;
+    }
+
+    /**
+     * Gets the first fields of the wings with the specified distance from the
+     * middle of their edges.
+     *
+     * @param distance The doubled distance from the middle of the edge.
+     * @return A new array with the facelet indexes of the 24 wings of the orbit.
+     */
+    private int[] getWingSlots(final int distance) {
+        int[] slots = new int[24];
+        int count = 0;
+        for (int face = 0; face < 6; face++) {
+            for (int otherFace = 0; otherFace < 6; otherFace++) {
+                int facelet = _edgeFacelets[getEdgeIndex(face, otherFace, -distance)];
+                if (facelet >= 0)
+                    slots[count++] = facelet;
+            }
+        }
+        Arrays.sort(slots);
+        return slots;
+    }
+
+    /**
+     * Gets the slot where the wing at the specified slot belongs.
+     *
+     * @param slot The first field of a wing.
+     * @return The first field of the wing in the solved cube, or -1 if the
+     * colors of the wing do not exist.
+     */
+    private int getHomeSlot(final int slot) {
+        return _edgeFacelets[getEdgeIndex(_colors[slot], _colors[_partners[slot]], getEdgeCoordinate(slot))];
+    }
+
+    /**
+     * Gets a value indicating whether the specified field is the first field of a wing.
+     *
+     * The first field of a wing is chosen so that the wing lies in the
+     * negative direction of the cross product of the normals of its first
+     * and its second field. The moves keep this property, so the first field
+     * of a wing always moves to the first field of another wing.
+     *
+     * @param facelet The facelet index of the field.
+     * @return true if the field is the first field of a wing.
+     */
+    private boolean isFirstWingFacelet(final int facelet) {
+        return _model.getFaceCount(facelet) == 2 && getEdgeCoordinate(facelet) < 0;
+    }
+
+    /**
+     * Gets the coordinate of the part of an edge field along the cross product
+     * of the normals of the field and of the other field of the part.
+     *
+     * @param facelet The facelet index of an edge field.
+     * @return The doubled coordinate along the edge; 0 for a middle edge.
+     */
+    private int getEdgeCoordinate(final int facelet) {
+        int partner = getPartner(facelet);
+        int coordinate = 0;
+        for (int axis = 0; axis < 3; axis++) {
+            int next = (axis + 1) % 3;
+            int previous = (axis + 2) % 3;
+            int cross = _model.getNormal(facelet, next) * _model.getNormal(partner, previous)
+                    - _model.getNormal(facelet, previous) * _model.getNormal(partner, next);
+            coordinate += cross * _model.getCoordinate(facelet, axis);
+        }
+        return coordinate;
+    }
+
+    /**
+     * Gets the field on the same face and edge as the specified edge field
+     * at the specified coordinate along the edge.
+     *
+     * @param facelet The facelet index of an edge field.
+     * @param coordinate The doubled coordinate along the edge, see getEdgeCoordinate().
+     * @return The facelet index of the field at the coordinate.
+     */
+    private int getEdgeFacelet(final int facelet, final int coordinate) {
+        int result = _edgeFacelets[getEdgeIndex(_model.getFace(facelet), _model.getFace(getPartner(facelet)), coordinate)];
+        if (result < 0)
+            throw new IllegalArgumentException("The coordinate is not on the edge.");
+        return result;
+    }
+
+    /**
+     * Gets the index of an edge field in _edgeFacelets.
+     *
+     * @param face The index of the face of the field.
+     * @param otherFace The index of the face of the other field of the part.
+     * @param coordinate The doubled coordinate along the edge, see getEdgeCoordinate().
+     * @return The index of the field; the entry is -1 if there is no such field.
+     */
+    private int getEdgeIndex(final int face, final int otherFace, final int coordinate) {
+        return (face * 6 + otherFace) * (2 * _dimension - 1) + coordinate + _dimension - 1;
+    }
+
+    /**
+     * Gets the other field of the part of an edge field.
+     *
+     * @param facelet The facelet index of an edge field.
+     * @return The facelet index of the other field.
+     */
+    private int getPartner(final int facelet) {
+        for (int axis = 0; axis < 3; axis++) {
+            int coordinate = _model.getCoordinate(facelet, axis);
+            if (Math.abs(coordinate) == _dimension - 1 && _model.getNormal(facelet, axis) == 0) {
+                int otherFace = 0;
+                while (_model.getNormal(otherFace * _dimension * _dimension, axis) != Integer.signum(coordinate))
+                    otherFace++;
+                return _model.getFacelet(facelet, otherFace);
+            }
+        }
+        throw new IllegalArgumentException("The field is not an edge field.");
+    }
+
+    /**
+     * Reads the colors of the specified cube and translates them into the
+     * faces where they belong.
+     *
+     * For odd dimensions the middle fields determine the face of each color.
+     * For even dimensions the corner at the position DBL determines the faces
+     * of its colors, and the opposite colors belong to the opposite faces.
+     *
+     * @param cube The cube to read.
+     * @return A new array with the face of the color of each field.
+     * @throws IllegalArgumentException The colors cannot be assigned to the faces.
+     */
+    private byte[] readColors(final Cube cube) {
+        int count = _model.getFaceletCount();
+        int[] colors = new int[count];
+        int[] colorCounts = new int[6];
+        for (int facelet = 0; facelet < count; facelet++) {
+            int face = _model.getFace(facelet);
+            int row = facelet / _dimension % _dimension;
+            int column = facelet % _dimension;
+            colors[facelet] = cube.getFaceByIndex(face).getField(row, column).ordinal();
+            colorCounts[colors[facelet]]++;
+        }
+        for (int colorCount : colorCounts) {
+            if (colorCount != _dimension * _dimension)
+                throw new IllegalArgumentException("The cube cannot be solved.");
+        }
+
+        int[] faceOfColor = new int[6];
+        Arrays.fill(faceOfColor, -1);
+        if (_dimension % 2 == 1) {
+            int middle = _dimension / 2;
+            for (int face = 0; face < 6; face++)
+                faceOfColor[colors[_model.getFacelet(face, middle, middle)]] = face;
+        }
+        else {
+            int corner = _model.getFacelet(CubeColor.Yellow.ordinal(), _dimension - 1, 0);
+            for (int face : new int[] { CubeColor.Yellow.ordinal(), CubeColor.Blue.ordinal(), CubeColor.Orange.ordinal() }) {
+                int color = colors[_model.getFacelet(corner, face)];
+                faceOfColor[color] = face;
+                faceOfColor[CubieCube.getOppositeFace(color)] = CubieCube.getOppositeFace(face);
+            }
+        }
+        for (int face : faceOfColor) {
+            if (face < 0)
+                throw new IllegalArgumentException("The cube cannot be solved.");
+        }
+
+        byte[] faces = new byte[count];
+        for (int facelet = 0; facelet < count; facelet++)
+            faces[facelet] = (byte)faceOfColor[colors[facelet]];
+        return faces;
+    }
+
+    /**
+     * Gets a value indicating whether all fields are on their faces.
+     *
+     * @return true if the cube is solved.
+     */
+    private boolean isSolved() {
+        for (int facelet = 0; facelet < _colors.length; facelet++) {
+            if (_colors[facelet] != _model.getFace(facelet))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Moves the colors of three fields in a cycle.
+     *
+     * @param source The field whose color moves to the destination.
+     * @param destination The field whose color moves to the third field.
+     * @param third The field whose color moves to the source.
+     */
+    private void cycleColors(final int source, final int destination, final int third) {
+        byte color = _colors[third];
+        _colors[third] = _colors[destination];
+        _colors[destination] = _colors[source];
+        _colors[source] = color;
+    }
+
+    /**
+     * Applies a move to the colors and adds it to the solution.
+     *
+     * @param move The index of the move.
+     */
+    private void applyMove(final int move) {
+        _model.move(move, _colors);
+        addMove(move);
+    }
+
+    /**
+     * Adds a move to the solution without applying it to the colors.
+     *
+     * A move of the same layer as the previous move is merged with it.
+     *
+     * @param move The index of the move.
+     */
+    private void addMove(final int move) {
+        if (_moveCount > 0 && _moves[_moveCount - 1] / 3 == move / 3) {
+            int merged = CubieCube.mergeMoves(_moves[--_moveCount], move);
+            if (merged >= 0)
+                _moves[_moveCount++] = merged;
+            return;
+        }
+
+        if (_moveCount == _moves.length)
+            _moves = Arrays.copyOf(_moves, _moves.length * 2);
+        _moves[_moveCount++] = move;
+    }
+}
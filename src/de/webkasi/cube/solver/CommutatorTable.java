@@ -0,0 +1,220 @@
+package de.webkasi.cube.solver;
+
+import java.util.Arrays;
+
+/**
+ * Represents a set of commutators that cycle three parts of the same kind
+ * and leave all other parts of the cube unchanged.
+ *
+ * Each commutator is X Y X' Y' with a single layer move X and a conjugate
+ * Y = G M G'. If X and Y move exactly one common part P, the commutator
+ * moves the part at X'(P) to P, the part at P to Y'(P), and the part at
+ * Y'(P) to X'(P). The parts are addressed by one field each; the other
+ * fields of a part follow the same cycle.
+ *
+ * The commutators are indexed by the destination field of each of the
+ * three moves of their cycle, so the commutators that bring any part to
+ * a given field are found without a search. The commutators and their
+ * entries are kept in int arrays, which need 36 bytes per commutator.
+ */
+final class CommutatorTable {
+    private final FaceletModel _model;
+    /**
+     * The moves X, G, and M of each commutator, followed by the fields of its
+     * cycle: the common field, the source field, and the third field.
+     */
+    private int[] _commutators = new int[6 * 64];
+    private int _size;
+    /**
+     * The entries of each destination field, see getEntry(). The array of a
+     * field is null until the field has an entry.
+     */
+    private final int[][] _entries;
+    /**
+     * The count of entries of each destination field.
+     */
+    private final int[] _entryCounts;
+
+    /**
+     * Initializes a new instance of the CommutatorTable class without commutators.
+     *
+     * @param model The FaceletModel of the cube.
+     */
+    CommutatorTable(final FaceletModel model) {
+        _model = model;
+        _entries = new int[model.getFaceletCount()][];
+        _entryCounts = new int[model.getFaceletCount()];
+    }
+
+    /**
+     * Adds a commutator if X and Y have exactly one common part.
+     *
+     * @param x The index of the move X, see FaceletModel.getMove().
+     * @param moved The facelet indexes of the fields that X moves. Fields
+     *              that Y does not move can be left out.
+     * @param g The index of the move G of the conjugate.
+     * @param m The index of the move M of the conjugate.
+     * @param addressed true for the fields that address the parts of the cycle.
+     *                  The common part must have one addressed field.
+     * @return true if the commutator has been added.
+     */
+    boolean add(final int x, final int[] moved, final int g, final int m, final boolean[] addressed) {
+        int first = -1;
+        int common = -1;
+        for (int facelet : moved) {
+            if (moveConjugate(g, m, facelet) == facelet)
+                continue;
+
+            if (first < 0)
+                first = facelet;
+            else if (!isSamePart(first, facelet))
+                return false;
+            if (addressed[facelet])
+                common = facelet;
+        }
+        if (common < 0)
+            return false;
+
+        int source = _model.getTarget(_model.getInverseMove(x), common);
+        int third = moveConjugate(g, _model.getInverseMove(m), common);
+        int commutator = _size++;
+        if (_commutators.length < 6 * _size)
+            _commutators = Arrays.copyOf(_commutators, _commutators.length * 2);
+        int offset = 6 * commutator;
+        _commutators[offset] = x;
+        _commutators[offset + 1] = g;
+        _commutators[offset + 2] = m;
+        _commutators[offset + 3] = common;
+        _commutators[offset + 4] = source;
+        _commutators[offset + 5] = third;
+        addEntry(common, 3 * commutator);
+        addEntry(third, 3 * commutator + 2);
+        addEntry(source, 3 * commutator + 1);
+        return true;
+    }
+
+    /**
+     * Gets the count of commutators that move a part to the specified field.
+     *
+     * @param destination The facelet index of the destination.
+     * @return The count of entries of the destination.
+     */
+    int getEntryCount(final int destination) {
+        return _entryCounts[destination];
+    }
+
+    /**
+     * Gets a commutator that moves a part to the specified field.
+     *
+     * The commutator moves the part at the source field to the destination,
+     * the part at the destination to the third field, and the part at the
+     * third field to the source field, see getSource() and getThird().
+     *
+     * @param destination The facelet index of the destination.
+     * @param index The index of the entry (0 to getEntryCount() - 1).
+     * @return The entry: 3 * commutator + the index of the destination in its cycle.
+     */
+    int getEntry(final int destination, final int index) {
+        return _entries[destination][index];
+    }
+
+    /**
+     * Gets the field whose part the commutator of an entry moves to the destination.
+     *
+     * @param entry The entry as returned by getEntry().
+     * @return The facelet index of the source field.
+     */
+    int getSource(final int entry) {
+        return getCycleField(entry, 1);
+    }
+
+    /**
+     * Gets the field to which the commutator of an entry moves the part at the destination.
+     *
+     * @param entry The entry as returned by getEntry().
+     * @return The facelet index of the third field of the cycle.
+     */
+    int getThird(final int entry) {
+        return getCycleField(entry, 2);
+    }
+
+    /**
+     * Gets the moves of the commutator of the specified entry.
+     *
+     * @param entry The entry as returned by getEntry().
+     * @return A new array with the eight moves X G M G' X' G M' G'.
+     */
+    int[] getMoves(final int entry) {
+        int offset = 6 * (entry / 3);
+        int x = _commutators[offset];
+        int g = _commutators[offset + 1];
+        int m = _commutators[offset + 2];
+        int inverseG = _model.getInverseMove(g);
+        return new int[] { x, g, m, inverseG, _model.getInverseMove(x), g, _model.getInverseMove(m), inverseG };
+    }
+
+    /**
+     * Gets the count of commutators.
+     *
+     * @return The count of commutators that have been added.
+     */
+    int size() {
+        return _size;
+    }
+
+    /**
+     * Adds an entry to a destination field.
+     *
+     * @param destination The facelet index of the destination.
+     * @param entry The entry, see getEntry().
+     */
+    private void addEntry(final int destination, final int entry) {
+        int[] entries = _entries[destination];
+        int count = _entryCounts[destination];
+        if (entries == null || count == entries.length) {
+            entries = entries == null ? new int[4] : Arrays.copyOf(entries, count * 2);
+            _entries[destination] = entries;
+        }
+        entries[count] = entry;
+        _entryCounts[destination] = count + 1;
+    }
+
+    /**
+     * Gets a field of the cycle of an entry relative to its destination.
+     *
+     * @param entry The entry as returned by getEntry().
+     * @param offset 1 for the source field, 2 for the third field.
+     * @return The facelet index of the field.
+     */
+    private int getCycleField(final int entry, final int offset) {
+        return _commutators[6 * (entry / 3) + 3 + (entry % 3 + offset) % 3];
+    }
+    /**
+     * Gets the target of a field after the conjugate G M G'.
+     *
+     * @param g The index of the move G.
+     * @param m The index of the move M.
+     * @param facelet The facelet index of the field.
+     * @return The facelet index after the conjugate.
+     */
+    private int moveConjugate(final int g, final int m, final int facelet) {
+        int target = _model.getTarget(g, facelet);
+        target = _model.getTarget(m, target);
+        return _model.getTarget(_model.getInverseMove(g), target);
+    }
+
+    /**
+     * Gets a value indicating whether two fields belong to the same part.
+     *
+     * @param first The facelet index of the first field.
+     * @param second The facelet index of the second field.
+     * @return true if the parts of both fields have the same coordinates.
+     */
+    private boolean isSamePart(final int first, final int second) {
+        for (int axis = 0; axis < 3; axis++) {
+            if (_model.getCoordinate(first, axis) != _model.getCoordinate(second, axis))
+                return false;
+        }
+        return true;
+    }
+}
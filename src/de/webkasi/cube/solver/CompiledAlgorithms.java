@@ -0,0 +1,79 @@
+package de.webkasi.cube.solver;
+
+import de.webkasi.cube.*;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Provides the compiled forms of the move sequences of the solution steps.
+ *
+ * The solution steps use a small set of constant move sequences in
+ * SpeedCube notation. Each sequence is interpreted and compiled into a
+ * CompiledAlgorithm once per start orientation and dimension, and is
+ * taken from the cache for each further use.
+ */
+final class CompiledAlgorithms {
+    /**
+     * The compiled algorithms by dimension and start orientation, and by the moves.
+     *
+     * The key of the outer map is dimension * CubeRotations.Count + orientation index.
+     */
+    private static final Map<Integer, Map<String, CompiledAlgorithm>> _algorithms = new ConcurrentHashMap<>();
+
+    /**
+     * Prevents the creation of instances.
+     */
+    private CompiledAlgorithms() {
+    }
+
+    /**
+     * Gets the compiled algorithm of the specified moves for the default orientation.
+     *
+     * @param moves A String containing a sequence of moves in SpeedCube notation.
+     * @param dimension The count of rows and columns of the cube.
+     * @return The shared CompiledAlgorithm. Its records must not be changed.
+     */
+    static CompiledAlgorithm get(final String moves, final int dimension) {
+        return get(moves, CubeRotations.Identity, dimension);
+    }
+
+    /**
+     * Gets the compiled algorithm of the specified moves.
+     *
+     * @param moves A String containing a sequence of moves in SpeedCube notation.
+     * @param orientation The CubeOrientation at the beginning of the moves,
+     *                    see SpeedCubeNotationInterpreter.addMoves().
+     * @param dimension The count of rows and columns of the cube.
+     * @return The shared CompiledAlgorithm. Its records must not be changed.
+     */
+    static CompiledAlgorithm get(final String moves, final CubeOrientation orientation, final int dimension) {
+        return get(moves, orientation.getIndex(), dimension);
+    }
+
+    /**
+     * Gets the compiled algorithm of the specified moves for the orientation
+     * with the specified index.
+     *
+     * @param moves A String containing a sequence of moves in SpeedCube notation.
+     * @param orientationIndex The index of the CubeOrientation at the beginning of the moves.
+     * @param dimension The count of rows and columns of the cube.
+     * @return The shared CompiledAlgorithm. Its records must not be changed.
+     */
+    private static CompiledAlgorithm get(final String moves, final int orientationIndex, final int dimension) {
+        Map<String, CompiledAlgorithm> algorithms = _algorithms.computeIfAbsent(
+                dimension * CubeRotations.Count + orientationIndex,
+                key -> new ConcurrentHashMap<>());
+
+        CompiledAlgorithm algorithm = algorithms.get(moves);
+        if (algorithm == null) {
+            CubeOrientation orientation = new CubeOrientation();
+            orientation.setIndex(orientationIndex);
+            CubeFaceRotationRecords records = new CubeFaceRotationRecords();
+            new SpeedCubeNotationInterpreter(records).addMoves(moves, orientation);
+            algorithm = new CompiledAlgorithm(records, dimension);
+            algorithms.put(moves, algorithm);
+        }
+        return algorithm;
+    }
+}
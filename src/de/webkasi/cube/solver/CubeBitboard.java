@@ -0,0 +1,281 @@
+package de.webkasi.cube.solver;
+
+import de.webkasi.cube.*;
+
+/**
+ * Provides the encoding of cube states in primitive long values.
+ *
+ * The corners of a cube are encoded in one long and the edges of a 3x3
+ * cube in a second long. A 2x2 cube is completely described by its
+ * corners, a 3x3 cube by both values. Each position of a corner uses
+ * five bits: the index of the corner in the lower three bits and its
+ * twist in the upper two bits. Each position of an edge uses five bits
+ * as well: the index of the edge in the lower four bits and its flip in
+ * the upper bit. Position i starts at bit 5 * i. The corner and edge
+ * indexes are the same as in CubieCube.
+ *
+ * The moves are applied with precomputed tables without creating any
+ * objects, so the values can be used as keys in primitive hash sets
+ * during a search.
+ */
+public final class CubeBitboard {
+    /**
+     * The encoded corners of a solved cube.
+     */
+    public static final long SolvedCorners = encodeCorners(new CubieCube());
+    /**
+     * The encoded edges of a solved cube.
+     */
+    public static final long SolvedEdges = encodeEdges(new CubieCube());
+
+    private static final int BitsPerPart = 5;
+    private static final long PartMask = (1L << BitsPerPart) - 1;
+    private static final int CornerMask = 7;
+    private static final int EdgeMask = 15;
+
+    /**
+     * Table of the source position of each corner position for each move.
+     *
+     * After a move the position i contains the corner that was at the
+     * position _cornerSources[move][i] before.
+     */
+    private static final int[][] _cornerSources = new int[CubieCube.MoveCount][CubieCube.CornerCount];
+    /**
+     * Table of the twist that is added to the corner at each position
+     * for each move.
+     */
+    private static final int[][] _cornerTwists = new int[CubieCube.MoveCount][CubieCube.CornerCount];
+    /**
+     * Table of the source position of each edge position for each move.
+     */
+    private static final int[][] _edgeSources = new int[CubieCube.MoveCount][CubieCube.EdgeCount];
+    /**
+     * Table of the flip that is added to the edge at each position
+     * for each move.
+     */
+    private static final int[][] _edgeFlips = new int[CubieCube.MoveCount][CubieCube.EdgeCount];
+    /**
+     * Table of the encoded corner after adding a twist to an encoded corner,
+     * indexed by the twist and the encoded corner.
+     */
+    private static final long[][] _twistedCorners = new long[3][1 << BitsPerPart];
+
+    static {
+        for (int move = 0; move < CubieCube.MoveCount; move++) {
+            CubieCube cubieCube = new CubieCube();
+            cubieCube.move(move);
+            for (int i = 0; i < CubieCube.CornerCount; i++) {
+                _cornerSources[move][i] = cubieCube.getCorner(i);
+                _cornerTwists[move][i] = cubieCube.getCornerOrientation(i);
+            }
+            for (int i = 0; i < CubieCube.EdgeCount; i++) {
+                _edgeSources[move][i] = cubieCube.getEdge(i);
+                _edgeFlips[move][i] = cubieCube.getEdgeOrientation(i);
+            }
+        }
+
+        for (int twist = 0; twist < 3; twist++) {
+            for (int part = 0; part < 1 << BitsPerPart; part++) {
+                int orientation = ((part >>> 3) + twist) % 3;
+                _twistedCorners[twist][part] = (part & CornerMask) | (orientation << 3);
+            }
+        }
+    }
+
+    /**
+     * Prevents the creation of instances.
+     */
+    private CubeBitboard() {
+    }
+
+    /**
+     * Encodes the corners of the specified CubieCube.
+     *
+     * @param cubieCube The CubieCube to encode.
+     * @return The encoded corners.
+     */
+    public static long encodeCorners(final CubieCube cubieCube) {
+        long corners = 0;
+        for (int i = 0; i < CubieCube.CornerCount; i++) {
+            long part = cubieCube.getCorner(i) | (cubieCube.getCornerOrientation(i) << 3);
+            corners |= part << (BitsPerPart * i);
+        }
+        return corners;
+    }
+
+    /**
+     * Encodes the edges of the specified CubieCube.
+     *
+     * @param cubieCube The CubieCube to encode.
+     * @return The encoded edges.
+     */
+    public static long encodeEdges(final CubieCube cubieCube) {
+        long edges = 0;
+        for (int i = 0; i < CubieCube.EdgeCount; i++) {
+            long part = cubieCube.getEdge(i) | (cubieCube.getEdgeOrientation(i) << 4);
+            edges |= part << (BitsPerPart * i);
+        }
+        return edges;
+    }
+
+    /**
+     * Creates a CubieCube from the encoded corners and edges.
+     *
+     * @param corners The encoded corners.
+     * @param edges The encoded edges.
+     * @return A new CubieCube object with the decoded state.
+     */
+    public static CubieCube decode(final long corners, final long edges) {
+        CubieCube cubieCube = new CubieCube();
+        for (int i = 0; i < CubieCube.CornerCount; i++) {
+            int part = (int)((corners >>> (BitsPerPart * i)) & PartMask);
+            cubieCube.setCorner(i, part & CornerMask, part >>> 3);
+        }
+        for (int i = 0; i < CubieCube.EdgeCount; i++) {
+            int part = (int)((edges >>> (BitsPerPart * i)) & PartMask);
+            cubieCube.setEdge(i, part & EdgeMask, part >>> 4);
+        }
+        return cubieCube;
+    }
+
+    /**
+     * Encodes the corners of the specified 3x3 Cube.
+     *
+     * @param cube The 3x3 Cube to encode.
+     * @return The encoded corners.
+     */
+    public static long encodeCorners(final Cube cube) {
+        return encodeCorners(new CubieCube(cube));
+    }
+
+    /**
+     * Encodes the edges of the specified 3x3 Cube.
+     *
+     * @param cube The 3x3 Cube to encode.
+     * @return The encoded edges.
+     */
+    public static long encodeEdges(final Cube cube) {
+        return encodeEdges(new CubieCube(cube));
+    }
+
+    /**
+     * Creates a 3x3 Cube from the encoded corners and edges.
+     *
+     * @param corners The encoded corners.
+     * @param edges The encoded edges.
+     * @return A new Cube object with the decoded state.
+     */
+    public static Cube toCube(final long corners, final long edges) {
+        return decode(corners, edges).toCube();
+    }
+
+    /**
+     * Encodes the specified 2x2 Cube.
+     *
+     * The faces of the cube must have the initial colors defined by the
+     * CubeColor enumeration.
+     *
+     * @param cube The 2x2 Cube to encode.
+     * @return The encoded corners, which describe the complete state.
+     */
+    public static long encode2x2(final Cube cube) {
+        return encodeCorners(CubieCube.fromCorners(cube));
+    }
+
+    /**
+     * Creates a 2x2 Cube from the encoded corners.
+     *
+     * @param corners The encoded corners.
+     * @return A new Cube object with the decoded state.
+     */
+    public static Cube toCube2x2(final long corners) {
+        Cube cube = new Cube(2);
+        decode(corners, SolvedEdges).writeCorners(cube);
+        return cube;
+    }
+
+    /**
+     * Applies the specified move to the encoded corners.
+     *
+     * @param corners The encoded corners.
+     * @param move The index of the move, see CubieCube.getMove().
+     * @return The encoded corners after the move.
+     */
+    public static long moveCorners(final long corners, final int move) {
+        int[] sources = _cornerSources[move];
+        int[] twists = _cornerTwists[move];
+        long result = 0;
+        for (int i = 0; i < CubieCube.CornerCount; i++) {
+            int part = (int)((corners >>> (BitsPerPart * sources[i])) & PartMask);
+            result |= _twistedCorners[twists[i]][part] << (BitsPerPart * i);
+        }
+        return result;
+    }
+
+    /**
+     * Applies the specified move to the encoded edges.
+     *
+     * @param edges The encoded edges.
+     * @param move The index of the move, see CubieCube.getMove().
+     * @return The encoded edges after the move.
+     */
+    public static long moveEdges(final long edges, final int move) {
+        int[] sources = _edgeSources[move];
+        int[] flips = _edgeFlips[move];
+        long result = 0;
+        for (int i = 0; i < CubieCube.EdgeCount; i++) {
+            long part = ((edges >>> (BitsPerPart * sources[i])) & PartMask) ^ ((long)flips[i] << 4);
+            result |= part << (BitsPerPart * i);
+        }
+        return result;
+    }
+
+    /**
+     * Gets a value indicating whether the specified states are equal.
+     *
+     * @param corners1 The encoded corners of the first state.
+     * @param edges1 The encoded edges of the first state.
+     * @param corners2 The encoded corners of the second state.
+     * @param edges2 The encoded edges of the second state.
+     * @return true if both states are equal.
+     */
+    public static boolean equals(final long corners1, final long edges1, final long corners2, final long edges2) {
+        return corners1 == corners2 && edges1 == edges2;
+    }
+
+    /**
+     * Gets a hash code of the specified encoded corners.
+     *
+     * The bits are mixed, so the lower bits of the hash code can be used
+     * as the index of an open addressing hash table.
+     *
+     * @param corners The encoded corners.
+     * @return The hash code.
+     */
+    public static long hash(final long corners) {
+        return mix(corners);
+    }
+
+    /**
+     * Gets a hash code of the specified encoded state.
+     *
+     * @param corners The encoded corners.
+     * @param edges The encoded edges.
+     * @return The hash code.
+     */
+    public static long hash(final long corners, final long edges) {
+        return mix(mix(corners) ^ edges);
+    }
+
+    /**
+     * Mixes the bits of the specified value (the finalizer of SplitMix64).
+     *
+     * @param value The value to mix.
+     * @return The mixed value.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
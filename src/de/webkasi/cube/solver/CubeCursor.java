@@ -0,0 +1,114 @@
+package de.webkasi.cube.solver;
+
+import de.webkasi.cube.*;
+
+/**
+ * Provides a Cube with the state after a growing list of rotation records.
+ *
+ * CubeCursor is the incremental counterpart of CubeFactory.create(): it copies
+ * the base cube once and remembers how many records have already been played
+ * onto the copy. Each call of getCube() plays only the records that have been
+ * appended since the previous call. The solution steps use one CubeCursor
+ * for the complete solution, so the moves are not replayed from the
+ * beginning each time the current state is needed.
+ *
+ * Move sequences added with addMoves() are applied to the working cube
+ * as one CompiledAlgorithm instead of one rotation per record.
+ */
+class CubeCursor {
+    private final Cube _cube;
+    private final CubeFaceRotationRecords _records;
+    private final CubeFaceRotationPlayer _player;
+    /**
+     * The count of records that have already been played onto _cube.
+     */
+    private int _countOfPlayedRecords;
+
+    /**
+     * Initializes a new instance of the CubeCursor class.
+     *
+     * @param cube The Cube object that is the base for the working cube. It
+     *             is copied and not changed by the CubeCursor.
+     * @param records The CubeFaceRotationRecords object that is played on
+     *                the working cube. Records may only be appended.
+     */
+    CubeCursor(final Cube cube, final CubeFaceRotationRecords records) {
+        _cube = new Cube(cube);
+        _records = records;
+        _player = new CubeFaceRotationPlayer(new CubeFaceRotator(_cube));
+    }
+
+    /**
+     * Gets the CubeFaceRotationRecords object that is played on the working cube.
+     *
+     * @return The CubeFaceRotationRecords object passed to the constructor.
+     */
+    CubeFaceRotationRecords getRecords() {
+        return _records;
+    }
+
+    /**
+     * Gets the working cube with all records applied.
+     *
+     * The returned object is the same for each call and must not be changed.
+     * Records appended directly to the CubeFaceRotationRecords object are
+     * played onto it when getCube() or createCube() is called again. Moves
+     * added with addMoves() or addAlgorithm() change it immediately, so use
+     * createCube() to keep a state.
+     *
+     * @return The working Cube with the state after all records.
+     */
+    Cube getCube() {
+        _player.play(_records, _countOfPlayedRecords);
+        _countOfPlayedRecords = _records.size();
+        return _cube;
+    }
+
+    /**
+     * Adds the specified moves to the records and applies them to the working cube.
+     *
+     * The moves are compiled once, see CompiledAlgorithms. The working cube
+     * is changed immediately, so a Cube returned by getCube() before shows
+     * the state after the moves.
+     *
+     * @param moves A String containing a sequence of moves in SpeedCube notation.
+     * @param orientation The CubeOrientation at the beginning of the moves.
+     */
+    void addMoves(final String moves, final CubeOrientation orientation) {
+        addAlgorithm(CompiledAlgorithms.get(moves, orientation, _cube.getDimension()));
+    }
+
+    /**
+     * Adds the specified moves for the default orientation to the records and
+     * applies them to the working cube.
+     *
+     * @param moves A String containing a sequence of moves in SpeedCube notation.
+     */
+    void addMoves(final String moves) {
+        addAlgorithm(CompiledAlgorithms.get(moves, _cube.getDimension()));
+    }
+
+    /**
+     * Adds the shared records of the specified algorithm to the records
+     * and applies the algorithm to the working cube.
+     *
+     * @param algorithm The CompiledAlgorithm to add, see CompiledAlgorithms.
+     */
+    void addAlgorithm(final CompiledAlgorithm algorithm) {
+        getCube();
+        _records.addAll(algorithm.getRecords());
+        algorithm.apply(_cube);
+        _countOfPlayedRecords = _records.size();
+    }
+
+    /**
+     * Creates an independent copy of the working cube with all records applied.
+     *
+     * Use this method if the cube is changed by the caller.
+     *
+     * @return A new Cube object with the state after all records.
+     */
+    Cube createCube() {
+        return new Cube(getCube());
+    }
+}
@@ -8,8 +8,17 @@ import de.webkasi.cube.*;
  * The orientation determines which face is on which side when interpreting
  * or writing the moves to simplify the move notation. The CubeOrientation
  * class provides the rotate() method to change the orientation as needed.
+ *
+ * The orientation is one of the 24 orientations of CubeRotations. The face
+ * fields are taken from its tables, so rotating and combining orientations
+ * does not depend on the count of rotations.
  */
 class CubeOrientation {
+    /**
+     * The index of the orientation, see CubeRotations.
+     */
+    private int _index = CubeRotations.Identity;
+
     /**
      * Current index of the upper face.
      */
@@ -35,6 +44,63 @@ class CubeOrientation {
      */
     CubeColor down = CubeColor.Yellow;
 
+    /**
+     * Initializes a new instance of the CubeOrientation class with the
+     * default orientation.
+     */
+    CubeOrientation() {
+    }
+
+    /**
+     * Initializes a new instance of the CubeOrientation class with a copy
+     * of the specified instance.
+     *
+     * @param copy The source of the copy.
+     */
+    CubeOrientation(final CubeOrientation copy) {
+        setIndex(copy._index);
+    }
+
+    /**
+     * Gets the index of the orientation.
+     *
+     * @return A value from 0 to 23, see CubeRotations.
+     */
+    int getIndex() {
+        return _index;
+    }
+
+    /**
+     * Sets the orientation by its index.
+     *
+     * @param index A value from 0 to 23, see CubeRotations.
+     */
+    void setIndex(final int index) {
+        _index = index;
+        up = faceAt(CubeColor.White);
+        left = faceAt(CubeColor.Orange);
+        front = faceAt(CubeColor.Green);
+        right = faceAt(CubeColor.Red);
+        back = faceAt(CubeColor.Blue);
+        down = faceAt(CubeColor.Yellow);
+    }
+
+    /**
+     * Applies the rotations of the specified orientation to this orientation.
+     *
+     * @param other The CubeOrientation whose rotations follow the rotations of this instance.
+     */
+    void compose(final CubeOrientation other) {
+        setIndex(CubeRotations.compose(_index, other._index));
+    }
+
+    /**
+     * Changes this orientation to the orientation that reverts it.
+     */
+    void invert() {
+        setIndex(CubeRotations.inverse(_index));
+    }
+
     /**
      * Rotates the orientation of the cube as specified.
      *
@@ -55,72 +121,21 @@ class CubeOrientation {
     {
         if (direction == RotationDirection.Counterclockwise && count == 1)
             count = 3;
-        for (int i = 0; i < count; i++)
-            rotate(axis);
+        setIndex(CubeRotations.rotate(_index, axis, count));
     }
 
     /**
-     * Rotates the cube 90 degrees around the specified axis.
+     * Gets the face that is at the specified position in this orientation.
      *
-     * @param axis Axis character: 'x', 'y', or 'z'. Determines the rotation axis
-     *             of the cube.
+     * @param position The CubeColor of the position, as for the default orientation.
+     * @return The CubeColor of the face at this position.
      */
-    private void rotate(char axis)
-    {
-        switch (axis) {
-            case 'x':
-                x();
-                break;
-            case 'y':
-                y();
-                break;
-            case 'z':
-                z();
-                break;
-        }
+    private CubeColor faceAt(final CubeColor position) {
+        return colors[CubeRotations.getFace(_index, position.ordinal())];
     }
 
     /**
-     * Turns the orientation of the cube 90 degrees around the x-axis.
-     *
-     * To determine the direction of the rotation one looks at the left
-     * face of the cube. Clockwise will make the previous front face the
-     * new down face.
-     */
-    private void x() {
-        CubeColor oldUp = up;
-        up = back;
-        back = down;
-        down = front;
-        front = oldUp;
-    }
-
-    /**
-     * Turns the orientation of the cube 90 degrees around the y-axis.
-     *
-     * To determine the direction of the rotation one looks at the bottom
-     * of the cube. Clockwise will make the previous left face the new front.
-     */
-    private void y() {
-        CubeColor oldRight = right;
-        right = front;
-        front = left;
-        left = back;
-        back = oldRight;
-    }
-
-    /**
-     * Turns the orientation of the cube 90 degrees around the z-axis.
-     *
-     * To determine the direction of the rotation one looks at the front
-     * of the cube. Clockwise means that the previous down face will become
-     * the new left face.
-     */
-    private void z() {
-        CubeColor oldLeft = left;
-        left = down;
-        down = right;
-        right = up;
-        up = oldLeft;
-    }
+     * All CubeColor values, indexed by their ordinals.
+     */
+    private static final CubeColor[] colors = CubeColor.values();
 }
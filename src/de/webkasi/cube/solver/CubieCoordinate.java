@@ -0,0 +1,480 @@
+package de.webkasi.cube.solver;
+
+/**
+ * Defines numbers that describe a part of the state of a CubieCube.
+ *
+ * A coordinate maps one aspect of a state, for example the twists of all
+ * corners, to a number from 0 to getCount() - 1. The solvers do not move
+ * CubieCube objects during their searches. They move the coordinates with
+ * tables created by createMoveTable() instead, and estimate the remaining
+ * moves with tables of the distances of the coordinates from the solved
+ * state, see PruningTables.
+ *
+ * The slice edges are the four edges FR, FL, BL, and BR that belong
+ * between the up and the down layer.
+ */
+enum CubieCoordinate {
+    /**
+     * The twists of the corners (3^7).
+     */
+    Twist(2187) {
+        @Override
+        int getValue(final CubieCube cube) {
+            int value = 0;
+            for (int position = 0; position < CubieCube.CornerCount - 1; position++)
+                value = value * 3 + cube.getCornerOrientation(position);
+            return value;
+        }
+
+        @Override
+        void setValue(final CubieCube cube, int value) {
+            int sum = 0;
+            for (int position = CubieCube.CornerCount - 2; position >= 0; position--) {
+                int twist = value % 3;
+                cube.setCorner(position, cube.getCorner(position), twist);
+                sum += twist;
+                value /= 3;
+            }
+            int last = CubieCube.CornerCount - 1;
+            cube.setCorner(last, cube.getCorner(last), (3 - sum % 3) % 3);
+        }
+    },
+    /**
+     * The flips of the edges (2^11).
+     */
+    Flip(2048) {
+        @Override
+        int getValue(final CubieCube cube) {
+            int value = 0;
+            for (int position = 0; position < CubieCube.EdgeCount - 1; position++)
+                value = value * 2 + cube.getEdgeOrientation(position);
+            return value;
+        }
+
+        @Override
+        void setValue(final CubieCube cube, int value) {
+            int sum = 0;
+            for (int position = CubieCube.EdgeCount - 2; position >= 0; position--) {
+                int flip = value & 1;
+                cube.setEdge(position, cube.getEdge(position), flip);
+                sum += flip;
+                value >>= 1;
+            }
+            int last = CubieCube.EdgeCount - 1;
+            cube.setEdge(last, cube.getEdge(last), sum & 1);
+        }
+    },
+    /**
+     * The positions of the slice edges regardless of their order (12 choose 4).
+     *
+     * The value is the sum of binomial(position, k) over the positions of the
+     * slice edges in ascending order, k counting from 1. The slice edges are
+     * at their positions for the value SliceSolved.
+     */
+    Slice(495) {
+        @Override
+        int getValue(final CubieCube cube) {
+            int value = 0;
+            int k = 0;
+            for (int position = 0; position < CubieCube.EdgeCount; position++) {
+                if (cube.getEdge(position) >= CubieCube.FR)
+                    value += binomial(position, ++k);
+            }
+            return value;
+        }
+
+        @Override
+        void setValue(final CubieCube cube, final int value) {
+            boolean[] slice = getCombination(value, CubieCube.EdgeCount);
+            int sliceEdge = CubieCube.FR;
+            int otherEdge = 0;
+            for (int position = 0; position < CubieCube.EdgeCount; position++) {
+                int edge = slice[position] ? sliceEdge++ : otherEdge++;
+                cube.setEdge(position, edge, cube.getEdgeOrientation(position));
+            }
+        }
+    },
+    /**
+     * The positions of the edges UF, UB, DF, and DB of the middle slice among
+     * the eight positions of the up and the down layer (8 choose 4).
+     *
+     * The value is calculated like the value of Slice. It is only defined if
+     * the slice edges are in the slice. The edges of the middle slice are at
+     * their positions for the value MiddleSliceSolved.
+     */
+    MiddleSlice(70) {
+        @Override
+        int getValue(final CubieCube cube) {
+            int value = 0;
+            int k = 0;
+            for (int position = 0; position < CubieCube.FR; position++) {
+                if (isMiddleSliceEdge(cube.getEdge(position)))
+                    value += binomial(position, ++k);
+            }
+            return value;
+        }
+
+        @Override
+        void setValue(final CubieCube cube, final int value) {
+            boolean[] middle = getCombination(value, CubieCube.FR);
+            int middleEdge = CubieCube.UF;
+            int otherEdge = CubieCube.UR;
+            for (int position = 0; position < CubieCube.FR; position++) {
+                int edge;
+                if (middle[position]) {
+                    edge = middleEdge;
+                    middleEdge += 2;
+                }
+                else {
+                    edge = otherEdge;
+                    otherEdge += 2;
+                }
+                cube.setEdge(position, edge, cube.getEdgeOrientation(position));
+            }
+            for (int position = CubieCube.FR; position < CubieCube.EdgeCount; position++)
+                cube.setEdge(position, position, cube.getEdgeOrientation(position));
+        }
+    },
+    /**
+     * The permutations of the edges within each of the three slices (24^3).
+     *
+     * The value is (middle * 24 + standing) * 24 + slice with the ranks of the
+     * permutations of the middle slice (UF, UB, DF, DB), of the standing slice
+     * (UR, UL, DR, DL), and of the slice between up and down (FR, FL, BL, BR).
+     * It is only defined if each edge is in its own slice, which is the case
+     * for all states that are reached by half turns only.
+     */
+    LayerPermutations(13824) {
+        @Override
+        int getValue(final CubieCube cube) {
+            int[] middle = new int[4];
+            int[] standing = new int[4];
+            int[] slice = new int[4];
+            for (int i = 0; i < 4; i++) {
+                middle[i] = cube.getEdge(2 * i + 1) / 2;
+                standing[i] = cube.getEdge(2 * i) / 2;
+                slice[i] = cube.getEdge(CubieCube.FR + i) - CubieCube.FR;
+            }
+            return (rank(middle) * 24 + rank(standing)) * 24 + rank(slice);
+        }
+
+        @Override
+        void setValue(final CubieCube cube, final int value) {
+            int[] middle = unrank(value / 576, 4);
+            int[] standing = unrank(value / 24 % 24, 4);
+            int[] slice = unrank(value % 24, 4);
+            for (int i = 0; i < 4; i++) {
+                cube.setEdge(2 * i + 1, 2 * middle[i] + 1, cube.getEdgeOrientation(2 * i + 1));
+                cube.setEdge(2 * i, 2 * standing[i], cube.getEdgeOrientation(2 * i));
+                cube.setEdge(CubieCube.FR + i, CubieCube.FR + slice[i], cube.getEdgeOrientation(CubieCube.FR + i));
+            }
+        }
+    },
+    /**
+     * The permutation of the corners (8!).
+     */
+    CornerPermutation(40320) {
+        @Override
+        int getValue(final CubieCube cube) {
+            int[] parts = new int[CubieCube.CornerCount];
+            for (int position = 0; position < parts.length; position++)
+                parts[position] = cube.getCorner(position);
+            return rank(parts);
+        }
+
+        @Override
+        void setValue(final CubieCube cube, final int value) {
+            int[] parts = unrank(value, CubieCube.CornerCount);
+            for (int position = 0; position < parts.length; position++)
+                cube.setCorner(position, parts[position], cube.getCornerOrientation(position));
+        }
+    },
+    /**
+     * The permutation of the eight edges of the up and the down layer (8!).
+     *
+     * The value is only defined if these edges are in the up and the down
+     * layer, which is the case after the first phase of the TwoPhaseSolver.
+     */
+    EdgePermutation(40320) {
+        @Override
+        int getValue(final CubieCube cube) {
+            int[] parts = new int[CubieCube.FR];
+            for (int position = 0; position < parts.length; position++)
+                parts[position] = cube.getEdge(position);
+            return rank(parts);
+        }
+
+        @Override
+        void setValue(final CubieCube cube, final int value) {
+            int[] parts = unrank(value, CubieCube.FR);
+            for (int position = 0; position < parts.length; position++)
+                cube.setEdge(position, parts[position], cube.getEdgeOrientation(position));
+        }
+    },
+    /**
+     * The permutation of the slice edges within the slice (4!).
+     *
+     * The value is only defined if the slice edges are in the slice.
+     */
+    SlicePermutation(24) {
+        @Override
+        int getValue(final CubieCube cube) {
+            int[] parts = new int[CubieCube.EdgeCount - CubieCube.FR];
+            for (int i = 0; i < parts.length; i++)
+                parts[i] = cube.getEdge(CubieCube.FR + i) - CubieCube.FR;
+            return rank(parts);
+        }
+
+        @Override
+        void setValue(final CubieCube cube, final int value) {
+            int[] parts = unrank(value, CubieCube.EdgeCount - CubieCube.FR);
+            for (int i = 0; i < parts.length; i++) {
+                int position = CubieCube.FR + i;
+                cube.setEdge(position, CubieCube.FR + parts[i], cube.getEdgeOrientation(position));
+            }
+        }
+    },
+    /**
+     * The twists of the corners of a 2x2 cube whose corner DBL is solved (3^6).
+     *
+     * The value is only defined if the corner at the position DBL has no twist,
+     * which is the case if the moves do not rotate the down, left and back face.
+     */
+    FixedCornerTwist(729) {
+        @Override
+        int getValue(final CubieCube cube) {
+            int value = 0;
+            for (int position = 0; position < CubieCube.DBL; position++)
+                value = value * 3 + cube.getCornerOrientation(position);
+            return value;
+        }
+
+        @Override
+        void setValue(final CubieCube cube, int value) {
+            int sum = 0;
+            for (int position = CubieCube.DBL - 1; position >= 0; position--) {
+                int twist = value % 3;
+                cube.setCorner(position, cube.getCorner(position), twist);
+                sum += twist;
+                value /= 3;
+            }
+            cube.setCorner(CubieCube.DBL, cube.getCorner(CubieCube.DBL), 0);
+            cube.setCorner(CubieCube.DRB, cube.getCorner(CubieCube.DRB), (3 - sum % 3) % 3);
+        }
+    },
+    /**
+     * The permutation of the corners of a 2x2 cube whose corner DBL is solved (7!).
+     *
+     * The value is only defined if the corner DBL is at its position.
+     */
+    FixedCornerPermutation(5040) {
+        @Override
+        int getValue(final CubieCube cube) {
+            int[] parts = new int[CubieCube.CornerCount - 1];
+            for (int i = 0; i < parts.length; i++)
+                parts[i] = toFixedCornerIndex(cube.getCorner(toFixedCornerPosition(i)));
+            return rank(parts);
+        }
+
+        @Override
+        void setValue(final CubieCube cube, final int value) {
+            int[] parts = unrank(value, CubieCube.CornerCount - 1);
+            for (int i = 0; i < parts.length; i++) {
+                int position = toFixedCornerPosition(i);
+                cube.setCorner(position, toFixedCornerPosition(parts[i]), cube.getCornerOrientation(position));
+            }
+            cube.setCorner(CubieCube.DBL, CubieCube.DBL, cube.getCornerOrientation(CubieCube.DBL));
+        }
+
+        /**
+         * Gets the index of a corner within the corners except DBL.
+         *
+         * @param corner The index of the corner (URF to DRB, but not DBL).
+         * @return The index of the corner from 0 to 6.
+         */
+        private int toFixedCornerIndex(final int corner) {
+            return corner < CubieCube.DBL ? corner : corner - 1;
+        }
+
+        /**
+         * Gets the corner or position of an index within the corners except DBL.
+         *
+         * @param index The index from 0 to 6.
+         * @return The index of the corner or position (URF to DRB, but not DBL).
+         */
+        private int toFixedCornerPosition(final int index) {
+            return index < CubieCube.DBL ? index : index + 1;
+        }
+    };
+
+    /**
+     * The value of the Slice coordinate when the slice edges are in the slice.
+     */
+    static final int SliceSolved = 494;
+    /**
+     * The value of the MiddleSlice coordinate when the edges of the middle
+     * slice are in the middle slice.
+     */
+    static final int MiddleSliceSolved = 49;
+
+    private final int _count;
+
+    /**
+     * Initializes a new instance of the CubieCoordinate enumeration.
+     *
+     * @param count The count of different values.
+     */
+    CubieCoordinate(final int count) {
+        _count = count;
+    }
+
+    /**
+     * Gets the count of different values of the coordinate.
+     *
+     * @return The count of values.
+     */
+    int getCount() {
+        return _count;
+    }
+
+    /**
+     * Gets the value of the coordinate for the specified state.
+     *
+     * @param cube The CubieCube with the state.
+     * @return The value of the coordinate.
+     */
+    abstract int getValue(CubieCube cube);
+
+    /**
+     * Changes the specified state so that the coordinate has the specified value.
+     *
+     * Only the parts of the state that are described by the coordinate are
+     * changed. The permutations are complete permutations again afterwards.
+     *
+     * @param cube The CubieCube to change.
+     * @param value The value of the coordinate.
+     */
+    abstract void setValue(CubieCube cube, int value);
+
+    /**
+     * Creates the table of the values of the coordinate after each of the
+     * specified moves.
+     *
+     * The value after the move moves[i] from the value v is at the index
+     * v * moves.length + i of the table.
+     *
+     * @param moves The indexes of the moves, see CubieCube.getMove().
+     * @return The move table.
+     */
+    char[] createMoveTable(final int[] moves) {
+        char[] table = new char[_count * moves.length];
+        CubieCube cube = new CubieCube();
+        CubieCube moved = new CubieCube();
+        for (int value = 0; value < _count; value++) {
+            setValue(cube, value);
+            for (int i = 0; i < moves.length; i++) {
+                moved.setCubieCube(cube);
+                moved.move(moves[i]);
+                table[value * moves.length + i] = (char)getValue(moved);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Gets the rank of a permutation in the lexicographic order of all
+     * permutations of its length.
+     *
+     * @param parts The permutation of the values 0 to parts.length - 1.
+     * @return The rank of the permutation.
+     */
+    private static int rank(final int[] parts) {
+        int rank = 0;
+        for (int i = 0; i < parts.length; i++) {
+            int smaller = 0;
+            for (int j = i + 1; j < parts.length; j++) {
+                if (parts[j] < parts[i])
+                    smaller++;
+            }
+            rank = rank * (parts.length - i) + smaller;
+        }
+        return rank;
+    }
+
+    /**
+     * Gets the permutation with the specified rank, see rank().
+     *
+     * @param rank The rank of the permutation.
+     * @param length The length of the permutation.
+     * @return A new array with the permutation.
+     */
+    private static int[] unrank(int rank, final int length) {
+        int[] digits = new int[length];
+        for (int i = length - 1; i >= 0; i--) {
+            digits[i] = rank % (length - i);
+            rank /= length - i;
+        }
+
+        boolean[] used = new boolean[length];
+        int[] parts = new int[length];
+        for (int i = 0; i < length; i++) {
+            int part = 0;
+            for (int skip = digits[i]; used[part] || skip > 0; part++) {
+                if (!used[part])
+                    skip--;
+            }
+            used[part] = true;
+            parts[i] = part;
+        }
+        return parts;
+    }
+
+    /**
+     * Gets the positions of a combination of four positions from the value of
+     * the combination, see Slice.
+     *
+     * @param value The value of the combination.
+     * @param length The count of positions.
+     * @return A new array with true for each position of the combination.
+     */
+    private static boolean[] getCombination(int value, final int length) {
+        boolean[] combination = new boolean[length];
+        int position = length - 1;
+        for (int k = 4; k > 0; k--) {
+            while (binomial(position, k) > value)
+                position--;
+            combination[position] = true;
+            value -= binomial(position, k);
+            position--;
+        }
+        return combination;
+    }
+
+    /**
+     * Gets a value indicating whether the specified edge belongs to the middle
+     * slice between the left and the right layer.
+     *
+     * @param edge The index of the edge.
+     * @return true for UF, UB, DF, and DB.
+     */
+    private static boolean isMiddleSliceEdge(final int edge) {
+        return edge < CubieCube.FR && (edge & 1) != 0;
+    }
+
+    /**
+     * Calculates the binomial coefficient.
+     *
+     * @param n The count of elements.
+     * @param k The count of chosen elements.
+     * @return The count of the subsets with k of n elements; 0 if k is greater n.
+     */
+    private static int binomial(final int n, final int k) {
+        if (k > n)
+            return 0;
+
+        int result = 1;
+        for (int i = 1; i <= k; i++)
+            result = result * (n - k + i) / i;
+        return result;
+    }
+}
@@ -0,0 +1,755 @@
+package de.webkasi.cube.solver;
+
+import de.webkasi.cube.*;
+
+import java.util.Arrays;
+
+/**
+ * Represents the state of a 3x3 cube on the level of its corner and edge parts.
+ *
+ * The state consists of the permutation and the orientation of the eight
+ * corners and twelve edges. The centers are fixed. The permutation arrays
+ * contain for each position the index of the part that is currently at that
+ * position. The orientation arrays contain for each position the twist
+ * (0 to 2) of the corner or the flip (0 or 1) of the edge at that position.
+ *
+ * The corners are URF, UFL, ULB, UBR, DFR, DLF, DBL, DRB, the edges are
+ * UR, UF, UL, UB, DR, DF, DL, DB, FR, FL, BL, BR, where U is the white face,
+ * L the orange, F the green, R the red, B the blue, and D the yellow face.
+ * The orientation of a corner is the index of its field with the up or down
+ * color, counted clockwise starting with the field on the up or down face.
+ *
+ * The moves are the quarter and half turns of the six faces. They are
+ * numbered by getMove() and created with the CubeFaceRotator, so a move of
+ * a CubieCube has the same effect as the corresponding rotation of a Cube.
+ */
+public final class CubieCube {
+    /**
+     * The count of corners of the cube.
+     */
+    public static final int CornerCount = 8;
+    /**
+     * The count of edges of the cube.
+     */
+    public static final int EdgeCount = 12;
+    /**
+     * The count of different moves, see getMove().
+     */
+    public static final int MoveCount = 18;
+
+    public static final int URF = 0;
+    public static final int UFL = 1;
+    public static final int ULB = 2;
+    public static final int UBR = 3;
+    public static final int DFR = 4;
+    public static final int DLF = 5;
+    public static final int DBL = 6;
+    public static final int DRB = 7;
+
+    public static final int UR = 0;
+    public static final int UF = 1;
+    public static final int UL = 2;
+    public static final int UB = 3;
+    public static final int DR = 4;
+    public static final int DF = 5;
+    public static final int DL = 6;
+    public static final int DB = 7;
+    public static final int FR = 8;
+    public static final int FL = 9;
+    public static final int BL = 10;
+    public static final int BR = 11;
+
+    private final byte[] _cornerPermutation = new byte[CornerCount];
+    private final byte[] _cornerOrientation = new byte[CornerCount];
+    private final byte[] _edgePermutation = new byte[EdgeCount];
+    private final byte[] _edgeOrientation = new byte[EdgeCount];
+
+    private final static int U = CubeColor.White.ordinal();
+    private final static int L = CubeColor.Orange.ordinal();
+    private final static int F = CubeColor.Green.ordinal();
+    private final static int R = CubeColor.Red.ordinal();
+    private final static int B = CubeColor.Blue.ordinal();
+    private final static int D = CubeColor.Yellow.ordinal();
+
+    /**
+     * The index of the opposite face of each face.
+     */
+    private static final int[] _oppositeFaces = new int[] { D, R, B, L, F, U };
+
+    /**
+     * The fields of each corner position as face, row, column.
+     *
+     * The first field of each corner is on the up or down face, the other
+     * two follow clockwise.
+     */
+    private static final int[][] _cornerFacelets = new int[][] {
+            { U, 2, 2,  R, 0, 0,  F, 0, 2 },    // URF
+            { U, 2, 0,  F, 0, 0,  L, 0, 2 },    // UFL
+            { U, 0, 0,  L, 0, 0,  B, 0, 2 },    // ULB
+            { U, 0, 2,  B, 0, 0,  R, 0, 2 },    // UBR
+            { D, 0, 2,  F, 2, 2,  R, 2, 0 },    // DFR
+            { D, 0, 0,  L, 2, 2,  F, 2, 0 },    // DLF
+            { D, 2, 0,  B, 2, 2,  L, 2, 0 },    // DBL
+            { D, 2, 2,  R, 2, 2,  B, 2, 0 }     // DRB
+    };
+
+    /**
+     * The fields of each edge position as face, row, column.
+     *
+     * The first field of each edge is on the up or down face, or on the
+     * front or back face for the four edges of the middle layer.
+     */
+    private static final int[][] _edgeFacelets = new int[][] {
+            { U, 1, 2,  R, 0, 1 },  // UR
+            { U, 2, 1,  F, 0, 1 },  // UF
+            { U, 1, 0,  L, 0, 1 },  // UL
+            { U, 0, 1,  B, 0, 1 },  // UB
+            { D, 1, 2,  R, 2, 1 },  // DR
+            { D, 0, 1,  F, 2, 1 },  // DF
+            { D, 1, 0,  L, 2, 1 },  // DL
+            { D, 2, 1,  B, 2, 1 },  // DB
+            { F, 1, 2,  R, 1, 0 },  // FR
+            { F, 1, 0,  L, 1, 2 },  // FL
+            { B, 1, 2,  L, 1, 0 },  // BL
+            { B, 1, 0,  R, 1, 2 }   // BR
+    };
+
+    /**
+     * The CubieCube objects of all moves, indexed by the move index.
+     */
+    private static final CubieCube[] _moves = createMoves();
+
+    /**
+     * Initializes a new instance of the CubieCube class in the solved state.
+     */
+    public CubieCube() {
+        for (int i = 0; i < CornerCount; i++)
+            _cornerPermutation[i] = (byte)i;
+        for (int i = 0; i < EdgeCount; i++)
+            _edgePermutation[i] = (byte)i;
+    }
+
+    /**
+     * Initializes a new instance of the CubieCube class with a copy
+     * of the specified instance.
+     *
+     * @param copy The source of the copy.
+     */
+    public CubieCube(final CubieCube copy) {
+        setCubieCube(copy);
+    }
+
+    /**
+     * Initializes a new instance of the CubieCube class with the state
+     * of the specified 3x3 Cube.
+     *
+     * The colors of the faces are determined by their middle fields, so
+     * the cube may have any colors as long as the centers are different.
+     *
+     * @param cube The Cube whose state is converted.
+     * @throws IllegalArgumentException The cube is not a 3x3 cube or contains
+     * a corner or an edge with an impossible combination of colors.
+     */
+    public CubieCube(final Cube cube) {
+        if (cube.getDimension() != 3)
+            throw new IllegalArgumentException("Only 3x3 cubes can be converted.");
+
+        int[] faceOfColor = new int[6];
+        Arrays.fill(faceOfColor, -1);
+        for (int face = 0; face < 6; face++)
+            faceOfColor[cube.getFaceByIndex(face).getField(1, 1).ordinal()] = face;
+        for (int face : faceOfColor) {
+            if (face < 0)
+                throw new IllegalArgumentException("The centers of the cube must have different colors.");
+        }
+
+        readCorners(cube, faceOfColor);
+
+        for (int position = 0; position < EdgeCount; position++) {
+            int[] facelets = _edgeFacelets[position];
+            int face0 = faceOfColor[getColor(cube, facelets, 0).ordinal()];
+            int face1 = faceOfColor[getColor(cube, facelets, 1).ordinal()];
+
+            int edge = findEdge(face0, face1);
+            int orientation = 0;
+            if (edge < 0) {
+                edge = findEdge(face1, face0);
+                orientation = 1;
+            }
+            if (edge < 0)
+                throw new IllegalArgumentException("Invalid edge at position " + position + ".");
+
+            _edgePermutation[position] = (byte)edge;
+            _edgeOrientation[position] = (byte)orientation;
+        }
+    }
+
+    /**
+     * Copies the state of the specified CubieCube into this instance.
+     *
+     * @param copy The source of the copy.
+     */
+    public void setCubieCube(final CubieCube copy) {
+        System.arraycopy(copy._cornerPermutation, 0, _cornerPermutation, 0, CornerCount);
+        System.arraycopy(copy._cornerOrientation, 0, _cornerOrientation, 0, CornerCount);
+        System.arraycopy(copy._edgePermutation, 0, _edgePermutation, 0, EdgeCount);
+        System.arraycopy(copy._edgeOrientation, 0, _edgeOrientation, 0, EdgeCount);
+    }
+
+    /**
+     * Creates a CubieCube with the corners of the specified Cube.
+     *
+     * The cube may have any dimension greater than one. Its faces must
+     * have the initial colors defined by the CubeColor enumeration, because
+     * the colors of the faces cannot be determined by the middle fields for
+     * all dimensions. The edges of the new instance are solved.
+     *
+     * @param cube The Cube whose corners are converted.
+     * @return A new CubieCube object with the corners of the cube.
+     * @throws IllegalArgumentException The cube contains a corner with an
+     * impossible combination of colors.
+     */
+    public static CubieCube fromCorners(final Cube cube) {
+        int[] faceOfColor = new int[6];
+        for (int face = 0; face < 6; face++)
+            faceOfColor[face] = face;
+
+        CubieCube cubieCube = new CubieCube();
+        cubieCube.readCorners(cube, faceOfColor);
+        return cubieCube;
+    }
+
+    /**
+     * Creates a CubieCube with the corners of the specified Cube, taking
+     * the corner at the position DBL as solved.
+     *
+     * The colors of the corner at the position DBL determine the colors of
+     * the down, back and left face, their opposite colors the colors of the
+     * up, front and right face. So the cube may be held in any orientation,
+     * and the corner DBL of the new instance is always at its position
+     * without a twist. The edges of the new instance are solved.
+     *
+     * @param cube The Cube whose corners are converted.
+     * @return A new CubieCube object with the corners of the cube.
+     * @throws IllegalArgumentException The cube contains a corner with an
+     * impossible combination of colors.
+     */
+    public static CubieCube fromCornersRelativeToDBL(final Cube cube) {
+        int[] faceOfColor = new int[6];
+        Arrays.fill(faceOfColor, -1);
+        int[] facelets = _cornerFacelets[DBL];
+        for (int i = 0; i < 3; i++) {
+            int face = facelets[i * 3];
+            int color = getColor(cube, facelets, i).ordinal();
+            faceOfColor[color] = face;
+            faceOfColor[_oppositeFaces[color]] = _oppositeFaces[face];
+        }
+        for (int face : faceOfColor) {
+            if (face < 0)
+                throw new IllegalArgumentException("Invalid corner at position " + DBL + ".");
+        }
+
+        CubieCube cubieCube = new CubieCube();
+        cubieCube.readCorners(cube, faceOfColor);
+        return cubieCube;
+    }
+
+    /**
+     * Sets the corners of the specified Cube to the corners of this instance.
+     *
+     * The cube may have any dimension greater than one. All other fields
+     * are not changed.
+     *
+     * @param cube The Cube whose corners are set.
+     */
+    public void writeCorners(final Cube cube) {
+        CubeColor[] colors = CubeColor.values();
+
+        for (int position = 0; position < CornerCount; position++) {
+            int[] corner = _cornerFacelets[_cornerPermutation[position]];
+            int orientation = _cornerOrientation[position];
+            for (int i = 0; i < 3; i++)
+                setColor(cube, _cornerFacelets[position], (i + orientation) % 3, colors[corner[i * 3]]);
+        }
+    }
+
+    /**
+     * Creates a 3x3 Cube with the state of this instance.
+     *
+     * The faces of the new cube have their initial colors as defined
+     * by the CubeColor enumeration.
+     *
+     * @return A new Cube object.
+     */
+    public Cube toCube() {
+        Cube cube = new Cube(3);
+        CubeColor[] colors = CubeColor.values();
+        writeCorners(cube);
+
+        for (int position = 0; position < EdgeCount; position++) {
+            int[] edge = _edgeFacelets[_edgePermutation[position]];
+            int orientation = _edgeOrientation[position];
+            for (int i = 0; i < 2; i++)
+                setColor(cube, _edgeFacelets[position], (i + orientation) % 2, colors[edge[i * 3]]);
+        }
+
+        return cube;
+    }
+
+    /**
+     * Gets the index of the face that is opposite to the specified face.
+     *
+     * @param face The CubeColor ordinal of a face.
+     * @return The CubeColor ordinal of the opposite face.
+     */
+    static int getOppositeFace(final int face) {
+        return _oppositeFaces[face];
+    }
+
+    /**
+     * Gets the index of the move that rotates the specified face.
+     *
+     * The moves are numbered face by face in the order of the CubeColor
+     * enumeration. For each face the clockwise quarter turn is followed by
+     * the half turn and the counterclockwise quarter turn.
+     *
+     * @param face The CubeColor of the face to rotate.
+     * @param quarterTurns The count of clockwise quarter turns (1 to 3).
+     * @return The index of the move (0 to 17).
+     */
+    public static int getMove(final CubeColor face, final int quarterTurns) {
+        return face.ordinal() * 3 + (quarterTurns - 1);
+    }
+
+    /**
+     * Gets the index of the move that reverts the specified move.
+     *
+     * @param move The index of the move.
+     * @return The index of the inverse move.
+     */
+    public static int getInverseMove(final int move) {
+        return move - move % 3 + 2 - move % 3;
+    }
+
+    /**
+     * Gets the move that has the same effect as two moves of the same layer.
+     *
+     * The moves may also be numbered by FaceletModel.getMove(), which numbers
+     * the turns of each layer in the same way.
+     *
+     * @param first The index of the first move.
+     * @param second The index of the second move of the same layer.
+     * @return The index of the combined move, or -1 if the moves revert each other.
+     */
+    static int mergeMoves(final int first, final int second) {
+        int quarterTurns = (first % 3 + second % 3 + 2) % 4;
+        return quarterTurns == 0 ? -1 : first - first % 3 + quarterTurns - 1;
+    }
+
+    /**
+     * Creates the record of the specified move.
+     *
+     * @param move The index of the move, see getMove().
+     * @return A CubeFaceRotationRecord that rotates the outer layer of the face.
+     */
+    public static CubeFaceRotationRecord getRecord(final int move) {
+        return getRecord(move, 0);
+    }
+
+    /**
+     * Creates the record of the specified move for a single layer below the face.
+     *
+     * @param move The index of the move, see getMove().
+     * @param startRow The index of the layer below the face.
+     * @return A CubeFaceRotationRecord that rotates the layer.
+     */
+    static CubeFaceRotationRecord getRecord(final int move, final int startRow) {
+        int quarterTurns = move % 3 + 1;
+        return CubeFaceRotationRecord.valueOf(
+                CubeColor.values()[move / 3],
+                quarterTurns == 3 ? RotationDirection.Counterclockwise : RotationDirection.Clockwise,
+                startRow,
+                1,
+                quarterTurns == 2 ? 2 : 1);
+    }
+
+    /**
+     * Applies the move with the specified index to this instance.
+     *
+     * @param move The index of the move, see getMove().
+     */
+    public void move(final int move) {
+        multiply(_moves[move]);
+    }
+
+    /**
+     * Applies the specified rotation to this instance.
+     *
+     * @param record The CubeFaceRotationRecord to apply. Only rotations of a single
+     *               outer layer are possible.
+     * @throws IllegalArgumentException The record rotates inner layers.
+     */
+    public void move(final CubeFaceRotationRecord record) {
+        if (record.getStartRow() != 0 || record.getCountOfLayers() != 1)
+            throw new IllegalArgumentException("Only single outer layers can be rotated.");
+
+        int quarterTurns = record.isHalfTurn() ? 2
+                : record.getDirection() == RotationDirection.Clockwise ? 1 : 3;
+        move(getMove(record.getFace(), quarterTurns));
+    }
+
+    /**
+     * Applies the specified CubieCube as a move to this instance.
+     *
+     * After the call the position i contains the part that was at the position
+     * given by the permutation of the other cube at i. The orientations of the
+     * other cube are added to the moved orientations.
+     *
+     * @param other The CubieCube whose state is applied.
+     */
+    public void multiply(final CubieCube other) {
+        permute(_cornerPermutation, _cornerOrientation, other._cornerPermutation);
+        for (int i = 0; i < CornerCount; i++)
+            _cornerOrientation[i] = (byte)((_cornerOrientation[i] + other._cornerOrientation[i]) % 3);
+
+        permute(_edgePermutation, _edgeOrientation, other._edgePermutation);
+        for (int i = 0; i < EdgeCount; i++)
+            _edgeOrientation[i] ^= other._edgeOrientation[i];
+    }
+
+    /**
+     * Gets the corner at the specified position.
+     *
+     * @param position The index of the corner position (URF to DRB).
+     * @return The index of the corner at the position.
+     */
+    public int getCorner(final int position) {
+        return _cornerPermutation[position];
+    }
+
+    /**
+     * Gets the twist of the corner at the specified position.
+     *
+     * @param position The index of the corner position (URF to DRB).
+     * @return The twist of the corner (0 to 2).
+     */
+    public int getCornerOrientation(final int position) {
+        return _cornerOrientation[position];
+    }
+
+    /**
+     * Gets the edge at the specified position.
+     *
+     * @param position The index of the edge position (UR to BR).
+     * @return The index of the edge at the position.
+     */
+    public int getEdge(final int position) {
+        return _edgePermutation[position];
+    }
+
+    /**
+     * Gets the flip of the edge at the specified position.
+     *
+     * @param position The index of the edge position (UR to BR).
+     * @return The flip of the edge (0 or 1).
+     */
+    public int getEdgeOrientation(final int position) {
+        return _edgeOrientation[position];
+    }
+
+    /**
+     * Sets the corner and its twist at the specified position.
+     *
+     * @param position The index of the corner position (URF to DRB).
+     * @param corner The index of the corner.
+     * @param orientation The twist of the corner (0 to 2).
+     */
+    public void setCorner(final int position, final int corner, final int orientation) {
+        _cornerPermutation[position] = (byte)corner;
+        _cornerOrientation[position] = (byte)orientation;
+    }
+
+    /**
+     * Sets the edge and its flip at the specified position.
+     *
+     * @param position The index of the edge position (UR to BR).
+     * @param edge The index of the edge.
+     * @param orientation The flip of the edge (0 or 1).
+     */
+    public void setEdge(final int position, final int edge, final int orientation) {
+        _edgePermutation[position] = (byte)edge;
+        _edgeOrientation[position] = (byte)orientation;
+    }
+
+    /**
+     * Gets the position of the specified corner.
+     *
+     * @param corner The index of the corner (URF to DRB).
+     * @return The index of the position where the corner is.
+     */
+    public int findCornerPosition(final int corner) {
+        int position = 0;
+        while (_cornerPermutation[position] != corner)
+            position++;
+        return position;
+    }
+
+    /**
+     * Gets the position of the specified edge.
+     *
+     * @param edge The index of the edge (UR to BR).
+     * @return The index of the position where the edge is.
+     */
+    public int findEdgePosition(final int edge) {
+        int position = 0;
+        while (_edgePermutation[position] != edge)
+            position++;
+        return position;
+    }
+
+    /**
+     * Gets a value indicating whether all parts are at their positions
+     * with the correct orientation.
+     *
+     * @return true if the cube is solved.
+     */
+    public boolean isSolved() {
+        for (int i = 0; i < CornerCount; i++) {
+            if (_cornerPermutation[i] != i || _cornerOrientation[i] != 0)
+                return false;
+        }
+        for (int i = 0; i < EdgeCount; i++) {
+            if (_edgePermutation[i] != i || _edgeOrientation[i] != 0)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets a value indicating whether the state can be reached by moves
+     * from the solved state.
+     *
+     * Each part must occur once, the sum of the twists must be a multiple
+     * of three, the sum of the flips must be even, and the parities of the
+     * corner and the edge permutations must be equal.
+     *
+     * @return true if the state is solvable.
+     */
+    public boolean isSolvable() {
+        int twist = 0;
+        int corners = 0;
+        for (int i = 0; i < CornerCount; i++) {
+            corners |= 1 << _cornerPermutation[i];
+            twist += _cornerOrientation[i];
+        }
+        int flip = 0;
+        int edges = 0;
+        for (int i = 0; i < EdgeCount; i++) {
+            edges |= 1 << _edgePermutation[i];
+            flip += _edgeOrientation[i];
+        }
+
+        return corners == (1 << CornerCount) - 1
+                && edges == (1 << EdgeCount) - 1
+                && twist % 3 == 0
+                && flip % 2 == 0
+                && getParity(_cornerPermutation) == getParity(_edgePermutation);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other)
+            return true;
+        if (!(other instanceof CubieCube))
+            return false;
+
+        CubieCube cubieCube = (CubieCube)other;
+        return Arrays.equals(_cornerPermutation, cubieCube._cornerPermutation)
+                && Arrays.equals(_cornerOrientation, cubieCube._cornerOrientation)
+                && Arrays.equals(_edgePermutation, cubieCube._edgePermutation)
+                && Arrays.equals(_edgeOrientation, cubieCube._edgeOrientation);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = Arrays.hashCode(_cornerPermutation);
+        hash = 31 * hash + Arrays.hashCode(_cornerOrientation);
+        hash = 31 * hash + Arrays.hashCode(_edgePermutation);
+        return 31 * hash + Arrays.hashCode(_edgeOrientation);
+    }
+
+    /**
+     * Sets the corners of this instance to the corners of the specified Cube.
+     *
+     * @param cube The Cube whose corners are converted.
+     * @param faceOfColor The index of the face for each CubeColor ordinal.
+     * @throws IllegalArgumentException The cube contains a corner with an
+     * impossible combination of colors.
+     */
+    private void readCorners(final Cube cube, final int[] faceOfColor) {
+        int[] faces = new int[3];
+        for (int position = 0; position < CornerCount; position++) {
+            int[] facelets = _cornerFacelets[position];
+            for (int i = 0; i < 3; i++)
+                faces[i] = faceOfColor[getColor(cube, facelets, i).ordinal()];
+
+            int orientation = 0;
+            while (orientation < 3 && faces[orientation] != U && faces[orientation] != D)
+                orientation++;
+            int corner = orientation < 3 ? findCorner(faces[(orientation + 1) % 3], faces[(orientation + 2) % 3]) : -1;
+            if (corner < 0)
+                throw new IllegalArgumentException("Invalid corner at position " + position + ".");
+
+            _cornerPermutation[position] = (byte)corner;
+            _cornerOrientation[position] = (byte)orientation;
+        }
+    }
+
+    /**
+     * Permutes the specified part and orientation arrays in place.
+     *
+     * After the call the index i contains the values that were at the
+     * index permutation[i] before. Each cycle of the permutation is
+     * followed once, so no temporary array is needed.
+     *
+     * @param parts The permutation of the parts.
+     * @param orientations The orientations of the parts.
+     * @param permutation The permutation to apply.
+     */
+    private static void permute(final byte[] parts, final byte[] orientations, final byte[] permutation) {
+        int visited = 0;
+        for (int start = 0; start < permutation.length; start++) {
+            if ((visited & (1 << start)) != 0)
+                continue;
+
+            byte part = parts[start];
+            byte orientation = orientations[start];
+            int i = start;
+            visited |= 1 << i;
+            while (permutation[i] != start) {
+                int next = permutation[i];
+                parts[i] = parts[next];
+                orientations[i] = orientations[next];
+                visited |= 1 << next;
+                i = next;
+            }
+            parts[i] = part;
+            orientations[i] = orientation;
+        }
+    }
+
+    /**
+     * Gets the parity of the specified permutation.
+     *
+     * @param permutation The permutation.
+     * @return 0 for an even and 1 for an odd permutation.
+     */
+    private static int getParity(final byte[] permutation) {
+        int parity = 0;
+        for (int i = 0; i < permutation.length; i++) {
+            for (int j = i + 1; j < permutation.length; j++) {
+                if (permutation[i] > permutation[j])
+                    parity ^= 1;
+            }
+        }
+        return parity;
+    }
+
+    /**
+     * Gets the index of the corner with the specified faces of its second
+     * and third field.
+     *
+     * @param face1 The face of the second field.
+     * @param face2 The face of the third field.
+     * @return The index of the corner or -1 if there is no such corner.
+     */
+    private static int findCorner(final int face1, final int face2) {
+        for (int corner = 0; corner < CornerCount; corner++) {
+            if (_cornerFacelets[corner][3] == face1 && _cornerFacelets[corner][6] == face2)
+                return corner;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the index of the edge with the specified faces.
+     *
+     * @param face0 The face of the first field.
+     * @param face1 The face of the second field.
+     * @return The index of the edge or -1 if there is no such edge.
+     */
+    private static int findEdge(final int face0, final int face1) {
+        for (int edge = 0; edge < EdgeCount; edge++) {
+            if (_edgeFacelets[edge][0] == face0 && _edgeFacelets[edge][3] == face1)
+                return edge;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the color of a field of a corner or an edge.
+     *
+     * @param cube The Cube containing the field.
+     * @param facelets The fields of the part as face, row, column.
+     * @param index The index of the field within the part.
+     * @return The CubeColor of the field.
+     */
+    private static CubeColor getColor(final Cube cube, final int[] facelets, final int index) {
+        int maxIndex = cube.getDimension() - 1;
+        return cube.getFaceByIndex(facelets[index * 3]).getField(
+                scale(facelets[index * 3 + 1], maxIndex),
+                scale(facelets[index * 3 + 2], maxIndex));
+    }
+
+    /**
+     * Sets the color of a field of a corner or an edge.
+     *
+     * @param cube The Cube containing the field.
+     * @param facelets The fields of the part as face, row, column.
+     * @param index The index of the field within the part.
+     * @param color The new CubeColor of the field.
+     */
+    private static void setColor(final Cube cube, final int[] facelets, final int index, final CubeColor color) {
+        int maxIndex = cube.getDimension() - 1;
+        cube.getFaceByIndex(facelets[index * 3]).setField(
+                scale(facelets[index * 3 + 1], maxIndex),
+                scale(facelets[index * 3 + 2], maxIndex),
+                color);
+    }
+
+    /**
+     * Translates a row or column index of the 3x3 tables to a cube with
+     * another dimension.
+     *
+     * Only the corners of such cubes are addressed, so the index 2 is
+     * translated to the highest index of the cube.
+     *
+     * @param index The row or column index of a 3x3 cube.
+     * @param maxIndex The highest row or column index of the cube.
+     * @return The row or column index of the cube.
+     */
+    private static int scale(final int index, final int maxIndex) {
+        return index == 2 ? maxIndex : index;
+    }
+
+    /**
+     * Creates the CubieCube objects of all moves.
+     *
+     * Each move is created by rotating a solved Cube with a CubeFaceRotator
+     * and converting the result.
+     *
+     * @return An array with the CubieCube objects indexed by the move index.
+     */
+    private static CubieCube[] createMoves() {
+        CubieCube[] moves = new CubieCube[MoveCount];
+        for (CubeColor face : CubeColor.values()) {
+            Cube cube = new Cube(3);
+            CubeFaceRotator rotator = new CubeFaceRotator(cube);
+            for (int quarterTurns = 1; quarterTurns <= 3; quarterTurns++) {
+                rotator.rotateFace(RotationDirection.Clockwise, face, 1);
+                moves[getMove(face, quarterTurns)] = new CubieCube(cube);
+            }
+        }
+        return moves;
+    }
+}
@@ -0,0 +1,410 @@
+package de.webkasi.cube.solver;
+
+import de.webkasi.cube.*;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Provides the geometry of the fields of a cube with any dimension and the
+ * target of each field for each layer move.
+ *
+ * The fields are numbered by their facelet index as seen in the current
+ * orientation of a Cube: face * dimension * dimension + row * dimension
+ * + column, where face, row, and column are the arguments of
+ * Cube.getFaceByIndex() and CubeFace.getField(). The layout of the faces
+ * is the same as in CubieCube: the up face is seen from above with the
+ * back at row 0, the down face from below with the front at row 0, and
+ * the side faces from the outside with the up face above row 0.
+ *
+ * Each field has the coordinates of its part and the normal of its face.
+ * The coordinates are doubled and centered, so they range from
+ * -(dimension - 1) to dimension - 1 in steps of 2, and 0 is the middle.
+ * The x axis points to the right face, the y axis to the up face, and
+ * the z axis to the front face.
+ *
+ * A move rotates a single layer: the layer at a depth from 0 (the face
+ * itself) to dimension - 2 below a face is turned by one to three quarter
+ * turns clockwise as seen from the face. The last layer is the first layer
+ * of the opposite face, because the CubeFaceRotator does not turn the fields
+ * of the opposite face with it. The moves are numbered by getMove().
+ *
+ * The targets of a move are calculated from the coordinates when they are
+ * needed, so a model only keeps the coordinates and the fields of each
+ * layer, in proportion to the count of fields. There is only one
+ * FaceletModel per dimension, see forDimension().
+ */
+final class FaceletModel {
+    /**
+     * The FaceletModel instances that have already been created, by dimension.
+     */
+    private static final Map<Integer, FaceletModel> _models = new ConcurrentHashMap<>();
+
+    private final int _dimension;
+    private final int _faceletCount;
+    /**
+     * The coordinates of the part of each field as x, y, z, indexed by
+     * 3 * facelet index + axis.
+     */
+    private final int[] _positions;
+    /**
+     * The fields of the parts in each layer, indexed by face * (dimension - 1) + depth.
+     */
+    private final int[][] _layers;
+
+    /**
+     * The normals of the faces as x, y, z, indexed by the CubeColor ordinal of the face.
+     */
+    private static final int[][] _normals = new int[][] {
+            { 0, 1, 0 },    // up
+            { -1, 0, 0 },   // left
+            { 0, 0, 1 },    // front
+            { 1, 0, 0 },    // right
+            { 0, 0, -1 },   // back
+            { 0, -1, 0 }    // down
+    };
+
+    /**
+     * Initializes a new instance of the FaceletModel class and calculates
+     * the coordinates of all fields and the fields of all layers.
+     *
+     * @param dimension The count of rows and columns of the cube.
+     */
+    private FaceletModel(final int dimension) {
+        _dimension = dimension;
+        _faceletCount = 6 * dimension * dimension;
+
+        _positions = new int[3 * _faceletCount];
+        for (int facelet = 0; facelet < _faceletCount; facelet++)
+            setPosition(facelet);
+
+        int[] counts = new int[6 * (dimension - 1)];
+        for (int facelet = 0; facelet < _faceletCount; facelet++) {
+            for (int face = 0; face < 6; face++) {
+                int depth = getDepth(face, facelet);
+                if (depth < dimension - 1)
+                    counts[face * (dimension - 1) + depth]++;
+            }
+        }
+        _layers = new int[counts.length][];
+        for (int layer = 0; layer < counts.length; layer++) {
+            _layers[layer] = new int[counts[layer]];
+            counts[layer] = 0;
+        }
+        for (int facelet = 0; facelet < _faceletCount; facelet++) {
+            for (int face = 0; face < 6; face++) {
+                int depth = getDepth(face, facelet);
+                if (depth < dimension - 1) {
+                    int layer = face * (dimension - 1) + depth;
+                    _layers[layer][counts[layer]++] = facelet;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the FaceletModel for cubes with the specified dimension.
+     *
+     * @param dimension The count of rows and columns of the cube.
+     * @return The FaceletModel that is shared by all cubes with this dimension.
+     */
+    static FaceletModel forDimension(final int dimension) {
+        return _models.computeIfAbsent(dimension, FaceletModel::new);
+    }
+
+    /**
+     * Gets the count of rows and columns of the cube.
+     *
+     * @return The dimension passed to the constructor.
+     */
+    int getDimension() {
+        return _dimension;
+    }
+
+    /**
+     * Gets the count of fields of the cube.
+     *
+     * @return 6 * dimension * dimension.
+     */
+    int getFaceletCount() {
+        return _faceletCount;
+    }
+
+    /**
+     * Gets the count of different moves.
+     *
+     * @return 18 * (dimension - 1).
+     */
+    int getMoveCount() {
+        return 18 * (_dimension - 1);
+    }
+
+    /**
+     * Gets the facelet index of the specified field.
+     *
+     * @param face The index of the face position.
+     * @param row The row of the field.
+     * @param column The column of the field.
+     * @return The facelet index.
+     */
+    int getFacelet(final int face, final int row, final int column) {
+        return (face * _dimension + row) * _dimension + column;
+    }
+
+    /**
+     * Gets the index of the face position of the specified field.
+     *
+     * @param facelet The facelet index of the field.
+     * @return The index of the face (0 to 5).
+     */
+    int getFace(final int facelet) {
+        return facelet / (_dimension * _dimension);
+    }
+
+    /**
+     * Gets the coordinate of the part of a field on the specified axis.
+     *
+     * @param facelet The facelet index of the field.
+     * @param axis 0 for x, 1 for y, 2 for z.
+     * @return The doubled and centered coordinate.
+     */
+    int getCoordinate(final int facelet, final int axis) {
+        return _positions[3 * facelet + axis];
+    }
+
+    /**
+     * Gets the component of the normal of the face of a field on the specified axis.
+     *
+     * @param facelet The facelet index of the field.
+     * @param axis 0 for x, 1 for y, 2 for z.
+     * @return -1, 0, or 1.
+     */
+    int getNormal(final int facelet, final int axis) {
+        return _normals[getFace(facelet)][axis];
+    }
+
+    /**
+     * Gets the count of faces of the part of a field.
+     *
+     * @param facelet The facelet index of the field.
+     * @return 1 for a center, 2 for an edge, and 3 for a corner.
+     */
+    int getFaceCount(final int facelet) {
+        int count = 0;
+        for (int axis = 0; axis < 3; axis++) {
+            if (Math.abs(getCoordinate(facelet, axis)) == _dimension - 1)
+                count++;
+        }
+        return count;
+    }
+
+    /**
+     * Gets the field of the same part on another face.
+     *
+     * @param facelet The facelet index of a field.
+     * @param face The index of the other face of the part.
+     * @return The facelet index of the field on the other face.
+     */
+    int getFacelet(final int facelet, final int face) {
+        return getFacelet(face, getCoordinate(facelet, 0), getCoordinate(facelet, 1), getCoordinate(facelet, 2));
+    }
+
+    /**
+     * Gets the index of the layer below a face that contains the part of a field.
+     *
+     * @param face The index of the face.
+     * @param facelet The facelet index of the field.
+     * @return The depth of the layer below the face (0 to dimension - 1).
+     */
+    int getDepth(final int face, final int facelet) {
+        int[] normal = _normals[face];
+        int coordinate = normal[0] * getCoordinate(facelet, 0)
+                + normal[1] * getCoordinate(facelet, 1)
+                + normal[2] * getCoordinate(facelet, 2);
+        return (_dimension - 1 - coordinate) / 2;
+    }
+
+    /**
+     * Gets the index of the specified move.
+     *
+     * @param face The index of the face position.
+     * @param depth The index of the layer below the face (0 to dimension - 2).
+     * @param quarterTurns The count of clockwise quarter turns (1 to 3).
+     * @return The index of the move.
+     */
+    int getMove(final int face, final int depth, final int quarterTurns) {
+        return (face * (_dimension - 1) + depth) * 3 + quarterTurns - 1;
+    }
+
+    /**
+     * Gets the index of the move that reverts the specified move.
+     *
+     * @param move The index of the move.
+     * @return The index of the inverse move.
+     */
+    int getInverseMove(final int move) {
+        return move - move % 3 + 2 - move % 3;
+    }
+
+    /**
+     * Gets the fields of the parts in the layer of the specified move.
+     *
+     * The returned array is shared and must not be modified.
+     *
+     * @param move The index of the move.
+     * @return An array with the facelet indexes of the fields in the layer.
+     */
+    int[] getLayerFacelets(final int move) {
+        return _layers[move / 3];
+    }
+
+    /**
+     * Gets the target of a field after a move.
+     *
+     * The position and the normal of a field in the layer are rotated by
+     * -90 degrees around the normal of the face for each quarter turn.
+     *
+     * @param move The index of the move.
+     * @param facelet The facelet index of the field before the move.
+     * @return The facelet index of the field after the move.
+     */
+    int getTarget(final int move, final int facelet) {
+        int face = move / 3 / (_dimension - 1);
+        if (getDepth(face, facelet) != move / 3 % (_dimension - 1))
+            return facelet;
+
+        int[] axis = _normals[face];
+        int[] normal = _normals[getFace(facelet)];
+        int x = getCoordinate(facelet, 0);
+        int y = getCoordinate(facelet, 1);
+        int z = getCoordinate(facelet, 2);
+        int normalX = normal[0];
+        int normalY = normal[1];
+        int normalZ = normal[2];
+        for (int quarterTurns = move % 3; quarterTurns >= 0; quarterTurns--) {
+            int dot = x * axis[0] + y * axis[1] + z * axis[2];
+            int nextX = dot * axis[0] - (axis[1] * z - axis[2] * y);
+            int nextY = dot * axis[1] - (axis[2] * x - axis[0] * z);
+            z = dot * axis[2] - (axis[0] * y - axis[1] * x);
+            x = nextX;
+            y = nextY;
+            dot = normalX * axis[0] + normalY * axis[1] + normalZ * axis[2];
+            int nextNormalX = dot * axis[0] - (axis[1] * normalZ - axis[2] * normalY);
+            int nextNormalY = dot * axis[1] - (axis[2] * normalX - axis[0] * normalZ);
+            normalZ = dot * axis[2] - (axis[0] * normalY - axis[1] * normalX);
+            normalX = nextNormalX;
+            normalY = nextNormalY;
+        }
+
+        int target = 0;
+        while (_normals[target][0] != normalX || _normals[target][1] != normalY || _normals[target][2] != normalZ)
+            target++;
+        return getFacelet(target, x, y, z);
+    }
+
+    /**
+     * Applies a move to the specified colors.
+     *
+     * Only the fields in the layer of the move are read and written.
+     *
+     * @param move The index of the move.
+     * @param colors The color of each field, indexed by the facelet index.
+     */
+    void move(final int move, final byte[] colors) {
+        int[] facelets = getLayerFacelets(move);
+        byte[] previous = new byte[facelets.length];
+        for (int i = 0; i < facelets.length; i++)
+            previous[i] = colors[facelets[i]];
+        for (int i = 0; i < facelets.length; i++)
+            colors[getTarget(move, facelets[i])] = previous[i];
+    }
+
+    /**
+     * Creates the record of the specified move.
+     *
+     * @param move The index of the move.
+     * @return A CubeFaceRotationRecord that rotates one layer.
+     */
+    CubeFaceRotationRecord getRecord(final int move) {
+        int layer = move / 3;
+        return CubieCube.getRecord(layer / (_dimension - 1) * 3 + move % 3, layer % (_dimension - 1));
+    }
+
+    /**
+     * Gets the index of the move of the specified record.
+     *
+     * @param record A CubeFaceRotationRecord that rotates one layer.
+     * @return The index of the move.
+     */
+    int getMove(final CubeFaceRotationRecord record) {
+        int quarterTurns = record.isHalfTurn() ? 2
+                : record.getDirection() == RotationDirection.Clockwise ? 1 : 3;
+        return getMove(record.getFace().ordinal(), record.getStartRow(), quarterTurns);
+    }
+
+    /**
+     * Calculates the coordinates of the part of a field.
+     *
+     * @param facelet The facelet index of the field.
+     */
+    private void setPosition(final int facelet) {
+        int face = getFace(facelet);
+        int row = facelet / _dimension % _dimension;
+        int column = facelet % _dimension;
+        int max = _dimension - 1;
+        int x, y, z;
+        switch (face) {
+            case 0:
+                x = column; y = max; z = row;
+                break;
+            case 1:
+                x = 0; y = max - row; z = column;
+                break;
+            case 2:
+                x = column; y = max - row; z = max;
+                break;
+            case 3:
+                x = max; y = max - row; z = max - column;
+                break;
+            case 4:
+                x = max - column; y = max - row; z = 0;
+                break;
+            default:
+                x = column; y = 0; z = max - row;
+                break;
+        }
+        _positions[3 * facelet] = 2 * x - max;
+        _positions[3 * facelet + 1] = 2 * y - max;
+        _positions[3 * facelet + 2] = 2 * z - max;
+    }
+
+    /**
+     * Gets the facelet index of the field of a part on the specified face.
+     *
+     * @param face The index of the face.
+     * @param positionX The doubled and centered x coordinate of the part.
+     * @param positionY The doubled and centered y coordinate of the part.
+     * @param positionZ The doubled and centered z coordinate of the part.
+     * @return The facelet index.
+     */
+    private int getFacelet(final int face, final int positionX, final int positionY, final int positionZ) {
+        int max = _dimension - 1;
+        int x = (positionX + max) / 2;
+        int y = (positionY + max) / 2;
+        int z = (positionZ + max) / 2;
+        switch (face) {
+            case 0:
+                return getFacelet(face, z, x);
+            case 1:
+                return getFacelet(face, max - y, z);
+            case 2:
+                return getFacelet(face, max - y, x);
+            case 3:
+                return getFacelet(face, max - y, max - z);
+            case 4:
+                return getFacelet(face, max - y, max - x);
+            default:
+                return getFacelet(face, max - z, x);
+        }
+    }
+}
@@ -12,8 +12,11 @@ import de.webkasi.cube.*;
  */
 public class LayerByLayerSolver {
 
-    private final Cube _cube;
-    private final CubeFaceRotationRecords _records;
+    /**
+     * The CubeCursor that is shared by all steps. It provides the cube with
+     * the moves of the previous steps without replaying them for each step.
+     */
+    private final CubeCursor _cursor;
 
     /**
      * Initializes a new instance of the LayerByLayerSolver class.
@@ -23,8 +26,7 @@ public class LayerByLayerSolver {
      *                moves to solve the cube. This should initially be empty.
      */
     private LayerByLayerSolver(final Cube cube, final CubeFaceRotationRecords records) {
-        _cube = cube;
-        _records = records;
+        _cursor = new CubeCursor(cube, records);
     }
 
     /**
@@ -70,7 +72,7 @@ public class LayerByLayerSolver {
      * red, and blue middle fields after the cross has been created.
      */
     private void createWhiteCross() {
-        WhiteCrossStep.solve(_cube, _records);
+        WhiteCrossStep.solve(_cursor);
     }
 
     /**
@@ -80,7 +82,7 @@ public class LayerByLayerSolver {
      * The white layer is completely ready after the call.
      */
     private void setWhiteCorners() {
-        WhiteCornersStep.solve(_cube, _records);
+        WhiteCornersStep.solve(_cursor);
     }
 
     /**
@@ -88,7 +90,7 @@ public class LayerByLayerSolver {
      *
      * The complete white and middle layers are ready after the call.
      */
-    private void setSecondLayer() { SecondLayerStep.solve(_cube, _records); }
+    private void setSecondLayer() { SecondLayerStep.solve(_cursor); }
 
     /**
      * Creates a yellow cross.
@@ -96,7 +98,7 @@ public class LayerByLayerSolver {
      * The yellow cross' edges may still have a wrong orientation
      * after the call.
      */
-    private void createYellowCross() { YellowCrossStep.solve(_cube, _records); }
+    private void createYellowCross() { YellowCrossStep.solve(_cursor); }
 
     /**
      * Sets the orientation of the edges of the yellow cross.
@@ -105,8 +107,8 @@ public class LayerByLayerSolver {
      * the call.
      */
     private void setYellowCrossEdges() {
-        YellowCrossLinearEdgesStep.solve(_cube, _records);
-        YellowCrossAngleEdgesStep.solve(_cube, _records);
+        YellowCrossLinearEdgesStep.solve(_cursor);
+        YellowCrossAngleEdgesStep.solve(_cursor);
     }
 
     /**
@@ -116,7 +118,7 @@ public class LayerByLayerSolver {
      * but may still have the wrong orientation after the call.
      */
     private void setYellowCorners() {
-        YellowCornersPositionStep.solve(_cube, _records);
+        YellowCornersPositionStep.solve(_cursor);
     }
 
     /**
@@ -124,5 +126,5 @@ public class LayerByLayerSolver {
      *
      * The cube should be solved completely after the call.
      */
-    private void turnYellowCorners() { YellowCornersOrientationStep.solve(_cube, _records); }
+    private void turnYellowCorners() { YellowCornersOrientationStep.solve(_cursor); }
 }
@@ -0,0 +1,436 @@
+package de.webkasi.cube.solver;
+
+import de.webkasi.cube.*;
+
+/**
+ * Provides an optimal solution for a given 3x3 Cube with the iterative
+ * deepening A* search of Richard Korf.
+ *
+ * The search estimates the remaining moves of a state with three pattern
+ * databases, see PatternDatabase: the exact distances of all states of the
+ * corners, and of all states of each half of the edges (UR, UF, UL, UB, DR,
+ * DF and DL, DB, FR, FL, BL, BR) with their flips. The maximum of the three
+ * distances is never too large, so the first solution that is found is
+ * optimal.
+ *
+ * Successors that cannot lead to a shorter solution than another path are
+ * not searched: a face is not turned twice in a row, and of two moves of
+ * opposite faces, which commute, only one order is searched. In the
+ * quarter turn metric a face may be turned twice in a row clockwise for a
+ * half turn.
+ *
+ * The databases of a metric are created when a solver for the metric is
+ * created the first time. They need about 86 MB per metric and take about
+ * 20 seconds to create. The move table of the edges, which needs another
+ * 48 MB for both metrics, is created with the first databases. Positions with a distance above 15 moves may take
+ * minutes to solve, see getNodesExpanded() and getNodesPerSecond().
+ */
+public class OptimalSolver {
+    private static final int TwistCount = CubieCoordinate.Twist.getCount();
+    /**
+     * The count of different positions of the six edges of one half.
+     */
+    private static final int EdgePositionsCount = 12 * 11 * 10 * 9 * 8 * 7;
+    private static final int EdgeGroupSize = 6;
+
+    /**
+     * The moves of the half turn metric: all quarter and half turns, see CubieCube.getMove().
+     */
+    private static final int[] HalfTurnMoves = createMoves(TurnMetric.HalfTurn);
+    /**
+     * The moves of the quarter turn metric: all quarter turns.
+     */
+    private static final int[] QuarterTurnMoves = createMoves(TurnMetric.QuarterTurn);
+
+    private static final char[] _cornerMoves = CubieCoordinate.CornerPermutation.createMoveTable(HalfTurnMoves);
+    private static final char[] _twistMoves = CubieCoordinate.Twist.createMoveTable(HalfTurnMoves);
+    /**
+     * The move table of the positions of six edges, see createEdgeMoves().
+     * It is created with the first pattern databases, see getDatabases().
+     */
+    private static int[] _edgeMoves;
+
+    /**
+     * The edge index of each half of the edges in the solved state.
+     */
+    private static final int SolvedLowerEdges = getEdges(new CubieCube(), 0);
+    private static final int SolvedUpperEdges = getEdges(new CubieCube(), EdgeGroupSize);
+
+    /**
+     * The pattern databases of each metric: corners, lower half and upper half of the edges.
+     */
+    private static final PatternDatabase[][] _databases = new PatternDatabase[TurnMetric.values().length][];
+
+    private final TurnMetric _metric;
+    private final int[] _moves;
+    private final PatternDatabase _cornerDatabase;
+    private final PatternDatabase _lowerEdgeDatabase;
+    private final PatternDatabase _upperEdgeDatabase;
+
+    /**
+     * The moves of the current search path, see CubieCube.getMove().
+     */
+    private final int[] _path = new int[32];
+    private long _nodesExpanded;
+    private long _elapsedTime;
+
+    /**
+     * Initializes a new instance of the OptimalSolver class for the half turn metric.
+     */
+    public OptimalSolver() {
+        this(TurnMetric.HalfTurn);
+    }
+
+    /**
+     * Initializes a new instance of the OptimalSolver class.
+     *
+     * @param metric The TurnMetric in which the solutions are optimal.
+     */
+    public OptimalSolver(final TurnMetric metric) {
+        _metric = metric;
+        _moves = metric == TurnMetric.HalfTurn ? HalfTurnMoves : QuarterTurnMoves;
+
+        PatternDatabase[] databases = getDatabases(metric);
+        _cornerDatabase = databases[0];
+        _lowerEdgeDatabase = databases[1];
+        _upperEdgeDatabase = databases[2];
+    }
+
+    /**
+     * Gets the metric in which the solutions are optimal.
+     *
+     * @return The TurnMetric passed to the constructor.
+     */
+    public TurnMetric getMetric() {
+        return _metric;
+    }
+
+    /**
+     * Solves the specified cube with the least count of moves.
+     *
+     * In the half turn metric each record is a quarter or a half turn. In the
+     * quarter turn metric each record is a quarter turn, so the count of
+     * records is the length of the solution in both metrics.
+     *
+     * @param cube The 3x3 cube that should be solved.
+     * @return A CubeFaceRotationRecords object containing the
+     * moves for the solution.
+     * @throws IllegalArgumentException The cube is not a 3x3 cube or cannot be solved.
+     */
+    public CubeFaceRotationRecords solve(final Cube cube) {
+        CubieCube cubieCube = new CubieCube(cube);
+        if (!cubieCube.isSolvable())
+            throw new IllegalArgumentException("The cube cannot be solved.");
+
+        int corners = CubieCoordinate.CornerPermutation.getValue(cubieCube) * TwistCount
+                + CubieCoordinate.Twist.getValue(cubieCube);
+        int lowerEdges = getEdges(cubieCube, 0);
+        int upperEdges = getEdges(cubieCube, EdgeGroupSize);
+
+        long start = System.nanoTime();
+        _nodesExpanded = 0;
+        int length = getDistance(corners, lowerEdges, upperEdges);
+        while (!search(corners, lowerEdges, upperEdges, 0, length))
+            length++;
+        _elapsedTime = System.nanoTime() - start;
+
+        return getRecords(length);
+    }
+
+    /**
+     * Gets the count of states that have been expanded by the last call of solve().
+     *
+     * @return The count of states whose successors have been generated.
+     */
+    public long getNodesExpanded() {
+        return _nodesExpanded;
+    }
+
+    /**
+     * Gets the time of the search of the last call of solve().
+     *
+     * @return The time in nanoseconds.
+     */
+    public long getElapsedTime() {
+        return _elapsedTime;
+    }
+
+    /**
+     * Gets the count of states that have been expanded per second by the last call of solve().
+     *
+     * @return The count of expanded states per second.
+     */
+    public double getNodesPerSecond() {
+        return _elapsedTime > 0 ? _nodesExpanded * 1e9 / _elapsedTime : 0;
+    }
+
+    /**
+     * Searches the moves that solve the state with exactly the specified
+     * count of remaining moves.
+     *
+     * @param corners The index of the state of the corners.
+     * @param lowerEdges The index of the state of the lower half of the edges.
+     * @param upperEdges The index of the state of the upper half of the edges.
+     * @param depth The count of moves of the current search path.
+     * @param remaining The count of moves that must be added.
+     * @return true if a solution has been found.
+     */
+    private boolean search(
+            final int corners,
+            final int lowerEdges,
+            final int upperEdges,
+            final int depth,
+            final int remaining) {
+        if (remaining == 0)
+            return corners == 0 && lowerEdges == SolvedLowerEdges && upperEdges == SolvedUpperEdges;
+
+        _nodesExpanded++;
+        for (int move : _moves) {
+            if (isRedundant(move, depth))
+                continue;
+
+            // A database is only read if the previous ones did not prune the move.
+            int nextCorners = moveCorners(corners, move);
+            if (_cornerDatabase.getDistance(nextCorners) >= remaining)
+                continue;
+            int nextLowerEdges = moveEdges(lowerEdges, move);
+            if (_lowerEdgeDatabase.getDistance(nextLowerEdges) >= remaining)
+                continue;
+            int nextUpperEdges = moveEdges(upperEdges, move);
+            if (_upperEdgeDatabase.getDistance(nextUpperEdges) >= remaining)
+                continue;
+
+            _path[depth] = move;
+            if (search(nextCorners, nextLowerEdges, nextUpperEdges, depth + 1, remaining - 1))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets a value indicating whether the specified move can be skipped after
+     * the previous moves of the search path.
+     *
+     * @param move The index of the move.
+     * @param depth The index of the move in the search path.
+     * @return true if the move can be skipped.
+     */
+    private boolean isRedundant(final int move, final int depth) {
+        if (depth == 0)
+            return false;
+
+        int face = move / 3;
+        int previous = _path[depth - 1];
+        int previousFace = previous / 3;
+        if (face == previousFace) {
+            if (_metric == TurnMetric.HalfTurn)
+                return true;
+
+            // A half turn of the quarter turn metric: two clockwise turns, but not three.
+            return move != previous
+                    || move % 3 != 0
+                    || (depth > 1 && _path[depth - 2] / 3 == face);
+        }
+        return face == CubieCube.getOppositeFace(previousFace) && face < previousFace;
+    }
+
+    /**
+     * Gets the lower bound of the count of moves that solve the specified state.
+     *
+     * @param corners The index of the state of the corners.
+     * @param lowerEdges The index of the state of the lower half of the edges.
+     * @param upperEdges The index of the state of the upper half of the edges.
+     * @return The largest distance of the three pattern databases.
+     */
+    private int getDistance(final int corners, final int lowerEdges, final int upperEdges) {
+        return Math.max(
+                _cornerDatabase.getDistance(corners),
+                Math.max(_lowerEdgeDatabase.getDistance(lowerEdges), _upperEdgeDatabase.getDistance(upperEdges)));
+    }
+
+    /**
+     * Gets the records of the moves of the solution.
+     *
+     * @param length The count of moves of the solution.
+     * @return A new CubeFaceRotationRecords object.
+     */
+    private CubeFaceRotationRecords getRecords(final int length) {
+        CubeFaceRotationRecords records = new CubeFaceRotationRecords();
+        for (int i = 0; i < length; i++)
+            records.add(CubieCube.getRecord(_path[i]));
+        return records;
+    }
+
+    /**
+     * Gets the index of the state of the corners after a move.
+     *
+     * The index of the state of the corners is CornerPermutation * 2187 + Twist.
+     *
+     * @param corners The index of the state of the corners.
+     * @param move The index of the move.
+     * @return The index of the state after the move.
+     */
+    private static int moveCorners(final int corners, final int move) {
+        return _cornerMoves[corners / TwistCount * CubieCube.MoveCount + move] * TwistCount
+                + _twistMoves[corners % TwistCount * CubieCube.MoveCount + move];
+    }
+
+    /**
+     * Gets the index of the state of six edges after a move.
+     *
+     * The index of the state of six edges is positions * 64 + flips, see getEdges().
+     *
+     * @param edges The index of the state of the edges.
+     * @param move The index of the move.
+     * @return The index of the state after the move.
+     */
+    private static int moveEdges(final int edges, final int move) {
+        int moved = _edgeMoves[(edges >>> EdgeGroupSize) * CubieCube.MoveCount + move];
+        return ((moved & 0xfffff) << EdgeGroupSize) | ((edges & 0x3f) ^ (moved >>> 20));
+    }
+
+    /**
+     * Gets the pattern databases of the specified metric and creates them
+     * when they are requested the first time, together with the move table
+     * of the edges.
+     *
+     * @param metric The TurnMetric of the distances.
+     * @return The corner database and the databases of both halves of the edges.
+     */
+    private static synchronized PatternDatabase[] getDatabases(final TurnMetric metric) {
+        PatternDatabase[] databases = _databases[metric.ordinal()];
+        if (databases == null) {
+            if (_edgeMoves == null)
+                _edgeMoves = createEdgeMoves();
+            int[] moves = metric == TurnMetric.HalfTurn ? HalfTurnMoves : QuarterTurnMoves;
+            int edgeCount = EdgePositionsCount << EdgeGroupSize;
+            databases = new PatternDatabase[] {
+                    new PatternDatabase(
+                            CubieCoordinate.CornerPermutation.getCount() * TwistCount, 0, moves,
+                            OptimalSolver::moveCorners),
+                    new PatternDatabase(edgeCount, SolvedLowerEdges, moves, OptimalSolver::moveEdges),
+                    new PatternDatabase(edgeCount, SolvedUpperEdges, moves, OptimalSolver::moveEdges)
+            };
+            _databases[metric.ordinal()] = databases;
+        }
+        return databases;
+    }
+
+    /**
+     * Gets the index of the state of six edges.
+     *
+     * The positions of the edges first to first + 5 are numbered in the order
+     * of the edges with a mixed radix: the first position has 12 possible
+     * values, the second the 11 remaining ones, and so on. Bit i of the flips
+     * is the flip of the edge first + i.
+     *
+     * @param cube The CubieCube with the state.
+     * @param first The index of the first of the six edges.
+     * @return The index of the state: positions * 64 + flips.
+     */
+    private static int getEdges(final CubieCube cube, final int first) {
+        int[] positions = new int[EdgeGroupSize];
+        int flips = 0;
+        for (int i = 0; i < EdgeGroupSize; i++) {
+            positions[i] = cube.findEdgePosition(first + i);
+            flips |= cube.getEdgeOrientation(positions[i]) << i;
+        }
+        return (rankPositions(positions) << EdgeGroupSize) | flips;
+    }
+
+    /**
+     * Creates the move table of the positions of six edges.
+     *
+     * The value at positions * 18 + move contains the new positions in the
+     * bits 0 to 19 and the flips that are changed by the move in the bits
+     * 20 to 25.
+     *
+     * @return A new array with the move table.
+     */
+    private static int[] createEdgeMoves() {
+        int[][] targets = new int[CubieCube.MoveCount][CubieCube.EdgeCount];
+        int[][] flips = new int[CubieCube.MoveCount][CubieCube.EdgeCount];
+        for (int move = 0; move < CubieCube.MoveCount; move++) {
+            CubieCube cube = new CubieCube();
+            cube.move(move);
+            for (int position = 0; position < CubieCube.EdgeCount; position++) {
+                targets[move][cube.getEdge(position)] = position;
+                flips[move][cube.getEdge(position)] = cube.getEdgeOrientation(position);
+            }
+        }
+
+        int[] table = new int[EdgePositionsCount * CubieCube.MoveCount];
+        int[] positions = new int[EdgeGroupSize];
+        int[] moved = new int[EdgeGroupSize];
+        for (int rank = 0; rank < EdgePositionsCount; rank++) {
+            unrankPositions(rank, positions);
+            for (int move = 0; move < CubieCube.MoveCount; move++) {
+                int changedFlips = 0;
+                for (int i = 0; i < EdgeGroupSize; i++) {
+                    moved[i] = targets[move][positions[i]];
+                    changedFlips |= flips[move][positions[i]] << i;
+                }
+                table[rank * CubieCube.MoveCount + move] = rankPositions(moved) | (changedFlips << 20);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Gets the number of the positions of six edges, see getEdges().
+     *
+     * @param positions The different positions of the edges.
+     * @return The number of the positions.
+     */
+    private static int rankPositions(final int[] positions) {
+        int rank = 0;
+        int used = 0;
+        for (int i = 0; i < positions.length; i++) {
+            int smaller = Integer.bitCount(~used & ((1 << positions[i]) - 1));
+            rank = rank * (CubieCube.EdgeCount - i) + smaller;
+            used |= 1 << positions[i];
+        }
+        return rank;
+    }
+
+    /**
+     * Gets the positions of six edges from their number, see rankPositions().
+     *
+     * @param rank The number of the positions.
+     * @param positions The array that receives the positions.
+     */
+    private static void unrankPositions(int rank, final int[] positions) {
+        int[] digits = new int[positions.length];
+        for (int i = positions.length - 1; i >= 0; i--) {
+            digits[i] = rank % (CubieCube.EdgeCount - i);
+            rank /= CubieCube.EdgeCount - i;
+        }
+
+        int used = 0;
+        for (int i = 0; i < positions.length; i++) {
+            int position = 0;
+            for (int skip = digits[i]; (used & (1 << position)) != 0 || skip > 0; position++) {
+                if ((used & (1 << position)) == 0)
+                    skip--;
+            }
+            positions[i] = position;
+            used |= 1 << position;
+        }
+    }
+
+    /**
+     * Creates the moves of the specified metric.
+     *
+     * @param metric The TurnMetric.
+     * @return A new array with the indexes of the moves, see CubieCube.getMove().
+     */
+    private static int[] createMoves(final TurnMetric metric) {
+        int[] moves = new int[metric == TurnMetric.HalfTurn ? CubieCube.MoveCount : CubieCube.MoveCount / 3 * 2];
+        int count = 0;
+        for (int move = 0; move < CubieCube.MoveCount; move++) {
+            if (metric == TurnMetric.HalfTurn || move % 3 != 1)
+                moves[count++] = move;
+        }
+        return moves;
+    }
+}
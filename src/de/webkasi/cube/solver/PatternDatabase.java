@@ -0,0 +1,156 @@
+package de.webkasi.cube.solver;
+
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Represents the exact distances of all states of a coordinate from its
+ * solved state.
+ *
+ * The distances are stored with four bits each, two distances in one byte,
+ * so the table of 88 million corner states needs 44 MB. The table is
+ * filled by a breadth first search. As long as less than half of the states
+ * are known the search expands the states of the last depth. Afterwards it
+ * checks each unknown state for a neighbor of the last depth instead,
+ * because then there are fewer unknown states than states of the last depth.
+ */
+final class PatternDatabase {
+    /**
+     * The value of a state whose distance is not known yet.
+     */
+    private static final int Unknown = 15;
+
+    /**
+     * The distances of the states, two in each byte. The distance of the
+     * state i is in the low four bits of _distances[i / 2] if i is even,
+     * and in the high four bits otherwise.
+     */
+    private final byte[] _distances;
+    private final int _size;
+    private int _maxDistance;
+
+    /**
+     * Initializes a new instance of the PatternDatabase class and calculates
+     * the distances of all states.
+     *
+     * The moves must contain the inverse of each move.
+     *
+     * @param size The count of states.
+     * @param solved The index of the solved state.
+     * @param moves The moves that are applied to the states, see CubieCube.getMove().
+     * @param neighbor The function that gets the index of the state after a move
+     *                 from the index of a state and the move.
+     * @throws IllegalStateException A distance is too large for four bits.
+     */
+    PatternDatabase(final int size, final int solved, final int[] moves, final IntBinaryOperator neighbor) {
+        _size = size;
+        _distances = new byte[(size + 1) / 2];
+        Arrays.fill(_distances, (byte)0xff);
+        setDistance(solved, 0);
+
+        long known = 1;
+        for (int depth = 0; known < size; depth++) {
+            if (depth + 1 >= Unknown)
+                throw new IllegalStateException("The distances are too large for the database.");
+
+            long found = known * 2 < size
+                    ? expandForward(depth, moves, neighbor)
+                    : expandBackward(depth, moves, neighbor);
+            if (found == 0)
+                break;
+
+            known += found;
+            _maxDistance = depth + 1;
+        }
+    }
+
+    /**
+     * Gets the count of states.
+     *
+     * @return The count of states.
+     */
+    int getSize() {
+        return _size;
+    }
+
+    /**
+     * Gets the largest distance of all states.
+     *
+     * @return The largest distance.
+     */
+    int getMaxDistance() {
+        return _maxDistance;
+    }
+
+    /**
+     * Gets the distance of the specified state from the solved state.
+     *
+     * @param index The index of the state.
+     * @return The count of moves that solve the state.
+     */
+    int getDistance(final int index) {
+        return (_distances[index >> 1] >> ((index & 1) << 2)) & 0xf;
+    }
+
+    /**
+     * Sets the distance of the specified state.
+     *
+     * @param index The index of the state.
+     * @param distance The distance of the state.
+     */
+    private void setDistance(final int index, final int distance) {
+        int shift = (index & 1) << 2;
+        int i = index >> 1;
+        _distances[i] = (byte)((_distances[i] & ~(0xf << shift)) | (distance << shift));
+    }
+
+    /**
+     * Sets the distance of all unknown neighbors of the states with the specified distance.
+     *
+     * @param depth The distance of the states to expand.
+     * @param moves The moves that are applied to the states.
+     * @param neighbor The function that gets the index of the state after a move.
+     * @return The count of states whose distance has been set.
+     */
+    private long expandForward(final int depth, final int[] moves, final IntBinaryOperator neighbor) {
+        long found = 0;
+        for (int index = 0; index < _size; index++) {
+            if (getDistance(index) != depth)
+                continue;
+
+            for (int move : moves) {
+                int next = neighbor.applyAsInt(index, move);
+                if (getDistance(next) == Unknown) {
+                    setDistance(next, depth + 1);
+                    found++;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Sets the distance of all unknown states that have a neighbor with the specified distance.
+     *
+     * @param depth The distance of the neighbors.
+     * @param moves The moves that are applied to the states.
+     * @param neighbor The function that gets the index of the state after a move.
+     * @return The count of states whose distance has been set.
+     */
+    private long expandBackward(final int depth, final int[] moves, final IntBinaryOperator neighbor) {
+        long found = 0;
+        for (int index = 0; index < _size; index++) {
+            if (getDistance(index) != Unknown)
+                continue;
+
+            for (int move : moves) {
+                if (getDistance(neighbor.applyAsInt(index, move)) == depth) {
+                    setDistance(index, depth + 1);
+                    found++;
+                    break;
+                }
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,187 @@
+package de.webkasi.cube.solver;
+
+import de.webkasi.cube.*;
+
+import java.util.Arrays;
+
+/**
+ * Provides an optimal solution for a given 2x2 Cube (pocket cube).
+ *
+ * A 2x2 cube has no centers, so the corner at the position DBL is taken
+ * as solved, and the cube is solved by turns of the up, right, and front
+ * face only. With the corner DBL fixed the cube has 7! * 3^6 = 3,674,160
+ * states. A PatternDatabase contains the exact distance of each of them
+ * from the solved state in only 1.8 MB, so the solver follows a move that
+ * decreases the distance in each step, and no search is necessary.
+ *
+ * The database of a metric is created when a cube is solved in the metric
+ * the first time, which takes less than a second. Afterwards a cube is
+ * solved within microseconds.
+ */
+public class PocketCubeSolver {
+    /**
+     * The moves of the half turn metric: all turns of the up, front, and right face,
+     * see CubieCube.getMove().
+     */
+    private static final int[] HalfTurnMoves = createMoves(TurnMetric.HalfTurn);
+    /**
+     * The moves of the quarter turn metric: the quarter turns of the up, front, and right face.
+     */
+    private static final int[] QuarterTurnMoves = createMoves(TurnMetric.QuarterTurn);
+
+    private static final int TwistCount = CubieCoordinate.FixedCornerTwist.getCount();
+
+    private static final char[] _permutationMoves =
+            CubieCoordinate.FixedCornerPermutation.createMoveTable(HalfTurnMoves);
+    private static final char[] _twistMoves = CubieCoordinate.FixedCornerTwist.createMoveTable(HalfTurnMoves);
+    /**
+     * The column of each move in the move tables, or -1 if the move is not used.
+     */
+    private static final int[] _moveColumns = createMoveColumns();
+
+    /**
+     * The distances of all states of each metric.
+     */
+    private static final PatternDatabase[] _databases = new PatternDatabase[TurnMetric.values().length];
+
+    /**
+     * Prevents the creation of instances.
+     */
+    private PocketCubeSolver() {
+    }
+
+    /**
+     * Solves the specified 2x2 cube with the least count of moves in the half turn metric.
+     *
+     * @param cube The 2x2 cube that should be solved.
+     * @return A CubeFaceRotationRecords object containing the
+     * moves for the solution.
+     * @throws IllegalArgumentException The cube is not a 2x2 cube or cannot be solved.
+     */
+    public static CubeFaceRotationRecords solve(final Cube cube) {
+        return solve(cube, TurnMetric.HalfTurn);
+    }
+
+    /**
+     * Solves the specified 2x2 cube with the least count of moves.
+     *
+     * In the quarter turn metric each record is a quarter turn, so the count
+     * of records is the length of the solution in both metrics.
+     *
+     * @param cube The 2x2 cube that should be solved.
+     * @param metric The TurnMetric in which the solution is optimal.
+     * @return A CubeFaceRotationRecords object containing the
+     * moves for the solution.
+     * @throws IllegalArgumentException The cube is not a 2x2 cube or cannot be solved.
+     */
+    public static CubeFaceRotationRecords solve(final Cube cube, final TurnMetric metric) {
+        if (cube.getDimension() != 2)
+            throw new IllegalArgumentException("Only 2x2 cubes can be solved.");
+
+        CubieCube cubieCube = CubieCube.fromCornersRelativeToDBL(cube);
+        if (!isSolvable(cubieCube))
+            throw new IllegalArgumentException("The cube cannot be solved.");
+
+        int[] moves = metric == TurnMetric.HalfTurn ? HalfTurnMoves : QuarterTurnMoves;
+        PatternDatabase database = getDatabase(metric);
+        int state = CubieCoordinate.FixedCornerPermutation.getValue(cubieCube) * TwistCount
+                + CubieCoordinate.FixedCornerTwist.getValue(cubieCube);
+
+        CubeFaceRotationRecords records = new CubeFaceRotationRecords();
+        for (int distance = database.getDistance(state); distance > 0; distance--) {
+            for (int move : moves) {
+                int next = move(state, move);
+                if (database.getDistance(next) == distance - 1) {
+                    records.add(CubieCube.getRecord(move));
+                    state = next;
+                    break;
+                }
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Gets the state after a move.
+     *
+     * The index of a state is FixedCornerPermutation * 729 + FixedCornerTwist.
+     *
+     * @param state The index of the state.
+     * @param move The index of the move, see CubieCube.getMove().
+     * @return The index of the state after the move.
+     */
+    private static int move(final int state, final int move) {
+        int column = _moveColumns[move];
+        return _permutationMoves[state / TwistCount * HalfTurnMoves.length + column] * TwistCount
+                + _twistMoves[state % TwistCount * HalfTurnMoves.length + column];
+    }
+
+    /**
+     * Gets the distances of all states in the specified metric and creates
+     * them when they are requested the first time.
+     *
+     * @param metric The TurnMetric of the distances.
+     * @return The PatternDatabase of the metric.
+     */
+    private static synchronized PatternDatabase getDatabase(final TurnMetric metric) {
+        PatternDatabase database = _databases[metric.ordinal()];
+        if (database == null) {
+            database = new PatternDatabase(
+                    CubieCoordinate.FixedCornerPermutation.getCount() * TwistCount,
+                    0,
+                    metric == TurnMetric.HalfTurn ? HalfTurnMoves : QuarterTurnMoves,
+                    PocketCubeSolver::move);
+            _databases[metric.ordinal()] = database;
+        }
+        return database;
+    }
+
+    /**
+     * Gets a value indicating whether the corners of the specified state can
+     * be reached by moves from the solved state.
+     *
+     * @param cubieCube The CubieCube with the state.
+     * @return true if each corner occurs once and the sum of the twists is a
+     * multiple of three.
+     */
+    private static boolean isSolvable(final CubieCube cubieCube) {
+        int corners = 0;
+        int twist = 0;
+        for (int i = 0; i < CubieCube.CornerCount; i++) {
+            corners |= 1 << cubieCube.getCorner(i);
+            twist += cubieCube.getCornerOrientation(i);
+        }
+        return corners == (1 << CubieCube.CornerCount) - 1 && twist % 3 == 0;
+    }
+
+    /**
+     * Creates the moves of the specified metric.
+     *
+     * @param metric The TurnMetric.
+     * @return A new array with the indexes of the moves, see CubieCube.getMove().
+     */
+    private static int[] createMoves(final TurnMetric metric) {
+        CubeColor[] faces = new CubeColor[] { CubeColor.White, CubeColor.Green, CubeColor.Red };
+        int[] quarterTurns = metric == TurnMetric.HalfTurn ? new int[] { 1, 2, 3 } : new int[] { 1, 3 };
+        int[] moves = new int[faces.length * quarterTurns.length];
+        int count = 0;
+        for (CubeColor face : faces) {
+            for (int turns : quarterTurns)
+                moves[count++] = CubieCube.getMove(face, turns);
+        }
+        return moves;
+    }
+
+    /**
+     * Creates the table of the columns of the moves in the move tables.
+     *
+     * @return A new array indexed by the index of the move, see CubieCube.getMove().
+     */
+    private static int[] createMoveColumns() {
+        int[] columns = new int[CubieCube.MoveCount];
+        Arrays.fill(columns, -1);
+        for (int i = 0; i < HalfTurnMoves.length; i++)
+            columns[HalfTurnMoves[i]] = i;
+        return columns;
+    }
+}
@@ -0,0 +1,79 @@
+package de.webkasi.cube.solver;
+
+import java.util.Arrays;
+
+/**
+ * Provides the creation of pruning tables for the searches of the solvers.
+ *
+ * A pruning table contains the count of moves that are at least necessary
+ * to bring a pair of coordinates into its solved state. The index of a pair
+ * is first * second count + second. The tables are filled by a breadth first
+ * search from the solved pair through the move tables of the coordinates,
+ * see CubieCoordinate.createMoveTable().
+ */
+final class PruningTables {
+    /**
+     * Prevents the creation of instances.
+     */
+    private PruningTables() {
+    }
+
+    /**
+     * Creates the pruning table of a single coordinate.
+     *
+     * @param moves The move table of the coordinate.
+     * @param moveCount The count of moves of the move table.
+     * @param solved The value of the solved coordinate.
+     * @return A new array with the distance of each value.
+     */
+    static byte[] create(final char[] moves, final int moveCount, final int solved) {
+        return create(moves, new char[moveCount], 1, moveCount, solved);
+    }
+
+    /**
+     * Creates the pruning table of a pair of coordinates.
+     *
+     * Both move tables must have been created with the same moves.
+     *
+     * @param firstMoves The move table of the first coordinate.
+     * @param secondMoves The move table of the second coordinate.
+     * @param secondCount The count of values of the second coordinate.
+     * @param moveCount The count of moves of the move tables.
+     * @param solved The index of the solved pair.
+     * @return A new array with the distance of each pair.
+     */
+    static byte[] create(
+            final char[] firstMoves,
+            final char[] secondMoves,
+            final int secondCount,
+            final int moveCount,
+            final int solved) {
+        int firstCount = firstMoves.length / moveCount;
+        byte[] table = new byte[firstCount * secondCount];
+        Arrays.fill(table, (byte)-1);
+        table[solved] = 0;
+
+        int filled = 1;
+        for (byte depth = 0; filled < table.length; depth++) {
+            int found = 0;
+            for (int index = 0; index < table.length; index++) {
+                if (table[index] != depth)
+                    continue;
+
+                int first = index / secondCount * moveCount;
+                int second = index % secondCount * moveCount;
+                for (int move = 0; move < moveCount; move++) {
+                    int next = firstMoves[first + move] * secondCount + secondMoves[second + move];
+                    if (table[next] < 0) {
+                        table[next] = (byte)(depth + 1);
+                        found++;
+                    }
+                }
+            }
+            if (found == 0)
+                break;
+            filled += found;
+        }
+        return table;
+    }
+}
@@ -16,16 +16,13 @@ class SecondLayerStep extends AbstractSolutionStep {
 
     /**
      * Initializes a new instance of the SecondLayerStep class with the
-     * specified Cube and CubeFaceRotationsRecords objects.
+     * specified CubeCursor object.
      *
-     * @param cube The Cube to solve. The cube must have the same state
-     *             that it had the the previous steps have been called.
-     * @param records The CubeFaceRotationRecords object receiving the solution steps.
-     *                This must contain the previous steps of the WhiteCrossStep.solve()
-     *                and WhiteCornersStep.solve() methods.
+     * @param cursor The CubeCursor providing the Cube to solve and the
+     *               CubeFaceRotationRecords object receiving the solution steps.
      */
-    private SecondLayerStep(final Cube cube, final CubeFaceRotationRecords records) {
-        super(cube, records, solutions);
+    private SecondLayerStep(final CubeCursor cursor) {
+        super(cursor, solutions);
     }
 
     /**
@@ -43,7 +40,17 @@ class SecondLayerStep extends AbstractSolutionStep {
      *                and WhiteCornersStep.solve() methods previously.
      */
     static void solve(final Cube cube, final CubeFaceRotationRecords records) {
-        SecondLayerStep step = new SecondLayerStep(cube, records);
+        solve(new CubeCursor(cube, records));
+    }
+
+    /**
+     * Creates the middle cube layer for the cube provided by the specified CubeCursor.
+     *
+     * @param cursor The CubeCursor providing the cube with the solved upper layer and
+     *               the CubeFaceRotationRecords object receiving the solution steps.
+     */
+    static void solve(final CubeCursor cursor) {
+        SecondLayerStep step = new SecondLayerStep(cursor);
         step.solve();
     }
 
@@ -39,8 +39,27 @@ public class SpeedCubeNotationInterpreter {
      *              Speedcube.de notation. See https://speedcube.de/notation.php.
      */
     public void addMoves(final String moves) {
-        CubeFaceRotationRecord record = null;
-        CubeOrientation orientation = new CubeOrientation();
+        addMoves(moves, new CubeOrientation());
+    }
+
+    /**
+     * Adds the specified sequence of cube moves to the rotation record
+     * beginning at the specified orientation of the cube.
+     *
+     * This is the same as addMoves(String) with a prefix of cube rotations,
+     * but the orientation is passed directly instead of being interpreted
+     * again. The specified CubeOrientation object is not changed.
+     *
+     * @param moves A String containing a sequence of moves in
+     *              Speedcube.de notation.
+     * @param startOrientation The CubeOrientation at the beginning of the moves.
+     */
+    void addMoves(final String moves, final CubeOrientation startOrientation) {
+        CubeColor face = null;
+        RotationDirection direction = RotationDirection.Clockwise;
+        int countOfTurns = 1;
+        int countOfLayers = 1;
+        CubeOrientation orientation = new CubeOrientation(startOrientation);
 
         RotationDirection cubeRotationDirection = RotationDirection.Clockwise;
         int countOfCubeRotations = 1;
@@ -50,68 +69,49 @@ public class SpeedCubeNotationInterpreter {
             char c = moves.charAt(i);
             switch (c) {
                 case 'U':
-                    record = new CubeFaceRotationRecord(orientation.up);
-                    break;
                 case 'u':
-                    record = new CubeFaceRotationRecord(orientation.up, 2);
-                    break;
                 case 'L':
-                    record = new CubeFaceRotationRecord(orientation.left);
-                    break;
                 case 'l':
-                    record = new CubeFaceRotationRecord(orientation.left, 2);
-                    break;
                 case 'F':
-                    record = new CubeFaceRotationRecord(orientation.front);
-                    break;
                 case 'f':
-                    record = new CubeFaceRotationRecord(orientation.front, 2);
-                    break;
                 case 'R':
-                    record = new CubeFaceRotationRecord(orientation.right);
-                    break;
                 case 'r':
-                    record = new CubeFaceRotationRecord(orientation.right, 2);
-                    break;
                 case 'B':
-                    record = new CubeFaceRotationRecord(orientation.back);
-                    break;
                 case 'b':
-                    record = new CubeFaceRotationRecord(orientation.back, 2);
-                    break;
                 case 'D':
-                    record = new CubeFaceRotationRecord(orientation.down);
-                    break;
                 case 'd':
-                    record = new CubeFaceRotationRecord(orientation.down, 2);
+                    face = getFace(Character.toUpperCase(c), orientation);
+                    direction = RotationDirection.Clockwise;
+                    countOfTurns = 1;
+                    countOfLayers = Character.isLowerCase(c) ? 2 : 1;
                     break;
                 case 'M':
                     i = middle(moves, ++i, orientation);
-                    record = null;
+                    face = null;
                     break;
                 case 'E':
                     i = equator(moves, ++i, orientation);
-                    record = null;
+                    face = null;
                     break;
                 case 'S':
                     i = stand(moves, ++i, orientation);
-                    record = null;
+                    face = null;
                     break;
                 case '\'':
-                    if (record != null)
-                        record.setDirection(RotationDirection.Counterclockwise);
+                    if (face != null)
+                        direction = RotationDirection.Counterclockwise;
                     else
                         cubeRotationDirection = RotationDirection.Counterclockwise;
                     break;
                 case '2':
-                    if (record != null)
-                        _records.add(record);
+                    if (face != null)
+                        countOfTurns = 2;
                     else
                         countOfCubeRotations = 2;
                     break;
                 case 'w':
-                    if (record != null)
-                        record.setCountOfLayers(2);
+                    if (face != null)
+                        countOfLayers = 2;
                     break;
                 case 'x':
                 case 'y':
@@ -119,9 +119,9 @@ public class SpeedCubeNotationInterpreter {
                     cubeRotationAxis = c;
                     break;
                 case ' ':
-                    if (record != null) {
-                        _records.add(record);
-                        record = null;
+                    if (face != null) {
+                        addRecord(face, direction, countOfLayers, countOfTurns);
+                        face = null;
                     }
                     else if (cubeRotationAxis != '\0'){
                         orientation.rotate(cubeRotationAxis, cubeRotationDirection, countOfCubeRotations);
@@ -132,11 +132,50 @@ public class SpeedCubeNotationInterpreter {
                     break;
             }
         }
-        if (record != null) {
-            _records.add(record);
+        addRecord(face, direction, countOfLayers, countOfTurns);
+    }
+
+    /**
+     * Gets the face of the cube that is rotated by the specified move.
+     *
+     * @param move The upper case letter of the move: U, L, F, R, B, or D.
+     * @param orientation The current CubeOrientation.
+     * @return The CubeColor of the face at the position of the move.
+     */
+    private static CubeColor getFace(final char move, final CubeOrientation orientation) {
+        switch (move) {
+            case 'U':
+                return orientation.up;
+            case 'L':
+                return orientation.left;
+            case 'F':
+                return orientation.front;
+            case 'R':
+                return orientation.right;
+            case 'B':
+                return orientation.back;
+            default:
+                return orientation.down;
         }
     }
 
+    /**
+     * Adds the shared record of a face move to the records.
+     *
+     * @param face The CubeColor of the face to rotate, or null if there is no pending move.
+     * @param direction The RotationDirection value specifying the rotation direction.
+     * @param countOfLayers The count of layers to rotate.
+     * @param countOfTurns 1 for a quarter turn, 2 for a half turn.
+     */
+    private void addRecord(
+            final CubeColor face,
+            final RotationDirection direction,
+            final int countOfLayers,
+            final int countOfTurns) {
+        if (face != null)
+            _records.add(CubeFaceRotationRecord.valueOf(face, direction, 0, countOfLayers, countOfTurns));
+    }
+
     /**
      * Moves the vertical middle layer around the x axis.
      *
@@ -218,13 +257,12 @@ public class SpeedCubeNotationInterpreter {
             }
         }
 
-        CubeFaceRotationRecord record = new CubeFaceRotationRecord(
+        _records.add(CubeFaceRotationRecord.valueOf(
                 face,
                 reverse ? RotationDirection.Counterclockwise : RotationDirection.Clockwise,
                 1,
-                1);
-        for (int c = 0; c < count; c++)
-            _records.add(record);
+                1,
+                count));
         return i - 1;
     }
 }
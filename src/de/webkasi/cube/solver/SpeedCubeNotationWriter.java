@@ -90,7 +90,7 @@ class SpeedCubeNotationWriter {
 
     /**
      * Writes the character '2' into the string result if the
-     * current record folows again.
+     * record is a half turn or the current record folows again.
      *
      * The index of records is incremented if the next record conatins the same
      * data agin.
@@ -99,6 +99,10 @@ class SpeedCubeNotationWriter {
      *
      */
     private void writeTwoIfDoubleRotation(final CubeFaceRotationRecord record)  {
+        if (record.isHalfTurn()) {
+            _builder.append('2');
+            return;
+        }
         if (_records.size() <= _recordIndex + 1)
             return;
 
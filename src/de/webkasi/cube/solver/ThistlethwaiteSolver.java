@@ -0,0 +1,410 @@
+package de.webkasi.cube.solver;
+
+import de.webkasi.cube.*;
+
+import java.util.Arrays;
+
+/**
+ * Provides a solution for a given 3x3 Cube with the four-phase algorithm
+ * of Morwen Thistlethwaite.
+ *
+ * Each phase brings the cube into a smaller subgroup, and each subgroup
+ * allows fewer moves:
+ *
+ * G1 = &lt;U, D, L, R, F2, B2&gt;: all edges are oriented.
+ * G2 = &lt;U, D, L2, R2, F2, B2&gt;: all corners are oriented, and the slice
+ * edges are in the slice between the up and the down layer.
+ * G3 = &lt;U2, D2, L2, R2, F2, B2&gt;: each edge is in its own slice, and the
+ * corners are in a permutation that can be reached by half turns.
+ * The last phase solves the cube with half turns only.
+ *
+ * Each phase has a table with the exact distance of each state of the
+ * phase to the next subgroup, so the solver only follows a move that
+ * decreases the distance, and no search is necessary. All tables together
+ * need less than 3 MB. The tables are created once when the class is used
+ * the first time. The solutions have about 30 moves, with half turns
+ * counted as one move.
+ */
+public class ThistlethwaiteSolver {
+    /**
+     * The moves of the first phase: all quarter and half turns, see CubieCube.getMove().
+     */
+    private static final int[] Phase1Moves = getMoves(new int[] { 1, 2, 3 }, new int[] { 1, 2, 3 });
+    /**
+     * The moves of the second phase: the quarter turns of U, D, L, and R and all half turns.
+     */
+    private static final int[] Phase2Moves = getMoves(new int[] { 1, 2, 3 }, new int[] { 1, 2, 3 }, new int[] { 2 });
+    /**
+     * The moves of the third phase: the quarter turns of U and D and all half turns.
+     */
+    private static final int[] Phase3Moves = getMoves(new int[] { 1, 2, 3 }, new int[] { 2 }, new int[] { 2 });
+    /**
+     * The moves of the last phase: all half turns.
+     */
+    private static final int[] Phase4Moves = getMoves(new int[] { 2 }, new int[] { 2 }, new int[] { 2 });
+
+    private static final int SliceCount = CubieCoordinate.Slice.getCount();
+    private static final int MiddleSliceCount = CubieCoordinate.MiddleSlice.getCount();
+    private static final int LayerPermutationsCount = CubieCoordinate.LayerPermutations.getCount();
+
+    private static final char[] _flipMoves = CubieCoordinate.Flip.createMoveTable(Phase1Moves);
+    private static final byte[] _flipDistances = PruningTables.create(_flipMoves, Phase1Moves.length, 0);
+
+    private static final char[] _twistMoves = CubieCoordinate.Twist.createMoveTable(Phase2Moves);
+    private static final char[] _sliceMoves = CubieCoordinate.Slice.createMoveTable(Phase2Moves);
+    private static final byte[] _twistSliceDistances = PruningTables.create(
+            _twistMoves, _sliceMoves, SliceCount, Phase2Moves.length, CubieCoordinate.SliceSolved);
+
+    /**
+     * The CornerPermutation values that can be reached by half turns, indexed
+     * by the corner index of the last phase. The first value is 0.
+     */
+    private static final int[] _halfTurnCorners = createHalfTurnCorners();
+    /**
+     * The corner class of each CornerPermutation value, see createCornerClasses().
+     */
+    private static final short[] _cornerClasses = createCornerClasses();
+    private static final char[] _cornerClassMoves = createCornerClassMoves();
+    private static final char[] _middleSliceMoves = CubieCoordinate.MiddleSlice.createMoveTable(Phase3Moves);
+    private static final byte[] _cornerClassDistances = PruningTables.create(
+            _cornerClassMoves, _middleSliceMoves, MiddleSliceCount, Phase3Moves.length,
+            _cornerClasses[0] * MiddleSliceCount + CubieCoordinate.MiddleSliceSolved);
+
+    private static final char[] _halfTurnCornerMoves = createHalfTurnCornerMoves();
+    private static final char[] _layerPermutationsMoves =
+            CubieCoordinate.LayerPermutations.createMoveTable(Phase4Moves);
+    private static final byte[] _halfTurnDistances = PruningTables.create(
+            _halfTurnCornerMoves, _layerPermutationsMoves, LayerPermutationsCount, Phase4Moves.length, 0);
+
+    /**
+     * The state of the cube after the moves of the finished phases.
+     */
+    private final CubieCube _cube;
+    /**
+     * The moves of the solution, see CubieCube.getMove().
+     */
+    private int[] _moves = new int[64];
+    private int _length;
+    /**
+     * The count of moves of the solution after each phase.
+     */
+    private final int[] _phaseLengths = new int[4];
+
+    /**
+     * Initializes a new instance of the ThistlethwaiteSolver class.
+     *
+     * @param cube The cube that should be solved.
+     */
+    private ThistlethwaiteSolver(final Cube cube) {
+        _cube = new CubieCube(cube);
+        if (!_cube.isSolvable())
+            throw new IllegalArgumentException("The cube cannot be solved.");
+    }
+
+    /**
+     * Solves the specified cube and describes the solution
+     * in the returned CubeFaceRotationRecords object move by move.
+     *
+     * @param cube The 3x3 cube that should be solved.
+     * @return A CubeFaceRotationRecords object containing the
+     * moves for the solution.
+     * @throws IllegalArgumentException The cube is not a 3x3 cube or cannot be solved.
+     */
+    public static CubeFaceRotationRecords solve(final Cube cube) {
+        ThistlethwaiteSolver solver = new ThistlethwaiteSolver(cube);
+        solver.solve();
+        return solver.getRecords();
+    }
+
+    /**
+     * Solves the specified cube and gets the count of moves of the solution
+     * after each phase, so the state after each phase can be checked.
+     *
+     * @param cube The 3x3 cube that should be solved.
+     * @return A new array with the count of moves after each of the four phases.
+     * @throws IllegalArgumentException The cube is not a 3x3 cube or cannot be solved.
+     */
+    static int[] getPhaseLengths(final Cube cube) {
+        ThistlethwaiteSolver solver = new ThistlethwaiteSolver(cube);
+        solver.solve();
+        return solver._phaseLengths.clone();
+    }
+
+    /**
+     * Gets the size of all tables of the phases.
+     *
+     * @return The count of bytes of the move and the distance tables.
+     */
+    static int getTableSize() {
+        char[][] moveTables = {
+                _flipMoves, _twistMoves, _sliceMoves, _cornerClassMoves,
+                _middleSliceMoves, _halfTurnCornerMoves, _layerPermutationsMoves };
+        byte[][] distanceTables = {
+                _flipDistances, _twistSliceDistances, _cornerClassDistances, _halfTurnDistances };
+        int size = 4 * _halfTurnCorners.length + 2 * _cornerClasses.length;
+        for (char[] table : moveTables)
+            size += 2 * table.length;
+        for (byte[] table : distanceTables)
+            size += table.length;
+        return size;
+    }
+
+    /**
+     * Solves the cube phase by phase.
+     */
+    private void solve() {
+        solvePhase(
+                CubieCoordinate.Flip.getValue(_cube), _flipMoves,
+                0, new char[Phase1Moves.length], 1,
+                _flipDistances, Phase1Moves);
+        _phaseLengths[0] = _length;
+        solvePhase(
+                CubieCoordinate.Twist.getValue(_cube), _twistMoves,
+                CubieCoordinate.Slice.getValue(_cube), _sliceMoves, SliceCount,
+                _twistSliceDistances, Phase2Moves);
+        _phaseLengths[1] = _length;
+        solvePhase(
+                _cornerClasses[CubieCoordinate.CornerPermutation.getValue(_cube)], _cornerClassMoves,
+                CubieCoordinate.MiddleSlice.getValue(_cube), _middleSliceMoves, MiddleSliceCount,
+                _cornerClassDistances, Phase3Moves);
+        _phaseLengths[2] = _length;
+        solvePhase(
+                getHalfTurnCorner(CubieCoordinate.CornerPermutation.getValue(_cube)), _halfTurnCornerMoves,
+                CubieCoordinate.LayerPermutations.getValue(_cube), _layerPermutationsMoves, LayerPermutationsCount,
+                _halfTurnDistances, Phase4Moves);
+        _phaseLengths[3] = _length;
+    }
+
+    /**
+     * Adds the moves of one phase.
+     *
+     * The distance table of the phase contains the exact count of moves of
+     * each pair of coordinates to the next subgroup, so each step takes a
+     * move that decreases the distance by one. A move of another face than
+     * the previous move is preferred, so fewer moves must be merged.
+     *
+     * @param first The value of the first coordinate.
+     * @param firstMoves The move table of the first coordinate.
+     * @param second The value of the second coordinate.
+     * @param secondMoves The move table of the second coordinate.
+     * @param secondCount The count of values of the second coordinate.
+     * @param distances The distance table of the pairs of coordinates.
+     * @param moves The moves of the phase.
+     */
+    private void solvePhase(
+            int first,
+            final char[] firstMoves,
+            int second,
+            final char[] secondMoves,
+            final int secondCount,
+            final byte[] distances,
+            final int[] moves) {
+        int distance = distances[first * secondCount + second];
+        while (distance > 0) {
+            int previousFace = _length > 0 ? _moves[_length - 1] / 3 : -1;
+            int best = -1;
+            for (int i = 0; i < moves.length; i++) {
+                int next = firstMoves[first * moves.length + i] * secondCount + secondMoves[second * moves.length + i];
+                if (distances[next] == distance - 1) {
+                    best = i;
+                    if (moves[i] / 3 != previousFace)
+                        break;
+                }
+            }
+
+            int nextFirst = firstMoves[first * moves.length + best];
+            second = secondMoves[second * moves.length + best];
+            first = nextFirst;
+            distance--;
+            addMove(moves[best]);
+        }
+    }
+
+    /**
+     * Applies a move to the cube and adds it to the solution.
+     *
+     * A move of the same face as the previous move is merged with it.
+     *
+     * @param move The index of the move.
+     */
+    private void addMove(final int move) {
+        _cube.move(move);
+        if (_length > 0 && _moves[_length - 1] / 3 == move / 3) {
+            int merged = CubieCube.mergeMoves(_moves[--_length], move);
+            if (merged >= 0)
+                _moves[_length++] = merged;
+            return;
+        }
+
+        if (_length == _moves.length)
+            _moves = Arrays.copyOf(_moves, _length * 2);
+        _moves[_length++] = move;
+    }
+
+    /**
+     * Gets the records of the moves of the solution.
+     *
+     * @return A new CubeFaceRotationRecords object.
+     */
+    private CubeFaceRotationRecords getRecords() {
+        CubeFaceRotationRecords records = new CubeFaceRotationRecords();
+        for (int i = 0; i < _length; i++)
+            records.add(CubieCube.getRecord(_moves[i]));
+        return records;
+    }
+
+    /**
+     * Gets the corner index of the last phase of the specified corner permutation.
+     *
+     * @param corners The CornerPermutation value. It must be reachable by half turns.
+     * @return The index in _halfTurnCorners.
+     */
+    private static int getHalfTurnCorner(final int corners) {
+        int index = 0;
+        while (_halfTurnCorners[index] != corners)
+            index++;
+        return index;
+    }
+
+    /**
+     * Gets the indexes of the moves with the specified quarter turns.
+     *
+     * @param upDown The quarter turns of the up and the down face.
+     * @param leftRight The quarter turns of the left and the right face.
+     * @param frontBack The quarter turns of the front and the back face.
+     * @return A new array with the indexes of the moves, see CubieCube.getMove().
+     */
+    private static int[] getMoves(final int[] upDown, final int[] leftRight, final int[] frontBack) {
+        int[] moves = new int[2 * (upDown.length + leftRight.length + frontBack.length)];
+        int count = 0;
+        for (CubeColor face : CubeColor.values()) {
+            int[] quarterTurns = face == CubeColor.White || face == CubeColor.Yellow ? upDown
+                    : face == CubeColor.Orange || face == CubeColor.Red ? leftRight
+                    : frontBack;
+            for (int turns : quarterTurns)
+                moves[count++] = CubieCube.getMove(face, turns);
+        }
+        return moves;
+    }
+
+    /**
+     * Gets the indexes of the moves with the specified quarter turns for the
+     * up and down faces and for all other faces.
+     *
+     * @param upDown The quarter turns of the up and the down face.
+     * @param others The quarter turns of all other faces.
+     * @return A new array with the indexes of the moves, see CubieCube.getMove().
+     */
+    private static int[] getMoves(final int[] upDown, final int[] others) {
+        return getMoves(upDown, others, others);
+    }
+
+    /**
+     * Creates the list of the corner permutations that can be reached by
+     * half turns with a breadth first search.
+     *
+     * @return A new array with the 96 CornerPermutation values.
+     */
+    private static int[] createHalfTurnCorners() {
+        int[] corners = new int[CubieCoordinate.CornerPermutation.getCount()];
+        boolean[] found = new boolean[corners.length];
+        found[0] = true;
+        int count = 1;
+        CubieCube cube = new CubieCube();
+        for (int i = 0; i < count; i++) {
+            for (int move : Phase4Moves) {
+                CubieCoordinate.CornerPermutation.setValue(cube, corners[i]);
+                cube.move(move);
+                int next = CubieCoordinate.CornerPermutation.getValue(cube);
+                if (!found[next]) {
+                    found[next] = true;
+                    corners[count++] = next;
+                }
+            }
+        }
+        return Arrays.copyOf(corners, count);
+    }
+
+    /**
+     * Creates the corner classes of the third phase.
+     *
+     * Two corner permutations are in the same class if one of them is reached
+     * from the other one by a permutation of _halfTurnCorners done before.
+     * The moves of the third phase then bring both into _halfTurnCorners or
+     * none of them, so the search only needs the 420 classes instead of all
+     * permutations.
+     *
+     * @return A new array with the class of each CornerPermutation value.
+     */
+    private static short[] createCornerClasses() {
+        short[] classes = new short[CubieCoordinate.CornerPermutation.getCount()];
+        Arrays.fill(classes, (short)-1);
+        CubieCube[] halfTurnCubes = new CubieCube[_halfTurnCorners.length];
+        for (int i = 0; i < halfTurnCubes.length; i++) {
+            halfTurnCubes[i] = new CubieCube();
+            CubieCoordinate.CornerPermutation.setValue(halfTurnCubes[i], _halfTurnCorners[i]);
+        }
+
+        short count = 0;
+        CubieCube corners = new CubieCube();
+        CubieCube cube = new CubieCube();
+        for (int value = 0; value < classes.length; value++) {
+            if (classes[value] >= 0)
+                continue;
+
+            CubieCoordinate.CornerPermutation.setValue(corners, value);
+            for (CubieCube halfTurnCube : halfTurnCubes) {
+                cube.setCubieCube(halfTurnCube);
+                cube.multiply(corners);
+                classes[CubieCoordinate.CornerPermutation.getValue(cube)] = count;
+            }
+            count++;
+        }
+        return classes;
+    }
+
+    /**
+     * Creates the move table of the corner classes for the moves of the third phase.
+     *
+     * @return The move table, see CubieCoordinate.createMoveTable().
+     */
+    private static char[] createCornerClassMoves() {
+        int classCount = CubieCoordinate.CornerPermutation.getCount() / _halfTurnCorners.length;
+        char[] table = new char[classCount * Phase3Moves.length];
+        boolean[] done = new boolean[classCount];
+        CubieCube cube = new CubieCube();
+        for (int value = 0; value < _cornerClasses.length; value++) {
+            int cornerClass = _cornerClasses[value];
+            if (done[cornerClass])
+                continue;
+
+            done[cornerClass] = true;
+            for (int i = 0; i < Phase3Moves.length; i++) {
+                CubieCoordinate.CornerPermutation.setValue(cube, value);
+                cube.move(Phase3Moves[i]);
+                table[cornerClass * Phase3Moves.length + i] =
+                        (char)_cornerClasses[CubieCoordinate.CornerPermutation.getValue(cube)];
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Creates the move table of the corner indexes of the last phase.
+     *
+     * @return The move table, see CubieCoordinate.createMoveTable().
+     */
+    private static char[] createHalfTurnCornerMoves() {
+        char[] table = new char[_halfTurnCorners.length * Phase4Moves.length];
+        CubieCube cube = new CubieCube();
+        for (int index = 0; index < _halfTurnCorners.length; index++) {
+            for (int i = 0; i < Phase4Moves.length; i++) {
+                CubieCoordinate.CornerPermutation.setValue(cube, _halfTurnCorners[index]);
+                cube.move(Phase4Moves[i]);
+                table[index * Phase4Moves.length + i] =
+                        (char)getHalfTurnCorner(CubieCoordinate.CornerPermutation.getValue(cube));
+            }
+        }
+        return table;
+    }
+}
@@ -0,0 +1,15 @@
+package de.webkasi.cube.solver;
+
+/**
+ * Determines how the moves of a solution are counted.
+ */
+public enum TurnMetric {
+    /**
+     * Each quarter turn and each half turn of a face is one move.
+     */
+    HalfTurn,
+    /**
+     * Each quarter turn of a face is one move, a half turn counts as two moves.
+     */
+    QuarterTurn
+}
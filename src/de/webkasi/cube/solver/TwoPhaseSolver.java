@@ -0,0 +1,352 @@
+package de.webkasi.cube.solver;
+
+import de.webkasi.cube.*;
+
+/**
+ * Provides a short solution for a given 3x3 Cube with the two-phase
+ * algorithm of Herbert Kociemba.
+ *
+ * The first phase brings the cube into the subgroup that is generated by
+ * the moves U, D, R2, L2, F2, and B2: all corners and edges are oriented,
+ * and the slice edges are in the slice between the up and the down layer.
+ * The second phase solves the cube with the moves of this subgroup only.
+ * Each phase is an iterative deepening search on CubieCoordinate values,
+ * which are moved with tables and pruned with the distances of pairs of
+ * coordinates from the solved state, see PruningTables.
+ *
+ * The search returns the first solution with at most the requested count of
+ * moves, usually within a few milliseconds for 22 moves. The tables are
+ * created once when the class is used the first time.
+ */
+public class TwoPhaseSolver {
+    /**
+     * The default maximum count of moves of a solution.
+     */
+    public static final int DefaultMaxLength = 22;
+    /**
+     * The count of moves within which both phases always find a solution:
+     * 12 moves of the first phase and 18 moves of the second phase.
+     */
+    private static final int GuaranteedMaxLength = 30;
+
+    /**
+     * The moves of the first phase: all quarter and half turns, see CubieCube.getMove().
+     */
+    private static final int[] Phase1Moves = createPhase1Moves();
+    /**
+     * The moves of the second phase: all turns of U and D, and the half
+     * turns of the other faces.
+     */
+    private static final int[] Phase2Moves = new int[] {
+            CubieCube.getMove(CubeColor.White, 1),
+            CubieCube.getMove(CubeColor.White, 2),
+            CubieCube.getMove(CubeColor.White, 3),
+            CubieCube.getMove(CubeColor.Yellow, 1),
+            CubieCube.getMove(CubeColor.Yellow, 2),
+            CubieCube.getMove(CubeColor.Yellow, 3),
+            CubieCube.getMove(CubeColor.Orange, 2),
+            CubieCube.getMove(CubeColor.Green, 2),
+            CubieCube.getMove(CubeColor.Red, 2),
+            CubieCube.getMove(CubeColor.Blue, 2)
+    };
+
+    private static final int SliceCount = CubieCoordinate.Slice.getCount();
+    private static final int SlicePermutationCount = CubieCoordinate.SlicePermutation.getCount();
+
+    private static final char[] _twistMoves = CubieCoordinate.Twist.createMoveTable(Phase1Moves);
+    private static final char[] _flipMoves = CubieCoordinate.Flip.createMoveTable(Phase1Moves);
+    private static final char[] _sliceMoves = CubieCoordinate.Slice.createMoveTable(Phase1Moves);
+    private static final char[] _cornerMoves = CubieCoordinate.CornerPermutation.createMoveTable(Phase2Moves);
+    private static final char[] _edgeMoves = CubieCoordinate.EdgePermutation.createMoveTable(Phase2Moves);
+    private static final char[] _slicePermutationMoves =
+            CubieCoordinate.SlicePermutation.createMoveTable(Phase2Moves);
+
+    private static final byte[] _twistSlicePruning = PruningTables.create(
+            _twistMoves, _sliceMoves, SliceCount, Phase1Moves.length, CubieCoordinate.SliceSolved);
+    private static final byte[] _flipSlicePruning = PruningTables.create(
+            _flipMoves, _sliceMoves, SliceCount, Phase1Moves.length, CubieCoordinate.SliceSolved);
+    private static final byte[] _cornerSlicePruning = PruningTables.create(
+            _cornerMoves, _slicePermutationMoves, SlicePermutationCount, Phase2Moves.length, 0);
+    private static final byte[] _edgeSlicePruning = PruningTables.create(
+            _edgeMoves, _slicePermutationMoves, SlicePermutationCount, Phase2Moves.length, 0);
+
+    /**
+     * The state of the cube that is solved.
+     */
+    private final CubieCube _start;
+    /**
+     * The state at the beginning of the second phase.
+     */
+    private final CubieCube _phase2Start = new CubieCube();
+    private final int _maxLength;
+    /**
+     * The moves of the current search path, see CubieCube.getMove().
+     */
+    private final int[] _moves;
+    /**
+     * The count of moves of the solution that has been found.
+     */
+    private int _length;
+
+    /**
+     * Initializes a new instance of the TwoPhaseSolver class.
+     *
+     * @param cube The cube that should be solved.
+     * @param maxLength The maximum count of moves of the solution.
+     */
+    private TwoPhaseSolver(final Cube cube, final int maxLength) {
+        _start = new CubieCube(cube);
+        if (!_start.isSolvable())
+            throw new IllegalArgumentException("The cube cannot be solved.");
+
+        _maxLength = maxLength;
+        _moves = new int[maxLength];
+    }
+
+    /**
+     * Solves the specified cube and describes the solution
+     * in the returned CubeFaceRotationRecords object move by move.
+     *
+     * The solution has at most DefaultMaxLength moves if there is such a
+     * solution. Otherwise the maximum count of moves is increased until a
+     * solution is found, so unlike solve(Cube, int) this method never returns
+     * null and can replace LayerByLayerSolver.solve(). Each half turn is one
+     * move.
+     *
+     * @param cube The 3x3 cube that should be solved.
+     * @return A CubeFaceRotationRecords object containing the
+     * moves for the solution.
+     * @throws IllegalArgumentException The cube is not a 3x3 cube or cannot be solved.
+     */
+    public static CubeFaceRotationRecords solve(final Cube cube) {
+        for (int maxLength = DefaultMaxLength; maxLength <= GuaranteedMaxLength; maxLength++) {
+            CubeFaceRotationRecords records = solve(cube, maxLength);
+            if (records != null)
+                return records;
+        }
+        throw new IllegalStateException("No solution has been found.");
+    }
+
+    /**
+     * Solves the specified cube with at most the specified count of moves.
+     *
+     * Counts below 20 may take a very long time to search, because the
+     * search must then find a nearly optimal solution.
+     *
+     * @param cube The 3x3 cube that should be solved.
+     * @param maxLength The maximum count of moves of the solution.
+     * @return A CubeFaceRotationRecords object containing the moves for the
+     * solution, or null if there is no solution with at most maxLength moves.
+     * @throws IllegalArgumentException The cube is not a 3x3 cube or cannot be solved.
+     */
+    public static CubeFaceRotationRecords solve(final Cube cube, final int maxLength) {
+        if (maxLength < 0)
+            throw new IllegalArgumentException("The maximum length must not be negative.");
+
+        TwoPhaseSolver solver = new TwoPhaseSolver(cube, maxLength);
+        return solver.solve() ? solver.getRecords() : null;
+    }
+
+    /**
+     * Searches the first solution with at most _maxLength moves.
+     *
+     * @return true if a solution has been found.
+     */
+    private boolean solve() {
+        int twist = CubieCoordinate.Twist.getValue(_start);
+        int flip = CubieCoordinate.Flip.getValue(_start);
+        int slice = CubieCoordinate.Slice.getValue(_start);
+        int distance = getPhase1Distance(twist, flip, slice);
+
+        for (int length = distance; length <= _maxLength; length++) {
+            if (searchPhase1(twist, flip, slice, 0, length))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Searches the moves of the first phase with the specified count of remaining moves.
+     *
+     * @param twist The Twist coordinate of the current state.
+     * @param flip The Flip coordinate of the current state.
+     * @param slice The Slice coordinate of the current state.
+     * @param depth The count of moves of the current search path.
+     * @param remaining The count of moves that must be added in the first phase.
+     * @return true if a complete solution has been found.
+     */
+    private boolean searchPhase1(
+            final int twist,
+            final int flip,
+            final int slice,
+            final int depth,
+            final int remaining) {
+        if (remaining == 0)
+            return (depth == 0 || !isPhase2Move(_moves[depth - 1])) && startPhase2(depth);
+
+        for (int i = 0; i < Phase1Moves.length; i++) {
+            int move = Phase1Moves[i];
+            if (isRedundant(move, depth))
+                continue;
+
+            int nextTwist = _twistMoves[twist * Phase1Moves.length + i];
+            int nextFlip = _flipMoves[flip * Phase1Moves.length + i];
+            int nextSlice = _sliceMoves[slice * Phase1Moves.length + i];
+            if (getPhase1Distance(nextTwist, nextFlip, nextSlice) >= remaining)
+                continue;
+
+            _moves[depth] = move;
+            if (searchPhase1(nextTwist, nextFlip, nextSlice, depth + 1, remaining - 1))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Searches the second phase after the specified moves of the first phase.
+     *
+     * @param phase1Length The count of moves of the first phase.
+     * @return true if a complete solution has been found.
+     */
+    private boolean startPhase2(final int phase1Length) {
+        _phase2Start.setCubieCube(_start);
+        for (int i = 0; i < phase1Length; i++)
+            _phase2Start.move(_moves[i]);
+
+        int corners = CubieCoordinate.CornerPermutation.getValue(_phase2Start);
+        int edges = CubieCoordinate.EdgePermutation.getValue(_phase2Start);
+        int slice = CubieCoordinate.SlicePermutation.getValue(_phase2Start);
+        int distance = getPhase2Distance(corners, edges, slice);
+
+        for (int length = distance; phase1Length + length <= _maxLength; length++) {
+            if (searchPhase2(corners, edges, slice, phase1Length, length)) {
+                _length = phase1Length + length;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Searches the moves of the second phase with the specified count of remaining moves.
+     *
+     * @param corners The CornerPermutation coordinate of the current state.
+     * @param edges The EdgePermutation coordinate of the current state.
+     * @param slice The SlicePermutation coordinate of the current state.
+     * @param depth The count of moves of the current search path.
+     * @param remaining The count of moves that must be added.
+     * @return true if the cube is solved after the remaining moves.
+     */
+    private boolean searchPhase2(
+            final int corners,
+            final int edges,
+            final int slice,
+            final int depth,
+            final int remaining) {
+        if (remaining == 0)
+            return corners == 0 && edges == 0 && slice == 0;
+
+        for (int i = 0; i < Phase2Moves.length; i++) {
+            int move = Phase2Moves[i];
+            if (isRedundant(move, depth))
+                continue;
+
+            int nextCorners = _cornerMoves[corners * Phase2Moves.length + i];
+            int nextEdges = _edgeMoves[edges * Phase2Moves.length + i];
+            int nextSlice = _slicePermutationMoves[slice * Phase2Moves.length + i];
+            if (getPhase2Distance(nextCorners, nextEdges, nextSlice) >= remaining)
+                continue;
+
+            _moves[depth] = move;
+            if (searchPhase2(nextCorners, nextEdges, nextSlice, depth + 1, remaining - 1))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets a value indicating whether the specified move can be skipped after
+     * the previous move of the search path.
+     *
+     * A move of the same face can be combined with the previous move. Moves of
+     * opposite faces commute, so they are only searched in one order.
+     *
+     * @param move The index of the move.
+     * @param depth The index of the move in the search path.
+     * @return true if the move can be skipped.
+     */
+    private boolean isRedundant(final int move, final int depth) {
+        if (depth == 0)
+            return false;
+
+        int face = move / 3;
+        int previousFace = _moves[depth - 1] / 3;
+        return face == previousFace || (face == CubieCube.getOppositeFace(previousFace) && face < previousFace);
+    }
+
+    /**
+     * Gets the records of the moves of the solution.
+     *
+     * @return A new CubeFaceRotationRecords object.
+     */
+    private CubeFaceRotationRecords getRecords() {
+        CubeFaceRotationRecords records = new CubeFaceRotationRecords();
+        for (int i = 0; i < _length; i++)
+            records.add(CubieCube.getRecord(_moves[i]));
+        return records;
+    }
+
+    /**
+     * Gets the minimum count of moves of the first phase.
+     *
+     * @param twist The Twist coordinate.
+     * @param flip The Flip coordinate.
+     * @param slice The Slice coordinate.
+     * @return The count of moves that are at least necessary.
+     */
+    private static int getPhase1Distance(final int twist, final int flip, final int slice) {
+        return Math.max(
+                _twistSlicePruning[twist * SliceCount + slice],
+                _flipSlicePruning[flip * SliceCount + slice]);
+    }
+
+    /**
+     * Gets the minimum count of moves of the second phase.
+     *
+     * @param corners The CornerPermutation coordinate.
+     * @param edges The EdgePermutation coordinate.
+     * @param slice The SlicePermutation coordinate.
+     * @return The count of moves that are at least necessary.
+     */
+    private static int getPhase2Distance(final int corners, final int edges, final int slice) {
+        return Math.max(
+                _cornerSlicePruning[corners * SlicePermutationCount + slice],
+                _edgeSlicePruning[edges * SlicePermutationCount + slice]);
+    }
+
+    /**
+     * Gets a value indicating whether the specified move is a move of the second phase.
+     *
+     * @param move The index of the move.
+     * @return true if the move is in Phase2Moves.
+     */
+    private static boolean isPhase2Move(final int move) {
+        for (int phase2Move : Phase2Moves) {
+            if (phase2Move == move)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Creates the indexes of all moves.
+     *
+     * @return A new array with the values 0 to CubieCube.MoveCount - 1.
+     */
+    private static int[] createPhase1Moves() {
+        int[] moves = new int[CubieCube.MoveCount];
+        for (int i = 0; i < moves.length; i++)
+            moves[i] = i;
+        return moves;
+    }
+}
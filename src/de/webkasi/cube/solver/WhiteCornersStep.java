@@ -14,17 +14,13 @@ import de.webkasi.cube.*;
 final class WhiteCornersStep extends AbstractSolutionStep {
     /**
      * Initializes a new instance of the WhiteCornersStep class with the
-     * specified Cube and CubeFaceRotationsRecords objects.
+     * specified CubeCursor object.
      *
-     * @param cube The Cube to solve. The cube may be completely scrambled.
-     *             There is is no need of any previous step to pass a Cube
-     *             to this method.
-     * @param records The CubeFaceRotationRecords object receiving the solution steps.
-     *                This must contain the previous steps of the WhiteCrossStep.solve()
-     *                method.
+     * @param cursor The CubeCursor providing the Cube to solve and the
+     *               CubeFaceRotationRecords object receiving the solution steps.
      */
-    private WhiteCornersStep(final Cube cube, final CubeFaceRotationRecords records) {
-        super(cube, records, solutions);
+    private WhiteCornersStep(final CubeCursor cursor) {
+        super(cursor, solutions);
     }
 
     /**
@@ -42,7 +38,17 @@ final class WhiteCornersStep extends AbstractSolutionStep {
      *                WhiteCrossStep.solve().
      */
     public static void solve(final Cube cube, final CubeFaceRotationRecords records) {
-        WhiteCornersStep step = new WhiteCornersStep(cube, records);
+        solve(new CubeCursor(cube, records));
+    }
+
+    /**
+     * Creates the upper cube layer for the cube provided by the specified CubeCursor.
+     *
+     * @param cursor The CubeCursor providing the cube with the white cross and the
+     *               CubeFaceRotationRecords object receiving the solution steps.
+     */
+    static void solve(final CubeCursor cursor) {
+        WhiteCornersStep step = new WhiteCornersStep(cursor);
         step.solve();
     }
 
@@ -134,16 +134,13 @@ class WhiteCrossStep extends AbstractSolutionStep {
 
     /**
      * Initializes a new instance of the WhiteCrossStep class with the
-     * specified Cube and CubeFaceRotationsRecords objects.
+     * specified CubeCursor object.
      *
-     * @param cube The Cube to solve. The cube may be completely scrambled.
-     *             There is is no need of any previous step to pass a Cube
-     *             to this method.
-     * @param records The CubeFaceRotationRecords object receiving the solution steps. This
-     *                must be empty.
+     * @param cursor The CubeCursor providing the Cube to solve and the
+     *               CubeFaceRotationRecords object receiving the solution steps.
      */
-    private WhiteCrossStep(final Cube cube, final CubeFaceRotationRecords records) {
-        super(cube, records, solutions);
+    private WhiteCrossStep(final CubeCursor cursor) {
+        super(cursor, solutions);
     }
 
     /**
@@ -264,7 +261,20 @@ class WhiteCrossStep extends AbstractSolutionStep {
      * @param records The CubeFaceRotationRecords object receiving the solution steps.
      */
     public static void solve(final Cube cube, final CubeFaceRotationRecords records) {
-        WhiteCrossStep step = new WhiteCrossStep(cube, records);
+        solve(new CubeCursor(cube, records));
+    }
+
+    /**
+     * Solves this step for the cube provided by the specified CubeCursor.
+     *
+     * This is used by LayerByLayerSolver to run all steps on the same CubeCursor,
+     * so the moves of the previous steps are not replayed again.
+     *
+     * @param cursor The CubeCursor providing the Cube to solve and the
+     *               CubeFaceRotationRecords object receiving the solution steps.
+     */
+    static void solve(final CubeCursor cursor) {
+        WhiteCrossStep step = new WhiteCrossStep(cursor);
         step.solve();
     }
 
@@ -13,10 +13,10 @@ import de.webkasi.cube.*;
  */
 class YellowCornersOrientationStep {
     /**
-     * The SpeedCubeNotationInterpreter used to translate the SpeedCube
-     * notation sequences for the solution steps into CubeFaceRotationRecords.
+     * The CubeCursor that receives the solution steps and applies them
+     * to its working cube.
      */
-    private final SpeedCubeNotationInterpreter _interpreter;
+    private final CubeCursor _cursor;
     /**
      * The cube rotation that is necessary to apply the moves with the correct orientation.
      *
@@ -29,9 +29,9 @@ class YellowCornersOrientationStep {
     /**
      * Initializes a new instance of the YellowCornersOrientationStep class.
      *
-     * @param records The CubeFaceRotationRecords object receiving the solution steps.
-     *                This must contain all previous steps until and including the
-     *                yellow cross edges step.
+     * @param cursor The CubeCursor whose records receive the solution steps.
+     *               The records must contain all previous steps until and including
+     *               the yellow cross edges step.
      * @param rotationPrefix The SpeedCube notation prefix for rotating the cube
      *                        into the orientation to apply the solution steps. This
      *                        must be always the initial orientation for the first
@@ -39,8 +39,8 @@ class YellowCornersOrientationStep {
      *                        yellow face when this face is the upper face with the 0,0
      *                        position in the upper left.
      */
-    private YellowCornersOrientationStep(CubeFaceRotationRecords records, String rotationPrefix) {
-        _interpreter = new SpeedCubeNotationInterpreter(records);
+    private YellowCornersOrientationStep(CubeCursor cursor, String rotationPrefix) {
+        _cursor = cursor;
         _rotationPrefix = rotationPrefix;
     }
 
@@ -102,9 +102,20 @@ class YellowCornersOrientationStep {
      *                the records initially passed to solve() have been applied.
      */
     static void solve(Cube cube, CubeFaceRotationRecords records) {
+        solve(new CubeCursor(cube, records));
+    }
+
+    /**
+     * Orientates the yellow corners of the cube provided by the specified CubeCursor.
+     *
+     * @param cursor The CubeCursor providing the cube with all previous steps and
+     *               the CubeFaceRotationRecords object receiving the solution steps.
+     */
+    static void solve(CubeCursor cursor) {
+        CubeFaceRotationRecords records = cursor.getRecords();
 
-        // Create cube with all solution steps until now
-        Cube solvedCube = CubeFactory.create(cube, records);
+        // Get the cube with all solution steps until now
+        Cube solvedCube = cursor.getCube();
 
         // Get the index (0-3) of the first wrong orientated corner; or 4 if already solved
         // The rightDownIndex stays unchanged for the complete solution, because
@@ -119,7 +130,7 @@ class YellowCornersOrientationStep {
         while (colorIndex < 4) {
             // Apply solution steps until the current corner is solved
             while (!isCornerSolved(solvedCube, rightDownIndex, colorIndex)) {
-                solvedCube = applySteps(cube, records, cubeRotationPrefix);
+                solvedCube = applySteps(cursor, cubeRotationPrefix);
             }
 
             int oldColorIndex = colorIndex;
@@ -134,26 +145,26 @@ class YellowCornersOrientationStep {
                 rotateYellowFaceForNextCorner((4 - rotationOffset), records);
             }
             // Apply the rotation steps to the cube's copy
-            solvedCube = CubeFactory.create(cube, records);
+            solvedCube = cursor.getCube();
         }
     }
 
     /**
-     * @param cube The Cube to solve with no solutions steps applied, yet.
-     * @param records The collection with solutions steps that contains the solution so far;
-     *                and that receives the additional steps of this part solution.
+     * @param cursor The CubeCursor providing the cube and the collection with solutions
+     *               steps that contains the solution so far; and that receives the
+     *               additional steps of this part solution.
      * @param cubeRotationPrefix A string containing the SpeedCube notation for rotating
      *                           the complete cube to get the first unresolved corner
      *                           to the lower right corner of the solver.
      * @return A Cube object with all solution steps applied so far.
      */
-    private static Cube applySteps(Cube cube, CubeFaceRotationRecords records, String cubeRotationPrefix) {
+    private static Cube applySteps(CubeCursor cursor, String cubeRotationPrefix) {
         YellowCornersOrientationStep step =
-                new YellowCornersOrientationStep(records, cubeRotationPrefix);
+                new YellowCornersOrientationStep(cursor, cubeRotationPrefix);
         step.solve();
 
         // Apply the steps to the cube's copy to test again
-        return  CubeFactory.create(cube, records);
+        return cursor.getCube();
     }
 
     /**
@@ -244,7 +255,8 @@ class YellowCornersOrientationStep {
     private static void rotateYellowFaceForNextCorner(
             final int count,
             final CubeFaceRotationRecords records) {
-        CubeFaceRotationRecord record = new CubeFaceRotationRecord(CubeColor.Yellow);
+        CubeFaceRotationRecord record = CubeFaceRotationRecord.valueOf(
+                CubeColor.Yellow, RotationDirection.Clockwise, 0, 1);
         for (int c = 0; c < count; c++)
             records.add(record);
     }
@@ -263,7 +275,7 @@ class YellowCornersOrientationStep {
      * corner correctly.
      */
     private void solve() {
-        _interpreter.addMoves("x2 " + _rotationPrefix + turnCorner);
+        _cursor.addMoves("x2 " + _rotationPrefix + turnCorner);
     }
 
     private static final int leftSideIndex = 1;
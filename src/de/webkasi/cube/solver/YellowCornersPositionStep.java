@@ -11,7 +11,22 @@ import de.webkasi.cube.*;
  */
 class YellowCornersPositionStep {
     private final Cube _cube;
-    private final SpeedCubeNotationInterpreter _interpreter;
+    private final CubeCursor _cursor;
+
+    /**
+     * Initializes a new instance of the YellowCornersPositionStep class.
+     *
+     * @param cube The Cube to solve. The cube may be completely scrambled.
+     *             There is is no need of any previous step to pass a Cube
+     *             to this method.
+     * @param cursor The CubeCursor whose records receive the solution steps.
+     *               The records must contain all previous steps until and including the
+     *               yellow cross edges step.
+     */
+    YellowCornersPositionStep(Cube cube, CubeCursor cursor) {
+        _cube = cube;
+        _cursor = cursor;
+    }
 
     /**
      * Initializes a new instance of the YellowCornersPositionStep class.
@@ -24,8 +39,7 @@ class YellowCornersPositionStep {
      *                yellow cross edges step.
      */
     YellowCornersPositionStep(Cube cube, CubeFaceRotationRecords records) {
-        _cube = cube;
-        _interpreter = new SpeedCubeNotationInterpreter(records);
+        this(cube, new CubeCursor(cube, records));
     }
 
     /**
@@ -43,11 +57,23 @@ class YellowCornersPositionStep {
      *                the records initially passed to solve() have been applied.
      */
     static void solve(Cube cube, CubeFaceRotationRecords records) {
+        solve(new CubeCursor(cube, records));
+    }
+
+    /**
+     * Positions the yellow corners of the cube provided by the specified CubeCursor.
+     *
+     * @param cursor The CubeCursor providing the cube with all previous steps and
+     *               the CubeFaceRotationRecords object receiving the solution steps.
+     */
+    static void solve(CubeCursor cursor) {
         boolean ready;
         do {
-            YellowCornersPositionStep step = new YellowCornersPositionStep(CubeFactory.create(cube, records), records);
-            step.solve();
+            // step.solve() applies its moves to the working cube immediately,
+            // so the state is tested before.
+            YellowCornersPositionStep step = new YellowCornersPositionStep(cursor.getCube(), cursor);
             ready = step.areAllPositionsCorrect();
+            step.solve();
         } while (!ready);
     }
 
@@ -96,8 +122,7 @@ class YellowCornersPositionStep {
      */
     private void solve() {
         byte states = getCornerPositionStates();
-        String steps = solutions[states];
-        _interpreter.addMoves(steps);
+        _cursor.addMoves(solutions[states]);
     }
 
     private static final byte allCornersInCorrectPositionStates = 0x0f;
@@ -3,7 +3,6 @@ package de.webkasi.cube.solver;
 import de.webkasi.cube.*;
 
 final class YellowCrossAngleEdgesStep extends AbstractYellowCrossEdgesStep {
-    private final SpeedCubeNotationInterpreter _interpreter;
 
     /**
      * Initializes a new instance of the YellowCrossAngleEdgesStep class.
@@ -11,13 +10,12 @@ final class YellowCrossAngleEdgesStep extends AbstractYellowCrossEdgesStep {
      * @param cube The Cube to solve. The cube may be completely scrambled.
      *             There is is no need of any previous step to pass a Cube
      *             to this method.
-     * @param records The CubeFaceRotationRecords object receiving the solution steps.
-     *                This must contain all previous steps until and including the
-     *                yellow cross step.
+     * @param cursor The CubeCursor whose records receive the solution steps.
+     *               The records must contain all previous steps until and including the
+     *               yellow cross step.
      */
-    private YellowCrossAngleEdgesStep(Cube cube, CubeFaceRotationRecords records) {
-        super(cube, records);
-        _interpreter = new SpeedCubeNotationInterpreter(_records);
+    private YellowCrossAngleEdgesStep(Cube cube, CubeCursor cursor) {
+        super(cube, cursor);
     }
 
     /**
@@ -32,7 +30,20 @@ final class YellowCrossAngleEdgesStep extends AbstractYellowCrossEdgesStep {
      *                the records initially passed to solve() have been applied.
      */
     static void solve(Cube cube, CubeFaceRotationRecords records) {
-        YellowCrossAngleEdgesStep step = new YellowCrossAngleEdgesStep(CubeFactory.create(cube, records), records);
+        solve(new CubeCursor(cube, records));
+    }
+
+    /**
+     * Solves this step for the cube provided by the specified CubeCursor.
+     *
+     * The step rotates its cube to find the edges, so it gets a copy
+     * of the working cube of the CubeCursor.
+     *
+     * @param cursor The CubeCursor providing the cube with all previous steps and
+     *               the CubeFaceRotationRecords object receiving the solution steps.
+     */
+    static void solve(CubeCursor cursor) {
+        YellowCrossAngleEdgesStep step = new YellowCrossAngleEdgesStep(cursor.createCube(), cursor);
         step.solve();
     }
 
@@ -69,36 +80,19 @@ final class YellowCrossAngleEdgesStep extends AbstractYellowCrossEdgesStep {
         YellowCrossState state;
 
         state = getState();
-        String moves = solutions[state.ordinal()];
-        _interpreter.addMoves(moves);
-        addYellowFaceRotationsIfNeeded(moves);
+        CompiledAlgorithm algorithm = CompiledAlgorithms.get(solutions[state.ordinal()], _cube.getDimension());
+        _cursor.addAlgorithm(algorithm);
+        addYellowFaceRotationsIfNeeded(algorithm);
     }
 
     /**
      * Tests whether a yellow face rotation is needed and adds it.
      *
-     * @param moves The solutions moves of this step that should be applied before
-     *              the test.
+     * @param algorithm The compiled solution moves of this step that are applied
+     *                  to the internal temporary Cube object before the test.
      */
-    private void addYellowFaceRotationsIfNeeded(final String moves) {
-        applyMoves(moves);
+    private void addYellowFaceRotationsIfNeeded(final CompiledAlgorithm algorithm) {
+        algorithm.apply(_cube);
         rotateYellowFaceIfNeeded();
     }
-
-    /**
-     * Applies the specified solutioon moves to the internal temporary Cube object.
-     *
-     * This is needed to check the state after some solution steps have been added.
-     *
-     * @param moves The solutions moves of this step that should be applied before
-     *              the test.
-     */
-    private void applyMoves(final String moves) {
-        CubeFaceRotator rotator = new CubeFaceRotator(_cube);
-        CubeFaceRotationRecords temporaryRecords = new CubeFaceRotationRecords();
-        SpeedCubeNotationInterpreter temporaryInterpreter = new SpeedCubeNotationInterpreter(temporaryRecords);
-        temporaryInterpreter.addMoves(moves);
-        CubeFaceRotationPlayer player = new CubeFaceRotationPlayer(rotator);
-        player.play(temporaryRecords);
-    }
 }
@@ -6,7 +6,6 @@ import de.webkasi.cube.*;
  * Step for yellow edges that are in place in a linear formation.
  */
 class YellowCrossLinearEdgesStep extends AbstractYellowCrossEdgesStep {
-    private final SpeedCubeNotationInterpreter _interpreter;
 
     /**
      * Initializes a new instance of the YellowCrossLinearEdgesStep class.
@@ -14,13 +13,12 @@ class YellowCrossLinearEdgesStep extends AbstractYellowCrossEdgesStep {
      * @param cube The Cube to solve. The cube may be completely scrambled.
      *             There is is no need of any previous step to pass a Cube
      *             to this method.
-     * @param records The CubeFaceRotationRecords object receiving the solution steps.
-     *                This must contain all previous steps until and including the
-     *                yellow cross step.
+     * @param cursor The CubeCursor whose records receive the solution steps.
+     *               The records must contain all previous steps until and including the
+     *               yellow cross step.
      */
-    private YellowCrossLinearEdgesStep(Cube cube, CubeFaceRotationRecords records) {
-        super(cube, records);
-        _interpreter = new SpeedCubeNotationInterpreter(_records);
+    private YellowCrossLinearEdgesStep(Cube cube, CubeCursor cursor) {
+        super(cube, cursor);
     }
 
     /**
@@ -34,7 +32,20 @@ class YellowCrossLinearEdgesStep extends AbstractYellowCrossEdgesStep {
      *                the records initially passed to solve() have been applied.
      */
     static void solve(Cube cube, CubeFaceRotationRecords records) {
-        YellowCrossLinearEdgesStep step = new YellowCrossLinearEdgesStep(CubeFactory.create(cube, records), records);
+        solve(new CubeCursor(cube, records));
+    }
+
+    /**
+     * Solves this step for the cube provided by the specified CubeCursor.
+     *
+     * The step rotates its cube to find the edges, so it gets a copy
+     * of the working cube of the CubeCursor.
+     *
+     * @param cursor The CubeCursor providing the cube with all previous steps and
+     *               the CubeFaceRotationRecords object receiving the solution steps.
+     */
+    static void solve(CubeCursor cursor) {
+        YellowCrossLinearEdgesStep step = new YellowCrossLinearEdgesStep(cursor.createCube(), cursor);
         step.solve();
     }
 
@@ -68,7 +79,6 @@ class YellowCrossLinearEdgesStep extends AbstractYellowCrossEdgesStep {
      */
     private void solve() {
         rotateYellowFaceIfNeeded();
-        String moves = solutions[getState().ordinal()];
-        _interpreter.addMoves(moves);
+        _cursor.addMoves(solutions[getState().ordinal()]);
     }
 }
@@ -19,11 +19,11 @@ final class YellowCrossStep extends AbstractYellowCrossStep {
      * @param cube The Cube to solve. The cube may be completely scrambled.
      *             There is is no need of any previous step to pass a Cube
      *             to this method.
-     * @param records The CubeFaceRotationRecords object receiving the solution steps.
-     *                This must contain all previous steps before the yellow cross step.
+     * @param cursor The CubeCursor whose records receive the solution steps.
+     *               The records must contain all previous steps before the yellow cross step.
      */
-    private YellowCrossStep(Cube cube, CubeFaceRotationRecords records) {
-        super(cube, records);
+    private YellowCrossStep(Cube cube, CubeCursor cursor) {
+        super(cube, cursor);
     }
 
     /**
@@ -37,7 +37,17 @@ final class YellowCrossStep extends AbstractYellowCrossStep {
      *                the records initially passed to solve() have been applied.
      */
     static void solve(Cube cube, CubeFaceRotationRecords records) {
-        YellowCrossStep step = new YellowCrossStep(CubeFactory.create(cube, records), records);
+        solve(new CubeCursor(cube, records));
+    }
+
+    /**
+     * Solves the yellow cross for the cube provided by the specified CubeCursor.
+     *
+     * @param cursor The CubeCursor providing the cube with all previous steps and
+     *               the CubeFaceRotationRecords object receiving the solution steps.
+     */
+    static void solve(CubeCursor cursor) {
+        YellowCrossStep step = new YellowCrossStep(cursor.getCube(), cursor);
         step.solve();
     }
 
@@ -75,9 +85,7 @@ final class YellowCrossStep extends AbstractYellowCrossStep {
      * Solves the yellow cross at the down side and last layer of the cube.
      */
     private void solve() {
-        String moves = solutions[getState().ordinal()];
-        SpeedCubeNotationInterpreter interpreter = new SpeedCubeNotationInterpreter(_records);
-        interpreter.addMoves(moves);
+        _cursor.addMoves(solutions[getState().ordinal()]);
     }
 
     /**
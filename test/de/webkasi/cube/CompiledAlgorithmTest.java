@@ -0,0 +1,78 @@
+package de.webkasi.cube;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledAlgorithmTest {
+
+    @Test
+    void apply_sameAsPlayer() {
+        Random random = new Random(11);
+        for (int dimension = 2; dimension <= 6; dimension++) {
+            CubeFaceRotationRecords records = createRecords(random, dimension, 12);
+            CompiledAlgorithm algorithm = new CompiledAlgorithm(records, dimension);
+            Cube expected = new Cube(dimension);
+            Cube cube = new Cube(dimension);
+            CubeFaceRotationPlayer player = new CubeFaceRotationPlayer(new CubeFaceRotator(expected));
+
+            for (int i = 0; i < 3; i++) {
+                player.play(records);
+                algorithm.apply(cube);
+                assertEquals(expected, cube);
+                assertEquals(expected.stateHash(), cube.stateHash());
+            }
+        }
+    }
+
+    @Test
+    void apply_rotatedCube() {
+        Random random = new Random(12);
+        CubeFaceRotationRecords records = createRecords(random, 4, 10);
+        CompiledAlgorithm algorithm = new CompiledAlgorithm(records, 4);
+        Cube expected = new Cube(4);
+        Cube cube = new Cube(4);
+        expected.rotateCube('x', RotationDirection.Clockwise, 1);
+        expected.rotateCube('y', RotationDirection.Clockwise, 2);
+        cube.setOrientation(expected.getOrientation());
+
+        new CubeFaceRotationPlayer(new CubeFaceRotator(expected)).play(records);
+        algorithm.apply(cube);
+        assertEquals(expected, cube);
+    }
+
+    @Test
+    void getPermutation_inverseRestores() {
+        Random random = new Random(13);
+        CubeFaceRotationRecords records = createRecords(random, 3, 8);
+        int[] permutation = new CompiledAlgorithm(records, 3).getPermutation();
+        int[] inverse = new CompiledAlgorithm(records.inverse(), 3).getPermutation();
+
+        for (int i = 0; i < permutation.length; i++)
+            assertEquals(i, permutation[inverse[i]]);
+    }
+
+    @Test
+    void apply_otherDimension() {
+        CompiledAlgorithm algorithm = new CompiledAlgorithm(new CubeFaceRotationRecords(), 3);
+        assertThrows(IllegalArgumentException.class, () -> algorithm.apply(new Cube(4)));
+    }
+
+    /**
+     * Creates random quarter turns, half turns, and slice moves.
+     */
+    private static CubeFaceRotationRecords createRecords(final Random random, final int dimension, final int count) {
+        CubeFaceRotationRecords records = new CubeFaceRotationRecords();
+        for (int i = 0; i < count; i++) {
+            CubeColor face = CubeColor.values()[random.nextInt(6)];
+            RotationDirection direction = random.nextBoolean() ?
+                    RotationDirection.Clockwise : RotationDirection.Counterclockwise;
+            int startRow = random.nextBoolean() ? 0 : random.nextInt(dimension);
+            int countOfLayers = random.nextInt(dimension - startRow) + 1;
+            records.add(new CubeFaceRotationRecord(face, direction, startRow, countOfLayers, random.nextInt(2) + 1));
+        }
+        return records;
+    }
+}
@@ -0,0 +1,183 @@
+package de.webkasi.cube;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CubeBatchTest {
+
+    @Test
+    void constructor_allSolved() {
+        CubeBatch batch = new CubeBatch(3, 5);
+        assertEquals(5, batch.size());
+        assertEquals(3, batch.getDimension());
+        for (int index = 0; index < batch.size(); index++) {
+            assertTrue(batch.isSolved(index));
+            assertEquals(new Cube(), batch.toCube(index));
+        }
+    }
+
+    @Test
+    void rotate_sameAsRotator() {
+        Random random = new Random(14);
+        for (int dimension = 2; dimension <= 5; dimension++) {
+            CubeBatch batch = new CubeBatch(dimension, 3);
+            Cube cube = new Cube(dimension);
+            CubeFaceRotator rotator = new CubeFaceRotator(cube);
+
+            for (int i = 0; i < 40; i++) {
+                if (i % 10 == 5) {
+                    cube.rotateCube('y', RotationDirection.Clockwise, 1);
+                    batch.rotateCube(1, 'y', RotationDirection.Clockwise, 1);
+                    continue;
+                }
+                CubeColor face = CubeColor.values()[random.nextInt(6)];
+                int startRow = random.nextInt(dimension);
+                int countOfLayers = random.nextInt(dimension - startRow) + 1;
+                RotationDirection direction = random.nextBoolean() ?
+                        RotationDirection.Clockwise : RotationDirection.Counterclockwise;
+                if (random.nextBoolean()) {
+                    rotator.rotateHalfTurn(face, startRow, countOfLayers);
+                    batch.rotateHalfTurn(1, face, startRow, countOfLayers);
+                }
+                else {
+                    rotator.rotateLayers(direction, face, startRow, countOfLayers);
+                    batch.play(1, new CubeFaceRotationRecord(face, direction, startRow, countOfLayers));
+                }
+            }
+
+            assertEquals(cube, batch.toCube(1));
+            assertEquals(cube.stateHash(), batch.stateHash(1));
+            assertTrue(batch.isSolved(0));
+            assertTrue(batch.isSolved(2));
+        }
+    }
+
+    @Test
+    void apply_sameAsCube() {
+        CubeFaceRotationRecords records = new CubeFaceRotationRecords();
+        records.add(new CubeFaceRotationRecord(CubeColor.Red, RotationDirection.Clockwise, 0, 1, 1));
+        records.add(new CubeFaceRotationRecord(CubeColor.White, RotationDirection.Counterclockwise, 0, 1, 2));
+        records.add(new CubeFaceRotationRecord(CubeColor.Green, RotationDirection.Clockwise, 1, 1, 1));
+        CompiledAlgorithm algorithm = new CompiledAlgorithm(records, 3);
+        CubeBatch batch = new CubeBatch(3, 2);
+        Cube cube = new Cube();
+        cube.rotateCube('x', RotationDirection.Counterclockwise, 1);
+        batch.set(1, cube);
+
+        algorithm.apply(cube);
+        batch.apply(1, algorithm);
+
+        assertEquals(cube, batch.toCube(1));
+        assertFalse(batch.isSolved(1));
+    }
+
+    @Test
+    void set_get() {
+        Cube cube = new Cube(4);
+        CubeScrambler.scrambleCube(cube, 30);
+        cube.rotateCube('z', RotationDirection.Clockwise, 1);
+        CubeBatch batch = new CubeBatch(4, 2);
+
+        batch.set(1, cube);
+        Cube loaded = new Cube(4);
+        batch.get(1, loaded);
+
+        assertEquals(cube, loaded);
+        assertEquals(cube.stateHash(), loaded.stateHash());
+        assertEquals(cube.getOrientation(), batch.getOrientation(1));
+        assertEquals(cube.getFacelet(7), batch.getFacelet(1, 7));
+    }
+
+    @Test
+    void copy_compare() {
+        CubeBatch batch = new CubeBatch(3, 3);
+        batch.rotateLayers(0, RotationDirection.Clockwise, CubeColor.Red, 0, 1);
+        assertFalse(batch.isEqual(0, 1));
+        assertNotEquals(0, batch.compare(0, 1));
+        assertEquals(-batch.compare(0, 1), batch.compare(1, 0));
+
+        batch.copy(0, 2);
+        assertTrue(batch.isEqual(0, 2));
+        assertEquals(0, batch.compare(0, 2));
+
+        batch.rotateCube(2, 'x', RotationDirection.Clockwise, 1);
+        assertFalse(batch.isEqual(0, 2));
+        assertTrue(batch.isSolved(1));
+
+        batch.reset(0);
+        assertTrue(batch.isEqual(0, 1));
+    }
+
+    @Test
+    void copyTo_otherBatch() {
+        CubeBatch batch = new CubeBatch(3, 1);
+        CubeBatch target = new CubeBatch(3, 2);
+        batch.rotateHalfTurn(0, CubeColor.Blue, 0, 1);
+
+        batch.copyTo(0, target, 1);
+
+        assertEquals(batch.toCube(0), target.toCube(1));
+        assertThrows(IllegalArgumentException.class, () -> batch.copyTo(0, new CubeBatch(2, 1), 0));
+    }
+
+    @Test
+    void index_outOfRange() {
+        CubeBatch batch = new CubeBatch(3, 2);
+        assertThrows(IndexOutOfBoundsException.class, () -> batch.copy(0, 2));
+        assertThrows(IllegalArgumentException.class, () -> batch.set(0, new Cube(4)));
+    }
+
+    @Test
+    void play_range_sameAsSingleStates() {
+        CubeFaceRotationRecords records = CubeScrambler.scrambleCube(25, 4);
+        CubeBatch batch = new CubeBatch(4, 6);
+        CubeBatch expected = new CubeBatch(4, 6);
+        for (int index = 0; index < 6; index++) {
+            batch.rotateCube(index, 'y', RotationDirection.Clockwise, index);
+            expected.rotateCube(index, 'y', RotationDirection.Clockwise, index);
+        }
+
+        batch.play(1, 5, records);
+        batch.rotateLayers(1, 5, RotationDirection.Counterclockwise, CubeColor.Green, 1, 2);
+        batch.rotateHalfTurn(1, 5, CubeColor.Yellow, 0, 1);
+        for (int index = 1; index < 5; index++) {
+            for (CubeFaceRotationRecord record : records)
+                expected.play(index, record);
+            expected.rotateLayers(index, RotationDirection.Counterclockwise, CubeColor.Green, 1, 2);
+            expected.rotateHalfTurn(index, CubeColor.Yellow, 0, 1);
+        }
+
+        for (int index = 0; index < 6; index++)
+            assertEquals(expected.toCube(index), batch.toCube(index));
+        assertTrue(batch.isSolved(0));
+        assertTrue(batch.isSolved(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> batch.play(2, 7, records));
+    }
+
+    @Test
+    void apply_rangeOverStripes_sameAsCube() {
+        CompiledAlgorithm algorithm = new CompiledAlgorithm(CubeScrambler.scrambleCube(30, 3), 3);
+        int size = 3 * CubeBatch.StripeWidth + 5;
+        CubeBatch batch = new CubeBatch(3, size);
+        Cube[] expected = new Cube[size];
+        for (int index = 0; index < size; index++) {
+            expected[index] = new Cube();
+            if (index % 7 == 3 || index / 20 % 2 == 1) {
+                expected[index].rotateCube('x', RotationDirection.Clockwise, 1 + index % 3);
+                batch.rotateCube(index, 'x', RotationDirection.Clockwise, 1 + index % 3);
+            }
+        }
+
+        batch.apply(10, size - 2, algorithm);
+        for (int index = 10; index < size - 2; index++)
+            algorithm.apply(expected[index]);
+
+        for (int index = 0; index < size; index++)
+            assertEquals(expected[index], batch.toCube(index));
+        assertTrue(batch.isSolved(9));
+        assertTrue(batch.isSolved(size - 1));
+    }
+}
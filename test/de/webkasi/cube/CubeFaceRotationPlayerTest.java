@@ -43,4 +43,25 @@ class CubeFaceRotationPlayerTest {
         CubeAssertion.assertCubeFace(cube, CubeColor.Blue, "OOO BBB BBB");
         CubeAssertion.assertCubeFace(cube, CubeColor.Yellow, "YYY YYY YYY");
     }
+
+    @Test
+    void play_InverseRecords() {
+        Cube cube = new Cube(4);
+        CubeFaceRotator rotator = new CubeFaceRotator(cube);
+        CubeFaceRotationRecords records = new CubeFaceRotationRecords();
+        records.add(new CubeFaceRotationRecord(CubeColor.White, RotationDirection.Clockwise, 2));
+        records.add(new CubeFaceRotationRecord(CubeColor.Red, RotationDirection.Counterclockwise, 1, 2));
+        records.add(new CubeFaceRotationRecord(CubeColor.Green, RotationDirection.Clockwise, 1));
+        CubeFaceRotationPlayer player = new CubeFaceRotationPlayer(rotator);
+
+        player.play(records);
+        player.play(records.inverse());
+
+        CubeAssertion.assertCubeFace(cube, CubeColor.White, "WWWW WWWW WWWW WWWW");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Orange, "OOOO OOOO OOOO OOOO");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Green, "GGGG GGGG GGGG GGGG");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Red, "RRRR RRRR RRRR RRRR");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Blue, "BBBB BBBB BBBB BBBB");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Yellow, "YYYY YYYY YYYY YYYY");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+package de.webkasi.cube;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CubeFaceRotationRecordTest {
+
+    @Test
+    void valueOf_sameInstance() {
+        CubeFaceRotationRecord record = CubeFaceRotationRecord.valueOf(
+                CubeColor.Red, RotationDirection.Counterclockwise, 1, 2, 2);
+
+        assertSame(record, CubeFaceRotationRecord.valueOf(
+                CubeColor.Red, RotationDirection.Counterclockwise, 1, 2, 2));
+        assertEquals(CubeColor.Red, record.getFace());
+        assertEquals(RotationDirection.Counterclockwise, record.getDirection());
+        assertEquals(1, record.getStartRow());
+        assertEquals(2, record.getCountOfLayers());
+        assertTrue(record.isHalfTurn());
+    }
+
+    @Test
+    void valueOf_differentValues() {
+        CubeFaceRotationRecord record = CubeFaceRotationRecord.valueOf(
+                CubeColor.Red, RotationDirection.Clockwise, 0, 1);
+
+        assertNotSame(record, CubeFaceRotationRecord.valueOf(CubeColor.Red, RotationDirection.Counterclockwise, 0, 1));
+        assertNotSame(record, CubeFaceRotationRecord.valueOf(CubeColor.Blue, RotationDirection.Clockwise, 0, 1));
+        assertNotSame(record, CubeFaceRotationRecord.valueOf(CubeColor.Red, RotationDirection.Clockwise, 1, 1));
+        assertNotSame(record, CubeFaceRotationRecord.valueOf(CubeColor.Red, RotationDirection.Clockwise, 0, 2));
+        assertNotSame(record, CubeFaceRotationRecord.valueOf(CubeColor.Red, RotationDirection.Clockwise, 0, 1, 2));
+    }
+
+    @Test
+    void valueOf_largeLayersNotShared() {
+        int startRow = CubeFaceRotationRecord.MaxInternedLayers;
+        CubeFaceRotationRecord record = CubeFaceRotationRecord.valueOf(
+                CubeColor.Green, RotationDirection.Clockwise, startRow, 3);
+
+        assertEquals(startRow, record.getStartRow());
+        assertEquals(record, CubeFaceRotationRecord.valueOf(CubeColor.Green, RotationDirection.Clockwise, startRow, 3));
+    }
+
+    @Test
+    void equals_sameValues() {
+        CubeFaceRotationRecord record = new CubeFaceRotationRecord(CubeColor.White, RotationDirection.Clockwise, 1, 2);
+        CubeFaceRotationRecord shared = CubeFaceRotationRecord.valueOf(CubeColor.White, RotationDirection.Clockwise, 1, 2);
+
+        assertEquals(shared, record);
+        assertEquals(shared.hashCode(), record.hashCode());
+        assertNotEquals(shared, shared.inverse());
+    }
+
+    @Test
+    void inverse_shared() {
+        CubeFaceRotationRecord record = CubeFaceRotationRecord.valueOf(
+                CubeColor.Yellow, RotationDirection.Clockwise, 0, 1);
+
+        CubeFaceRotationRecord inverse = record.inverse();
+
+        assertEquals(RotationDirection.Counterclockwise, inverse.getDirection());
+        assertSame(inverse, CubeFaceRotationRecord.valueOf(CubeColor.Yellow, RotationDirection.Counterclockwise, 0, 1));
+        assertSame(record, inverse.inverse());
+    }
+
+    @Test
+    void equals_halfTurnInBothDirections() {
+        CubeFaceRotationRecord clockwise = CubeFaceRotationRecord.valueOf(
+                CubeColor.Red, RotationDirection.Clockwise, 0, 1, 2);
+        CubeFaceRotationRecord counterclockwise = CubeFaceRotationRecord.valueOf(
+                CubeColor.Red, RotationDirection.Counterclockwise, 0, 1, 2);
+
+        assertEquals(clockwise, counterclockwise);
+        assertEquals(clockwise.hashCode(), counterclockwise.hashCode());
+        assertSame(clockwise, clockwise.inverse());
+        assertEquals(clockwise, counterclockwise.inverse());
+        assertNotEquals(clockwise, CubeFaceRotationRecord.valueOf(CubeColor.Red, RotationDirection.Clockwise, 0, 1));
+
+        CubeFaceRotationRecords first = new CubeFaceRotationRecords();
+        first.add(clockwise);
+        CubeFaceRotationRecords second = new CubeFaceRotationRecords();
+        second.add(counterclockwise);
+        assertEquals(first, second);
+    }
+}
@@ -0,0 +1,78 @@
+package de.webkasi.cube;
+
+import java.util.Random;
+
+/**
+ * Measures the throughput of CubeFaceRotator for wide and slice moves.
+ *
+ * This is not a unit test. Run the main method to print the moves per
+ * second for the cube dimensions 4 to 21. Wide moves rotate the face with
+ * up to half of the layers, slice moves rotate inner layers only.
+ */
+class CubeFaceRotatorBenchmark {
+    private static final int WarmUpMoves = 200_000;
+    private static final int MeasuredMoves = 1_000_000;
+
+    public static void main(String[] args) {
+        System.out.println("dimension   wide moves/s  slice moves/s   half moves/s");
+        for (int dimension = 4; dimension <= 21; dimension++) {
+            System.out.printf("%9d %14.0f %14.0f %14.0f%n",
+                    dimension,
+                    measure(dimension, false, false),
+                    measure(dimension, true, false),
+                    measure(dimension, false, true));
+        }
+    }
+
+    /**
+     * Measures the moves per second of random moves on a cube.
+     *
+     * @param dimension The count of rows and columns of the cube.
+     * @param slice true for slice moves; false for wide moves.
+     * @param halfTurn true for half turns; false for quarter turns.
+     * @return The count of moves per second.
+     */
+    private static double measure(final int dimension, final boolean slice, final boolean halfTurn) {
+        Cube cube = new Cube(dimension);
+        CubeFaceRotator rotator = new CubeFaceRotator(cube);
+        Random random = new Random(dimension);
+
+        run(rotator, random, dimension, slice, halfTurn, WarmUpMoves);
+        long start = System.nanoTime();
+        run(rotator, random, dimension, slice, halfTurn, MeasuredMoves);
+        long elapsed = System.nanoTime() - start;
+        return MeasuredMoves * 1e9 / elapsed;
+    }
+
+    /**
+     * Executes random moves.
+     *
+     * @param rotator The CubeFaceRotator that executes the moves.
+     * @param random The Random generator for the moves.
+     * @param dimension The count of rows and columns of the cube.
+     * @param slice true for slice moves; false for wide moves.
+     * @param halfTurn true for half turns; false for quarter turns.
+     * @param count The count of moves.
+     */
+    private static void run(
+            final CubeFaceRotator rotator,
+            final Random random,
+            final int dimension,
+            final boolean slice,
+            final boolean halfTurn,
+            final int count) {
+        CubeColor[] faces = CubeColor.values();
+        for (int i = 0; i < count; i++) {
+            CubeColor face = faces[random.nextInt(6)];
+            int countOfLayers = random.nextInt(dimension / 2) + 1;
+            int startRow = slice ? random.nextInt(dimension - countOfLayers) + 1 : 0;
+
+            if (halfTurn)
+                rotator.rotateHalfTurn(face, startRow, countOfLayers);
+            else
+                rotator.rotateLayers(
+                        random.nextBoolean() ? RotationDirection.Clockwise : RotationDirection.Counterclockwise,
+                        face, startRow, countOfLayers);
+        }
+    }
+}
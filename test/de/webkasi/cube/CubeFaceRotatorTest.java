@@ -2,6 +2,10 @@ package de.webkasi.cube;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 class CubeFaceRotatorTest {
 
     @Test
@@ -88,4 +92,167 @@ class CubeFaceRotatorTest {
         CubeAssertion.assertCubeFace(cube, CubeColor.Blue, "BGB GBG BGB");
         CubeAssertion.assertCubeFace(cube, CubeColor.Yellow, "YWY WYW YWY");
     }
-}
\ No newline at end of file
+
+    @Test
+    void rotateLayers_ClockwiseWhiteTwo4x4() {
+        Cube cube = new Cube(4);
+        CubeFaceRotator rotator = new CubeFaceRotator(cube);
+
+        rotator.rotateLayers(RotationDirection.Clockwise, CubeColor.White, 0, 2);
+
+        CubeAssertion.assertCubeFace(cube, CubeColor.White, "WWWW WWWW WWWW WWWW");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Orange, "GGGG GGGG OOOO OOOO");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Green, "RRRR RRRR GGGG GGGG");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Red, "BBBB BBBB RRRR RRRR");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Blue, "OOOO OOOO BBBB BBBB");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Yellow, "YYYY YYYY YYYY YYYY");
+    }
+
+    @Test
+    void rotateLayers_ClockwiseRedSlice5x5() {
+        Cube cube = new Cube(5);
+        CubeFaceRotator rotator = new CubeFaceRotator(cube);
+
+        rotator.rotateLayers(RotationDirection.Clockwise, CubeColor.Red, 1, 1);
+
+        CubeAssertion.assertCubeFace(cube, CubeColor.White, "WWWGW WWWGW WWWGW WWWGW WWWGW");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Orange, "OOOOO OOOOO OOOOO OOOOO OOOOO");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Green, "GGGYG GGGYG GGGYG GGGYG GGGYG");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Red, "RRRRR RRRRR RRRRR RRRRR RRRRR");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Blue, "BWBBB BWBBB BWBBB BWBBB BWBBB");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Yellow, "YYYBY YYYBY YYYBY YYYBY YYYBY");
+    }
+
+    @Test
+    void rotateLayers_ForthAndBack5x5() {
+        Cube cube = new Cube(5);
+        CubeFaceRotator rotator = new CubeFaceRotator(cube);
+        for (CubeColor face : CubeColor.values()) {
+            rotator.rotateLayers(RotationDirection.Clockwise, face, 0, 2);
+            rotator.rotateLayers(RotationDirection.Counterclockwise, face, 1, 3);
+        }
+        for (int i = CubeColor.values().length - 1; i >= 0; i--) {
+            CubeColor face = CubeColor.values()[i];
+            rotator.rotateLayers(RotationDirection.Clockwise, face, 1, 3);
+            rotator.rotateLayers(RotationDirection.Counterclockwise, face, 0, 2);
+        }
+
+        CubeAssertion.assertCubeFace(cube, CubeColor.White, "WWWWW WWWWW WWWWW WWWWW WWWWW");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Orange, "OOOOO OOOOO OOOOO OOOOO OOOOO");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Green, "GGGGG GGGGG GGGGG GGGGG GGGGG");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Red, "RRRRR RRRRR RRRRR RRRRR RRRRR");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Blue, "BBBBB BBBBB BBBBB BBBBB BBBBB");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Yellow, "YYYYY YYYYY YYYYY YYYYY YYYYY");
+    }
+
+    @Test
+    void undo_restoresCube4x4() {
+        Cube cube = new Cube(4);
+        CubeFaceRotator rotator = new CubeFaceRotator(cube, 100);
+        Random random = new Random(7);
+        for (int i = 0; i < 50; i++) {
+            RotationDirection direction = random.nextBoolean() ? RotationDirection.Clockwise : RotationDirection.Counterclockwise;
+            int startRow = random.nextInt(4);
+            rotator.rotateLayers(direction, CubeColor.values()[random.nextInt(6)], startRow, 1 + random.nextInt(4 - startRow));
+        }
+        assertEquals(50, rotator.getUndoCount());
+
+        while (rotator.undo()) ;
+
+        assertEquals(0, rotator.getUndoCount());
+        CubeAssertion.assertCubeFace(cube, CubeColor.White, "WWWW WWWW WWWW WWWW");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Orange, "OOOO OOOO OOOO OOOO");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Green, "GGGG GGGG GGGG GGGG");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Red, "RRRR RRRR RRRR RRRR");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Blue, "BBBB BBBB BBBB BBBB");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Yellow, "YYYY YYYY YYYY YYYY");
+    }
+
+    @Test
+    void undo_dropsOldestRotations() {
+        Cube cube = new Cube();
+        CubeFaceRotator rotator = new CubeFaceRotator(cube, 2);
+        rotator.rotateFace(RotationDirection.Clockwise, CubeColor.Orange, 1);
+        rotator.rotateFace(RotationDirection.Clockwise, CubeColor.Green, 1);
+        rotator.rotateFace(RotationDirection.Counterclockwise, CubeColor.White, 1);
+
+        assertEquals(2, rotator.getUndoCount());
+        assertTrue(rotator.undo());
+        assertTrue(rotator.undo());
+        assertFalse(rotator.undo());
+
+        CubeAssertion.assertCubeFace(cube, CubeColor.White, "BWW BWW BWW");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Green, "WGG WGG WGG");
+    }
+
+    @Test
+    void undo_withoutCapacity() {
+        Cube cube = new Cube();
+        CubeFaceRotator rotator = new CubeFaceRotator(cube);
+        rotator.rotateFace(RotationDirection.Clockwise, CubeColor.Orange, 1);
+
+        assertFalse(rotator.undo());
+        CubeAssertion.assertCubeFace(cube, CubeColor.White, "BWW BWW BWW");
+    }
+
+    @Test
+    void undo_tableRotator() {
+        Cube cube = new Cube();
+        CubeFaceRotator rotator = new CubeFaceTableRotator(cube, 10);
+        rotator.rotateFace(RotationDirection.Clockwise, CubeColor.Orange, 1);
+        rotator.rotateLayers(RotationDirection.Counterclockwise, CubeColor.Red, 1, 1);
+
+        assertTrue(rotator.undo());
+        assertTrue(rotator.undo());
+        CubeAssertion.assertCubeFace(cube, CubeColor.White, "WWW WWW WWW");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Green, "GGG GGG GGG");
+    }
+
+    @Test
+    void rotateHalfTurn_sameAsTwoQuarterTurns() {
+        Random random = new Random(9);
+        for (int dimension = 2; dimension <= 7; dimension++) {
+            Cube expected = new Cube(dimension);
+            Cube cube = new Cube(dimension);
+            CubeFaceRotator quarterRotator = new CubeFaceRotator(expected);
+            CubeFaceRotator rotator = new CubeFaceRotator(cube);
+
+            for (int i = 0; i < 200; i++) {
+                CubeColor face = CubeColor.values()[random.nextInt(6)];
+                int startRow = random.nextBoolean() ? 0 : random.nextInt(dimension);
+                int countOfLayers = random.nextInt(dimension - startRow) + 1;
+
+                quarterRotator.rotateLayers(RotationDirection.Clockwise, face, startRow, countOfLayers);
+                quarterRotator.rotateLayers(RotationDirection.Clockwise, face, startRow, countOfLayers);
+                rotator.rotateHalfTurn(face, startRow, countOfLayers);
+            }
+            assertEquals(expected, cube);
+            assertEquals(expected.stateHash(), cube.stateHash());
+        }
+    }
+
+    @Test
+    void undo_halfTurn() {
+        Cube cube = new Cube(4);
+        CubeFaceRotator rotator = new CubeFaceRotator(cube, 4);
+        rotator.rotateHalfTurn(CubeColor.Green, 0, 2);
+        rotator.rotateLayers(RotationDirection.Counterclockwise, CubeColor.White, 1, 1);
+
+        assertTrue(rotator.undo());
+        assertTrue(rotator.undo());
+        assertEquals(new Cube(4), cube);
+    }
+
+    @Test
+    void undo_layersCannotBePacked() {
+        Cube cube = new Cube(4);
+        CubeFaceRotator rotator = new CubeFaceRotator(cube, 4);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> rotator.rotateLayers(RotationDirection.Clockwise, CubeColor.Green, 0, PackedRotationRecords.MaxCountOfLayers + 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> rotator.rotateHalfTurn(CubeColor.Green, PackedRotationRecords.MaxStartRow + 1, 1));
+        assertEquals(0, rotator.getUndoCount());
+        assertEquals(new Cube(4), cube);
+    }
+}
@@ -0,0 +1,120 @@
+package de.webkasi.cube;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CubeRotationsTest {
+
+    @Test
+    void rotate_reachesAllOrientations() {
+        Set<Integer> orientations = new HashSet<>();
+        for (int x = 0; x < 4; x++)
+            for (int y = 0; y < 4; y++)
+                for (int z = 0; z < 4; z++)
+                    orientations.add(CubeRotations.rotate(CubeRotations.rotate(CubeRotations.rotate(0, 'x', x), 'y', y), 'z', z));
+
+        assertEquals(CubeRotations.Count, orientations.size());
+        assertEquals(0, CubeRotations.rotate(0, 'y', 4));
+    }
+
+    @Test
+    void rotateCube_sameAsRotatingAllLayers() {
+        Random random = new Random(3);
+        char[] axes = { 'x', 'y', 'z' };
+        CubeColor[] axisFaces = { CubeColor.Orange, CubeColor.Yellow, CubeColor.Green };
+        CubeColor[] oppositeFaces = { CubeColor.Red, CubeColor.White, CubeColor.Blue };
+
+        for (int dimension = 2; dimension <= 6; dimension++) {
+            Cube cube = new Cube(dimension);
+            Cube expected = new Cube(dimension);
+            CubeFaceRotator rotator = new CubeFaceRotator(cube);
+            CubeFaceRotator expectedRotator = new CubeFaceRotator(expected);
+
+            for (int i = 0; i < 100; i++) {
+                int axis = random.nextInt(3);
+                cube.rotateCube(axes[axis], RotationDirection.Clockwise, 1);
+                expectedRotator.rotateFace(RotationDirection.Clockwise, axisFaces[axis], dimension - 1);
+                expectedRotator.rotateFace(RotationDirection.Counterclockwise, oppositeFaces[axis], 1);
+
+                RotationDirection direction = random.nextBoolean() ?
+                        RotationDirection.Clockwise : RotationDirection.Counterclockwise;
+                CubeColor face = CubeColor.values()[random.nextInt(6)];
+                rotator.rotateFace(direction, face, 1);
+                expectedRotator.rotateFace(direction, face, 1);
+
+                for (int faceIndex = 0; faceIndex < 6; faceIndex++)
+                    for (int row = 0; row < dimension; row++)
+                        for (int column = 0; column < dimension; column++)
+                            assertEquals(
+                                    expected.getFaceByIndex(faceIndex).getField(row, column),
+                                    cube.getFaceByIndex(faceIndex).getField(row, column));
+            }
+        }
+    }
+
+    @Test
+    void rotateCube_counterclockwiseReverts() {
+        Cube cube = new Cube(4);
+        cube.rotateCube('z', RotationDirection.Clockwise, 1);
+        cube.rotateCube('x', RotationDirection.Clockwise, 2);
+        assertNotEquals(0, cube.getOrientation());
+        assertNotEquals(new Cube(4), cube);
+
+        cube.rotateCube('x', RotationDirection.Counterclockwise, 2);
+        cube.rotateCube('z', RotationDirection.Counterclockwise, 1);
+        assertEquals(0, cube.getOrientation());
+        assertEquals(new Cube(4), cube);
+    }
+
+    @Test
+    void rotateCube_copyKeepsOrientation() {
+        Cube cube = new Cube();
+        cube.rotateCube('y', RotationDirection.Clockwise, 1);
+        Cube copy = new Cube(cube);
+
+        assertEquals(cube, copy);
+        assertEquals(CubeColor.Orange, copy.getFaceAt(CubeColor.Green));
+        copy.getFace(CubeColor.Green).setField(1, 1, CubeColor.White);
+        copy.setOrientation(0);
+        assertEquals(CubeColor.White, copy.getFace(CubeColor.Orange).getField(1, 1));
+        assertEquals(CubeColor.Orange, cube.getFace(CubeColor.Green).getField(1, 1));
+    }
+
+    @Test
+    void rotateCube_invalidAxis() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new Cube().rotateCube('w', RotationDirection.Clockwise, 1));
+    }
+
+    @Test
+    void compose_andInverse() {
+        for (int first = 0; first < CubeRotations.Count; first++) {
+            assertEquals(CubeRotations.Identity, CubeRotations.compose(first, CubeRotations.inverse(first)));
+            assertEquals(CubeRotations.Identity, CubeRotations.compose(CubeRotations.inverse(first), first));
+            assertEquals(first, CubeRotations.compose(first, CubeRotations.Identity));
+
+            int x = CubeRotations.rotate(CubeRotations.Identity, 'x', 1);
+            assertEquals(CubeRotations.rotate(first, 'x', 1), CubeRotations.compose(first, x));
+        }
+    }
+
+    @Test
+    void getFaceletIndex_sameAsCubeView() {
+        Cube cube = new Cube(4);
+        CubeScrambler.scrambleCube(cube, 40);
+        for (int orientation = 0; orientation < CubeRotations.Count; orientation++) {
+            cube.setOrientation(orientation);
+            for (int face = 0; face < 6; face++)
+                for (int row = 0; row < 4; row++)
+                    for (int column = 0; column < 4; column++)
+                        assertEquals(
+                                cube.getFacelet(CubeRotations.getFaceletIndex(orientation, 4, face, row, column)),
+                                cube.getFaceByIndex(face).getField(row, column));
+        }
+    }
+}
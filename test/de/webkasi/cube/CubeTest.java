@@ -2,6 +2,8 @@ package de.webkasi.cube;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class CubeTest {
@@ -100,4 +102,147 @@ class CubeTest {
             }
         }
     }
+
+    @Test
+    void constructor_copyIsIndependent() {
+        Cube cube = new Cube(4);
+        cube.getFace(CubeColor.Green).setField(1, 2, CubeColor.Red);
+        Cube copy = new Cube(cube);
+        cube.getFace(CubeColor.Green).setField(1, 2, CubeColor.Blue);
+        copy.getFace(CubeColor.White).setField(0, 0, CubeColor.Yellow);
+
+        assertEquals(CubeColor.Red, copy.getFace(CubeColor.Green).getField(1, 2));
+        assertEquals(CubeColor.Blue, cube.getFace(CubeColor.Green).getField(1, 2));
+        assertEquals(CubeColor.White, cube.getFace(CubeColor.White).getField(0, 0));
+    }
+
+    @Test
+    void getFace_writesThroughToCube() {
+        Cube cube = new Cube();
+        cube.getFace(CubeColor.Orange).setField(2, 1, CubeColor.Yellow);
+        assertEquals(CubeColor.Yellow, cube.getFacelet(9 + 2 * 3 + 1));
+        assertEquals(CubeColor.Yellow, cube.getFaceByIndex(1).getField(2, 1));
+    }
+
+    @Test
+    void stateHash_sameForSameState() {
+        Cube cube1 = new Cube();
+        Cube cube2 = new Cube();
+        CubeFaceRotator rotator1 = new CubeFaceRotator(cube1);
+        CubeFaceRotator rotator2 = new CubeFaceRotator(cube2);
+        long solvedHash = cube1.stateHash();
+
+        rotator1.rotateFace(RotationDirection.Clockwise, CubeColor.Orange, 1);
+        rotator1.rotateFace(RotationDirection.Clockwise, CubeColor.Red, 1);
+        rotator2.rotateFace(RotationDirection.Clockwise, CubeColor.Red, 1);
+        assertNotEquals(cube1.stateHash(), cube2.stateHash());
+        assertNotEquals(cube1, cube2);
+
+        rotator2.rotateFace(RotationDirection.Clockwise, CubeColor.Orange, 1);
+        assertEquals(cube1.stateHash(), cube2.stateHash());
+        assertEquals(cube1, cube2);
+        assertEquals(cube1.hashCode(), cube2.hashCode());
+
+        rotator1.rotateFace(RotationDirection.Counterclockwise, CubeColor.Red, 1);
+        rotator1.rotateFace(RotationDirection.Counterclockwise, CubeColor.Orange, 1);
+        assertEquals(solvedHash, cube1.stateHash());
+    }
+
+    @Test
+    void stateHash_sameAsRecalculated() {
+        Cube cube = new Cube(5);
+        CubeFaceRotator rotator = new CubeFaceRotator(cube);
+        CubeFaceRotator tableRotator = new CubeFaceTableRotator(cube);
+        Random random = new Random(8);
+        for (int i = 0; i < 200; i++) {
+            RotationDirection direction = random.nextBoolean() ? RotationDirection.Clockwise : RotationDirection.Counterclockwise;
+            CubeColor face = CubeColor.values()[random.nextInt(6)];
+            int startRow = random.nextInt(5);
+            (i % 2 == 0 ? rotator : tableRotator).rotateLayers(direction, face, startRow, 1 + random.nextInt(5 - startRow));
+        }
+
+        Cube recalculated = new Cube(5);
+        for (CubeColor face : CubeColor.values())
+            recalculated.getFace(face).setFace(cube.getFace(face));
+
+        assertEquals(cube.stateHash(), recalculated.stateHash());
+        assertEquals(cube, recalculated);
+    }
+
+    @Test
+    void stateHash_changedBySetField() {
+        Cube cube = new Cube();
+        long solvedHash = cube.stateHash();
+
+        cube.getFace(CubeColor.Green).setField(0, 0, CubeColor.Red);
+        assertNotEquals(solvedHash, cube.stateHash());
+
+        cube.getFace(CubeColor.Green).setFaceColor(CubeColor.Green);
+        assertEquals(solvedHash, cube.stateHash());
+    }
+
+    @Test
+    void equals_differentFaceRotations() {
+        Cube cube = new Cube();
+        CubeFaceRotator rotator = new CubeFaceRotator(cube);
+        // Turns the white center by 180 degrees, so the white face has another
+        // rotation offset, but the colors are the same as before.
+        for (int i = 0; i < 2; i++) {
+            rotator.rotateFace(RotationDirection.Clockwise, CubeColor.White, 1);
+            rotator.rotateFace(RotationDirection.Clockwise, CubeColor.Red, 1);
+            rotator.rotateFace(RotationDirection.Clockwise, CubeColor.Orange, 1);
+            rotator.rotateHalfTurn(CubeColor.White, 0, 1);
+            rotator.rotateFace(RotationDirection.Counterclockwise, CubeColor.Red, 1);
+            rotator.rotateFace(RotationDirection.Counterclockwise, CubeColor.Orange, 1);
+        }
+
+        assertEquals(new Cube(), cube);
+        assertEquals(new Cube().stateHash(), cube.stateHash());
+        assertEquals(new Cube(), new Cube(cube));
+
+        rotator.rotateFace(RotationDirection.Clockwise, CubeColor.Green, 1);
+        Cube recalculated = new Cube();
+        for (CubeColor face : CubeColor.values())
+            recalculated.getFace(face).setFace(cube.getFace(face));
+        assertEquals(recalculated, cube);
+        assertEquals(recalculated.stateHash(), cube.stateHash());
+        assertEquals(CubeColor.Orange, cube.getFace(CubeColor.White).getField(2, 0));
+    }
+
+    @Test
+    void isSolved_countedByRotations() {
+        Cube cube = new Cube(4);
+        CubeFaceRotator rotator = new CubeFaceRotator(cube);
+        CubeFaceRotator tableRotator = new CubeFaceTableRotator(cube);
+        assertTrue(cube.isSolved());
+
+        rotator.rotateFace(RotationDirection.Clockwise, CubeColor.Red, 1);
+        assertFalse(cube.isSolved());
+        assertTrue(cube.isFaceSolved(CubeColor.Red));
+        assertTrue(cube.isFaceSolved(CubeColor.Orange));
+        assertFalse(cube.isFaceSolved(CubeColor.White));
+
+        tableRotator.rotateLayers(RotationDirection.Clockwise, CubeColor.White, 1, 2);
+        tableRotator.rotateLayers(RotationDirection.Counterclockwise, CubeColor.White, 1, 2);
+        assertFalse(cube.isSolved());
+        rotator.rotateHalfTurn(CubeColor.Red, 0, 1);
+        rotator.rotateFace(RotationDirection.Clockwise, CubeColor.Red, 1);
+        assertTrue(cube.isSolved());
+        assertTrue(new Cube(cube).isSolved());
+    }
+
+    @Test
+    void isFaceSolved_currentOrientation() {
+        Cube cube = new Cube();
+        cube.getFace(CubeColor.Green).setField(1, 1, CubeColor.Blue);
+        assertFalse(cube.isSolved());
+        assertFalse(cube.isFaceSolved(CubeColor.Green));
+
+        cube.rotateCube('y', RotationDirection.Clockwise, 1);
+        assertTrue(cube.isFaceSolved(CubeColor.Green));
+        assertFalse(cube.isFaceSolved(CubeColor.Red));
+
+        cube.getFace(CubeColor.Red).setField(1, 1, CubeColor.Green);
+        assertTrue(cube.isSolved());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package de.webkasi.cube;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveTableTest {
+
+    @Test
+    void forDimension_sameInstance() {
+        assertSame(MoveTable.forDimension(4), MoveTable.forDimension(4));
+        assertEquals(4, MoveTable.forDimension(4).getDimension());
+        assertEquals(96, MoveTable.forDimension(4).getFaceletCount());
+    }
+
+    @Test
+    void getPermutation_clockwiseAndCounterclockwiseAreInverse() {
+        MoveTable table = MoveTable.forDimension(5);
+        for (CubeColor face : CubeColor.values()) {
+            int[] clockwise = table.getPermutation(RotationDirection.Clockwise, face, 0, 2);
+            int[] counterclockwise = table.getPermutation(RotationDirection.Counterclockwise, face, 0, 2);
+            for (int i = 0; i < table.getFaceletCount(); i++)
+                assertEquals(i, clockwise[counterclockwise[i]]);
+        }
+    }
+
+    @Test
+    void getPermutation_invalidLayers() {
+        MoveTable table = MoveTable.forDimension(3);
+        assertThrows(IllegalArgumentException.class,
+                () -> table.getPermutation(RotationDirection.Clockwise, CubeColor.White, 0, 4));
+        assertThrows(IllegalArgumentException.class,
+                () -> table.getPermutation(RotationDirection.Clockwise, CubeColor.White, 1, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> table.getPermutation(RotationDirection.Clockwise, CubeColor.White, -1, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> table.getPermutation(RotationDirection.Counterclockwise, CubeColor.Red, 2, 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> table.getHalfTurnPermutation(CubeColor.Green, 3, 1));
+        assertNotNull(table.getPermutation(RotationDirection.Clockwise, CubeColor.White, 0, 3));
+        assertNotNull(table.getHalfTurnPermutation(CubeColor.Green, 2, 1));
+    }
+
+    @Test
+    void rotateLayers_sameAsCubeFaceRotator() {
+        Random random = new Random(42);
+        for (int dimension = 2; dimension <= 7; dimension++) {
+            Cube expected = new Cube(dimension);
+            Cube cube = new Cube(dimension);
+            CubeFaceRotator rotator = new CubeFaceRotator(expected);
+            CubeFaceTableRotator tableRotator = new CubeFaceTableRotator(cube);
+
+            for (int i = 0; i < 200; i++) {
+                RotationDirection direction = random.nextBoolean() ?
+                        RotationDirection.Clockwise : RotationDirection.Counterclockwise;
+                CubeColor face = CubeColor.values()[random.nextInt(6)];
+                int startRow = random.nextBoolean() ? 0 : random.nextInt(dimension);
+                int countOfLayers = random.nextInt(dimension - startRow) + 1;
+
+                rotator.rotateLayers(direction, face, startRow, countOfLayers);
+                tableRotator.rotateLayers(direction, face, startRow, countOfLayers);
+            }
+            for (int i = 0; i < 6 * dimension * dimension; i++)
+                assertEquals(expected.getFacelet(i), cube.getFacelet(i));
+        }
+    }
+
+    @Test
+    void rotateHalfTurn_sameAsCubeFaceRotator() {
+        Random random = new Random(17);
+        for (int dimension = 2; dimension <= 6; dimension++) {
+            Cube expected = new Cube(dimension);
+            Cube cube = new Cube(dimension);
+            CubeFaceRotator rotator = new CubeFaceRotator(expected);
+            CubeFaceTableRotator tableRotator = new CubeFaceTableRotator(cube);
+
+            for (int i = 0; i < 100; i++) {
+                CubeColor face = CubeColor.values()[random.nextInt(6)];
+                int startRow = random.nextBoolean() ? 0 : random.nextInt(dimension);
+                int countOfLayers = random.nextInt(dimension - startRow) + 1;
+
+                rotator.rotateHalfTurn(face, startRow, countOfLayers);
+                tableRotator.rotateHalfTurn(face, startRow, countOfLayers);
+            }
+            assertEquals(expected, cube);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package de.webkasi.cube;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedCubeTest {
+
+    @Test
+    void constructor_initialColors() {
+        PackedCube cube = new PackedCube(5);
+        assertEquals(5, cube.getDimension());
+        assertTrue(cube.isSolved());
+        assertEquals(new Cube(5), cube.toCube());
+    }
+
+    @Test
+    void rotate_sameAsRotator() {
+        Random random = new Random(16);
+        for (int dimension = 1; dimension <= 7; dimension++) {
+            PackedCube packed = new PackedCube(dimension);
+            Cube cube = new Cube(dimension);
+            CubeFaceRotator rotator = new CubeFaceRotator(cube);
+
+            for (int i = 0; i < 60; i++) {
+                CubeColor face = CubeColor.values()[random.nextInt(6)];
+                int startRow = random.nextInt(3) == 0 ? random.nextInt(dimension) : 0;
+                int countOfLayers = random.nextInt(dimension - startRow) + 1;
+                int turn = random.nextInt(3);
+                if (turn == 2) {
+                    rotator.rotateHalfTurn(face, startRow, countOfLayers);
+                    packed.rotateHalfTurn(face, startRow, countOfLayers);
+                }
+                else {
+                    RotationDirection direction = turn == 0 ?
+                            RotationDirection.Clockwise : RotationDirection.Counterclockwise;
+                    rotator.rotateLayers(direction, face, startRow, countOfLayers);
+                    packed.rotateLayers(direction, face, startRow, countOfLayers);
+                }
+                assertEquals(cube, packed.toCube());
+            }
+        }
+    }
+
+    @Test
+    void setField_getField() {
+        PackedCube cube = new PackedCube(4);
+        cube.rotateLayers(RotationDirection.Clockwise, CubeColor.Green, 0, 1);
+
+        cube.setField(CubeColor.Green, 0, 3, CubeColor.Yellow);
+
+        assertEquals(CubeColor.Yellow, cube.getField(CubeColor.Green, 0, 3));
+        assertEquals(CubeColor.Green, cube.getField(CubeColor.Green, 3, 0));
+        assertFalse(cube.isSolved());
+        assertThrows(IndexOutOfBoundsException.class, () -> cube.getField(CubeColor.Red, 4, 0));
+    }
+
+    @Test
+    void rotate_largeCube_inverseSolves() {
+        PackedCube cube = new PackedCube(1001);
+        CubeFaceRotationRecords records = CubeScrambler.scrambleCube(50, 1001);
+        play(cube, records);
+        assertFalse(cube.isSolved());
+
+        play(cube, records.inverse());
+
+        assertTrue(cube.isSolved());
+        assertEquals(CubeColor.Red, cube.getField(CubeColor.Red, 1000, 0));
+    }
+
+    private static void play(final PackedCube cube, final CubeFaceRotationRecords records) {
+        for (CubeFaceRotationRecord record : records) {
+            if (record.isHalfTurn())
+                cube.rotateHalfTurn(record.getFace(), record.getStartRow(), record.getCountOfLayers());
+            else
+                cube.rotateLayers(record.getDirection(), record.getFace(), record.getStartRow(), record.getCountOfLayers());
+        }
+    }
+}
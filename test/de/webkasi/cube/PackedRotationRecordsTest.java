@@ -0,0 +1,107 @@
+package de.webkasi.cube;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedRotationRecordsTest {
+
+    @Test
+    void pack_unpack() {
+        int rotation = PackedRotationRecords.pack(
+                CubeColor.Blue, RotationDirection.Counterclockwise, 12, 345, 2);
+
+        assertEquals(CubeColor.Blue, PackedRotationRecords.getFace(rotation));
+        assertEquals(RotationDirection.Counterclockwise, PackedRotationRecords.getDirection(rotation));
+        assertEquals(12, PackedRotationRecords.getStartRow(rotation));
+        assertEquals(345, PackedRotationRecords.getCountOfLayers(rotation));
+        assertEquals(2, PackedRotationRecords.getCountOfTurns(rotation));
+        assertTrue(PackedRotationRecords.isHalfTurn(rotation));
+    }
+
+    @Test
+    void pack_maxValues() {
+        int rotation = PackedRotationRecords.pack(
+                CubeColor.Yellow, RotationDirection.Clockwise,
+                PackedRotationRecords.MaxStartRow, PackedRotationRecords.MaxCountOfLayers, 1);
+
+        assertEquals(CubeColor.Yellow, PackedRotationRecords.getFace(rotation));
+        assertEquals(RotationDirection.Clockwise, PackedRotationRecords.getDirection(rotation));
+        assertEquals(PackedRotationRecords.MaxStartRow, PackedRotationRecords.getStartRow(rotation));
+        assertEquals(PackedRotationRecords.MaxCountOfLayers, PackedRotationRecords.getCountOfLayers(rotation));
+        assertFalse(PackedRotationRecords.isHalfTurn(rotation));
+    }
+
+    @Test
+    void pack_outOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> PackedRotationRecords.pack(
+                CubeColor.White, RotationDirection.Clockwise, PackedRotationRecords.MaxStartRow + 1, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> PackedRotationRecords.pack(
+                CubeColor.White, RotationDirection.Clockwise, 0, PackedRotationRecords.MaxCountOfLayers + 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> PackedRotationRecords.pack(
+                CubeColor.White, RotationDirection.Clockwise, 0, 1, 3));
+    }
+
+    @Test
+    void add_growsAndTruncates() {
+        PackedRotationRecords rotations = new PackedRotationRecords(0);
+        for (int i = 0; i < 100; i++)
+            rotations.add(CubeColor.values()[i % 6], RotationDirection.Clockwise, 0, 1, 1);
+
+        assertEquals(100, rotations.size());
+        assertEquals(CubeColor.Green, PackedRotationRecords.getFace(rotations.get(98)));
+
+        rotations.truncate(10);
+        assertEquals(10, rotations.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> rotations.get(10));
+        assertThrows(IndexOutOfBoundsException.class, () -> rotations.truncate(11));
+
+        rotations.clear();
+        assertTrue(rotations.isEmpty());
+    }
+
+    @Test
+    void toRecords_sameRotations() {
+        CubeFaceRotationRecords records = new CubeFaceRotationRecords();
+        records.add(new CubeFaceRotationRecord(CubeColor.White, RotationDirection.Clockwise, 2));
+        records.add(new CubeFaceRotationRecord(CubeColor.Red, RotationDirection.Counterclockwise, 1, 2));
+        records.add(new CubeFaceRotationRecord(CubeColor.Green, RotationDirection.Clockwise, 0, 1, 2));
+
+        CubeFaceRotationRecords unpacked = new PackedRotationRecords(records).toRecords();
+
+        assertEquals(records.size(), unpacked.size());
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(records.get(i).getFace(), unpacked.get(i).getFace());
+            assertEquals(records.get(i).getDirection(), unpacked.get(i).getDirection());
+            assertEquals(records.get(i).getStartRow(), unpacked.get(i).getStartRow());
+            assertEquals(records.get(i).getCountOfLayers(), unpacked.get(i).getCountOfLayers());
+            assertEquals(records.get(i).getCountOfTurns(), unpacked.get(i).getCountOfTurns());
+        }
+    }
+
+    @Test
+    void play_sameAsRecords() {
+        CubeFaceRotationRecords records = CubeScrambler.scrambleCube(40, 5);
+        Cube expected = new Cube(5);
+        new CubeFaceRotationPlayer(new CubeFaceRotator(expected)).play(records);
+
+        Cube cube = new Cube(5);
+        new CubeFaceRotationPlayer(new CubeFaceRotator(cube)).play(new PackedRotationRecords(records));
+
+        assertEquals(expected, cube);
+    }
+
+    @Test
+    void play_inverse() {
+        PackedRotationRecords rotations = new PackedRotationRecords(CubeScrambler.scrambleCube(30, 4));
+        rotations.add(CubeColor.Orange, RotationDirection.Counterclockwise, 1, 2, 2);
+        Cube cube = new Cube(4);
+        CubeFaceRotationPlayer player = new CubeFaceRotationPlayer(new CubeFaceRotator(cube));
+
+        player.play(rotations);
+        player.play(rotations.inverse());
+
+        assertTrue(cube.isSolved());
+        assertEquals(new Cube(4), cube);
+    }
+}
@@ -0,0 +1,115 @@
+package de.webkasi.cube.solver;
+
+import de.webkasi.cube.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BigCubeSolverTest {
+
+    @Test
+    void solve_SolvedCube() {
+        for (int dimension = 4; dimension <= 7; dimension++) {
+            CubeFaceRotationRecords solution = BigCubeSolver.solve(new Cube(dimension));
+            assertEquals(0, solution.size());
+        }
+    }
+
+    @Test
+    void solve_LargeCube() {
+        CubeFaceRotationRecords records = new CubeFaceRotationRecords();
+        new SpeedCubeNotationInterpreter(records).addMoves("R U F' D2 L B'");
+        records.add(new CubeFaceRotationRecord(CubeColor.Red, RotationDirection.Clockwise, 7, 1));
+        records.add(new CubeFaceRotationRecord(CubeColor.White, RotationDirection.Counterclockwise, 12, 1));
+        Cube cube = CubeFactory.create(new Cube(41), records);
+
+        assertEquals(0, BigCubeSolver.solve(new Cube(41)).size());
+        CubeFaceRotationRecords solution = BigCubeSolver.solve(cube);
+
+        assertTrue(CubeFactory.create(cube, solution).isSolved());
+    }
+
+    @Test
+    void solve_RandomCubes() {
+        for (int dimension = 4; dimension <= 9; dimension++) {
+            for (int i = 0; i < 10; i++) {
+                Cube cube = new Cube(dimension);
+                CubeScrambler.scrambleCube(cube, 100);
+
+                CubeFaceRotationRecords solution = BigCubeSolver.solve(cube);
+
+                assertTrue(CubeFactory.create(cube, solution).isSolved());
+            }
+        }
+    }
+
+    @Test
+    void solve_SingleInnerLayer() {
+        Cube cube = new Cube(4);
+        new CubeFaceRotator(cube).rotateLayers(RotationDirection.Clockwise, CubeColor.Red, 1, 1);
+
+        CubeFaceRotationRecords solution = BigCubeSolver.solve(cube);
+
+        assertTrue(CubeFactory.create(cube, solution).isSolved());
+    }
+
+    @Test
+    void solve_InnerLayerRecords() {
+        Cube cube = new Cube(6);
+        CubeScrambler.scrambleCube(cube, 100);
+
+        CubeFaceRotationRecords solution = BigCubeSolver.solve(cube);
+
+        for (int i = 0; i < solution.size(); i++) {
+            CubeFaceRotationRecord record = solution.get(i);
+            assertEquals(1, record.getCountOfLayers());
+            assertTrue(record.getStartRow() < 5);
+        }
+    }
+
+    @Test
+    void solve_RotatedCube() {
+        // The colors are read from the corner DBL of even cubes and from
+        // the middle fields of odd cubes, so a rotated solved cube needs no moves.
+        for (int dimension = 4; dimension <= 5; dimension++) {
+            Cube solvedCube = new Cube(dimension);
+            solvedCube.rotateCube('z', RotationDirection.Counterclockwise, 1);
+            assertEquals(0, BigCubeSolver.solve(solvedCube).size());
+        }
+
+        Cube cube = new Cube(6);
+        CubeScrambler.scrambleCube(cube, 100);
+        cube.rotateCube('z', RotationDirection.Counterclockwise, 1);
+
+        CubeFaceRotationRecords solution = BigCubeSolver.solve(cube);
+
+        assertTrue(CubeFactory.create(cube, solution).isSolved());
+    }
+
+    @Test
+    void solve_SevenBySevenWithinASecondAfterSetup() {
+        Cube cube = new Cube(7);
+        CubeScrambler.scrambleCube(cube, 200);
+        // The first solve creates the tables of the ThistlethwaiteSolver,
+        // which takes about 0.5 s once per JVM, and the commutators of the
+        // 7x7 cube. Only the solve after this setup is measured; a solve
+        // without the setup takes about 1.1 s, a solve with warm code about 0.2 s.
+        BigCubeSolver.solve(new Cube(7));
+
+        long start = System.nanoTime();
+        CubeFaceRotationRecords solution = BigCubeSolver.solve(cube);
+        long elapsed = System.nanoTime() - start;
+
+        assertTrue(CubeFactory.create(cube, solution).isSolved());
+        assertTrue(elapsed < 1_000_000_000L);
+    }
+
+    @Test
+    void solve_InvalidCube() {
+        Cube cube = new Cube(4);
+        cube.getFace(CubeColor.White).setField(1, 1, CubeColor.Red);
+
+        assertThrows(IllegalArgumentException.class, () -> BigCubeSolver.solve(cube));
+        assertThrows(IllegalArgumentException.class, () -> BigCubeSolver.solve(new Cube()));
+    }
+}
@@ -0,0 +1,92 @@
+package de.webkasi.cube.solver;
+
+import de.webkasi.cube.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CubeBitboardTest {
+
+    @Test
+    void encode_solved() {
+        Cube cube = new Cube();
+        assertEquals(CubeBitboard.SolvedCorners, CubeBitboard.encodeCorners(cube));
+        assertEquals(CubeBitboard.SolvedEdges, CubeBitboard.encodeEdges(cube));
+        assertEquals(CubeBitboard.SolvedCorners, CubeBitboard.encode2x2(new Cube(2)));
+    }
+
+    @Test
+    void decode_roundTrip() {
+        CubieCube cubieCube = new CubieCube();
+        cubieCube.move(CubieCube.getMove(CubeColor.Red, 1));
+        cubieCube.move(CubieCube.getMove(CubeColor.White, 3));
+        cubieCube.move(CubieCube.getMove(CubeColor.Green, 2));
+
+        long corners = CubeBitboard.encodeCorners(cubieCube);
+        long edges = CubeBitboard.encodeEdges(cubieCube);
+
+        assertEquals(cubieCube, CubeBitboard.decode(corners, edges));
+        assertEquals(cubieCube, new CubieCube(CubeBitboard.toCube(corners, edges)));
+    }
+
+    @Test
+    void move_sameAsCubeFaceRotator3x3() {
+        Random random = new Random(5);
+        Cube cube = new Cube();
+        CubeFaceRotator rotator = new CubeFaceRotator(cube);
+        long corners = CubeBitboard.SolvedCorners;
+        long edges = CubeBitboard.SolvedEdges;
+
+        for (int i = 0; i < 500; i++) {
+            CubeColor face = CubeColor.values()[random.nextInt(6)];
+            int quarterTurns = 1 + random.nextInt(3);
+            for (int turn = 0; turn < quarterTurns; turn++)
+                rotator.rotateFace(RotationDirection.Clockwise, face, 1);
+            int move = CubieCube.getMove(face, quarterTurns);
+            corners = CubeBitboard.moveCorners(corners, move);
+            edges = CubeBitboard.moveEdges(edges, move);
+
+            assertTrue(CubeBitboard.equals(
+                    CubeBitboard.encodeCorners(cube), CubeBitboard.encodeEdges(cube), corners, edges));
+        }
+    }
+
+    @Test
+    void move_sameAsCubeFaceRotator2x2() {
+        Random random = new Random(2);
+        Cube cube = new Cube(2);
+        CubeFaceRotator rotator = new CubeFaceRotator(cube);
+        long corners = CubeBitboard.SolvedCorners;
+
+        for (int i = 0; i < 500; i++) {
+            CubeColor face = CubeColor.values()[random.nextInt(6)];
+            rotator.rotateFace(RotationDirection.Counterclockwise, face, 1);
+            corners = CubeBitboard.moveCorners(corners, CubieCube.getMove(face, 3));
+
+            assertEquals(CubeBitboard.encode2x2(cube), corners);
+        }
+
+        Cube decoded = CubeBitboard.toCube2x2(corners);
+        for (int face = 0; face < 6; face++)
+            for (int row = 0; row < 2; row++)
+                for (int column = 0; column < 2; column++)
+                    assertEquals(cube.getFaceByIndex(face).getField(row, column), decoded.getFaceByIndex(face).getField(row, column));
+    }
+
+    @Test
+    void hash_differsForNeighborStates() {
+        long corners = CubeBitboard.moveCorners(CubeBitboard.SolvedCorners, 0);
+        long edges = CubeBitboard.moveEdges(CubeBitboard.SolvedEdges, 0);
+
+        assertEquals(
+                CubeBitboard.hash(CubeBitboard.SolvedCorners, CubeBitboard.SolvedEdges),
+                CubeBitboard.hash(CubeBitboard.SolvedCorners, CubeBitboard.SolvedEdges));
+        assertNotEquals(
+                CubeBitboard.hash(CubeBitboard.SolvedCorners, CubeBitboard.SolvedEdges),
+                CubeBitboard.hash(corners, edges));
+        assertNotEquals(CubeBitboard.hash(CubeBitboard.SolvedCorners), CubeBitboard.hash(corners));
+    }
+}
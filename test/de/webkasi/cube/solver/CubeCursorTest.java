@@ -0,0 +1,77 @@
+package de.webkasi.cube.solver;
+
+import de.webkasi.cube.*;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CubeCursorTest {
+
+    @Test
+    void getCube_playsAppendedRecords() {
+        Cube baseCube = new Cube();
+        CubeFaceRotationRecords records = new CubeFaceRotationRecords();
+        SpeedCubeNotationInterpreter interpreter = new SpeedCubeNotationInterpreter(records);
+        CubeCursor cursor = new CubeCursor(baseCube, records);
+
+        interpreter.addMoves("M2 S2");
+        Cube cube = cursor.getCube();
+        interpreter.addMoves("E2");
+        assertSame(cube, cursor.getCube());
+
+        CubeAssertion.assertCubeFace(cube, CubeColor.White, "WYW YWY WYW");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Orange, "ORO ROR ORO");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Green, "GBG BGB GBG");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Red, "ROR ORO ROR");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Blue, "BGB GBG BGB");
+        CubeAssertion.assertCubeFace(cube, CubeColor.Yellow, "YWY WYW YWY");
+        CubeAssertion.assertCubeFace(baseCube, CubeColor.White, "WWW WWW WWW");
+    }
+
+    @Test
+    void getCube_keepsStateUntilNextCall() {
+        CubeFaceRotationRecords records = new CubeFaceRotationRecords();
+        CubeCursor cursor = new CubeCursor(new Cube(), records);
+
+        Cube cube = cursor.getCube();
+        records.add(new CubeFaceRotationRecord(CubeColor.Orange));
+
+        CubeAssertion.assertCubeFace(cube, CubeColor.White, "WWW WWW WWW");
+        cursor.getCube();
+        CubeAssertion.assertCubeFace(cube, CubeColor.White, "BWW BWW BWW");
+    }
+
+    @Test
+    void createCube_isIndependent() {
+        CubeFaceRotationRecords records = new CubeFaceRotationRecords();
+        records.add(new CubeFaceRotationRecord(CubeColor.Orange));
+        CubeCursor cursor = new CubeCursor(new Cube(), records);
+
+        Cube copy = cursor.createCube();
+        new CubeFaceRotator(copy).rotateFace(RotationDirection.Counterclockwise, CubeColor.Orange, 1);
+
+        CubeAssertion.assertCubeFace(copy, CubeColor.White, "WWW WWW WWW");
+        CubeAssertion.assertCubeFace(cursor.getCube(), CubeColor.White, "BWW BWW BWW");
+    }
+
+    @Test
+    void addMoves_appliesAndRecords() {
+        CubeFaceRotationRecords records = new CubeFaceRotationRecords();
+        CubeCursor cursor = new CubeCursor(new Cube(), records);
+        CubeOrientation orientation = new CubeOrientation();
+        orientation.rotate('y', RotationDirection.Clockwise, 1);
+
+        cursor.addMoves("M2 S2");
+        cursor.addMoves("R2 U", orientation);
+        cursor.addMoves("U' R2", orientation);
+        cursor.addMoves("E2");
+
+        assertEquals(7, records.size());
+        assertEquals(CubeColor.Green, records.get(2).getFace());
+        Cube expected = new Cube();
+        new CubeFaceRotationPlayer(new CubeFaceRotator(expected)).play(records);
+        assertEquals(expected, cursor.getCube());
+        CubeAssertion.assertCubeFace(cursor.getCube(), CubeColor.White, "WYW YWY WYW");
+    }
+}
@@ -182,4 +182,46 @@ class CubeOrientationTest {
         assertEquals(red, orientation.back);
         assertEquals(white, orientation.down);
     }
+
+    @Test
+    void rotate_sameAsCubeRotateCube() {
+        CubeOrientation orientation = new CubeOrientation();
+        Cube cube = new Cube();
+        String axes = "xyzzyxyxz";
+        for (int i = 0; i < axes.length(); i++) {
+            RotationDirection direction = i % 2 == 0 ? RotationDirection.Clockwise : RotationDirection.Counterclockwise;
+            orientation.rotate(axes.charAt(i), direction, 1);
+            cube.rotateCube(axes.charAt(i), direction, 1);
+
+            assertEquals(orientation.up, cube.getFaceAt(white));
+            assertEquals(orientation.left, cube.getFaceAt(orange));
+            assertEquals(orientation.front, cube.getFaceAt(green));
+            assertEquals(orientation.right, cube.getFaceAt(red));
+            assertEquals(orientation.back, cube.getFaceAt(blue));
+            assertEquals(orientation.down, cube.getFaceAt(yellow));
+        }
+    }
+
+    @Test
+    void compose_sameAsRotations() {
+        CubeOrientation orientation = new CubeOrientation();
+        orientation.rotate('z', RotationDirection.Clockwise, 1);
+        CubeOrientation other = new CubeOrientation();
+        other.rotate('x', RotationDirection.Counterclockwise, 1);
+        other.rotate('y', RotationDirection.Clockwise, 2);
+
+        CubeOrientation expected = new CubeOrientation(orientation);
+        expected.rotate('x', RotationDirection.Counterclockwise, 1);
+        expected.rotate('y', RotationDirection.Clockwise, 2);
+        orientation.compose(other);
+
+        assertEquals(expected.getIndex(), orientation.getIndex());
+        assertEquals(expected.up, orientation.up);
+        assertEquals(expected.front, orientation.front);
+
+        orientation.compose(other);
+        other.invert();
+        orientation.compose(other);
+        assertEquals(expected.getIndex(), orientation.getIndex());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package de.webkasi.cube.solver;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CubieCoordinateTest {
+
+    @Test
+    void getValue_solved() {
+        CubieCube cube = new CubieCube();
+        assertEquals(0, CubieCoordinate.Twist.getValue(cube));
+        assertEquals(0, CubieCoordinate.Flip.getValue(cube));
+        assertEquals(CubieCoordinate.SliceSolved, CubieCoordinate.Slice.getValue(cube));
+        assertEquals(0, CubieCoordinate.CornerPermutation.getValue(cube));
+        assertEquals(0, CubieCoordinate.EdgePermutation.getValue(cube));
+        assertEquals(0, CubieCoordinate.SlicePermutation.getValue(cube));
+    }
+
+    @Test
+    void setValue_allValues() {
+        for (CubieCoordinate coordinate : CubieCoordinate.values()) {
+            CubieCube cube = new CubieCube();
+            for (int value = 0; value < coordinate.getCount(); value++) {
+                coordinate.setValue(cube, value);
+                assertEquals(value, coordinate.getValue(cube), coordinate.name());
+            }
+        }
+    }
+
+    @Test
+    void createMoveTable_sameAsMove() {
+        int[] moves = new int[CubieCube.MoveCount];
+        for (int i = 0; i < moves.length; i++)
+            moves[i] = i;
+        char[] twistMoves = CubieCoordinate.Twist.createMoveTable(moves);
+        char[] flipMoves = CubieCoordinate.Flip.createMoveTable(moves);
+        char[] sliceMoves = CubieCoordinate.Slice.createMoveTable(moves);
+
+        Random random = new Random(21);
+        CubieCube cube = new CubieCube();
+        for (int i = 0; i < 200; i++) {
+            int move = random.nextInt(CubieCube.MoveCount);
+            int twist = twistMoves[CubieCoordinate.Twist.getValue(cube) * moves.length + move];
+            int flip = flipMoves[CubieCoordinate.Flip.getValue(cube) * moves.length + move];
+            int slice = sliceMoves[CubieCoordinate.Slice.getValue(cube) * moves.length + move];
+
+            cube.move(move);
+
+            assertEquals(CubieCoordinate.Twist.getValue(cube), twist);
+            assertEquals(CubieCoordinate.Flip.getValue(cube), flip);
+            assertEquals(CubieCoordinate.Slice.getValue(cube), slice);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package de.webkasi.cube.solver;
+
+import de.webkasi.cube.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CubieCubeTest {
+
+    @Test
+    void constructor_solved() {
+        CubieCube cubieCube = new CubieCube();
+        assertTrue(cubieCube.isSolved());
+        assertTrue(cubieCube.isSolvable());
+        assertEquals(cubieCube, new CubieCube(new Cube()));
+    }
+
+    @Test
+    void constructor_fromCubeWithFrontTurn() {
+        Cube cube = new Cube();
+        CubeFaceRotator rotator = new CubeFaceRotator(cube);
+        rotator.rotateFace(RotationDirection.Clockwise, CubeColor.Green, 1);
+
+        CubieCube cubieCube = new CubieCube(cube);
+
+        assertEquals(CubieCube.UFL, cubieCube.getCorner(CubieCube.URF));
+        assertEquals(CubieCube.FL, cubieCube.getEdge(CubieCube.UF));
+        assertEquals(1, cubieCube.getEdgeOrientation(CubieCube.UF));
+        assertEquals(CubieCube.UR, cubieCube.getEdge(CubieCube.UR));
+        assertEquals(CubieCube.FR, cubieCube.findEdgePosition(CubieCube.UF));
+        assertTrue(cubieCube.isSolvable());
+    }
+
+    @Test
+    void constructor_invalidDimension() {
+        assertThrows(IllegalArgumentException.class, () -> new CubieCube(new Cube(4)));
+    }
+
+    @Test
+    void constructor_invalidCorner() {
+        Cube cube = new Cube();
+        cube.getFace(CubeColor.White).setField(2, 2, CubeColor.Green);
+        assertThrows(IllegalArgumentException.class, () -> new CubieCube(cube));
+    }
+
+    @Test
+    void move_sameAsCubeFaceRotator() {
+        Random random = new Random(4);
+        Cube cube = new Cube();
+        CubeFaceRotator rotator = new CubeFaceRotator(cube);
+        CubieCube cubieCube = new CubieCube();
+
+        for (int i = 0; i < 500; i++) {
+            CubeColor face = CubeColor.values()[random.nextInt(6)];
+            RotationDirection direction = random.nextBoolean() ? RotationDirection.Clockwise : RotationDirection.Counterclockwise;
+            rotator.rotateFace(direction, face, 1);
+            cubieCube.move(new CubeFaceRotationRecord(face, direction, 1));
+
+            assertEquals(new CubieCube(cube), cubieCube);
+            assertTrue(cubieCube.isSolvable());
+        }
+    }
+
+    @Test
+    void move_halfTurnIsTwoQuarterTurns() {
+        for (CubeColor face : CubeColor.values()) {
+            CubieCube half = new CubieCube();
+            half.move(CubieCube.getMove(face, 2));
+            CubieCube quarters = new CubieCube();
+            quarters.move(CubieCube.getMove(face, 1));
+            quarters.move(CubieCube.getMove(face, 1));
+            assertEquals(quarters, half);
+        }
+    }
+
+    @Test
+    void move_inverseMoveRestores() {
+        for (int move = 0; move < CubieCube.MoveCount; move++) {
+            CubieCube cubieCube = new CubieCube();
+            cubieCube.move(move);
+            assertFalse(cubieCube.isSolved());
+            cubieCube.move(CubieCube.getInverseMove(move));
+            assertTrue(cubieCube.isSolved());
+        }
+    }
+
+    @Test
+    void getRecord_sameAsMove() {
+        for (int move = 0; move < CubieCube.MoveCount; move++) {
+            CubieCube expected = new CubieCube();
+            expected.move(move);
+            CubieCube cubieCube = new CubieCube();
+            cubieCube.move(CubieCube.getRecord(move));
+            assertEquals(expected, cubieCube);
+        }
+    }
+
+    @Test
+    void mergeMoves_sameAsBothMoves() {
+        for (int first = 0; first < 3; first++) {
+            for (int second = 0; second < 3; second++) {
+                CubieCube expected = new CubieCube();
+                expected.move(first);
+                expected.move(second);
+                int merged = CubieCube.mergeMoves(first, second);
+                CubieCube cubieCube = new CubieCube();
+                if (merged >= 0)
+                    cubieCube.move(merged);
+                assertEquals(expected, cubieCube);
+                assertEquals(merged < 0, first + second == 2);
+            }
+        }
+    }
+
+    @Test
+    void move_invalidRecord() {
+        CubieCube cubieCube = new CubieCube();
+        assertThrows(IllegalArgumentException.class,
+                () -> cubieCube.move(new CubeFaceRotationRecord(CubeColor.White, RotationDirection.Clockwise, 1, 1)));
+    }
+
+    @Test
+    void toCube_roundTrip() {
+        Cube cube = new Cube();
+        CubeFaceRotationRecords records = new CubeFaceRotationRecords();
+        SpeedCubeNotationInterpreter interpreter = new SpeedCubeNotationInterpreter(records);
+        interpreter.addMoves("R U' F2 L D B' R2 U F' D2 L' B");
+        CubeFaceRotationPlayer player = new CubeFaceRotationPlayer(new CubeFaceRotator(cube));
+        player.play(records);
+
+        Cube converted = new CubieCube(cube).toCube();
+
+        for (CubeColor face : CubeColor.values())
+            for (int row = 0; row < 3; row++)
+                for (int column = 0; column < 3; column++)
+                    assertEquals(cube.getFace(face).getField(row, column), converted.getFace(face).getField(row, column));
+    }
+
+    @Test
+    void isSolvable_twistedCorner() {
+        CubieCube cubieCube = new CubieCube();
+        cubieCube.setCorner(CubieCube.URF, CubieCube.URF, 1);
+        assertFalse(cubieCube.isSolvable());
+    }
+
+    @Test
+    void isSolvable_swappedEdges() {
+        CubieCube cubieCube = new CubieCube();
+        cubieCube.setEdge(CubieCube.UR, CubieCube.UF, 0);
+        cubieCube.setEdge(CubieCube.UF, CubieCube.UR, 0);
+        assertFalse(cubieCube.isSolvable());
+    }
+}
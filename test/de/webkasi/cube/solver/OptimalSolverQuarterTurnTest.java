@@ -0,0 +1,34 @@
+package de.webkasi.cube.solver;
+
+import de.webkasi.cube.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimalSolverQuarterTurnTest {
+
+    @Test
+    void solve_KnownDistances() {
+        OptimalSolver solver = new OptimalSolver(TurnMetric.QuarterTurn);
+
+        assertEquals(2, OptimalSolverTest.solveMoves(solver, "R2"));
+        assertEquals(2, OptimalSolverTest.solveMoves(solver, "U D'"));
+        assertEquals(8, OptimalSolverTest.solveMoves(solver, "R2 L2 U2 D2"));
+    }
+
+    @Test
+    void solve_RandomCubes() {
+        OptimalSolver solver = new OptimalSolver(TurnMetric.QuarterTurn);
+        for (int i = 0; i < 10; i++) {
+            Cube cube = new Cube();
+            CubeScrambler.scrambleCube(cube, 8);
+
+            CubeFaceRotationRecords solution = solver.solve(cube);
+
+            for (int j = 0; j < solution.size(); j++)
+                assertEquals(1, solution.get(j).getCountOfTurns());
+            assertTrue(solution.size() <= 16);
+            assertTrue(CubeFactory.create(cube, solution).isSolved());
+        }
+    }
+}
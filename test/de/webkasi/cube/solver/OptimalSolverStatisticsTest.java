@@ -0,0 +1,31 @@
+package de.webkasi.cube.solver;
+
+import de.webkasi.cube.*;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the statistics of the OptimalSolver with a deep scramble.
+ *
+ * An optimal solution of 12 random moves may take minutes, so the test
+ * is tagged as slow and can be excluded from the unit tests.
+ */
+@Tag("slow")
+class OptimalSolverStatisticsTest {
+
+    @Test
+    void solve_Statistics() {
+        OptimalSolver solver = new OptimalSolver();
+        Cube cube = new Cube();
+        CubeScrambler.scrambleCube(cube, 12);
+
+        CubeFaceRotationRecords solution = solver.solve(cube);
+
+        assertTrue(CubeFactory.create(cube, solution).isSolved());
+        assertTrue(solver.getNodesExpanded() > 0);
+        assertTrue(solver.getElapsedTime() > 0);
+        assertTrue(solver.getNodesPerSecond() > 0);
+    }
+}
@@ -0,0 +1,95 @@
+package de.webkasi.cube.solver;
+
+import de.webkasi.cube.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimalSolverTest {
+
+    @Test
+    void solve_SolvedCube() {
+        OptimalSolver solver = new OptimalSolver();
+
+        CubeFaceRotationRecords solution = solver.solve(new Cube());
+
+        assertEquals(0, solution.size());
+    }
+
+    @Test
+    void solve_KnownDistances() {
+        OptimalSolver solver = new OptimalSolver(TurnMetric.HalfTurn);
+
+        assertEquals(1, solveMoves(solver, "R2"));
+        assertEquals(2, solveMoves(solver, "U D'"));
+        assertEquals(4, solveMoves(solver, "R U R' U'"));
+        assertEquals(4, solveMoves(solver, "R2 L2 U2 D2"));
+    }
+
+    @Test
+    void solve_RandomCubes() {
+        OptimalSolver solver = new OptimalSolver();
+        for (int i = 0; i < 20; i++) {
+            Cube cube = new Cube();
+            CubeScrambler.scrambleCube(cube, 4 + i % 6);
+
+            CubeFaceRotationRecords solution = solver.solve(cube);
+            Cube solvedCube = CubeFactory.create(cube, solution);
+
+            assertTrue(solution.size() <= 4 + i % 6);
+            assertTrue(solvedCube.isSolved());
+        }
+    }
+
+    @Test
+    void solve_Statistics() {
+        OptimalSolver solver = new OptimalSolver();
+        Cube cube = new Cube();
+        CubeScrambler.scrambleCube(cube, 6);
+
+        solver.solve(cube);
+
+        assertTrue(solver.getNodesExpanded() > 0);
+        assertTrue(solver.getElapsedTime() > 0);
+        assertTrue(solver.getNodesPerSecond() > 0);
+    }
+
+    @Test
+    void solve_RotatedCube() {
+        OptimalSolver solver = new OptimalSolver();
+        CubeFaceRotationRecords records = new CubeFaceRotationRecords();
+        new SpeedCubeNotationInterpreter(records).addMoves("F R' U2 L D'");
+        Cube cube = CubeFactory.create(new Cube(), records);
+        cube.rotateCube('y', RotationDirection.Counterclockwise, 1);
+        cube.rotateCube('x', RotationDirection.Clockwise, 2);
+
+        CubeFaceRotationRecords solution = solver.solve(cube);
+
+        // A rotation of the whole cube does not change the optimal distance.
+        assertEquals(5, solution.size());
+        assertTrue(CubeFactory.create(cube, solution).isSolved());
+    }
+
+    @Test
+    void solve_InvalidCube() {
+        OptimalSolver solver = new OptimalSolver();
+        CubieCube swappedEdges = new CubieCube();
+        swappedEdges.setEdge(CubieCube.UR, CubieCube.UF, 0);
+        swappedEdges.setEdge(CubieCube.UF, CubieCube.UR, 0);
+        Cube cube = swappedEdges.toCube();
+
+        assertThrows(IllegalArgumentException.class, () -> solver.solve(cube));
+        assertThrows(IllegalArgumentException.class, () -> solver.solve(new Cube(4)));
+    }
+
+    static int solveMoves(final OptimalSolver solver, final String moves) {
+        CubeFaceRotationRecords records = new CubeFaceRotationRecords();
+        new SpeedCubeNotationInterpreter(records).addMoves(moves);
+        Cube cube = CubeFactory.create(new Cube(), records);
+
+        CubeFaceRotationRecords solution = solver.solve(cube);
+
+        assertTrue(CubeFactory.create(cube, solution).isSolved());
+        return solution.size();
+    }
+}
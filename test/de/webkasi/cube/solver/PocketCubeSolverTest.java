@@ -0,0 +1,96 @@
+package de.webkasi.cube.solver;
+
+import de.webkasi.cube.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PocketCubeSolverTest {
+
+    @Test
+    void solve_SolvedCube() {
+        CubeFaceRotationRecords solution = PocketCubeSolver.solve(new Cube(2));
+        assertEquals(0, solution.size());
+    }
+
+    @Test
+    void solve_KnownDistances() {
+        assertEquals(1, solveMoves("R2", TurnMetric.HalfTurn));
+        assertEquals(2, solveMoves("R2", TurnMetric.QuarterTurn));
+        assertEquals(1, solveMoves("L", TurnMetric.HalfTurn));
+        assertEquals(4, solveMoves("R U R' U'", TurnMetric.HalfTurn));
+        assertEquals(0, solveMoves("U D'", TurnMetric.HalfTurn));
+    }
+
+    @Test
+    void solve_RandomCubes() {
+        for (int i = 0; i < 500; i++) {
+            Cube cube = new Cube(2);
+            CubeScrambler.scrambleCube(cube, 5 + i % 20);
+
+            CubeFaceRotationRecords solution = PocketCubeSolver.solve(cube);
+            Cube solvedCube = CubeFactory.create(cube, solution);
+
+            assertTrue(solution.size() <= Math.min(11, 5 + i % 20));
+            assertTrue(solvedCube.isSolved());
+        }
+    }
+
+    @Test
+    void solve_QuarterTurnMetric() {
+        for (int i = 0; i < 100; i++) {
+            Cube cube = new Cube(2);
+            CubeScrambler.scrambleCube(cube, 25);
+
+            CubeFaceRotationRecords solution = PocketCubeSolver.solve(cube, TurnMetric.QuarterTurn);
+
+            for (int j = 0; j < solution.size(); j++)
+                assertEquals(1, solution.get(j).getCountOfTurns());
+            assertTrue(solution.size() <= 14);
+            assertTrue(CubeFactory.create(cube, solution).isSolved());
+        }
+    }
+
+    @Test
+    void solve_RotatedCube() {
+        Cube solvedCube = new Cube(2);
+        solvedCube.rotateCube('y', RotationDirection.Clockwise, 1);
+        solvedCube.rotateCube('z', RotationDirection.Clockwise, 1);
+        assertEquals(0, PocketCubeSolver.solve(solvedCube).size());
+
+        CubeFaceRotationRecords records = new CubeFaceRotationRecords();
+        new SpeedCubeNotationInterpreter(records).addMoves("R U F' R2 U' F R' U2");
+        Cube cube = CubeFactory.create(new Cube(2), records);
+        Cube rotatedCube = CubeFactory.create(new Cube(2), records);
+        rotatedCube.rotateCube('y', RotationDirection.Clockwise, 1);
+        rotatedCube.rotateCube('z', RotationDirection.Clockwise, 1);
+
+        CubeFaceRotationRecords solution = PocketCubeSolver.solve(rotatedCube);
+
+        // A rotation of the whole cube does not change the optimal distance.
+        assertEquals(PocketCubeSolver.solve(cube).size(), solution.size());
+        assertTrue(CubeFactory.create(rotatedCube, solution).isSolved());
+    }
+
+    @Test
+    void solve_InvalidCube() {
+        CubieCube twistedCorner = new CubieCube();
+        twistedCorner.setCorner(CubieCube.DBL, CubieCube.DBL, 2);
+        Cube cube = new Cube(2);
+        twistedCorner.writeCorners(cube);
+
+        assertThrows(IllegalArgumentException.class, () -> PocketCubeSolver.solve(cube));
+        assertThrows(IllegalArgumentException.class, () -> PocketCubeSolver.solve(new Cube()));
+    }
+
+    private static int solveMoves(final String moves, final TurnMetric metric) {
+        CubeFaceRotationRecords records = new CubeFaceRotationRecords();
+        new SpeedCubeNotationInterpreter(records).addMoves(moves);
+        Cube cube = CubeFactory.create(new Cube(2), records);
+
+        CubeFaceRotationRecords solution = PocketCubeSolver.solve(cube, metric);
+
+        assertTrue(CubeFactory.create(cube, solution).isSolved());
+        return solution.size();
+    }
+}
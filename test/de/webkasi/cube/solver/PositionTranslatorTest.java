@@ -173,7 +173,7 @@ class PositionTranslatorTest {
         PartPosition position = new PartPosition(CubeColor.Red.ordinal(), 1, 0);
         orientation.rotate('x', RotationDirection.Clockwise, 1);
         orientation.rotate('z', RotationDirection.Clockwise, 1);
-        PartPosition expected = new PartPosition(CubeColor.Yellow.ordinal(), 0, 1);
+        PartPosition expected = new PartPosition(CubeColor.Yellow.ordinal(), 1, 0);
 
         PartPosition translatedPosition = PositionTranslator.translate(position, orientation);
         assertPosition(expected, translatedPosition);
@@ -184,4 +184,15 @@ class PositionTranslatorTest {
         assertEquals(expected.getRow(), position.getRow(), "Row");
         assertEquals(expected.getColumn(), position.getColumn(), "Column");
     }
+
+    @Test
+    void translate_UpBlue_FrontUpEdge() {
+        CubeOrientation orientation = new CubeOrientation();
+        PartPosition position = new PartPosition(CubeColor.Blue.ordinal(), 0, 1);
+        orientation.rotate('x', RotationDirection.Clockwise, 1);
+        PartPosition expected = new PartPosition(CubeColor.White.ordinal(), 2, 1);
+
+        PartPosition translatedPosition = PositionTranslator.translate(position, orientation);
+        assertPosition(expected, translatedPosition);
+    }
 }
\ No newline at end of file
@@ -3,6 +3,8 @@ package de.webkasi.cube.solver;
 import de.webkasi.cube.*;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.*;
+
 class SpeedCubeNotationInterpreterTest {
 
     @Test
@@ -363,4 +365,36 @@ class SpeedCubeNotationInterpreterTest {
         CubeAssertion.assertCubeFace(cube, CubeColor.Blue, "BBB BBB BBB");
         CubeAssertion.assertCubeFace(cube, CubeColor.Yellow, "YYY YYY YYY");
     }
-}
\ No newline at end of file
+
+    @Test
+    void addMoves_HalfTurnsAreSingleRecords() {
+        CubeFaceRotationRecords records = new CubeFaceRotationRecords();
+        SpeedCubeNotationInterpreter interpreter = new SpeedCubeNotationInterpreter(records);
+
+        interpreter.addMoves("U2 r'2 M2 F");
+
+        assertEquals(4, records.size());
+        assertTrue(records.get(0).isHalfTurn());
+        assertTrue(records.get(1).isHalfTurn());
+        assertEquals(2, records.get(1).getCountOfLayers());
+        assertTrue(records.get(2).isHalfTurn());
+        assertEquals(1, records.get(2).getStartRow());
+        assertFalse(records.get(3).isHalfTurn());
+    }
+
+    @Test
+    void addMoves_SharedRecords() {
+        CubeFaceRotationRecords records = new CubeFaceRotationRecords();
+        SpeedCubeNotationInterpreter interpreter = new SpeedCubeNotationInterpreter(records);
+
+        interpreter.addMoves("R U R' U' R U2 R' Rw");
+
+        assertEquals(8, records.size());
+        assertSame(records.get(0), records.get(4));
+        assertSame(records.get(2), records.get(6));
+        assertNotSame(records.get(0), records.get(7));
+        assertEquals(2, records.get(5).getCountOfTurns());
+        assertEquals(1, records.get(1).getCountOfTurns());
+        assertEquals(2, records.get(7).getCountOfLayers());
+    }
+}
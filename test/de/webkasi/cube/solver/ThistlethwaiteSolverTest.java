@@ -0,0 +1,124 @@
+package de.webkasi.cube.solver;
+
+import de.webkasi.cube.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThistlethwaiteSolverTest {
+
+    @Test
+    void solve_SolvedCube() {
+        CubeFaceRotationRecords solution = ThistlethwaiteSolver.solve(new Cube());
+        assertEquals(0, solution.size());
+        assertArrayEquals(new int[4], ThistlethwaiteSolver.getPhaseLengths(new Cube()));
+    }
+
+    @Test
+    void solve_RandomCubes() {
+        for (int i = 0; i < 500; i++) {
+            Cube cube = new Cube();
+            CubeScrambler.scrambleCube(cube, 20 + i % 10);
+
+            CubeFaceRotationRecords solution = ThistlethwaiteSolver.solve(cube);
+            Cube solvedCube = CubeFactory.create(cube, solution);
+
+            assertTrue(solution.size() <= 45);
+            assertTrue(solvedCube.isSolved());
+        }
+    }
+
+    @Test
+    void solve_PhasesReachSubgroups() {
+        for (int i = 0; i < 100; i++) {
+            Cube cube = new Cube();
+            CubeScrambler.scrambleCube(cube, 25);
+
+            CubeFaceRotationRecords solution = ThistlethwaiteSolver.solve(cube);
+            int[] lengths = ThistlethwaiteSolver.getPhaseLengths(cube);
+            assertEquals(solution.size(), lengths[3]);
+
+            // G1: all edges are oriented.
+            CubieCube phase1 = new CubieCube(CubeFactory.create(cube, prefix(solution, lengths[0])));
+            assertEquals(0, CubieCoordinate.Flip.getValue(phase1));
+            // G2: all corners are oriented, and the slice edges are in their slice.
+            CubieCube phase2 = new CubieCube(CubeFactory.create(cube, prefix(solution, lengths[1])));
+            assertEquals(0, CubieCoordinate.Flip.getValue(phase2));
+            assertEquals(0, CubieCoordinate.Twist.getValue(phase2));
+            assertEquals(CubieCoordinate.SliceSolved, CubieCoordinate.Slice.getValue(phase2));
+            // G3: each edge is in its own slice.
+            CubieCube phase3 = new CubieCube(CubeFactory.create(cube, prefix(solution, lengths[2])));
+            assertEquals(0, CubieCoordinate.Twist.getValue(phase3));
+            assertEquals(CubieCoordinate.MiddleSliceSolved, CubieCoordinate.MiddleSlice.getValue(phase3));
+
+            // Each phase only uses the moves of its subgroup.
+            for (int j = lengths[0]; j < lengths[3]; j++) {
+                CubeFaceRotationRecord record = solution.get(j);
+                CubeColor face = record.getFace();
+                boolean upDown = face == CubeColor.White || face == CubeColor.Yellow;
+                boolean frontBack = face == CubeColor.Green || face == CubeColor.Blue;
+                if (j >= lengths[2])
+                    assertTrue(record.isHalfTurn());
+                else if (j >= lengths[1])
+                    assertTrue(upDown || record.isHalfTurn());
+                else
+                    assertTrue(!frontBack || record.isHalfTurn());
+            }
+        }
+    }
+
+    @Test
+    void solve_ShorterThanLayerByLayer() {
+        int thistlethwaiteLength = 0;
+        int layerByLayerLength = 0;
+        for (int i = 0; i < 50; i++) {
+            Cube cube = new Cube();
+            CubeScrambler.scrambleCube(cube, 25);
+
+            thistlethwaiteLength += ThistlethwaiteSolver.solve(cube).size();
+            layerByLayerLength += LayerByLayerSolver.solve(cube).size();
+        }
+
+        assertTrue(2 * thistlethwaiteLength < layerByLayerLength);
+    }
+
+    @Test
+    void getTableSize_LessThanThreeMegabytes() {
+        int size = ThistlethwaiteSolver.getTableSize();
+
+        assertTrue(size > 1000000);
+        assertTrue(size < 3 * 1024 * 1024);
+    }
+
+    @Test
+    void solve_RotatedCube() {
+        Cube solvedCube = new Cube();
+        solvedCube.rotateCube('z', RotationDirection.Clockwise, 2);
+        assertEquals(0, ThistlethwaiteSolver.solve(solvedCube).size());
+
+        Cube cube = new Cube();
+        CubeScrambler.scrambleCube(cube, 25);
+        cube.rotateCube('z', RotationDirection.Clockwise, 1);
+
+        CubeFaceRotationRecords solution = ThistlethwaiteSolver.solve(cube);
+
+        assertTrue(CubeFactory.create(cube, solution).isSolved());
+    }
+
+    @Test
+    void solve_InvalidCube() {
+        CubieCube twistedCorner = new CubieCube();
+        twistedCorner.setCorner(CubieCube.URF, CubieCube.URF, 1);
+        Cube cube = twistedCorner.toCube();
+
+        assertThrows(IllegalArgumentException.class, () -> ThistlethwaiteSolver.solve(cube));
+        assertThrows(IllegalArgumentException.class, () -> ThistlethwaiteSolver.getPhaseLengths(cube));
+        assertThrows(IllegalArgumentException.class, () -> ThistlethwaiteSolver.solve(new Cube(4)));
+    }
+
+    private static CubeFaceRotationRecords prefix(final CubeFaceRotationRecords solution, final int length) {
+        CubeFaceRotationRecords records = new CubeFaceRotationRecords();
+        records.addAll(solution.subList(0, length));
+        return records;
+    }
+}
@@ -0,0 +1,62 @@
+package de.webkasi.cube.solver;
+
+import de.webkasi.cube.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TwoPhaseSolverTest {
+
+    @Test
+    void solve_SolvedCube() {
+        CubeFaceRotationRecords solution = TwoPhaseSolver.solve(new Cube());
+        assertEquals(0, solution.size());
+    }
+
+    @Test
+    void solve_RandomCubes() {
+        for (int i = 0; i < 100; i++) {
+            Cube cube = new Cube();
+            CubeScrambler.scrambleCube(cube, 20 + i % 10);
+
+            CubeFaceRotationRecords solution = TwoPhaseSolver.solve(cube);
+            Cube solvedCube = CubeFactory.create(cube, solution);
+
+            assertTrue(solution.size() <= TwoPhaseSolver.DefaultMaxLength);
+            assertTrue(solvedCube.isSolved());
+        }
+    }
+
+    @Test
+    void solve_MaxLength() {
+        CubeFaceRotationRecords records = new CubeFaceRotationRecords();
+        new SpeedCubeNotationInterpreter(records).addMoves("R U F' D2");
+        Cube cube = CubeFactory.create(new Cube(), records);
+
+        assertNull(TwoPhaseSolver.solve(cube, 3));
+        assertEquals(4, TwoPhaseSolver.solve(cube, 4).size());
+        assertNotNull(TwoPhaseSolver.solve(cube));
+    }
+
+    @Test
+    void solve_RotatedCube() {
+        Cube cube = new Cube();
+        CubeScrambler.scrambleCube(cube, 25);
+        cube.rotateCube('x', RotationDirection.Clockwise, 1);
+        cube.rotateCube('y', RotationDirection.Counterclockwise, 1);
+
+        CubeFaceRotationRecords solution = TwoPhaseSolver.solve(cube);
+
+        assertTrue(CubeFactory.create(cube, solution).isSolved());
+    }
+
+    @Test
+    void solve_InvalidCube() {
+        Cube cube = new Cube();
+        cube.getFace(CubeColor.White).setField(1, 2, CubeColor.Red);
+        cube.getFace(CubeColor.Red).setField(0, 1, CubeColor.White);
+
+        assertThrows(IllegalArgumentException.class, () -> TwoPhaseSolver.solve(cube));
+        assertThrows(IllegalArgumentException.class, () -> TwoPhaseSolver.solve(new Cube(4)));
+    }
+}